@@ -0,0 +1,103 @@
+package com.github.kschulst.smorph.io;
+
+import org.joda.time.LocalDate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The converted rows of a range of whole lines of a file or stream, as one array of values
+ * per column. Missing values, that is empty fields and fields that failed
+ * conversion, are null in object columns and 0 in primitive columns, and marked
+ * as {@link #isMissing(int, int) missing}.
+ */
+public final class Chunk {
+    private final Schema schema;
+    private final int index;
+    private final long offset;
+    private final int rows;
+    private final Object[] values;
+    private final BitSet[] missing;
+    private final List<FieldConversionException> failures;
+
+    Chunk(Schema schema, int index, long offset, int rows, Object[] values, BitSet[] missing, List<FieldConversionException> failures) {
+        this.schema = schema;
+        this.index = index;
+        this.offset = offset;
+        this.rows = rows;
+        this.values = values;
+        this.missing = missing;
+        this.failures = failures;
+    }
+
+    /**
+     * Returns the index of the chunk, counting from the start of the file or stream
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the offset in the file or stream of the first line of the chunk
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Returns the values of a {@link Schema#localDate LocalDate} column, one per row
+     */
+    public LocalDate[] getLocalDates(int column) {
+        return (LocalDate[]) values(column);
+    }
+
+    /**
+     * Returns the values of a {@link Schema#dateTime date and time}, {@link Schema#integer integer}
+     * or {@link Schema#decimal decimal} column, one per row
+     */
+    public long[] getLongs(int column) {
+        return (long[]) values(column);
+    }
+
+    /**
+     * Returns the value of a {@link Schema#decimal decimal} column, or null if it is missing
+     */
+    @Nullable
+    public BigDecimal getDecimal(int column, int row) {
+        if (isMissing(column, row)) {
+            return null;
+        }
+        return BigDecimal.valueOf(getLongs(column)[row], ((Column.Decimals) schema.getColumns().get(column)).getScale());
+    }
+
+    public boolean isMissing(int column, int row) {
+        return missing[column].get(row);
+    }
+
+    /**
+     * Returns the fields that failed conversion, in order
+     */
+    @Nonnull
+    public List<FieldConversionException> getFailures() {
+        return failures;
+    }
+
+    private Object values(int column) {
+        Object columnValues = values[column];
+        if (columnValues == null) {
+            throw new IllegalArgumentException("Column " + column + " is skipped");
+        }
+        return columnValues;
+    }
+}
@@ -0,0 +1,129 @@
+package com.github.kschulst.smorph.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static com.github.kschulst.smorph.base.Chars.trimEnd;
+import static com.github.kschulst.smorph.base.Chars.trimStart;
+
+/**
+ * Converts a buffer of whole lines into a {@link Chunk}, according to a schema.
+ * Shared by the readers, whatever the bytes are read from.
+ * <p>
+ * Lines end with LF or CRLF, and blank lines are skipped. Fields beyond the columns
+ * of the schema are ignored, and fields missing at the end of a line are reported
+ * as failures.
+ */
+final class ChunkConverter {
+
+    private static final int INITIAL_ROWS = 1024;
+
+    private ChunkConverter() {
+    }
+
+    /**
+     * Converts the lines from 0 to length of the buffer. Each call fills arrays of
+     * its own, growing them as needed, which are cut to size once the chunk is done.
+     *
+     * @param offset the offset of the buffer in the file or stream, for failure reports
+     */
+    static Chunk convert(Schema schema, int index, long offset, ByteBuffer buf, int length) {
+        List<Column> columns = schema.getColumns();
+        int columnCount = columns.size();
+        byte delimiter = schema.getDelimiter();
+        int capacity = INITIAL_ROWS;
+        Object[] values = new Object[columnCount];
+        BitSet[] missing = new BitSet[columnCount];
+        for (int c = 0; c < columnCount; c++) {
+            values[c] = columns.get(c).newValues(capacity);
+            missing[c] = new BitSet();
+        }
+        List<FieldConversionException> failures = new ArrayList<FieldConversionException>();
+
+        int row = 0;
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && buf.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && buf.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            if (isBlank(buf, lineStart, lineEnd)) {
+                lineStart = next;
+                continue;
+            }
+
+            if (row == capacity) {
+                capacity *= 2;
+                for (int c = 0; c < columnCount; c++) {
+                    values[c] = columns.get(c).copyOf(values[c], capacity);
+                }
+            }
+
+            int fieldStart = lineStart;
+            for (int c = 0; c < columnCount; c++) {
+                Column column = columns.get(c);
+                if (fieldStart > lineEnd) {
+                    if (values[c] != null) {
+                        missing[c].set(row);
+                        failures.add(new FieldConversionException(column.getName(), "", "Missing field", offset + lineStart, row));
+                    }
+                    continue;
+                }
+                int fieldEnd = fieldStart;
+                while (fieldEnd < lineEnd && buf.get(fieldEnd) != delimiter) {
+                    fieldEnd++;
+                }
+                if (values[c] != null) {
+                    convertField(column, buf, fieldStart, fieldEnd, values[c], missing[c], row, offset + lineStart, failures);
+                }
+                fieldStart = fieldEnd + 1;
+            }
+            row++;
+            lineStart = next;
+        }
+
+        for (int c = 0; c < columnCount; c++) {
+            values[c] = columns.get(c).copyOf(values[c], row);
+        }
+        return new Chunk(schema, index, offset, row, values, missing, failures);
+    }
+
+    private static void convertField(Column column, ByteBuffer buf, int start, int end, Object values, BitSet missing, int row,
+                                     long lineOffset, List<FieldConversionException> failures) {
+        start = trimStart(buf, start, end);
+        end = trimEnd(buf, start, end);
+        if (start == end) {
+            missing.set(row);
+            return;
+        }
+        String error = column.convert(buf, start, end, values, row);
+        if (error != null) {
+            missing.set(row);
+            failures.add(new FieldConversionException(column.getName(), decode(buf, start, end), error, lineOffset, row));
+        }
+    }
+
+    private static boolean isBlank(ByteBuffer buf, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if ((buf.get(i) & 0xff) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String decode(ByteBuffer buf, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int i = start; i < end; i++) {
+            bytes[i - start] = buf.get(i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
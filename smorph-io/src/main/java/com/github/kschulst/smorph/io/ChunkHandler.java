@@ -0,0 +1,14 @@
+package com.github.kschulst.smorph.io;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Receives the chunks of a file or stream as they are converted. The
+ * {@link MappedFileReader} hands chunks over from the worker threads, concurrently
+ * and in no particular order, while the {@link PipelinedStreamReader} hands them
+ * over one at a time from the reading thread.
+ */
+public interface ChunkHandler {
+
+    void handle(@Nonnull Chunk chunk);
+}
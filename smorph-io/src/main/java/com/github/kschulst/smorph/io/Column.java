@@ -0,0 +1,219 @@
+package com.github.kschulst.smorph.io;
+
+import com.github.kschulst.smorph.base.NumberFormat;
+import com.github.kschulst.smorph.base.NumberParser;
+import com.github.kschulst.smorph.base.TemporalFormat;
+import org.joda.time.LocalDate;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A column of a {@link Schema}, converting its fields from ASCII (or UTF-8) bytes
+ * into an array of values, one per row. Columns are stateless and thus safe to
+ * share between threads.
+ */
+abstract class Column {
+    private final String name;
+
+    Column(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns a new array of values of the given length, or null if the column is not kept
+     */
+    @Nullable
+    abstract Object newValues(int length);
+
+    abstract Object copyOf(Object values, int length);
+
+    /**
+     * Converts the (trimmed, non-empty) field from start to end of the buffer into
+     * the values at the given row
+     *
+     * @return null if the field was converted, otherwise a description of why not
+     */
+    @Nullable
+    abstract String convert(ByteBuffer buf, int start, int end, Object values, int row);
+
+    // ------------------------------------------------------------------------
+    // Columns
+    // ------------------------------------------------------------------------
+
+    static final class Skipped extends Column {
+        Skipped() {
+            super(null);
+        }
+
+        Object newValues(int length) {
+            return null;
+        }
+
+        Object copyOf(Object values, int length) {
+            return null;
+        }
+
+        String convert(ByteBuffer buf, int start, int end, Object values, int row) {
+            return null;
+        }
+    }
+
+    static final class LocalDates extends Column {
+        private final TemporalFormat format;
+
+        LocalDates(String name, TemporalFormat format) {
+            super(name);
+            this.format = format;
+        }
+
+        Object newValues(int length) {
+            return new LocalDate[length];
+        }
+
+        Object copyOf(Object values, int length) {
+            return Arrays.copyOf((LocalDate[]) values, length);
+        }
+
+        String convert(ByteBuffer buf, int start, int end, Object values, int row) {
+            try {
+                ((LocalDate[]) values)[row] = format.parseLocalDate(buf, start, end - start);
+                return null;
+            }
+            catch (IllegalArgumentException e) {
+                return "Dateformat: " + format.getPattern();
+            }
+        }
+    }
+
+    /**
+     * Date and time as millis since the epoch
+     */
+    static final class DateTimes extends Column {
+        private final TemporalFormat format;
+
+        DateTimes(String name, TemporalFormat format) {
+            super(name);
+            this.format = format;
+        }
+
+        Object newValues(int length) {
+            return new long[length];
+        }
+
+        Object copyOf(Object values, int length) {
+            return Arrays.copyOf((long[]) values, length);
+        }
+
+        String convert(ByteBuffer buf, int start, int end, Object values, int row) {
+            try {
+                ((long[]) values)[row] = format.parseDateTime(buf, start, end - start).getMillis();
+                return null;
+            }
+            catch (IllegalArgumentException e) {
+                return "Dateformat: " + format.getPattern();
+            }
+        }
+    }
+
+    static final class Integers extends Column {
+        Integers(String name) {
+            super(name);
+        }
+
+        Object newValues(int length) {
+            return new long[length];
+        }
+
+        Object copyOf(Object values, int length) {
+            return Arrays.copyOf((long[]) values, length);
+        }
+
+        String convert(ByteBuffer buf, int start, int end, Object values, int row) {
+            int status = NumberParser.checkLong(buf, start, end);
+            if (status != NumberParser.OK) {
+                return NumberParser.describe(status);
+            }
+            ((long[]) values)[row] = NumberParser.parseLong(buf, start, end);
+            return null;
+        }
+    }
+
+    /**
+     * Decimals as unscaled longs, with as many decimals as the format has. Fields
+     * may have fewer decimals than that, but not more.
+     */
+    static final class Decimals extends Column {
+        // Longest number of digits, after scaling, that always fits in a long
+        private static final int MAX_DIGITS = 18;
+
+        private final NumberFormat format;
+        private final int scale;
+        private final int separator;
+
+        Decimals(String name, NumberFormat format) {
+            super(name);
+            this.format = format;
+            this.scale = format.getFormatter().getDecimals();
+            this.separator = format.getDecimalFormatSymbols().getDecimalSeparator();
+        }
+
+        int getScale() {
+            return scale;
+        }
+
+        Object newValues(int length) {
+            return new long[length];
+        }
+
+        Object copyOf(Object values, int length) {
+            return Arrays.copyOf((long[]) values, length);
+        }
+
+        String convert(ByteBuffer buf, int start, int end, Object values, int row) {
+            int i = start;
+            int first = buf.get(i) & 0xff;
+            boolean negative = first == '-';
+            if (negative || first == '+') {
+                i++;
+            }
+            long value = 0;
+            int digits = 0;
+            int decimals = -1;
+            for (; i < end; i++) {
+                int c = buf.get(i) & 0xff;
+                if (c >= '0' && c <= '9') {
+                    if (++digits > MAX_DIGITS) {
+                        return NumberParser.describe(NumberParser.OUT_OF_RANGE);
+                    }
+                    value = value * 10 + (c - '0');
+                    if (decimals >= 0) {
+                        decimals++;
+                    }
+                }
+                else if (c == separator && decimals < 0) {
+                    decimals = 0;
+                }
+                else {
+                    return NumberParser.describe(NumberParser.MALFORMED) + ": " + format.getPattern();
+                }
+            }
+            if (digits == 0 || decimals > scale) {
+                return NumberParser.describe(NumberParser.MALFORMED) + ": " + format.getPattern();
+            }
+            for (int d = Math.max(decimals, 0); d < scale; d++) {
+                if (++digits > MAX_DIGITS) {
+                    return NumberParser.describe(NumberParser.OUT_OF_RANGE);
+                }
+                value *= 10;
+            }
+            ((long[]) values)[row] = negative ? -value : value;
+            return null;
+        }
+    }
+}
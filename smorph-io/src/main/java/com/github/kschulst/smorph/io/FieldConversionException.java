@@ -0,0 +1,38 @@
+package com.github.kschulst.smorph.io;
+
+import com.github.kschulst.smorph.converters.ConversionException;
+
+/**
+ * Reports a field of a file or stream that failed conversion. The conversion reference is
+ * the name of the column. The exception has no stack trace, as it is reported
+ * rather than thrown.
+ */
+public class FieldConversionException extends ConversionException {
+    private final long offset;
+    private final int row;
+
+    FieldConversionException(String column, Object fromValue, String description, long offset, int row) {
+        super(column + " - Error converting from '" + fromValue + "'. " + description + ". Line at byte " + offset, column);
+        this.offset = offset;
+        this.row = row;
+    }
+
+    /**
+     * Returns the offset in the file or stream of the line holding the field
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the row of the chunk holding the field
+     */
+    public int getRow() {
+        return row;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,184 @@
+package com.github.kschulst.smorph.io;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Reads delimited files of ASCII (or UTF-8) text into columns of values according
+ * to a {@link Schema}. The file is split at line boundaries into chunks of about
+ * the chunk size, and each chunk is memory mapped and converted straight from its
+ * bytes by a task of the given pool.
+ * <p>
+ * Lines end with LF or CRLF, and blank lines are skipped. Fields beyond the columns
+ * of the schema are ignored, and fields missing at the end of a line are reported
+ * as failures.
+ * <p>
+ * Readers are immutable and thus safe to share between threads.
+ */
+public final class MappedFileReader {
+
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024 * 1024;
+
+    // Chunks must be mappable in one go, including the rest of their last line
+    private static final int MAX_CHUNK_SIZE = 1024 * 1024 * 1024;
+
+    // Size of the regions mapped while looking for the end of a line
+    private static final int SCAN_SIZE = 64 * 1024;
+
+    private final Schema schema;
+    private final int chunkSize;
+
+    private MappedFileReader(Schema schema, int chunkSize) {
+        this.schema = schema;
+        this.chunkSize = chunkSize;
+    }
+
+    public static MappedFileReader of(@Nonnull Schema schema) {
+        checkArgument(checkNotNull(schema, "Schema must not be null").size() > 0, "Schema has no columns");
+        return new MappedFileReader(schema, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Returns a reader splitting files into chunks of about the given number of bytes
+     */
+    public MappedFileReader withChunkSize(int chunkSize) {
+        checkArgument(chunkSize > 0 && chunkSize <= MAX_CHUNK_SIZE, "Chunk size must be between 1 and %s, was %s", MAX_CHUNK_SIZE, chunkSize);
+        return new MappedFileReader(schema, chunkSize);
+    }
+
+    /**
+     * Reads the file, handing each chunk over to the handler as soon as it is
+     * converted. Returns once all chunks have been handled.
+     *
+     * @return number of rows read
+     * @throws IOException if the file cannot be read, or a line does not fit in a chunk
+     */
+    public long read(@Nonnull File file, @Nonnull ForkJoinPool pool, @Nonnull ChunkHandler handler) throws IOException {
+        checkNotNull(pool, "Pool must not be null");
+        checkNotNull(handler, "Handler must not be null");
+
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            List<ChunkTask> tasks = new ArrayList<ChunkTask>();
+            long size = channel.size();
+            long start = schema.hasHeader() ? nextLine(channel, 0, size) : 0;
+            while (start < size) {
+                long end = (size - start <= chunkSize) ? size : nextLine(channel, start + chunkSize - 1, size);
+                if (end - start > Integer.MAX_VALUE) {
+                    throw new IOException("Line at byte " + (start + chunkSize) + " is too long, more than " + (Integer.MAX_VALUE - chunkSize) + " bytes");
+                }
+                tasks.add(new ChunkTask(channel, tasks.size(), start, (int) (end - start), handler));
+                start = end;
+            }
+
+            pool.invoke(new ReadTask(tasks));
+
+            long rows = 0;
+            for (ChunkTask task : tasks) {
+                rows += task.rows;
+            }
+            return rows;
+        }
+        catch (ChunkReadException e) {
+            throw e.getCause();
+        }
+        finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Returns the offset following the first line break at or after the position,
+     * or the size of the file if there is none
+     */
+    private static long nextLine(FileChannel channel, long position, long size) throws IOException {
+        while (position < size) {
+            int length = (int) Math.min(SCAN_SIZE, size - position);
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            for (int i = 0; i < length; i++) {
+                if (buf.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += length;
+        }
+        return size;
+    }
+
+    // ------------------------------------------------------------------------
+    // Tasks
+    // ------------------------------------------------------------------------
+
+    private static final class ReadTask extends RecursiveAction {
+        private final List<ChunkTask> tasks;
+
+        ReadTask(List<ChunkTask> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected void compute() {
+            ForkJoinTask.invokeAll(tasks);
+        }
+    }
+
+    /**
+     * Maps and converts a chunk of whole lines
+     */
+    private final class ChunkTask extends RecursiveAction {
+        private final FileChannel channel;
+        private final int index;
+        private final long offset;
+        private final int length;
+        private final ChunkHandler handler;
+        private int rows;
+
+        ChunkTask(FileChannel channel, int index, long offset, int length, ChunkHandler handler) {
+            this.channel = channel;
+            this.index = index;
+            this.offset = offset;
+            this.length = length;
+            this.handler = handler;
+        }
+
+        @Override
+        protected void compute() {
+            MappedByteBuffer buf;
+            try {
+                buf = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            }
+            catch (IOException e) {
+                throw new ChunkReadException(e);
+            }
+            Chunk chunk = ChunkConverter.convert(schema, index, offset, buf, length);
+            rows = chunk.getRows();
+            handler.handle(chunk);
+        }
+    }
+
+    /**
+     * Carries an IOException out of a task
+     */
+    private static final class ChunkReadException extends RuntimeException {
+        ChunkReadException(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+}
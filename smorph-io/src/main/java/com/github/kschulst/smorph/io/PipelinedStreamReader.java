@@ -0,0 +1,377 @@
+package com.github.kschulst.smorph.io;
+
+import com.google.common.base.Throwables;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Reads delimited ASCII (or UTF-8) text from a stream into columns of values
+ * according to a {@link Schema}, for sources that cannot be memory mapped, such as
+ * standard input, pipes and decompressing streams. Reading runs as a pipeline of
+ * three stages, connected by bounded queues:
+ * <ol>
+ * <li>a reading thread cuts the stream at line boundaries into chunks of about the
+ * chunk size,</li>
+ * <li>worker threads convert the chunks, and</li>
+ * <li>the calling thread hands the converted chunks over to the handler, as they
+ * are converted or, if {@link #inOrder() asked for}, in the order of the stream.</li>
+ * </ol>
+ * When a stage falls behind, the stages before it wait rather than queue up more
+ * chunks, so memory stays within about (2 &times; queue size + workers) &times;
+ * chunk size, however long the stream is.
+ * <p>
+ * Lines end with LF or CRLF, and blank lines are skipped. Fields beyond the columns
+ * of the schema are ignored, and fields missing at the end of a line are reported
+ * as failures.
+ * <p>
+ * Readers are immutable and thus safe to share between threads.
+ */
+public final class PipelinedStreamReader {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    public static final int DEFAULT_QUEUE_SIZE = 4;
+
+    // Longest line, or chunk, that is read before giving up
+    private static final int MAX_CHUNK_SIZE = 1024 * 1024 * 1024;
+
+    private static final Slice END_OF_SLICES = new Slice(-1, 0, null, 0);
+    private static final Chunk END_OF_CHUNKS = new Chunk(null, -1, 0, 0, null, null, null);
+
+    private final Schema schema;
+    private final int chunkSize;
+    private final int workers;
+    private final int queueSize;
+    private final boolean ordered;
+
+    private PipelinedStreamReader(Schema schema, int chunkSize, int workers, int queueSize, boolean ordered) {
+        this.schema = schema;
+        this.chunkSize = chunkSize;
+        this.workers = workers;
+        this.queueSize = queueSize;
+        this.ordered = ordered;
+    }
+
+    /**
+     * Creates a reader converting chunks on as many workers as there are processors
+     */
+    public static PipelinedStreamReader of(@Nonnull Schema schema) {
+        checkArgument(checkNotNull(schema, "Schema must not be null").size() > 0, "Schema has no columns");
+        return new PipelinedStreamReader(schema, DEFAULT_CHUNK_SIZE, Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_SIZE, false);
+    }
+
+    /**
+     * Returns a reader cutting streams into chunks of about the given number of bytes
+     */
+    public PipelinedStreamReader withChunkSize(int chunkSize) {
+        checkArgument(chunkSize > 0 && chunkSize <= MAX_CHUNK_SIZE, "Chunk size must be between 1 and %s, was %s", MAX_CHUNK_SIZE, chunkSize);
+        return new PipelinedStreamReader(schema, chunkSize, workers, queueSize, ordered);
+    }
+
+    /**
+     * Returns a reader converting chunks on the given number of worker threads
+     */
+    public PipelinedStreamReader withWorkers(int workers) {
+        checkArgument(workers > 0, "Workers must be positive, was %s", workers);
+        return new PipelinedStreamReader(schema, chunkSize, workers, queueSize, ordered);
+    }
+
+    /**
+     * Returns a reader letting at most the given number of chunks wait between each stage
+     */
+    public PipelinedStreamReader withQueueSize(int queueSize) {
+        checkArgument(queueSize > 0, "Queue size must be positive, was %s", queueSize);
+        return new PipelinedStreamReader(schema, chunkSize, workers, queueSize, ordered);
+    }
+
+    /**
+     * Returns a reader handing chunks over in the order of the stream. A chunk that
+     * is slow to convert then holds up the chunks after it.
+     */
+    public PipelinedStreamReader inOrder() {
+        return new PipelinedStreamReader(schema, chunkSize, workers, queueSize, true);
+    }
+
+    /**
+     * Reads the stream to its end, handing each chunk over to the handler on the
+     * calling thread. The stream is not closed.
+     * <p>
+     * If reading fails, or the handler throws, the worker threads are stopped. The
+     * reading thread stops as soon as the stream returns from a read, which closing
+     * the stream may hasten.
+     *
+     * @return number of rows read
+     * @throws IOException if the stream cannot be read, or a line is longer than 1GB
+     * @throws InterruptedIOException if the calling thread is interrupted
+     */
+    public long read(@Nonnull InputStream in, @Nonnull ChunkHandler handler) throws IOException {
+        checkNotNull(in, "Stream must not be null");
+        checkNotNull(handler, "Handler must not be null");
+        return new Pipeline(in, handler).run();
+    }
+
+    // ------------------------------------------------------------------------
+    // Pipeline
+    // ------------------------------------------------------------------------
+
+    /**
+     * The lines from 0 to length of a buffer, at the given offset in the stream
+     */
+    private static final class Slice {
+        final int index;
+        final long offset;
+        final byte[] bytes;
+        final int length;
+
+        Slice(int index, long offset, byte[] bytes, int length) {
+            this.index = index;
+            this.offset = offset;
+            this.bytes = bytes;
+            this.length = length;
+        }
+    }
+
+    /**
+     * The threads and queues of one read. Each stage ends by passing an end marker
+     * on to the next. A failing stage passes the end marker straight on to the
+     * calling thread, which then stops the others.
+     */
+    private final class Pipeline {
+        private final InputStream in;
+        private final ChunkHandler handler;
+        private final BlockingQueue<Slice> slices = new ArrayBlockingQueue<Slice>(queueSize);
+        private final BlockingQueue<Chunk> chunks = new ArrayBlockingQueue<Chunk>(queueSize);
+        // Buffers of converted slices, for the reading thread to reuse
+        private final Queue<byte[]> buffers = new ConcurrentLinkedQueue<byte[]>();
+        // Chunks cut but not yet handed over, that is queued, converting or waiting for their turn
+        private final int capacity = 2 * queueSize + workers;
+        private final Semaphore window = new Semaphore(capacity);
+        private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        private final List<Thread> threads = new ArrayList<Thread>();
+
+        Pipeline(InputStream in, ChunkHandler handler) {
+            this.in = in;
+            this.handler = handler;
+        }
+
+        long run() throws IOException {
+            start("smorph-reader", new Runnable() {
+                public void run() {
+                    cut();
+                }
+            });
+            for (int i = 1; i <= workers; i++) {
+                start("smorph-converter-" + i, new Runnable() {
+                    public void run() {
+                        convert();
+                    }
+                });
+            }
+
+            boolean done = false;
+            try {
+                long rows = handOver();
+                done = true;
+                return rows;
+            }
+            finally {
+                if (!done) {
+                    for (Thread thread : threads) {
+                        thread.interrupt();
+                    }
+                }
+            }
+        }
+
+        private void start(String name, Runnable runnable) {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+
+        /**
+         * Stage 1: Cuts the stream into slices of whole lines
+         */
+        private void cut() {
+            try {
+                boolean header = schema.hasHeader();
+                byte[] buf = new byte[chunkSize];
+                int length = 0;
+                long offset = 0;
+                int index = 0;
+                boolean eof = false;
+                while (true) {
+                    while (!eof && length < buf.length) {
+                        int n = in.read(buf, length, buf.length - length);
+                        if (n < 0) {
+                            eof = true;
+                        }
+                        else {
+                            length += n;
+                        }
+                    }
+
+                    int end = eof ? length : lastLineBreak(buf, length) + 1;
+                    if (header) {
+                        int lineBreak = firstLineBreak(buf, length);
+                        int lineEnd = lineBreak >= 0 ? lineBreak + 1 : (eof ? length : 0);
+                        if (lineEnd > 0) {
+                            System.arraycopy(buf, lineEnd, buf, 0, length - lineEnd);
+                            length -= lineEnd;
+                            offset += lineEnd;
+                            header = false;
+                            continue;
+                        }
+                    }
+                    else if (end > 0) {
+                        window.acquire();
+                        int rest = length - end;
+                        byte[] next = buffers.poll();
+                        if (next == null || next.length < Math.max(chunkSize, rest)) {
+                            next = new byte[Math.max(chunkSize, rest)];
+                        }
+                        System.arraycopy(buf, end, next, 0, rest);
+                        slices.put(new Slice(index++, offset, buf, end));
+                        buf = next;
+                        length = rest;
+                        offset += end;
+                        continue;
+                    }
+                    if (eof) {
+                        break;
+                    }
+                    buf = grow(buf, offset);
+                }
+
+                for (int i = 0; i < workers; i++) {
+                    slices.put(END_OF_SLICES);
+                }
+            }
+            catch (InterruptedException e) {
+                // Stopped
+            }
+            catch (Throwable t) {
+                fail(t);
+            }
+        }
+
+        /**
+         * Stage 2: Converts slices into chunks
+         */
+        private void convert() {
+            try {
+                for (Slice slice = slices.take(); slice != END_OF_SLICES; slice = slices.take()) {
+                    Chunk chunk = ChunkConverter.convert(schema, slice.index, slice.offset, ByteBuffer.wrap(slice.bytes), slice.length);
+                    buffers.offer(slice.bytes);
+                    chunks.put(chunk);
+                }
+                chunks.put(END_OF_CHUNKS);
+            }
+            catch (InterruptedException e) {
+                // Stopped
+            }
+            catch (Throwable t) {
+                fail(t);
+            }
+        }
+
+        /**
+         * Stage 3: Hands chunks over to the handler, until every worker has ended
+         */
+        private long handOver() throws IOException {
+            Chunk[] waiting = new Chunk[capacity];
+            int next = 0;
+            int ended = 0;
+            long rows = 0;
+            while (ended < workers) {
+                Chunk chunk;
+                try {
+                    chunk = chunks.take();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while reading stream");
+                }
+
+                Throwable t = failure.get();
+                if (t != null) {
+                    Throwables.propagateIfPossible(t, IOException.class);
+                    throw new RuntimeException(t);
+                }
+                if (chunk == END_OF_CHUNKS) {
+                    ended++;
+                }
+                else if (!ordered) {
+                    rows += handOver(chunk);
+                }
+                else {
+                    // At most capacity chunks are cut ahead of the next one, so they never collide
+                    waiting[chunk.getIndex() % capacity] = chunk;
+                    for (Chunk c = waiting[next % capacity]; c != null; c = waiting[next % capacity]) {
+                        waiting[next++ % capacity] = null;
+                        rows += handOver(c);
+                    }
+                }
+            }
+            return rows;
+        }
+
+        private int handOver(Chunk chunk) {
+            handler.handle(chunk);
+            window.release();
+            return chunk.getRows();
+        }
+
+        private void fail(Throwable t) {
+            failure.compareAndSet(null, t);
+            try {
+                chunks.put(END_OF_CHUNKS);
+            }
+            catch (InterruptedException e) {
+                // Stopped
+            }
+        }
+    }
+
+    private static int firstLineBreak(byte[] buf, int length) {
+        for (int i = 0; i < length; i++) {
+            if (buf[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastLineBreak(byte[] buf, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buf[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] grow(byte[] buf, long offset) throws IOException {
+        if (buf.length >= MAX_CHUNK_SIZE) {
+            throw new IOException("Line at byte " + offset + " is too long, more than " + MAX_CHUNK_SIZE + " bytes");
+        }
+        return Arrays.copyOf(buf, Math.min(2 * buf.length, MAX_CHUNK_SIZE));
+    }
+}
@@ -0,0 +1,145 @@
+package com.github.kschulst.smorph.io;
+
+import com.github.kschulst.smorph.base.NumberFormat;
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The columns of a delimited file, in order, and how each is converted. Fields
+ * are trimmed, and empty fields are taken as missing values. Quoting is not
+ * supported, so fields cannot hold the delimiter.
+ * <p>
+ * Schemas are immutable: every method adding to a schema returns a new one,
+ * leaving the original untouched.
+ * <pre>
+ * Schema schema = Schema.delimitedBy(';')
+ *         .withHeader()
+ *         .integer("id")
+ *         .localDate("birthDate", TemporalFormat.DD_MM_YYYY)
+ *         .skip()
+ *         .decimal("amount", NumberFormat.N_COMMA_DD);
+ * </pre>
+ */
+public final class Schema {
+    private final byte delimiter;
+    private final boolean header;
+    private final ImmutableList<Column> columns;
+
+    private Schema(byte delimiter, boolean header, ImmutableList<Column> columns) {
+        this.delimiter = delimiter;
+        this.header = header;
+        this.columns = columns;
+    }
+
+    /**
+     * Creates a schema without columns, for lines of fields separated by the given ASCII character
+     */
+    public static Schema delimitedBy(char delimiter) {
+        checkArgument(delimiter > 0 && delimiter < 128 && delimiter != '\n' && delimiter != '\r', "Delimiter must be ASCII, but not a line break");
+        return new Schema((byte) delimiter, false, ImmutableList.<Column>of());
+    }
+
+    /**
+     * Returns a schema skipping the first line of the file
+     */
+    public Schema withHeader() {
+        return new Schema(delimiter, true, columns);
+    }
+
+    /**
+     * Adds a column of dates, kept as LocalDates
+     */
+    public Schema localDate(@Nonnull String name, @Nonnull TemporalFormat format) {
+        return add(new Column.LocalDates(checkName(name), checkNotNull(format, "Format must not be null")));
+    }
+
+    /**
+     * Adds a column of dates and times in the default time zone, kept as millis since the epoch
+     */
+    public Schema dateTime(@Nonnull String name, @Nonnull TemporalFormat format) {
+        return add(new Column.DateTimes(checkName(name), checkNotNull(format, "Format must not be null")));
+    }
+
+    /**
+     * Adds a column of integers, kept as longs
+     */
+    public Schema integer(@Nonnull String name) {
+        return add(new Column.Integers(checkName(name)));
+    }
+
+    /**
+     * Adds a column of decimals with the decimal separator of the format, kept as
+     * longs scaled by the number of decimals of the format. That is 10000,29 is kept
+     * as 1000029 for {@link NumberFormat#N_COMMA_DD}.
+     */
+    public Schema decimal(@Nonnull String name, @Nonnull NumberFormat format) {
+        return add(new Column.Decimals(checkName(name), checkNotNull(format, "Format must not be null")));
+    }
+
+    /**
+     * Adds a column that is not read
+     */
+    public Schema skip() {
+        return add(new Column.Skipped());
+    }
+
+    // ------------------------------------------------------------------------
+
+    /**
+     * Returns the number of columns, including skipped ones
+     */
+    public int size() {
+        return columns.size();
+    }
+
+    /**
+     * Returns the name of the column, or null if it is skipped
+     */
+    public String getName(int column) {
+        return columns.get(column).getName();
+    }
+
+    /**
+     * Returns the index of the named column
+     *
+     * @throws IllegalArgumentException if there is no such column
+     */
+    public int indexOf(@Nonnull String name) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (name.equals(columns.get(i).getName())) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No column named " + name);
+    }
+
+    byte getDelimiter() {
+        return delimiter;
+    }
+
+    boolean hasHeader() {
+        return header;
+    }
+
+    List<Column> getColumns() {
+        return columns;
+    }
+
+    private Schema add(Column column) {
+        return new Schema(delimiter, header, ImmutableList.<Column>builder().addAll(columns).add(column).build());
+    }
+
+    private String checkName(String name) {
+        checkArgument(name != null && !name.isEmpty(), "Column name must not be empty");
+        for (Column column : columns) {
+            checkArgument(!name.equals(column.getName()), "Duplicate column %s", name);
+        }
+        return name;
+    }
+}
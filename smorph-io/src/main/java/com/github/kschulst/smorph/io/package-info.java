@@ -0,0 +1,8 @@
+/**
+ * Conversion of delimited files into typed columns, using the formats and
+ * parsers of smorph straight on the bytes of the file.
+ */
+@ParametersAreNonnullByDefault
+package com.github.kschulst.smorph.io;
+
+import javax.annotation.ParametersAreNonnullByDefault;
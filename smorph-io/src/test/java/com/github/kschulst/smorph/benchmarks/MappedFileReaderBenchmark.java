@@ -0,0 +1,105 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.base.NumberFormat;
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.io.Chunk;
+import com.github.kschulst.smorph.io.ChunkHandler;
+import com.github.kschulst.smorph.io.MappedFileReader;
+import com.github.kschulst.smorph.io.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading a generated file of dates and decimals, in MB per second. With
+ * one thread, that is the throughput per core:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="MappedFileReaderBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappedFileReaderBenchmark {
+
+    private static final int FILE_MB = 256;
+
+    private static final Schema SCHEMA = Schema.delimitedBy(';')
+            .integer("id")
+            .localDate("birthDate", TemporalFormat.DD_MM_YYYY)
+            .localDate("registered", TemporalFormat.YYYYMMDD)
+            .decimal("amount", NumberFormat.N_COMMA_DD)
+            .decimal("balance", NumberFormat.N_COMMA_DD);
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private File file;
+    private ForkJoinPool pool;
+    private MappedFileReader reader = MappedFileReader.of(SCHEMA);
+
+    @Setup
+    public void setUp() throws IOException {
+        file = File.createTempFile("smorph-benchmark", ".csv");
+        file.deleteOnExit();
+        Random random = new Random(42);
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 1 << 16);
+        try {
+            long written = 0;
+            for (long id = 0; written < FILE_MB * 1024L * 1024L; id++) {
+                String line = id + ";"
+                        + String.format("%02d.%02d.%04d", 1 + random.nextInt(28), 1 + random.nextInt(12), 1920 + random.nextInt(90)) + ";"
+                        + String.format("%04d%02d%02d", 1990 + random.nextInt(30), 1 + random.nextInt(12), 1 + random.nextInt(28)) + ";"
+                        + random.nextInt(100000) + "," + String.format("%02d", random.nextInt(100)) + ";"
+                        + (random.nextInt(20000000) - 10000000) + "," + String.format("%02d", random.nextInt(100)) + "\n";
+                byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+                out.write(bytes);
+                written += bytes.length;
+            }
+        }
+        finally {
+            out.close();
+        }
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+        file.delete();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILE_MB)
+    public long megabytes(final Blackhole bh) throws IOException {
+        return reader.read(file, pool, new ChunkHandler() {
+            public void handle(Chunk chunk) {
+                bh.consume(chunk);
+            }
+        });
+    }
+}
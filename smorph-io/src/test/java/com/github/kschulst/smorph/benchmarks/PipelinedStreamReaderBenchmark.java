@@ -0,0 +1,163 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.base.NumberFormat;
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.io.Chunk;
+import com.github.kschulst.smorph.io.ChunkHandler;
+import com.github.kschulst.smorph.io.PipelinedStreamReader;
+import com.github.kschulst.smorph.io.Schema;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading a generated stream end to end, in records per second, and the
+ * peak resident memory of the benchmark JVM (Linux only). The heap is kept small
+ * to show that memory does not grow with the length of the stream:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="PipelinedStreamReaderBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx128m")
+public class PipelinedStreamReaderBenchmark {
+
+    private static final Schema SCHEMA = Schema.delimitedBy(';')
+            .integer("id")
+            .localDate("birthDate", TemporalFormat.DD_MM_YYYY)
+            .localDate("registered", TemporalFormat.YYYYMMDD)
+            .decimal("amount", NumberFormat.N_COMMA_DD)
+            .decimal("balance", NumberFormat.N_COMMA_DD);
+
+    // Lines repeated over and over by the stream
+    private static final int BLOCK_ROWS = 10000;
+
+    @Param({"1000000", "10000000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean inOrder;
+
+    private byte[] block;
+    private PipelinedStreamReader reader;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Records {
+        public long records;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            records = 0;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Memory {
+        public long peakRssMb;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            peakRssMb = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder lines = new StringBuilder();
+        for (int id = 0; id < BLOCK_ROWS; id++) {
+            lines.append(id).append(';')
+                    .append(String.format("%02d.%02d.%04d", 1 + random.nextInt(28), 1 + random.nextInt(12), 1920 + random.nextInt(90))).append(';')
+                    .append(String.format("%04d%02d%02d", 1990 + random.nextInt(30), 1 + random.nextInt(12), 1 + random.nextInt(28))).append(';')
+                    .append(random.nextInt(100000)).append(',').append(String.format("%02d", random.nextInt(100))).append(';')
+                    .append(random.nextInt(20000000) - 10000000).append(',').append(String.format("%02d", random.nextInt(100))).append('\n');
+        }
+        block = lines.toString().getBytes(StandardCharsets.US_ASCII);
+        reader = PipelinedStreamReader.of(SCHEMA);
+        if (inOrder) {
+            reader = reader.inOrder();
+        }
+    }
+
+    @Benchmark
+    public void records(final Blackhole bh, Records records, Memory memory) throws IOException {
+        records.records += reader.read(new RepeatingStream(block, rows / BLOCK_ROWS), new ChunkHandler() {
+            public void handle(Chunk chunk) {
+                bh.consume(chunk);
+            }
+        });
+        memory.peakRssMb = peakRssMb();
+    }
+
+    private static long peakRssMb() throws IOException {
+        if (!Files.exists(Paths.get("/proc/self/status"))) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(Paths.get("/proc/self/status"), StandardCharsets.US_ASCII)) {
+            if (line.startsWith("VmHWM:")) {
+                return Long.parseLong(line.replaceAll("[^0-9]", "")) / 1024;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Streams the block the given number of times, without holding more than the block
+     */
+    private static final class RepeatingStream extends InputStream {
+        private final byte[] block;
+        private int remaining;
+        private int position;
+
+        RepeatingStream(byte[] block, int times) {
+            this.block = block;
+            this.remaining = times;
+        }
+
+        @Override
+        public int read() {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (remaining == 0) {
+                return -1;
+            }
+            int n = Math.min(len, block.length - position);
+            System.arraycopy(block, position, b, off, n);
+            position += n;
+            if (position == block.length) {
+                position = 0;
+                remaining--;
+            }
+            return n;
+        }
+    }
+}
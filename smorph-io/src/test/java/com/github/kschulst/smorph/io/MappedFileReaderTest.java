@@ -0,0 +1,142 @@
+package com.github.kschulst.smorph.io;
+
+import com.github.kschulst.smorph.base.NumberFormat;
+import com.github.kschulst.smorph.base.TemporalFormat;
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+import org.junit.AfterClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class MappedFileReaderTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private static final Schema SCHEMA = Schema.delimitedBy(';')
+            .integer("id")
+            .localDate("birthDate", TemporalFormat.DD_MM_YYYY)
+            .skip()
+            .decimal("amount", NumberFormat.N_COMMA_DD)
+            .dateTime("updated", TemporalFormat.YYYYMMDDHHMMSS);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @AfterClass
+    public static void shutdownPool() {
+        POOL.shutdown();
+    }
+
+    @Test
+    public void read_inChunksAtLineBoundaries() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append(i).append(";").append(String.format("%02d.%02d.%04d", 1 + i % 28, 1 + i % 12, 1950 + i % 60))
+                    .append(";ignored;").append(i).append(",").append(String.format("%02d", i % 100))
+                    .append(";2007022313").append(String.format("%02d", i % 60)).append("42\n");
+        }
+        File file = write(content.toString());
+
+        for (int chunkSize : new int[] {1, 7, 100, 4096, MappedFileReader.DEFAULT_CHUNK_SIZE}) {
+            List<Chunk> chunks = read(MappedFileReader.of(SCHEMA).withChunkSize(chunkSize), file);
+            int row = 0;
+            for (Chunk chunk : chunks) {
+                assertThat(chunk.getFailures().isEmpty(), is(true));
+                for (int r = 0; r < chunk.getRows(); r++, row++) {
+                    assertThat(chunk.getLongs(0)[r], is((long) row));
+                    assertThat(chunk.getLocalDates(1)[r], is(new LocalDate(1950 + row % 60, 1 + row % 12, 1 + row % 28)));
+                    assertThat(chunk.getLongs(3)[r], is(row * 100L + row % 100));
+                    assertThat(chunk.getDecimal(3, r), is(new BigDecimal(row + "." + String.format("%02d", row % 100))));
+                    assertThat(chunk.getLongs(4)[r], is(new DateTime(2007, 2, 23, 13, row % 60, 42, 0).getMillis()));
+                }
+            }
+            assertThat("Chunk size " + chunkSize, row, is(1000));
+        }
+    }
+
+    @Test
+    public void read_reportsFailuresByColumn() throws Exception {
+        File file = write("id;birthDate;x;amount;updated\r\n"
+                + "1;23.02.2007;;10000,29;20070223133742\r\n"
+                + "\r\n"
+                + "x2;31.02.2007;;10000,295;\r\n"
+                + "  3 ;  ;;-1,5;20070223133742;extra\r\n"
+                + "4;23.02.2007\r\n");
+
+        List<Chunk> chunks = read(MappedFileReader.of(SCHEMA.withHeader()), file);
+        assertThat(chunks.size(), is(1));
+        Chunk chunk = chunks.get(0);
+        assertThat(chunk.getRows(), is(4));
+
+        assertThat(chunk.getDecimal(3, 0), is(new BigDecimal("10000.29")));
+        assertThat(chunk.getLongs(0)[2], is(3L));
+        assertThat("Empty fields are missing", chunk.isMissing(1, 2), is(true));
+        assertThat(chunk.getLocalDates(1)[2], is(nullValue()));
+        assertThat(chunk.getDecimal(3, 2), is(new BigDecimal("-1.50")));
+        assertThat(chunk.isMissing(4, 1), is(true));
+
+        List<FieldConversionException> failures = chunk.getFailures();
+        assertThat(failures.size(), is(5));
+        assertFailure(failures.get(0), "id", 1, "id - Error converting from 'x2'. Invalid number format. Line at byte 72");
+        assertFailure(failures.get(1), "birthDate", 1, "birthDate - Error converting from '31.02.2007'. Dateformat: dd.MM.yyyy. Line at byte 72");
+        assertFailure(failures.get(2), "amount", 1, "amount - Error converting from '10000,295'. Invalid number format: 0.00. Line at byte 72");
+        assertFailure(failures.get(3), "amount", 3, "amount - Error converting from ''. Missing field. Line at byte 135");
+        assertFailure(failures.get(4), "updated", 3, "updated - Error converting from ''. Missing field. Line at byte 135");
+    }
+
+    @Test
+    public void read_emptyFile() throws Exception {
+        assertThat(read(MappedFileReader.of(SCHEMA), write("")).size(), is(0));
+        assertThat(read(MappedFileReader.of(SCHEMA.withHeader()), write("id;birthDate")).size(), is(0));
+    }
+
+    private static void assertFailure(FieldConversionException failure, String column, int row, String message) {
+        assertThat(failure.getConversionReference(), is(column));
+        assertThat(failure.getRow(), is(row));
+        assertThat(failure.getMessage(), is(message));
+    }
+
+    private File write(String content) throws IOException {
+        File file = folder.newFile();
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        finally {
+            out.close();
+        }
+        return file;
+    }
+
+    private static List<Chunk> read(MappedFileReader reader, File file) throws IOException {
+        final List<Chunk> chunks = Collections.synchronizedList(new ArrayList<Chunk>());
+        reader.read(file, POOL, new ChunkHandler() {
+            public void handle(Chunk chunk) {
+                chunks.add(chunk);
+            }
+        });
+        Collections.sort(chunks, new Comparator<Chunk>() {
+            public int compare(Chunk c1, Chunk c2) {
+                return c1.getIndex() - c2.getIndex();
+            }
+        });
+        return chunks;
+    }
+}
@@ -0,0 +1,177 @@
+package com.github.kschulst.smorph.io;
+
+import com.github.kschulst.smorph.base.NumberFormat;
+import com.github.kschulst.smorph.base.TemporalFormat;
+import org.joda.time.LocalDate;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class PipelinedStreamReaderTest {
+
+    private static final Schema SCHEMA = Schema.delimitedBy(';')
+            .integer("id")
+            .localDate("birthDate", TemporalFormat.DD_MM_YYYY)
+            .decimal("amount", NumberFormat.N_COMMA_DD);
+
+    @Test
+    public void read_inOrder() throws Exception {
+        String content = rows(1000);
+        for (int chunkSize : new int[] {1, 7, 100, 4096, PipelinedStreamReader.DEFAULT_CHUNK_SIZE}) {
+            final List<Chunk> chunks = new ArrayList<Chunk>();
+            long rows = PipelinedStreamReader.of(SCHEMA).withChunkSize(chunkSize).withWorkers(4).withQueueSize(2).inOrder()
+                    .read(stream(content), new ChunkHandler() {
+                        public void handle(Chunk chunk) {
+                            chunks.add(chunk);
+                        }
+                    });
+            assertThat(rows, is(1000L));
+            for (int i = 0; i < chunks.size(); i++) {
+                assertThat("Chunk size " + chunkSize, chunks.get(i).getIndex(), is(i));
+            }
+            assertRows(chunks, 1000);
+        }
+    }
+
+    @Test
+    public void read_asConverted() throws Exception {
+        final List<Chunk> chunks = new ArrayList<Chunk>();
+        PipelinedStreamReader.of(SCHEMA).withChunkSize(100).withWorkers(4).read(stream(rows(1000)), new ChunkHandler() {
+            public void handle(Chunk chunk) {
+                chunks.add(chunk);
+            }
+        });
+        Collections.sort(chunks, new Comparator<Chunk>() {
+            public int compare(Chunk c1, Chunk c2) {
+                return c1.getIndex() - c2.getIndex();
+            }
+        });
+        assertRows(chunks, 1000);
+    }
+
+    @Test
+    public void read_reportsFailuresByColumn() throws Exception {
+        final List<Chunk> chunks = new ArrayList<Chunk>();
+        PipelinedStreamReader.of(SCHEMA.withHeader()).withChunkSize(1).inOrder().read(stream("id;birthDate;amount\r\n"
+                + "1;23.02.2007;10000,29\r\n"
+                + "x2;31.02.2007;10000,295\r\n"
+                + "3\r\n"), new ChunkHandler() {
+            public void handle(Chunk chunk) {
+                chunks.add(chunk);
+            }
+        });
+        assertThat(chunks.get(0).getOffset(), is(21L));
+        assertThat(chunks.get(0).getDecimal(2, 0), is(new BigDecimal("10000.29")));
+
+        List<FieldConversionException> failures = new ArrayList<FieldConversionException>();
+        for (Chunk chunk : chunks) {
+            failures.addAll(chunk.getFailures());
+        }
+        assertThat(failures.size(), is(5));
+        assertThat(failures.get(0).getMessage(), is("id - Error converting from 'x2'. Invalid number format. Line at byte 44"));
+        assertThat(failures.get(1).getMessage(), is("birthDate - Error converting from '31.02.2007'. Dateformat: dd.MM.yyyy. Line at byte 44"));
+        assertThat(failures.get(2).getMessage(), is("amount - Error converting from '10000,295'. Invalid number format: 0.00. Line at byte 44"));
+        assertThat(failures.get(3).getMessage(), is("birthDate - Error converting from ''. Missing field. Line at byte 69"));
+        assertThat(failures.get(4).getConversionReference(), is("amount"));
+    }
+
+    @Test
+    public void read_withHeader() throws Exception {
+        final List<Chunk> chunks = new ArrayList<Chunk>();
+        long rows = PipelinedStreamReader.of(SCHEMA.withHeader()).read(stream("id;birthDate;amount\n" + rows(1000)), new ChunkHandler() {
+            public void handle(Chunk chunk) {
+                chunks.add(chunk);
+            }
+        });
+        assertThat(rows, is(1000L));
+        assertThat(chunks.get(0).getOffset(), is(20L));
+        assertRows(chunks, 1000);
+    }
+
+    @Test
+    public void read_emptyStream() throws Exception {
+        ChunkHandler handler = new ChunkHandler() {
+            public void handle(Chunk chunk) {
+                fail("No chunks expected");
+            }
+        };
+        assertThat(PipelinedStreamReader.of(SCHEMA).read(stream(""), handler), is(0L));
+        assertThat(PipelinedStreamReader.of(SCHEMA.withHeader()).read(stream("id;birthDate"), handler), is(0L));
+    }
+
+    @Test
+    public void read_streamFailure() throws Exception {
+        final IOException failure = new IOException("Broken pipe");
+        InputStream broken = new SequenceInputStream(stream(rows(1000)), new InputStream() {
+            public int read() throws IOException {
+                throw failure;
+            }
+        });
+        try {
+            PipelinedStreamReader.of(SCHEMA).withChunkSize(100).withQueueSize(1).read(broken, new ChunkHandler() {
+                public void handle(Chunk chunk) {
+                }
+            });
+            fail("Expected IOException");
+        }
+        catch (IOException e) {
+            assertThat(e, is(sameInstance(failure)));
+        }
+    }
+
+    @Test
+    public void read_handlerFailure() throws Exception {
+        final IllegalStateException failure = new IllegalStateException("Full");
+        try {
+            PipelinedStreamReader.of(SCHEMA).withChunkSize(100).read(stream(rows(1000)), new ChunkHandler() {
+                public void handle(Chunk chunk) {
+                    throw failure;
+                }
+            });
+            fail("Expected IllegalStateException");
+        }
+        catch (IllegalStateException e) {
+            assertThat(e, is(sameInstance(failure)));
+        }
+    }
+
+    private static void assertRows(List<Chunk> chunks, int expected) {
+        int row = 0;
+        for (Chunk chunk : chunks) {
+            assertThat(chunk.getFailures().isEmpty(), is(true));
+            for (int r = 0; r < chunk.getRows(); r++, row++) {
+                assertThat(chunk.getLongs(0)[r], is((long) row));
+                assertThat(chunk.getLocalDates(1)[r], is(new LocalDate(1950 + row % 60, 1 + row % 12, 1 + row % 28)));
+                assertThat(chunk.getLongs(2)[r], is(row * 100L + row % 100));
+            }
+        }
+        assertThat(row, is(expected));
+    }
+
+    private static String rows(int count) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            content.append(i).append(";").append(String.format("%02d.%02d.%04d", 1 + i % 28, 1 + i % 12, 1950 + i % 60))
+                    .append(";").append(i).append(",").append(String.format("%02d", i % 100)).append("\n");
+        }
+        return content.toString();
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
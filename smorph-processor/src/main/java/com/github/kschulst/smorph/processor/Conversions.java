@@ -0,0 +1,161 @@
+package com.github.kschulst.smorph.processor;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The conversions the generated mappers use for mapping a property of one type
+ * onto a property of another, mirroring the rules of the runtime BeanMapper.
+ * Each is a source code template calling one of the To* converters, with the
+ * value cast to pick the overload of the source type.
+ */
+final class Conversions {
+    private Conversions() {}
+
+    private static final String TO_NUMBER = "com.github.kschulst.smorph.converters.nullsafe.ToNumber";
+    private static final String TO_LOCAL_DATE = "com.github.kschulst.smorph.converters.nullsafe.ToLocalDate";
+    private static final String TO_DATE_TIME = "com.github.kschulst.smorph.converters.nullsafe.ToDateTime";
+    private static final String TO_DATE = "com.github.kschulst.smorph.converters.nullsafe.ToDate";
+    private static final String TO_CALENDAR = "com.github.kschulst.smorph.converters.nullsafe.ToCalendar";
+    private static final String TO_XML_GREGORIAN_CALENDAR = "com.github.kschulst.smorph.converters.nullsafe.ToXMLGregorianCalendar";
+    private static final String TO_DATE_STRING = "com.github.kschulst.smorph.converters.formatters.ToDateString";
+    static final String TO_VALUE = "com.github.kschulst.smorph.converters.nullsafe.ToValue";
+
+    static final String NUMBER = "java.lang.Number";
+    static final String STRING = "java.lang.String";
+    static final String CHAR_SEQUENCE = "java.lang.CharSequence";
+    static final String BIG_DECIMAL = "java.math.BigDecimal";
+    static final String BIG_INTEGER = "java.math.BigInteger";
+    static final String DATE = "java.util.Date";
+    static final String CALENDAR = "java.util.Calendar";
+    static final String LOCAL_DATE = "org.joda.time.LocalDate";
+    static final String DATE_TIME = "org.joda.time.DateTime";
+    static final String READABLE_PARTIAL = "org.joda.time.ReadablePartial";
+    static final String READABLE_INSTANT = "org.joda.time.ReadableInstant";
+    static final String XML_GREGORIAN_CALENDAR = "javax.xml.datatype.XMLGregorianCalendar";
+    static final String JAXB_ELEMENT = "javax.xml.bind.JAXBElement";
+
+    /**
+     * Conversion from values of (a subtype of) one type to another type
+     */
+    static class Rule {
+        final String fromType;
+        final String toType;
+        final String method;
+        final String castType;
+
+        /**
+         * @param method the qualified name of the static method called with the value
+         * @param castType the parameter type of the overload to call
+         */
+        Rule(String fromType, String toType, String method, String castType) {
+            this.fromType = fromType;
+            this.toType = toType;
+            this.method = method;
+            this.castType = castType;
+        }
+
+        boolean needsFormat() {
+            return false;
+        }
+
+        /**
+         * Returns the expression converting the value expression
+         */
+        String expression(String value, @Nullable TemporalFormat format) {
+            return method + "((" + castType + ") " + value + ")";
+        }
+    }
+
+    /**
+     * Conversion between dates and strings, which needs the format of the strings
+     */
+    static class FormatRule extends Rule {
+        FormatRule(String fromType, String toType, String method, String castType) {
+            super(fromType, toType, method, castType);
+        }
+
+        @Override
+        boolean needsFormat() {
+            return true;
+        }
+
+        @Override
+        String expression(String value, @Nullable TemporalFormat format) {
+            return methodFor(format) + "((" + castType + ") " + value + ", " + TemporalFormat.class.getName() + "." + format.name() + ")";
+        }
+
+        String methodFor(TemporalFormat format) {
+            return method;
+        }
+    }
+
+    private static Rule rule(String fromType, String toType, String method) {
+        return new Rule(fromType, toType, method, fromType);
+    }
+
+    private static Rule formatRule(String fromType, String toType, String method, String castType) {
+        return new FormatRule(fromType, toType, method, castType);
+    }
+
+    private static final List<Rule> RULES = Arrays.asList(
+            rule(NUMBER, "java.lang.Integer", TO_NUMBER + ".asInteger"),
+            rule(NUMBER, "java.lang.Long", TO_NUMBER + ".asLong"),
+            rule(NUMBER, "java.lang.Double", TO_NUMBER + ".asDouble"),
+            rule(NUMBER, BIG_DECIMAL, TO_NUMBER + ".asBigDecimal"),
+            rule(NUMBER, BIG_INTEGER, TO_NUMBER + ".asBigInteger"),
+            rule(STRING, "java.lang.Integer", TO_NUMBER + ".asInteger"),
+            rule(STRING, "java.lang.Long", TO_NUMBER + ".asLong"),
+            rule(STRING, "java.lang.Double", TO_NUMBER + ".asDouble"),
+            rule(STRING, BIG_DECIMAL, TO_NUMBER + ".asBigDecimal"),
+            rule(STRING, BIG_INTEGER, TO_NUMBER + ".asBigInteger"),
+
+            formatRule(STRING, LOCAL_DATE, TO_LOCAL_DATE + ".from", CHAR_SEQUENCE),
+            rule(XML_GREGORIAN_CALENDAR, LOCAL_DATE, TO_LOCAL_DATE + ".from"),
+            rule(CALENDAR, LOCAL_DATE, TO_LOCAL_DATE + ".from"),
+            rule(DATE, LOCAL_DATE, TO_LOCAL_DATE + ".from"),
+            rule(DATE_TIME, LOCAL_DATE, TO_LOCAL_DATE + ".from"),
+
+            formatRule(STRING, DATE_TIME, TO_DATE_TIME + ".from", CHAR_SEQUENCE),
+            rule(XML_GREGORIAN_CALENDAR, DATE_TIME, TO_DATE_TIME + ".from"),
+            rule(CALENDAR, DATE_TIME, TO_DATE_TIME + ".from"),
+            rule(DATE, DATE_TIME, TO_DATE_TIME + ".from"),
+            rule(LOCAL_DATE, DATE_TIME, TO_DATE_TIME + ".from"),
+
+            formatRule(STRING, DATE, TO_DATE + ".from", CHAR_SEQUENCE),
+            rule(XML_GREGORIAN_CALENDAR, DATE, TO_DATE + ".from"),
+            rule(CALENDAR, DATE, TO_DATE + ".from"),
+            rule(LOCAL_DATE, DATE, TO_DATE + ".from"),
+            rule(DATE_TIME, DATE, TO_DATE + ".from"),
+
+            formatRule(STRING, CALENDAR, TO_CALENDAR + ".from", CHAR_SEQUENCE),
+            rule(XML_GREGORIAN_CALENDAR, CALENDAR, TO_CALENDAR + ".from"),
+            rule(DATE, CALENDAR, TO_CALENDAR + ".from"),
+            rule(LOCAL_DATE, CALENDAR, TO_CALENDAR + ".from"),
+            rule(DATE_TIME, CALENDAR, TO_CALENDAR + ".from"),
+
+            new FormatRule(STRING, XML_GREGORIAN_CALENDAR, TO_XML_GREGORIAN_CALENDAR + ".asDateTime", CHAR_SEQUENCE) {
+                @Override
+                String methodFor(TemporalFormat format) {
+                    return TO_XML_GREGORIAN_CALENDAR + (format.isTimeAware() ? ".asDateTime" : ".asDateOnly");
+                }
+            },
+            rule(LOCAL_DATE, XML_GREGORIAN_CALENDAR, TO_XML_GREGORIAN_CALENDAR + ".asDateOnly"),
+            rule(DATE_TIME, XML_GREGORIAN_CALENDAR, TO_XML_GREGORIAN_CALENDAR + ".asDateTime"),
+            rule(DATE, XML_GREGORIAN_CALENDAR, TO_XML_GREGORIAN_CALENDAR + ".asDateTime"),
+            rule(CALENDAR, XML_GREGORIAN_CALENDAR, TO_XML_GREGORIAN_CALENDAR + ".asDateTime"),
+
+            formatRule(READABLE_PARTIAL, STRING, TO_DATE_STRING + ".from", READABLE_PARTIAL),
+            formatRule(READABLE_INSTANT, STRING, TO_DATE_STRING + ".from", READABLE_INSTANT),
+            formatRule(DATE, STRING, TO_DATE_STRING + ".from", DATE),
+            formatRule(CALENDAR, STRING, TO_DATE_STRING + ".from", CALENDAR),
+            formatRule(XML_GREGORIAN_CALENDAR, STRING, TO_DATE_STRING + ".from", XML_GREGORIAN_CALENDAR)
+    );
+
+    static List<Rule> rules() {
+        return RULES;
+    }
+}
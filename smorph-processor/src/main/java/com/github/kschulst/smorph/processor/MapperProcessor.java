@@ -0,0 +1,73 @@
+package com.github.kschulst.smorph.processor;
+
+import com.github.kschulst.smorph.mapping.Mapper;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Implements the types annotated with {@link Mapper}, generating a class named
+ * after the mapper with an Impl suffix (nested mappers having the names of their
+ * enclosing types prepended, separated by underscores).
+ * <p>
+ * The abstract methods of the mapper either create the target:
+ * <pre>
+ * PersonDto toDto(Person person);
+ * </pre>
+ * or map onto a given target:
+ * <pre>
+ * void update(Person person, PersonDto dto);
+ * </pre>
+ * Each property of the target that can be written (by a setter or a non-final
+ * field) is mapped from the property of the source with the same name that can
+ * be read (by a getter or a field). Values of assignable types are copied as they
+ * are, and others converted by calling the To* converters, so the generated code
+ * uses no reflection. Properties of the source that have no conversion to the
+ * target property type are compile errors.
+ */
+@SupportedAnnotationTypes("com.github.kschulst.smorph.mapping.Mapper")
+public class MapperProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Mapper.class)) {
+            if (!isMapperType(element)) {
+                error(element, "@" + Mapper.class.getSimpleName() + " must be put on an interface or an abstract class");
+                continue;
+            }
+            try {
+                new MapperWriter(processingEnv, (TypeElement) element).write();
+            }
+            catch (IOException e) {
+                error(element, "Could not write the implementation of " + element + ": " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private static boolean isMapperType(Element element) {
+        if (element.getKind() == ElementKind.INTERFACE) {
+            return true;
+        }
+        return element.getKind() == ElementKind.CLASS && element.getModifiers().contains(Modifier.ABSTRACT)
+                && (element.getEnclosingElement().getKind() == ElementKind.PACKAGE || element.getModifiers().contains(Modifier.STATIC));
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,362 @@
+package com.github.kschulst.smorph.processor;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.mapping.MappingFormat;
+
+import javax.annotation.Nullable;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes the implementation of one {@link com.github.kschulst.smorph.mapping.Mapper} type
+ */
+final class MapperWriter {
+
+    /**
+     * A property of a bean, with the expression reading or writing it
+     */
+    private static final class Property {
+        final String name;
+        final TypeMirror type;
+        final String access;
+        final boolean field;
+        @Nullable
+        final TemporalFormat format;
+
+        Property(String name, TypeMirror type, String access, boolean field, @Nullable TemporalFormat format) {
+            this.name = name;
+            this.type = type;
+            this.access = access;
+            this.field = field;
+            this.format = format;
+        }
+    }
+
+    private final Elements elements;
+    private final Types types;
+    private final ProcessingEnvironment env;
+    private final TypeElement mapper;
+    private final PackageElement mapperPackage;
+    @Nullable
+    private final TemporalFormat defaultFormat;
+    private boolean failed;
+
+    MapperWriter(ProcessingEnvironment env, TypeElement mapper) {
+        this.env = env;
+        this.elements = env.getElementUtils();
+        this.types = env.getTypeUtils();
+        this.mapper = mapper;
+        this.mapperPackage = elements.getPackageOf(mapper);
+        this.defaultFormat = formatOf(mapper);
+    }
+
+    // ------------------------------------------------------------------------
+    // Class
+    // ------------------------------------------------------------------------
+
+    void write() throws IOException {
+        StringBuilder methods = new StringBuilder();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(mapper))) {
+            if (method.getModifiers().contains(Modifier.ABSTRACT)) {
+                writeMethod(methods, method);
+            }
+        }
+        if (failed) {
+            return;
+        }
+
+        String packageName = mapperPackage.getQualifiedName().toString();
+        String implName = implName(mapper);
+        StringBuilder out = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("// Generated by ").append(MapperProcessor.class.getSimpleName()).append(" from ")
+                .append(mapper.getQualifiedName()).append(". Do not edit.\n");
+        if (mapper.getModifiers().contains(Modifier.PUBLIC)) {
+            out.append("public ");
+        }
+        out.append("class ").append(implName)
+                .append(mapper.getKind() == ElementKind.INTERFACE ? " implements " : " extends ")
+                .append(mapper.getQualifiedName()).append(" {\n")
+                .append(methods)
+                .append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? implName : packageName + "." + implName;
+        Writer writer = env.getFiler().createSourceFile(qualifiedName, mapper).openWriter();
+        try {
+            writer.write(out.toString());
+        }
+        finally {
+            writer.close();
+        }
+    }
+
+    private static String implName(TypeElement mapper) {
+        String name = mapper.getSimpleName().toString();
+        for (Element e = mapper.getEnclosingElement(); e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+            name = e.getSimpleName() + "_" + name;
+        }
+        return name + "Impl";
+    }
+
+    // ------------------------------------------------------------------------
+    // Methods
+    // ------------------------------------------------------------------------
+
+    private void writeMethod(StringBuilder out, ExecutableElement method) {
+        List<? extends VariableElement> parameters = method.getParameters();
+        TypeMirror returnType = method.getReturnType();
+        boolean create = parameters.size() == 1 && returnType.getKind() == TypeKind.DECLARED;
+        boolean update = parameters.size() == 2 && returnType.getKind() == TypeKind.VOID
+                && parameters.get(1).asType().getKind() == TypeKind.DECLARED;
+        if (!(create || update) || parameters.get(0).asType().getKind() != TypeKind.DECLARED) {
+            error(method, "Mapper methods must either take a source and return a new target, or take a source and a target and return void");
+            return;
+        }
+
+        TypeMirror sourceType = parameters.get(0).asType();
+        TypeMirror targetType = create ? returnType : parameters.get(1).asType();
+        if (create && !isInstantiable((TypeElement) types.asElement(targetType))) {
+            error(method, targetType + " needs an accessible constructor without parameters");
+            return;
+        }
+
+        out.append("\n    @Override\n    ");
+        if (method.getModifiers().contains(Modifier.PUBLIC)) {
+            out.append("public ");
+        }
+        else if (method.getModifiers().contains(Modifier.PROTECTED)) {
+            out.append("protected ");
+        }
+        out.append(create ? targetType.toString() : "void").append(" ").append(method.getSimpleName())
+                .append("(").append(sourceType).append(" source");
+        if (update) {
+            out.append(", ").append(targetType).append(" target");
+        }
+        out.append(") {\n");
+        out.append("        if (source == null) {\n            return").append(create ? " null" : "").append(";\n        }\n");
+        if (create) {
+            out.append("        ").append(targetType).append(" target = new ").append(targetType).append("();\n");
+        }
+
+        Map<String, Property> readable = readableProperties((TypeElement) types.asElement(sourceType));
+        for (Property to : writableProperties((TypeElement) types.asElement(targetType)).values()) {
+            Property from = readable.get(to.name);
+            if (from != null) {
+                writeMapping(out, method, sourceType, targetType, from, to);
+            }
+        }
+
+        if (create) {
+            out.append("        return target;\n");
+        }
+        out.append("    }\n");
+    }
+
+    private boolean isInstantiable(TypeElement type) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT)
+                || (type.getEnclosingElement().getKind() != ElementKind.PACKAGE && !type.getModifiers().contains(Modifier.STATIC))) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && isAccessible(constructor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ------------------------------------------------------------------------
+    // Properties
+    // ------------------------------------------------------------------------
+
+    private void writeMapping(StringBuilder out, ExecutableElement method, TypeMirror sourceType, TypeMirror targetType, Property from, Property to) {
+        String value = "source." + from.access;
+        TypeMirror valueType = from.type;
+        if (isJaxbElement(valueType)) {
+            List<? extends TypeMirror> typeArguments = ((DeclaredType) valueType).getTypeArguments();
+            if (typeArguments.size() == 1 && typeArguments.get(0).getKind() == TypeKind.DECLARED) {
+                value = Conversions.TO_VALUE + ".from(" + value + ")";
+                valueType = typeArguments.get(0);
+            }
+        }
+
+        String valueClass;
+        if (types.isAssignable(valueType, to.type)) {
+            valueClass = valueType.toString();
+        }
+        else {
+            Conversions.Rule rule = findRule(boxed(valueType), boxed(to.type));
+            if (rule == null) {
+                error(method, "Cannot map property '" + to.name + "' of " + sourceType + " to " + targetType
+                        + ": there is no conversion from " + valueType + " to " + to.type);
+                return;
+            }
+            TemporalFormat format = format(from, to);
+            if (rule.needsFormat() && format == null) {
+                error(method, "Cannot map property '" + to.name + "' of " + sourceType + " to " + targetType + ": mapping "
+                        + valueType + " to " + to.type + " requires a @" + MappingFormat.class.getSimpleName() + " or a default format");
+                return;
+            }
+            value = rule.expression(value, format);
+            valueClass = rule.toType;
+        }
+
+        if (to.type.getKind().isPrimitive() && !valueType.getKind().isPrimitive()) {
+            // Nulls leave primitives as they are, the way the runtime BeanMapper does
+            String local = to.name + "Value";
+            out.append("        ").append(valueClass).append(" ").append(local).append(" = ").append(value).append(";\n");
+            out.append("        if (").append(local).append(" != null) {\n    ");
+            writeAssignment(out, to, local);
+            out.append("        }\n");
+        }
+        else {
+            writeAssignment(out, to, value);
+        }
+    }
+
+    private static void writeAssignment(StringBuilder out, Property to, String value) {
+        out.append("        target.").append(to.access);
+        out.append(to.field ? " = " + value + ";\n" : "(" + value + ");\n");
+    }
+
+    @Nullable
+    private Conversions.Rule findRule(TypeMirror from, TypeMirror to) {
+        String toName = types.erasure(to).toString();
+        for (Conversions.Rule rule : Conversions.rules()) {
+            TypeElement ruleFrom = elements.getTypeElement(rule.fromType);
+            if (rule.toType.equals(toName) && ruleFrom != null && types.isAssignable(types.erasure(from), types.erasure(ruleFrom.asType()))) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the format of the source property when printing strings, else
+     * that of the target property, else the default format
+     */
+    @Nullable
+    private TemporalFormat format(Property from, Property to) {
+        TemporalFormat first = Conversions.STRING.equals(to.type.toString()) ? from.format : to.format;
+        TemporalFormat second = Conversions.STRING.equals(to.type.toString()) ? to.format : from.format;
+        return (first != null) ? first : (second != null) ? second : defaultFormat;
+    }
+
+    private Map<String, Property> readableProperties(TypeElement type) {
+        Map<String, Property> properties = new LinkedHashMap<String, Property>();
+        List<? extends Element> members = elements.getAllMembers(type);
+        for (ExecutableElement method : ElementFilter.methodsIn(members)) {
+            String name = method.getSimpleName().toString();
+            String property = null;
+            if (name.startsWith("get") && name.length() > 3 && !name.equals("getClass")) {
+                property = decapitalize(name.substring(3));
+            }
+            else if (name.startsWith("is") && name.length() > 2 && method.getReturnType().getKind() == TypeKind.BOOLEAN) {
+                property = decapitalize(name.substring(2));
+            }
+            if (property != null && method.getParameters().isEmpty() && method.getReturnType().getKind() != TypeKind.VOID
+                    && isAccessible(method) && !method.getModifiers().contains(Modifier.STATIC)) {
+                properties.put(property, new Property(property, method.getReturnType(), name + "()", false, fieldFormat(members, property)));
+            }
+        }
+        for (VariableElement field : ElementFilter.fieldsIn(members)) {
+            String name = field.getSimpleName().toString();
+            if (!properties.containsKey(name) && isAccessible(field) && !field.getModifiers().contains(Modifier.STATIC)) {
+                properties.put(name, new Property(name, field.asType(), name, true, formatOf(field)));
+            }
+        }
+        return properties;
+    }
+
+    private Map<String, Property> writableProperties(TypeElement type) {
+        Map<String, Property> properties = new LinkedHashMap<String, Property>();
+        List<? extends Element> members = elements.getAllMembers(type);
+        for (ExecutableElement method : ElementFilter.methodsIn(members)) {
+            String name = method.getSimpleName().toString();
+            if (name.startsWith("set") && name.length() > 3 && method.getParameters().size() == 1
+                    && isAccessible(method) && !method.getModifiers().contains(Modifier.STATIC)) {
+                String property = decapitalize(name.substring(3));
+                properties.put(property, new Property(property, method.getParameters().get(0).asType(), name, false, fieldFormat(members, property)));
+            }
+        }
+        for (VariableElement field : ElementFilter.fieldsIn(members)) {
+            String name = field.getSimpleName().toString();
+            if (!properties.containsKey(name) && isAccessible(field)
+                    && !field.getModifiers().contains(Modifier.STATIC) && !field.getModifiers().contains(Modifier.FINAL)) {
+                properties.put(name, new Property(name, field.asType(), name, true, formatOf(field)));
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Returns the format of the field backing a getter or setter, if any
+     */
+    @Nullable
+    private static TemporalFormat fieldFormat(List<? extends Element> members, String name) {
+        for (VariableElement field : ElementFilter.fieldsIn(members)) {
+            if (field.getSimpleName().contentEquals(name)) {
+                return formatOf(field);
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static TemporalFormat formatOf(Element element) {
+        MappingFormat format = element.getAnnotation(MappingFormat.class);
+        return (format == null) ? null : format.value();
+    }
+
+    private boolean isAccessible(Element member) {
+        Set<Modifier> modifiers = member.getModifiers();
+        return modifiers.contains(Modifier.PUBLIC)
+                || (!modifiers.contains(Modifier.PRIVATE) && elements.getPackageOf(member).equals(mapperPackage));
+    }
+
+    // ------------------------------------------------------------------------
+    // Types
+    // ------------------------------------------------------------------------
+
+    private boolean isJaxbElement(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((TypeElement) types.asElement(type)).getQualifiedName().contentEquals(Conversions.JAXB_ELEMENT);
+    }
+
+    private TypeMirror boxed(TypeMirror type) {
+        return type.getKind().isPrimitive() ? types.boxedClass(types.getPrimitiveType(type.getKind())).asType() : type;
+    }
+
+    private static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(0)) && Character.isUpperCase(name.charAt(1))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private void error(Element element, String message) {
+        failed = true;
+        env.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
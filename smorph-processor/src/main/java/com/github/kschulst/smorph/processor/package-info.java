@@ -0,0 +1,7 @@
+/**
+ * Mapping of beans onto other beans, field by field, using the converters.
+ */
+@ParametersAreNonnullByDefault
+package com.github.kschulst.smorph.processor;
+
+import javax.annotation.ParametersAreNonnullByDefault;
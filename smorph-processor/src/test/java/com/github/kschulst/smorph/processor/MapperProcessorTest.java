@@ -0,0 +1,238 @@
+package com.github.kschulst.smorph.processor;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.google.common.base.Function;
+import org.joda.time.LocalDate;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.annotation.Nullable;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class MapperProcessorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final String PERSON = "package test;\n"
+            + "public class Person {\n"
+            + "    private String name;\n"
+            + "    private org.joda.time.LocalDate birthDate;\n"
+            + "    private java.util.Date registered;\n"
+            + "    private Integer height;\n"
+            + "    private java.math.BigDecimal weight;\n"
+            + "    public long id;\n"
+            + "    public String getName() { return name; }\n"
+            + "    public void setName(String name) { this.name = name; }\n"
+            + "    public org.joda.time.LocalDate getBirthDate() { return birthDate; }\n"
+            + "    public void setBirthDate(org.joda.time.LocalDate birthDate) { this.birthDate = birthDate; }\n"
+            + "    public java.util.Date getRegistered() { return registered; }\n"
+            + "    public void setRegistered(java.util.Date registered) { this.registered = registered; }\n"
+            + "    public Integer getHeight() { return height; }\n"
+            + "    public void setHeight(Integer height) { this.height = height; }\n"
+            + "    public java.math.BigDecimal getWeight() { return weight; }\n"
+            + "    public void setWeight(java.math.BigDecimal weight) { this.weight = weight; }\n"
+            + "}\n";
+
+    private static final String PERSON_DTO = "package test;\n"
+            + "import com.github.kschulst.smorph.base.TemporalFormat;\n"
+            + "import com.github.kschulst.smorph.mapping.MappingFormat;\n"
+            + "public class PersonDto {\n"
+            + "    public String name;\n"
+            + "    @MappingFormat(TemporalFormat.YYYYMMDD) public String birthDate;\n"
+            + "    public String registered;\n"
+            + "    public int height = -1;\n"
+            + "    public double weight;\n"
+            + "    public Long id;\n"
+            + "    public final String ignored = \"x\";\n"
+            + "}\n";
+
+    private static final String PERSON_MAPPER = "package test;\n"
+            + "import com.github.kschulst.smorph.base.TemporalFormat;\n"
+            + "import com.github.kschulst.smorph.mapping.Mapper;\n"
+            + "import com.github.kschulst.smorph.mapping.MappingFormat;\n"
+            + "@Mapper\n"
+            + "@MappingFormat(TemporalFormat.DD_MM_YYYY)\n"
+            + "public interface PersonMapper {\n"
+            + "    PersonDto toDto(Person person);\n"
+            + "    void update(PersonDto dto, Person person);\n"
+            + "}\n";
+
+    @Test
+    public void generatesMapperWithoutReflection() throws Exception {
+        ClassLoader loader = compile(null, PERSON, PERSON_DTO, PERSON_MAPPER);
+
+        String generated = new String(Files.readAllBytes(new File(folder.getRoot(), "generated/test/PersonMapperImpl.java").toPath()), StandardCharsets.UTF_8);
+        assertThat(generated, containsString("ToDateString.from("));
+        assertThat(generated, not(containsString("reflect")));
+
+        Class<?> personClass = loader.loadClass("test.Person");
+        Object person = personClass.getDeclaredConstructor().newInstance();
+        personClass.getMethod("setName", String.class).invoke(person, "Ola");
+        personClass.getMethod("setBirthDate", LocalDate.class).invoke(person, new LocalDate(1970, 2, 23));
+        personClass.getMethod("setRegistered", Date.class).invoke(person, new LocalDate(2015, 1, 2).toDate());
+        personClass.getMethod("setWeight", BigDecimal.class).invoke(person, new BigDecimal("79.5"));
+        personClass.getField("id").setLong(person, 42L);
+
+        Class<?> mapperClass = loader.loadClass("test.PersonMapperImpl");
+        Object mapper = mapperClass.getDeclaredConstructor().newInstance();
+        Method toDto = mapperClass.getMethod("toDto", personClass);
+        Object dto = toDto.invoke(mapper, person);
+        Class<?> dtoClass = dto.getClass();
+        assertThat(dtoClass.getField("name").get(dto), is((Object) "Ola"));
+        assertThat(dtoClass.getField("birthDate").get(dto), is((Object) "19700223"));
+        assertThat(dtoClass.getField("registered").get(dto), is((Object) "02.01.2015"));
+        assertThat("Null is not mapped onto a primitive", dtoClass.getField("height").getInt(dto), is(-1));
+        assertThat(dtoClass.getField("weight").getDouble(dto), is(79.5));
+        assertThat(dtoClass.getField("id").get(dto), is((Object) 42L));
+        assertThat(toDto.invoke(mapper, (Object) null), is(nullValue()));
+
+        dtoClass.getField("birthDate").set(dto, "19800101");
+        dtoClass.getField("registered").set(dto, "03.04.2016");
+        dtoClass.getField("height").setInt(dto, 180);
+        Object updated = personClass.getDeclaredConstructor().newInstance();
+        mapperClass.getMethod("update", dtoClass, personClass).invoke(mapper, dto, updated);
+        assertThat(personClass.getMethod("getBirthDate").invoke(updated), is((Object) new LocalDate(1980, 1, 1)));
+        assertThat(personClass.getMethod("getRegistered").invoke(updated), is((Object) new LocalDate(2016, 4, 3).toDate()));
+        assertThat(personClass.getMethod("getHeight").invoke(updated), is((Object) 180));
+        assertThat(((BigDecimal) personClass.getMethod("getWeight").invoke(updated)).doubleValue(), is(79.5));
+    }
+
+    @Test
+    public void nestedMapperInAbstractClass() throws Exception {
+        String mappers = "package test;\n"
+                + "import com.github.kschulst.smorph.mapping.Mapper;\n"
+                + "public class Mappers {\n"
+                + "    @Mapper\n"
+                + "    @com.github.kschulst.smorph.mapping.MappingFormat(com.github.kschulst.smorph.base.TemporalFormat.DD_MM_YYYY)\n"
+                + "    public abstract static class DtoMapper {\n"
+                + "        public abstract Person toPerson(PersonDto dto);\n"
+                + "    }\n"
+                + "}\n";
+        ClassLoader loader = compile(null, PERSON, PERSON_DTO, mappers);
+
+        Object dto = loader.loadClass("test.PersonDto").getDeclaredConstructor().newInstance();
+        dto.getClass().getField("height").setInt(dto, 170);
+        Class<?> mapperClass = loader.loadClass("test.Mappers_DtoMapperImpl");
+        Object person = mapperClass.getMethod("toPerson", dto.getClass()).invoke(mapperClass.getDeclaredConstructor().newInstance(), dto);
+        assertThat(person.getClass().getMethod("getHeight").invoke(person), is((Object) 170));
+        assertThat(person.getClass().getMethod("getBirthDate").invoke(person), is(nullValue()));
+    }
+
+    @Test
+    public void reportsPropertiesThatCannotBeMapped() throws Exception {
+        String mapper = "package test;\n"
+                + "import com.github.kschulst.smorph.mapping.Mapper;\n"
+                + "@Mapper\n"
+                + "public interface PersonMapper {\n"
+                + "    PersonDto toDto(Person person);\n"
+                + "}\n";
+        List<String> errors = new ArrayList<String>();
+        compile(errors, PERSON, PERSON_DTO, mapper);
+        assertThat(errors.toString(), errors.size(), is(1));
+        assertThat(errors.get(0), is("Cannot map property 'registered' of test.Person to test.PersonDto: "
+                + "mapping java.util.Date to java.lang.String requires a @MappingFormat or a default format"));
+
+        String dto = PERSON_DTO.replace("public int height", "public java.util.Locale height");
+        errors.clear();
+        compile(errors, PERSON, dto, PERSON_MAPPER);
+        assertThat(errors.toString(), errors.size(), is(2));
+        assertThat(errors.get(0), containsString("there is no conversion from java.lang.Integer to java.util.Locale"));
+        assertThat(errors.get(1), containsString("there is no conversion from java.util.Locale to java.lang.Integer"));
+    }
+
+    // ------------------------------------------------------------------------
+    // Compilation
+    // ------------------------------------------------------------------------
+
+    /**
+     * Compiles the sources with the processor, collecting the error messages if a
+     * list is given, or else failing on errors
+     */
+    private ClassLoader compile(@Nullable List<String> errors, String... sources) throws IOException {
+        File sourceDir = folder.newFolder();
+        File generatedDir = new File(folder.getRoot(), "generated");
+        File classesDir = new File(folder.getRoot(), "classes");
+        generatedDir.mkdirs();
+        classesDir.mkdirs();
+
+        List<File> files = new ArrayList<File>();
+        for (String source : sources) {
+            String className = source.replaceAll("(?s).*?public (?:abstract )?(?:class|interface) (\\w+).*", "$1");
+            File file = new File(sourceDir, "test/" + className + ".java");
+            file.getParentFile().mkdirs();
+            Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+            files.add(file);
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8);
+        try {
+            List<String> options = Arrays.asList("-classpath", classPath(), "-d", classesDir.getPath(), "-s", generatedDir.getPath());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, fileManager.getJavaFileObjectsFromFiles(files));
+            task.setProcessors(Collections.singletonList(new MapperProcessor()));
+            boolean success = task.call();
+
+            List<String> messages = (errors == null) ? new ArrayList<String>() : errors;
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                    messages.add(diagnostic.getMessage(null));
+                }
+            }
+            if (errors == null) {
+                assertThat(messages.toString(), success, is(true));
+            }
+        }
+        finally {
+            fileManager.close();
+        }
+        return new URLClassLoader(new URL[] {classesDir.toURI().toURL()}, getClass().getClassLoader());
+    }
+
+    /**
+     * Returns the class path of smorph and its dependencies, found from classes of
+     * each, since the test class path may be hidden in a manifest
+     */
+    private static String classPath() {
+        StringBuilder classPath = new StringBuilder();
+        for (String className : Arrays.asList(TemporalFormat.class.getName(), LocalDate.class.getName(), Function.class.getName(),
+                Nullable.class.getName(), "javax.xml.bind.JAXBElement")) {
+            try {
+                java.security.CodeSource source = Class.forName(className).getProtectionDomain().getCodeSource();
+                if (source != null) {
+                    classPath.append(new File(source.getLocation().toURI()).getPath()).append(File.pathSeparator);
+                }
+            }
+            catch (Exception e) {
+                // Part of the JDK
+            }
+        }
+        return classPath.toString();
+    }
+}
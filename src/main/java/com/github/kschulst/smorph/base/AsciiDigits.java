@@ -0,0 +1,65 @@
+package com.github.kschulst.smorph.base;
+
+/**
+ * Reads eight ASCII digits at a time (SWAR, SIMD within a register). The bytes
+ * are loaded into a long with the first byte as the least significant one,
+ * which is then validated and converted with a few masks and multiplications
+ * rather than one digit at a time.
+ */
+final class AsciiDigits {
+
+    private AsciiDigits() {}
+
+    static long load8(byte[] b, int i) {
+        return (b[i] & 0xffL)
+                | (b[i + 1] & 0xffL) << 8
+                | (b[i + 2] & 0xffL) << 16
+                | (b[i + 3] & 0xffL) << 24
+                | (b[i + 4] & 0xffL) << 32
+                | (b[i + 5] & 0xffL) << 40
+                | (b[i + 6] & 0xffL) << 48
+                | (b[i + 7] & 0xffL) << 56;
+    }
+
+    /**
+     * Whether all eight bytes are in the range '0' to '9'
+     */
+    static boolean isEightDigits(long chunk) {
+        return (chunk & 0xf0f0f0f0f0f0f0f0L) == 0x3030303030303030L
+                && ((chunk + 0x0606060606060606L) & 0xf0f0f0f0f0f0f0f0L) == 0x3030303030303030L;
+    }
+
+    /**
+     * Value of eight digits, combining pairs of adjacent digits, then pairs of
+     * two digit numbers and finally pairs of four digit numbers
+     */
+    static int eightDigitsValue(long chunk) {
+        long v = ((chunk & 0x0f0f0f0f0f0f0f0fL) * 2561) >>> 8;
+        v = ((v & 0x00ff00ff00ff00ffL) * 6553601) >>> 16;
+        return (int) (((v & 0x0000ffff0000ffffL) * 42949672960001L) >>> 32);
+    }
+
+    /**
+     * Value of the digits in the region, which must be at most 18 long, or -1 if
+     * the region holds anything but ASCII digits
+     */
+    static long digitsValue(byte[] b, int start, int end) {
+        long value = 0;
+        int i = start;
+        for (; end - i >= 8; i += 8) {
+            long chunk = load8(b, i);
+            if (!isEightDigits(chunk)) {
+                return -1;
+            }
+            value = value * 100000000L + eightDigitsValue(chunk);
+        }
+        for (; i < end; i++) {
+            int digit = b[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.kschulst.smorph.base;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CharSequence view of a region of ASCII bytes, each byte read as the char of
+ * the same (unsigned) value. Lets the CharSequence parsers read bytes without
+ * decoding them into a String first.
+ */
+final class AsciiSequence implements CharSequence {
+
+    private final byte[] array;
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    AsciiSequence(byte[] array, int offset, int length) {
+        this.array = array;
+        this.buffer = null;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * View of the buffer region starting at the (absolute) index
+     */
+    AsciiSequence(ByteBuffer buffer, int index, int length) {
+        this.array = null;
+        this.buffer = buffer;
+        this.offset = index;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", length: " + length);
+        }
+        return (char) (((array != null) ? array[offset + index] : buffer.get(offset + index)) & 0xff);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Start: " + start + ", end: " + end + ", length: " + length);
+        }
+        return (array != null) ? new AsciiSequence(array, offset + start, end - start) : new AsciiSequence(buffer, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        if (array != null) {
+            return new String(array, offset, length, StandardCharsets.ISO_8859_1);
+        }
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = charAt(i);
+        }
+        return new String(chars);
+    }
+}
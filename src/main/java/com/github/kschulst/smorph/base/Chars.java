@@ -0,0 +1,81 @@
+package com.github.kschulst.smorph.base;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * Helpers for text held in CharSequences, char arrays and bytes
+ */
+public final class Chars {
+    private Chars() {}
+
+    // ------------------------------------------------------------------------
+    // Trimming
+    // ------------------------------------------------------------------------
+
+    // The bounds of a region trimmed as String.trim() does, that is of characters (or bytes) up to and
+    // including space. The region is empty if trimStart returns end.
+
+    public static int trimStart(CharSequence s, int start, int end) {
+        while (start < end && s.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    public static int trimEnd(CharSequence s, int start, int end) {
+        while (end > start && s.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    public static int trimStart(byte[] b, int start, int end) {
+        while (start < end && (b[start] & 0xff) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    public static int trimEnd(byte[] b, int start, int end) {
+        while (end > start && (b[end - 1] & 0xff) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    public static int trimStart(ByteBuffer buf, int start, int end) {
+        while (start < end && (buf.get(start) & 0xff) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    public static int trimEnd(ByteBuffer buf, int start, int end) {
+        while (end > start && (buf.get(end - 1) & 0xff) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    // ------------------------------------------------------------------------
+    // Appending
+    // ------------------------------------------------------------------------
+
+    /**
+     * Appends the chars in one call, such as a single (locking) write to a Writer
+     */
+    static void append(Appendable out, char[] chars, int offset, int length) throws IOException {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(chars, offset, length);
+        }
+        else if (out instanceof Writer) {
+            ((Writer) out).write(chars, offset, length);
+        }
+        else {
+            out.append(CharBuffer.wrap(chars, offset, length));
+        }
+    }
+}
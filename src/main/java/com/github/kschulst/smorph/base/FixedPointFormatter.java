@@ -0,0 +1,267 @@
+package com.github.kschulst.smorph.base;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Formats numbers with a fixed number of decimals, producing the same output
+ * as a DecimalFormat with the pattern {@code 0.00} (rounding HALF_EVEN on the
+ * exact value), but without any mutable state. An instance can be shared
+ * between threads.
+ * <p>
+ * Doubles are rounded straight from their binary representation, and longs
+ * and BigDecimals of up to 18 digits are written from their (unscaled) value,
+ * so nothing but the resulting String is created for common values. Values
+ * out of that range, as well as NaN and infinity, are handed to a DecimalFormat
+ * of the calling thread. For doubles the range ends where the precision of the
+ * double gets coarser than the last decimal (about 2.7e11 for four decimals),
+ * as DecimalFormat then pads the shortest representation with zeros instead.
+ * Doubles within an ulp of a tie are also left to DecimalFormat.
+ */
+public final class FixedPointFormatter {
+
+    public static final int MAX_DECIMALS = 4;
+
+    private static final long NEAR_TIE = -1L;
+    private static final int MAX_FAST_LENGTH = 1 + 19 + 1 + MAX_DECIMALS;
+    private static final long[] POWERS_OF_5 = {1, 5, 25, 125, 625};
+    private static final long[] POWERS_OF_10 = {1, 10, 100, 1000, 10000};
+
+    private final int decimals;
+    private final double maxFastDouble;
+    private final char decimalSeparator;
+    private final char minusSign;
+
+    // DecimalFormat is not thread safe, so each thread formats using its own copy
+    private final ThreadLocal<DecimalFormat> fallbackFormats;
+
+    FixedPointFormatter(int decimals, final DecimalFormatSymbols symbols) {
+        checkArgument(decimals >= 0 && decimals <= MAX_DECIMALS, "Unsupported number of decimals: %s", decimals);
+        this.decimals = decimals;
+
+        // Largest binary exponent of an ulp below the last decimal, so that rounding the exact value is what DecimalFormat does
+        int ulpExponent = 0;
+        while (Math.scalb((double) POWERS_OF_10[decimals], ulpExponent) >= 1) {
+            ulpExponent--;
+        }
+        this.maxFastDouble = Math.scalb(1d, 53 + ulpExponent);
+        this.decimalSeparator = symbols.getDecimalSeparator();
+        this.minusSign = symbols.getMinusSign();
+
+        StringBuilder pattern = new StringBuilder("0");
+        if (decimals > 0) {
+            pattern.append('.');
+            for (int i = 0; i < decimals; i++) {
+                pattern.append('0');
+            }
+        }
+        final DecimalFormat format = new DecimalFormat(pattern.toString(), symbols);
+        this.fallbackFormats = new ThreadLocal<DecimalFormat>() {
+            @Override
+            protected DecimalFormat initialValue() {
+                return (DecimalFormat) format.clone();
+            }
+        };
+    }
+
+    public int getDecimals() {
+        return decimals;
+    }
+
+    /**
+     * Formats the number the way {@link DecimalFormat#format(Object)} would:
+     * integral types are formatted as longs, BigDecimals exactly and everything
+     * else as doubles.
+     */
+    public String format(Number n) {
+        char[] buffer = new char[MAX_FAST_LENGTH];
+        int length = writeFast(n, buffer, 0);
+        return (length < 0) ? fallbackFormats.get().format(n) : new String(buffer, 0, length);
+    }
+
+    public String format(double value) {
+        char[] buffer = new char[MAX_FAST_LENGTH];
+        int length = writeFast(value, buffer, 0);
+        return (length < 0) ? fallbackFormats.get().format(value) : new String(buffer, 0, length);
+    }
+
+    public String format(long value) {
+        char[] buffer = new char[MAX_FAST_LENGTH];
+        int length = writeFast(value, buffer, 0);
+        return (length < 0) ? fallbackFormats.get().format(value) : new String(buffer, 0, length);
+    }
+
+    /**
+     * Same as {@link #format(Number)}, but appends the result to the Appendable
+     */
+    public void formatTo(Appendable out, Number n) throws IOException {
+        char[] buffer = new char[MAX_FAST_LENGTH];
+        int length = writeFast(n, buffer, 0);
+        append(out, buffer, length, (length < 0) ? fallbackFormats.get().format(n) : null);
+    }
+
+    public void formatTo(Appendable out, double value) throws IOException {
+        char[] buffer = new char[MAX_FAST_LENGTH];
+        int length = writeFast(value, buffer, 0);
+        append(out, buffer, length, (length < 0) ? fallbackFormats.get().format(value) : null);
+    }
+
+    public void formatTo(Appendable out, long value) throws IOException {
+        char[] buffer = new char[MAX_FAST_LENGTH];
+        int length = writeFast(value, buffer, 0);
+        append(out, buffer, length, (length < 0) ? fallbackFormats.get().format(value) : null);
+    }
+
+    /**
+     * Same as {@link #format(Number)}, but writes the result into the array
+     * starting at the offset
+     *
+     * @return the number of chars written
+     * @throws IndexOutOfBoundsException if the array is too small
+     */
+    public int formatTo(char[] out, int offset, Number n) {
+        int length = writeFast(n, out, offset);
+        return (length < 0) ? copy(fallbackFormats.get().format(n), out, offset) : length;
+    }
+
+    public int formatTo(char[] out, int offset, double value) {
+        int length = writeFast(value, out, offset);
+        return (length < 0) ? copy(fallbackFormats.get().format(value), out, offset) : length;
+    }
+
+    public int formatTo(char[] out, int offset, long value) {
+        int length = writeFast(value, out, offset);
+        return (length < 0) ? copy(fallbackFormats.get().format(value), out, offset) : length;
+    }
+
+    private static void append(Appendable out, char[] buffer, int length, String fallback) throws IOException {
+        if (fallback != null) {
+            out.append(fallback);
+        }
+        else {
+            Chars.append(out, buffer, 0, length);
+        }
+    }
+
+    private static int copy(String s, char[] out, int offset) {
+        s.getChars(0, s.length(), out, offset);
+        return s.length();
+    }
+
+    // ------------------------------------------------------------------------
+    // Fast paths, writing the number and returning its length, or -1 if it must be left to DecimalFormat
+    // ------------------------------------------------------------------------
+
+    private int writeFast(Number n, char[] out, int offset) {
+        if (n instanceof Long || n instanceof Integer || n instanceof Short || n instanceof Byte
+                || n instanceof AtomicInteger || n instanceof AtomicLong) {
+            return writeFast(n.longValue(), out, offset);
+        }
+        if (n instanceof BigDecimal) {
+            return writeFast((BigDecimal) n, out, offset);
+        }
+        if (n instanceof BigInteger) {
+            BigInteger bigInteger = (BigInteger) n;
+            return (bigInteger.bitLength() < 64) ? writeFast(bigInteger.longValue(), out, offset) : -1;
+        }
+        return writeFast(n.doubleValue(), out, offset);
+    }
+
+    private int writeFast(double value, char[] out, int offset) {
+        long scaled = (Math.abs(value) < maxFastDouble) ? scale(value) : NEAR_TIE;
+        if (scaled == NEAR_TIE) {
+            return -1;
+        }
+        return write(value < 0 || 1 / value < 0, scaled / POWERS_OF_10[decimals], scaled % POWERS_OF_10[decimals], out, offset);
+    }
+
+    private int writeFast(long value, char[] out, int offset) {
+        if (value == Long.MIN_VALUE) {
+            return -1;
+        }
+        return write(value < 0, Math.abs(value), 0, out, offset);
+    }
+
+    private int writeFast(BigDecimal value, char[] out, int offset) {
+        if (value.signum() == 0) {
+            return write(false, 0, 0, out, offset);
+        }
+        BigDecimal rounded = value.setScale(decimals, RoundingMode.HALF_EVEN);
+        if (rounded.precision() > 18) {
+            return -1;
+        }
+        long scaled = Math.abs(rounded.unscaledValue().longValue());
+        return write(value.signum() < 0, scaled / POWERS_OF_10[decimals], scaled % POWERS_OF_10[decimals], out, offset);
+    }
+
+    /**
+     * Rounds the absolute value of the double HALF_EVEN from its binary
+     * representation: the value times 10^decimals is mantissa * 5^decimals *
+     * 2^(exponent + decimals), so scaling is a multiplication followed by a
+     * shift, which is always to the right for doubles below {@link #maxFastDouble}.
+     * <p>
+     * DecimalFormat rounds the shortest decimal representation of the double
+     * instead, which gives the same result unless a tie lies within an ulp of
+     * the value. Such values (e.g. 10000.295 with two decimals) are reported
+     * as {@link #NEAR_TIE} and left to DecimalFormat.
+     */
+    private long scale(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        int biasedExponent = (int) ((bits >>> 52) & 0x7ff);
+        long mantissa = bits & 0xfffffffffffffL;
+        if (biasedExponent == 0) {
+            biasedExponent = 1;
+        }
+        else {
+            mantissa |= 1L << 52;
+        }
+
+        long m = mantissa * POWERS_OF_5[decimals];
+        int shift = 1075 - decimals - biasedExponent;
+        if (shift >= 64) {
+            return 0;
+        }
+        long scaled = m >>> shift;
+        long remainder = m & ((1L << shift) - 1);
+        long half = 1L << (shift - 1);
+        if (Math.abs(remainder - half) <= POWERS_OF_5[decimals]) {
+            return NEAR_TIE;
+        }
+        return (remainder > half) ? scaled + 1 : scaled;
+    }
+
+    private int write(boolean negative, long integer, long fraction, char[] dst, int offset) {
+        int pos = offset;
+        if (negative) {
+            dst[pos++] = minusSign;
+        }
+
+        int integerDigits = 1;
+        for (long v = integer; v >= 10; v /= 10) {
+            integerDigits++;
+        }
+        pos += integerDigits;
+        for (int i = pos - 1; i >= pos - integerDigits; i--) {
+            dst[i] = (char) ('0' + integer % 10);
+            integer /= 10;
+        }
+
+        if (decimals > 0) {
+            dst[pos++] = decimalSeparator;
+            pos += decimals;
+            for (int i = pos - 1; i >= pos - decimals; i--) {
+                dst[i] = (char) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+        }
+        return pos - offset;
+    }
+}
@@ -0,0 +1,266 @@
+package com.github.kschulst.smorph.base;
+
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+
+/**
+ * Parser for date patterns of fixed width consisting of digit only fields
+ * (yyyy, MM, dd, HH, mm, ss and SSS) and single character separators, such
+ * as {@code dd.MM.yyyy HH:mm}. The digits are read straight from the input by
+ * position and packed into a long, so nothing but the result is allocated.
+ * <p>
+ * Input that does not match the layout exactly, or holds out of range values,
+ * is rejected rather than reported. The caller is expected to fall back to the
+ * Joda formatter, which either accepts a more lenient variant of the pattern
+ * (e.g. single digit days) or produces the proper error message.
+ */
+final class FixedWidthParser {
+
+    static final long INVALID = -1L;
+
+    static final char DIGIT = 0;
+
+    static final int YEAR = 0;
+    static final int MONTH = 1;
+    static final int DAY = 2;
+    static final int HOUR = 3;
+    static final int MINUTE = 4;
+    static final int SECOND = 5;
+    static final int MILLIS = 6;
+
+    private static final char[] FIELD_LETTERS = {'y', 'M', 'd', 'H', 'm', 's', 'S'};
+    static final int[] FIELD_WIDTHS = {4, 2, 2, 2, 2, 2, 3};
+
+    // Packed layout: year (14 bits), month (4), day (5), hour (5), minute (6), second (6), millis (10)
+    private static final int MILLIS_SHIFT = 0;
+    private static final int SECOND_SHIFT = 10;
+    private static final int MINUTE_SHIFT = 16;
+    private static final int HOUR_SHIFT = 22;
+    private static final int DAY_SHIFT = 27;
+    private static final int MONTH_SHIFT = 32;
+    private static final int YEAR_SHIFT = 36;
+
+    private static final int[] FIELD_SHIFTS = {YEAR_SHIFT, MONTH_SHIFT, DAY_SHIFT, HOUR_SHIFT, MINUTE_SHIFT, SECOND_SHIFT, MILLIS_SHIFT};
+    private static final int[] FIELD_MAX_VALUES = {9999, 12, 31, 23, 59, 59, 999};
+
+    private static final int[] DAYS_IN_MONTH = {0, 31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    // Digit positions are marked with DIGIT, all other positions hold the expected separator
+    final char[] layout;
+    final int[] fieldTypes;
+    final int[] fieldOffsets;
+
+    // Whether the layout starts with yyyyMMdd, which byte input reads in one go
+    private final boolean leadingDate;
+
+    private FixedWidthParser(char[] layout, int[] fieldTypes, int[] fieldOffsets) {
+        this.layout = layout;
+        this.fieldTypes = fieldTypes;
+        this.fieldOffsets = fieldOffsets;
+        this.leadingDate = fieldTypes.length >= 3 && fieldTypes[0] == YEAR && fieldTypes[1] == MONTH && fieldTypes[2] == DAY
+                && fieldOffsets[0] == 0 && fieldOffsets[1] == 4 && fieldOffsets[2] == 6;
+    }
+
+    /**
+     * Compiles a parser for the given Joda pattern, or returns null if the
+     * pattern is not of fixed width or has fields other than the supported
+     * ones (such as two digit years, text, quotes or time zones).
+     */
+    @Nullable
+    static FixedWidthParser compile(String pattern) {
+        StringBuilder layout = new StringBuilder();
+        int[] types = new int[FIELD_LETTERS.length];
+        int[] offsets = new int[FIELD_LETTERS.length];
+        boolean[] seen = new boolean[FIELD_LETTERS.length];
+        int fieldCount = 0;
+
+        for (int i = 0; i < pattern.length(); ) {
+            char c = pattern.charAt(i);
+            int count = 1;
+            while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+                count++;
+            }
+
+            if (Character.isLetter(c) || c == '\'') {
+                int type = fieldType(c);
+                if (type < 0 || seen[type] || count != FIELD_WIDTHS[type]) {
+                    return null;
+                }
+                seen[type] = true;
+                types[fieldCount] = type;
+                offsets[fieldCount] = layout.length();
+                fieldCount++;
+                for (int j = 0; j < count; j++) {
+                    layout.append(DIGIT);
+                }
+            }
+            else if (c >= ' ' && c < 0x7f && count == 1) {
+                layout.append(c);
+            }
+            else {
+                return null;
+            }
+            i += count;
+        }
+
+        if (!seen[YEAR] || !seen[MONTH] || !seen[DAY]) {
+            return null;
+        }
+        int[] fieldTypes = new int[fieldCount];
+        int[] fieldOffsets = new int[fieldCount];
+        System.arraycopy(types, 0, fieldTypes, 0, fieldCount);
+        System.arraycopy(offsets, 0, fieldOffsets, 0, fieldCount);
+        return new FixedWidthParser(layout.toString().toCharArray(), fieldTypes, fieldOffsets);
+    }
+
+    private static int fieldType(char letter) {
+        for (int type = 0; type < FIELD_LETTERS.length; type++) {
+            if (FIELD_LETTERS[type] == letter) {
+                return type;
+            }
+        }
+        return -1;
+    }
+
+    int length() {
+        return layout.length;
+    }
+
+    /**
+     * Parses the input into packed fields, or returns {@link #INVALID} if it
+     * does not match the layout or holds out of range values.
+     */
+    long parse(CharSequence s) {
+        return parse(s, 0, s.length());
+    }
+
+    /**
+     * Same as {@link #parse(CharSequence)} for the region of the input starting at the offset
+     */
+    long parse(CharSequence s, int offset, int length) {
+        if (length != layout.length) {
+            return INVALID;
+        }
+        for (int i = 0; i < layout.length; i++) {
+            char c = s.charAt(offset + i);
+            char expected = layout[i];
+            if (expected == DIGIT ? (c < '0' || c > '9') : c != expected) {
+                return INVALID;
+            }
+        }
+
+        long fields = 0;
+        for (int f = 0; f < fieldTypes.length; f++) {
+            int start = offset + fieldOffsets[f];
+            int type = fieldTypes[f];
+            int value = 0;
+            for (int i = start, end = start + FIELD_WIDTHS[type]; i < end; i++) {
+                value = value * 10 + (s.charAt(i) - '0');
+            }
+            if (value > FIELD_MAX_VALUES[type]) {
+                return INVALID;
+            }
+            fields |= (long) value << FIELD_SHIFTS[type];
+        }
+        return checkDate(fields);
+    }
+
+    /**
+     * Same as {@link #parse(CharSequence)} for a region of ASCII bytes. Layouts
+     * starting with yyyyMMdd have the date read as a single eight byte chunk.
+     */
+    long parse(byte[] b, int offset, int length) {
+        if (length != layout.length) {
+            return INVALID;
+        }
+        long fields = 0;
+        int firstField = 0;
+        int i = 0;
+        if (leadingDate) {
+            long chunk = AsciiDigits.load8(b, offset);
+            if (!AsciiDigits.isEightDigits(chunk)) {
+                return INVALID;
+            }
+            int date = AsciiDigits.eightDigitsValue(chunk);
+            int month = date / 100 % 100;
+            int day = date % 100;
+            if (month > FIELD_MAX_VALUES[MONTH] || day > FIELD_MAX_VALUES[DAY]) {
+                return INVALID;
+            }
+            fields = ((long) (date / 10000) << YEAR_SHIFT) | ((long) month << MONTH_SHIFT) | ((long) day << DAY_SHIFT);
+            firstField = 3;
+            i = 8;
+        }
+        for (; i < layout.length; i++) {
+            byte c = b[offset + i];
+            char expected = layout[i];
+            if (expected == DIGIT ? (c < '0' || c > '9') : c != expected) {
+                return INVALID;
+            }
+        }
+
+        for (int f = firstField; f < fieldTypes.length; f++) {
+            int type = fieldTypes[f];
+            int value = 0;
+            for (int j = offset + fieldOffsets[f], end = j + FIELD_WIDTHS[type]; j < end; j++) {
+                value = value * 10 + (b[j] - '0');
+            }
+            if (value > FIELD_MAX_VALUES[type]) {
+                return INVALID;
+            }
+            fields |= (long) value << FIELD_SHIFTS[type];
+        }
+        return checkDate(fields);
+    }
+
+    /**
+     * Same as {@link #parse(CharSequence)} for a region of ASCII bytes starting at
+     * the (absolute) index of the buffer
+     */
+    long parse(ByteBuffer buf, int index, int length) {
+        if (buf.hasArray()) {
+            return parse(buf.array(), buf.arrayOffset() + index, length);
+        }
+        return parse(new AsciiSequence(buf, index, length));
+    }
+
+    /**
+     * Returns the fields if they make up an existing date, otherwise {@link #INVALID}.
+     * The other fields have been range checked while packing.
+     */
+    private static long checkDate(long fields) {
+        int year = field(fields, YEAR_SHIFT, 14);
+        int month = field(fields, MONTH_SHIFT, 4);
+        int day = field(fields, DAY_SHIFT, 5);
+        if (year == 0 || month == 0 || day == 0 || day > DAYS_IN_MONTH[month]
+                || (month == 2 && day == 29 && !isLeapYear(year))) {
+            return INVALID;
+        }
+        return fields;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    static LocalDate toLocalDate(long fields) {
+        return LocalDateTable.of(field(fields, YEAR_SHIFT, 14), field(fields, MONTH_SHIFT, 4), field(fields, DAY_SHIFT, 5));
+    }
+
+    /**
+     * Creates the DateTime in the default time zone. Throws an IllegalArgumentException
+     * if the local time does not exist in the zone (i.e. during a daylight saving gap).
+     */
+    static DateTime toDateTime(long fields) {
+        return new DateTime(field(fields, YEAR_SHIFT, 14), field(fields, MONTH_SHIFT, 4), field(fields, DAY_SHIFT, 5),
+                field(fields, HOUR_SHIFT, 5), field(fields, MINUTE_SHIFT, 6), field(fields, SECOND_SHIFT, 6),
+                field(fields, MILLIS_SHIFT, 10));
+    }
+
+    private static int field(long fields, int shift, int bits) {
+        return (int) (fields >>> shift) & ((1 << bits) - 1);
+    }
+}
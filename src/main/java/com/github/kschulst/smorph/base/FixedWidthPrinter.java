@@ -0,0 +1,140 @@
+package com.github.kschulst.smorph.base;
+
+import org.joda.time.Chronology;
+import org.joda.time.DateTimeFieldType;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.ReadablePartial;
+import org.joda.time.chrono.ISOChronology;
+
+import javax.annotation.Nullable;
+
+import static com.github.kschulst.smorph.base.FixedWidthParser.*;
+
+/**
+ * Printer for the fixed width patterns supported by {@link FixedWidthParser}.
+ * Fields are written as digits straight into a char array, with fields unknown
+ * to a partial written as zeros, which is what ToDateString has always made of
+ * the replacement characters Joda prints for them.
+ * <p>
+ * Instants are printed only in the ISO chronology, and years only from 0 to 9999.
+ * For anything else the print methods return false, leaving it to the Joda formatter.
+ */
+final class FixedWidthPrinter {
+
+    private static final long MILLIS_PER_DAY = 86400000L;
+    private static final int[] POWERS_OF_10 = {1, 10, 100, 1000, 10000};
+    private static final Chronology ISO_UTC = ISOChronology.getInstanceUTC();
+
+    private static final DateTimeFieldType[] FIELD_TYPES = {
+            DateTimeFieldType.year(), DateTimeFieldType.monthOfYear(), DateTimeFieldType.dayOfMonth(),
+            DateTimeFieldType.hourOfDay(), DateTimeFieldType.minuteOfHour(), DateTimeFieldType.secondOfMinute(),
+            DateTimeFieldType.millisOfSecond()
+    };
+
+    private final char[] layout;
+    private final int[] fieldTypes;
+    private final int[] fieldOffsets;
+
+    private FixedWidthPrinter(FixedWidthParser parser) {
+        this.layout = parser.layout;
+        this.fieldTypes = parser.fieldTypes;
+        this.fieldOffsets = parser.fieldOffsets;
+    }
+
+    /**
+     * Creates the printer of the same layout as the parser, or returns null if there is no parser
+     */
+    @Nullable
+    static FixedWidthPrinter of(@Nullable FixedWidthParser parser) {
+        return (parser == null) ? null : new FixedWidthPrinter(parser);
+    }
+
+    int length() {
+        return layout.length;
+    }
+
+    /**
+     * Prints the partial into the array, or returns false if it cannot be printed
+     */
+    boolean print(ReadablePartial partial, char[] out, int offset) {
+        int[] values = new int[FIELD_TYPES.length];
+        if (partial instanceof LocalDate && partial.getChronology() == ISO_UTC) {
+            LocalDate date = (LocalDate) partial;
+            values[YEAR] = date.getYear();
+            values[MONTH] = date.getMonthOfYear();
+            values[DAY] = date.getDayOfMonth();
+        }
+        else if (partial instanceof LocalDateTime && partial.getChronology() == ISO_UTC) {
+            LocalDateTime dateTime = (LocalDateTime) partial;
+            values[YEAR] = dateTime.getYear();
+            values[MONTH] = dateTime.getMonthOfYear();
+            values[DAY] = dateTime.getDayOfMonth();
+            values[HOUR] = dateTime.getHourOfDay();
+            values[MINUTE] = dateTime.getMinuteOfHour();
+            values[SECOND] = dateTime.getSecondOfMinute();
+            values[MILLIS] = dateTime.getMillisOfSecond();
+        }
+        else {
+            for (int type : fieldTypes) {
+                values[type] = partial.isSupported(FIELD_TYPES[type]) ? partial.get(FIELD_TYPES[type]) : 0;
+            }
+        }
+        return print(values, out, offset);
+    }
+
+    /**
+     * Prints the instant the way the Joda formatter would in the given chronology,
+     * or returns false if it cannot be printed
+     */
+    boolean print(long instant, Chronology chronology, char[] out, int offset) {
+        if (!(chronology instanceof ISOChronology)) {
+            return false;
+        }
+        long localMillis = instant + chronology.getZone().getOffset(instant);
+        long epochDay = LocalDateTable.floorDiv(localMillis, MILLIS_PER_DAY);
+        int millisOfDay = (int) (localMillis - epochDay * MILLIS_PER_DAY);
+
+        // Proleptic gregorian date of the epoch day, in eras of 400 years starting at March 1st
+        long days = epochDay + 719468;
+        long era = LocalDateTable.floorDiv(days, 146097);
+        long dayOfEra = days - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int month = (int) ((shiftedMonth < 10) ? shiftedMonth + 3 : shiftedMonth - 9);
+        long year = yearOfEra + era * 400 + ((month <= 2) ? 1 : 0);
+        if (year < 0 || year > 9999) {
+            return false;
+        }
+
+        int[] values = new int[FIELD_TYPES.length];
+        values[YEAR] = (int) year;
+        values[MONTH] = month;
+        values[DAY] = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        values[HOUR] = millisOfDay / 3600000;
+        values[MINUTE] = millisOfDay / 60000 % 60;
+        values[SECOND] = millisOfDay / 1000 % 60;
+        values[MILLIS] = millisOfDay % 1000;
+        return print(values, out, offset);
+    }
+
+    private boolean print(int[] values, char[] out, int offset) {
+        for (int f = 0; f < fieldTypes.length; f++) {
+            int value = values[fieldTypes[f]];
+            if (value < 0 || value >= POWERS_OF_10[FIELD_WIDTHS[fieldTypes[f]]]) {
+                return false;
+            }
+        }
+        System.arraycopy(layout, 0, out, offset, layout.length);
+        for (int f = 0; f < fieldTypes.length; f++) {
+            int value = values[fieldTypes[f]];
+            int start = offset + fieldOffsets[f];
+            for (int i = start + FIELD_WIDTHS[fieldTypes[f]] - 1; i >= start; i--) {
+                out[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.kschulst.smorph.base;
+
+import org.joda.time.Chronology;
+import org.joda.time.DateTimeConstants;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.joda.time.chrono.ISOChronology;
+
+import javax.annotation.Nonnull;
+import javax.xml.datatype.DatatypeConstants;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+/**
+ * Instants and their date and time fields, computed straight from millis and
+ * time zones, for conversions that would otherwise go through intermediate Joda
+ * objects. Each method gives the same result as the Joda objects it stands in for.
+ * <p>
+ * Fields are read from local millis, that is the instant plus the offset of its
+ * time zone, in the ISO chronology.
+ */
+public final class Instants {
+    private Instants() {}
+
+    private static final Chronology ISO_UTC = ISOChronology.getInstanceUTC();
+
+    // ------------------------------------------------------------------------
+    // Instants
+    // ------------------------------------------------------------------------
+
+    /**
+     * Returns the instant of the calendar's fields in the default time zone, like
+     * {@code ToDateTime.from(calendar).getMillis()}. A calendar without time of day
+     * is taken at midnight.
+     *
+     * @throws IllegalArgumentException if the fields are invalid, or the time falls in a daylight saving gap
+     */
+    public static long millis(@Nonnull XMLGregorianCalendar calendar) {
+        if (XMLGregorianCalendars.isDateTime(calendar)) {
+            int millisecond = calendar.getMillisecond();
+            return ISOChronology.getInstance().getDateTimeMillis(calendar.getYear(), calendar.getMonth(), calendar.getDay(),
+                    calendar.getHour(), calendar.getMinute(), calendar.getSecond(),
+                    millisecond != DatatypeConstants.FIELD_UNDEFINED ? millisecond : 0);
+        }
+        return ISOChronology.getInstance().getDateTimeMillis(calendar.getYear(), calendar.getMonth(), calendar.getDay(), 0, 0, 0, 0);
+    }
+
+    /**
+     * Returns the instant the date starts in the default time zone, like
+     * {@code date.toDateTimeAtStartOfDay().getMillis()}
+     */
+    public static long startOfDay(@Nonnull LocalDate date) {
+        if (date.getChronology() != ISO_UTC) {
+            return date.toDateTimeAtStartOfDay().getMillis();
+        }
+        // As Joda does it: six hours into the day is past any gap at midnight, from where the day is rounded down
+        DateTimeZone zone = DateTimeZone.getDefault();
+        long localMillis = LocalDateTable.epochDay(date.getYear(), date.getMonthOfYear(), date.getDayOfMonth()) * DateTimeConstants.MILLIS_PER_DAY;
+        long instant = zone.convertLocalToUTC(localMillis + 6L * DateTimeConstants.MILLIS_PER_HOUR, false);
+        instant = ISOChronology.getInstance(zone).dayOfMonth().roundFloor(instant);
+        return zone.adjustOffset(instant, false);
+    }
+
+    // ------------------------------------------------------------------------
+    // Local millis
+    // ------------------------------------------------------------------------
+
+    public static long localMillis(long instant, @Nonnull DateTimeZone zone) {
+        return instant + zone.getOffset(instant);
+    }
+
+    /**
+     * Returns the local millis of the calendar in its own time zone, or
+     * Long.MIN_VALUE if Joda would read the calendar in another chronology than
+     * ISO, as it does for calendars other than GregorianCalendar and for
+     * instants before the Gregorian cutover
+     */
+    public static long localMillis(@Nonnull Calendar calendar) {
+        long instant = calendar.getTimeInMillis();
+        if (calendar.getClass() != GregorianCalendar.class || instant < ((GregorianCalendar) calendar).getGregorianChange().getTime()) {
+            return Long.MIN_VALUE;
+        }
+        return localMillis(instant, DateTimeZone.forTimeZone(calendar.getTimeZone()));
+    }
+
+    public static int year(long localMillis) {
+        return ISO_UTC.year().get(localMillis);
+    }
+
+    public static int monthOfYear(long localMillis) {
+        return ISO_UTC.monthOfYear().get(localMillis);
+    }
+
+    public static int dayOfMonth(long localMillis) {
+        return ISO_UTC.dayOfMonth().get(localMillis);
+    }
+
+    public static int millisOfDay(long localMillis) {
+        return ISO_UTC.millisOfDay().get(localMillis);
+    }
+}
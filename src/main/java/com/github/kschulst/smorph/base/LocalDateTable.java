@@ -0,0 +1,167 @@
+package com.github.kschulst.smorph.base;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.joda.time.chrono.ISOChronology;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Table of shared LocalDate instances, indexed by epoch day. Conversions
+ * producing a LocalDate within the range of the table return the shared
+ * instance, so that large amounts of converted dates do not each hold their
+ * own copy. Dates outside the range are created as usual.
+ * <p>
+ * The range defaults to the years 1900 through 2100, and can be changed by
+ * {@link #setYearRange(int, int)} or the system property
+ * {@code smorph.localDateTable.years} (e.g. {@code 1950-2050}, or {@code none}
+ * to disable the table). The table is filled as dates are converted.
+ */
+public final class LocalDateTable {
+
+    private static final long MILLIS_PER_DAY = 86400000L;
+    private static final int[] DAYS_IN_MONTH = {0, 31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private static volatile Table table = Table.forSystemProperty(System.getProperty("smorph.localDateTable.years"));
+
+    private LocalDateTable() {}
+
+    /**
+     * Specifies the years covered by the table. Previously shared instances
+     * are not carried over.
+     */
+    public static void setYearRange(int firstYear, int lastYear) {
+        checkArgument(firstYear <= lastYear, "First year %s after last year %s", firstYear, lastYear);
+        table = new Table(firstYear, lastYear);
+    }
+
+    /**
+     * Disables the table, so that every conversion creates its own LocalDate
+     */
+    public static void disable() {
+        table = null;
+    }
+
+    /**
+     * Returns the (ISO) LocalDate of the given fields, shared if within the range
+     * of the table.
+     *
+     * @throws org.joda.time.IllegalFieldValueException if the fields are not a valid date
+     */
+    public static LocalDate of(int year, int monthOfYear, int dayOfMonth) {
+        Table t = table;
+        if (t != null && year >= t.firstYear && year <= t.lastYear && monthOfYear >= 1 && monthOfYear <= 12
+                && dayOfMonth >= 1 && dayOfMonth <= DAYS_IN_MONTH[monthOfYear]
+                && (monthOfYear != 2 || dayOfMonth != 29 || isLeapYear(year))) {
+            return t.get(epochDay(year, monthOfYear, dayOfMonth));
+        }
+        return new LocalDate(year, monthOfYear, dayOfMonth);
+    }
+
+    /**
+     * Returns the (ISO) LocalDate of the given day since 1970-01-01, shared if
+     * within the range of the table.
+     */
+    public static LocalDate ofEpochDay(long epochDay) {
+        Table t = table;
+        if (t != null && t.contains(epochDay)) {
+            return t.get(epochDay);
+        }
+        return new LocalDate(epochDay * MILLIS_PER_DAY, ISOChronology.getInstanceUTC());
+    }
+
+    /**
+     * Returns the (ISO) LocalDate of the instant in the given zone, shared if
+     * within the range of the table.
+     */
+    public static LocalDate ofInstant(long millis, DateTimeZone zone) {
+        return ofEpochDay(floorDiv(millis + zone.getOffset(millis), MILLIS_PER_DAY));
+    }
+
+    /**
+     * Returns the shared instance equal to the given date if within the range
+     * of the table, otherwise the date itself. The date becomes the shared
+     * instance if there is none yet.
+     */
+    public static LocalDate canonical(LocalDate date) {
+        Table t = table;
+        if (t == null || date.getChronology() != ISOChronology.getInstanceUTC()) {
+            return date;
+        }
+        long epochDay = epochDay(date.getYear(), date.getMonthOfYear(), date.getDayOfMonth());
+        return t.contains(epochDay) ? t.get(epochDay, date) : date;
+    }
+
+    /**
+     * Days since 1970-01-01 of a proleptic gregorian date
+     */
+    static long epochDay(int year, int monthOfYear, int dayOfMonth) {
+        long y = (monthOfYear <= 2) ? year - 1 : year;
+        long era = floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (monthOfYear + (monthOfYear > 2 ? -3 : 9)) + 2) / 5 + dayOfMonth - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    static long floorDiv(long x, long y) {
+        long q = x / y;
+        return (x % y != 0 && (x < 0) != (y < 0)) ? q - 1 : q;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static final class Table {
+        private final int firstYear;
+        private final int lastYear;
+        private final long firstEpochDay;
+
+        // LocalDate is immutable with final fields, so racing threads at worst create the same date twice
+        private final LocalDate[] dates;
+
+        Table(int firstYear, int lastYear) {
+            this.firstYear = firstYear;
+            this.lastYear = lastYear;
+            this.firstEpochDay = epochDay(firstYear, 1, 1);
+            this.dates = new LocalDate[(int) (epochDay(lastYear, 12, 31) - firstEpochDay + 1)];
+        }
+
+        static Table forSystemProperty(String years) {
+            if (years == null) {
+                return new Table(1900, 2100);
+            }
+            if (years.trim().equalsIgnoreCase("none")) {
+                return null;
+            }
+            String[] range = years.trim().split("-");
+            checkArgument(range.length == 2, "Invalid year range: %s", years);
+            return new Table(Integer.parseInt(range[0].trim()), Integer.parseInt(range[1].trim()));
+        }
+
+        boolean contains(long epochDay) {
+            return epochDay >= firstEpochDay && epochDay - firstEpochDay < dates.length;
+        }
+
+        LocalDate get(long epochDay) {
+            int index = (int) (epochDay - firstEpochDay);
+            LocalDate date = dates[index];
+            if (date == null) {
+                date = new LocalDate(epochDay * MILLIS_PER_DAY, ISOChronology.getInstanceUTC());
+                dates[index] = date;
+            }
+            return date;
+        }
+
+        LocalDate get(long epochDay, LocalDate candidate) {
+            int index = (int) (epochDay - firstEpochDay);
+            LocalDate date = dates[index];
+            if (date == null) {
+                dates[index] = candidate;
+                return candidate;
+            }
+            return date;
+        }
+    }
+}
@@ -84,6 +84,15 @@ public enum NumberFormat {
     private final DecimalFormatSymbols symbols;
     private final DecimalFormat format;
     private final String pattern;
+    private final FixedPointFormatter formatter;
+
+    // DecimalFormat is not thread safe, so each thread formats using its own copy
+    private final ThreadLocal<DecimalFormat> formats = new ThreadLocal<DecimalFormat>() {
+        @Override
+        protected DecimalFormat initialValue() {
+            return (DecimalFormat) format.clone();
+        }
+    };
 
     private NumberFormat(String pattern, char decimalSeparator) {
         this.symbols = new DecimalFormatSymbols(NORWEGIAN_LOCALE);
@@ -91,17 +100,34 @@ public enum NumberFormat {
         this.format = new DecimalFormat(pattern);
         this.format.setDecimalFormatSymbols(symbols);
         this.pattern = pattern;
+        int separatorIndex = pattern.indexOf('.');
+        this.formatter = new FixedPointFormatter((separatorIndex < 0) ? 0 : pattern.length() - separatorIndex - 1, symbols);
     }
 
+    /**
+     * Returns the DecimalFormat of the calling thread. It must not be
+     * handed over to other threads.
+     */
     public DecimalFormat getFormat() {
-        return format;
+        return formats.get();
+    }
+
+    /**
+     * Returns the formatter producing the same output as {@link #getFormat()},
+     * which can be shared between threads
+     */
+    public FixedPointFormatter getFormatter() {
+        return formatter;
     }
 
     public String getPattern() {
         return pattern;
     }
 
+    /**
+     * Returns a copy of the symbols used by this format
+     */
     public DecimalFormatSymbols getDecimalFormatSymbols() {
-        return symbols;
+        return (DecimalFormatSymbols) symbols.clone();
     }
 }
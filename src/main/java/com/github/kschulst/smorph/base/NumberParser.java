@@ -0,0 +1,633 @@
+package com.github.kschulst.smorph.base;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+/**
+ * Number parsing that never throws. Each supported type has a {@code check} method
+ * that validates a region of a {@link CharSequence} and reports the result as a
+ * status code, and a {@code parse} method that converts a region that has been
+ * checked OK. Parsing a region that has not been checked gives undefined results.
+ * <p>
+ * Accepted input and parsed values match the corresponding JDK parsers
+ * ({@link Integer#parseInt(String)}, {@link Long#parseLong(String)} and
+ * {@link Double#parseDouble(String)}) - the point is to avoid the cost of a
+ * {@link NumberFormatException} on invalid input.
+ */
+public final class NumberParser {
+
+    /** The region holds a valid number */
+    public static final int OK = 0;
+
+    /** The region is empty */
+    public static final int EMPTY = 1;
+
+    /** The region does not hold a number */
+    public static final int MALFORMED = 2;
+
+    /** The region holds a number that is not within range of the type */
+    public static final int OUT_OF_RANGE = 3;
+
+    private static final long UNSIGNED_INT_MAX = 0xffffffffL;
+
+    // Longest byte region parsed without a view, as 18 digits always fit in a long
+    private static final int MAX_SWAR_LENGTH = 18;
+
+    // Largest number of decimal digits that always fit exactly in a double, and powers of ten that are exact doubles
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private NumberParser() {}
+
+    /**
+     * Returns a short description of the given status code, suitable for error messages
+     */
+    public static String describe(int status) {
+        switch (status) {
+            case OK: return "Valid number";
+            case EMPTY: return "Empty number";
+            case OUT_OF_RANGE: return "Number out of range";
+            default: return "Invalid number format";
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // int
+    // ------------------------------------------------------------------------
+
+    /**
+     * Checks whether the region holds an int, as accepted by {@link Integer#parseInt(String)}
+     */
+    public static int checkInt(CharSequence s, int start, int end) {
+        return checkInteger(s, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Parses an int from a region that has been {@link #checkInt checked}
+     */
+    public static int parseInt(CharSequence s, int start, int end) {
+        return (int) parseInteger(s, start, end);
+    }
+
+    /**
+     * Parses an int, or returns the default value if the region does not hold an int
+     */
+    public static int parseInt(CharSequence s, int start, int end, int defaultValue) {
+        return checkInt(s, start, end) == OK ? parseInt(s, start, end) : defaultValue;
+    }
+
+    // ------------------------------------------------------------------------
+    // long
+    // ------------------------------------------------------------------------
+
+    /**
+     * Checks whether the region holds a long, as accepted by {@link Long#parseLong(String)}
+     */
+    public static int checkLong(CharSequence s, int start, int end) {
+        return checkInteger(s, start, end, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Parses a long from a region that has been {@link #checkLong checked}
+     */
+    public static long parseLong(CharSequence s, int start, int end) {
+        return parseInteger(s, start, end);
+    }
+
+    /**
+     * Parses a long, or returns the default value if the region does not hold a long
+     */
+    public static long parseLong(CharSequence s, int start, int end, long defaultValue) {
+        return checkLong(s, start, end) == OK ? parseLong(s, start, end) : defaultValue;
+    }
+
+    // ------------------------------------------------------------------------
+    // Unsigned int as BigInteger
+    // ------------------------------------------------------------------------
+
+    /**
+     * Checks whether the region holds an unsigned 32 bit integer, as accepted
+     * by {@link com.google.common.primitives.UnsignedInteger#valueOf(String)}
+     */
+    public static int checkUnsignedBigInteger(CharSequence s, int start, int end) {
+        int status = checkLong(s, start, end);
+        if (status != OK) {
+            return status;
+        }
+        long value = parseLong(s, start, end);
+        return (value < 0 || value > UNSIGNED_INT_MAX) ? OUT_OF_RANGE : OK;
+    }
+
+    /**
+     * Parses an unsigned 32 bit integer from a region that has been
+     * {@link #checkUnsignedBigInteger checked}
+     */
+    public static BigInteger parseUnsignedBigInteger(CharSequence s, int start, int end) {
+        return BigInteger.valueOf(parseLong(s, start, end));
+    }
+
+    // ------------------------------------------------------------------------
+    // double
+    // ------------------------------------------------------------------------
+
+    /**
+     * Checks whether the region holds a double, as accepted by {@link Double#parseDouble(String)}.
+     * That is, including leading and trailing whitespace, NaN, Infinity, hexadecimal
+     * notation and float/double suffixes.
+     */
+    public static int checkDouble(CharSequence s, int start, int end) {
+        // Trim like Double.parseDouble does
+        start = Chars.trimStart(s, start, end);
+        end = Chars.trimEnd(s, start, end);
+        if (start == end) {
+            return EMPTY;
+        }
+
+        int i = start;
+        char c = s.charAt(i);
+        if (c == '-' || c == '+') {
+            i++;
+        }
+        if (i == end) {
+            return MALFORMED;
+        }
+
+        c = s.charAt(i);
+        if (c == 'N') {
+            return regionMatches(s, i, end, "NaN") ? OK : MALFORMED;
+        }
+        if (c == 'I') {
+            return regionMatches(s, i, end, "Infinity") ? OK : MALFORMED;
+        }
+        if (c == '0' && i + 1 < end && (s.charAt(i + 1) == 'x' || s.charAt(i + 1) == 'X')) {
+            return checkHexDouble(s, i + 2, end);
+        }
+
+        int digits = 0;
+        boolean point = false;
+        for (; i < end; i++) {
+            c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            }
+            else if (c == '.' && !point) {
+                point = true;
+            }
+            else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return MALFORMED;
+        }
+
+        if (i < end && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i = skipExponent(s, i + 1, end);
+            if (i < 0) {
+                return MALFORMED;
+            }
+        }
+        return isEndOrSuffix(s, i, end) ? OK : MALFORMED;
+    }
+
+    /**
+     * Parses a double from a region that has been {@link #checkDouble checked}
+     */
+    public static double parseDouble(CharSequence s, int start, int end) {
+        start = Chars.trimStart(s, start, end);
+        end = Chars.trimEnd(s, start, end);
+
+        int i = start;
+        boolean negative = false;
+        char c = s.charAt(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+
+        c = s.charAt(i);
+        if (c == 'N') {
+            return Double.NaN;
+        }
+        if (c == 'I') {
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean point = false;
+        for (; i < end; i++) {
+            c = s.charAt(i);
+            if (c == '.') {
+                point = true;
+            }
+            else if (c >= '0' && c <= '9') {
+                if (significantDigits > MAX_EXACT_DIGITS) {
+                    break;
+                }
+                if (mantissa != 0 || c != '0') {
+                    mantissa = mantissa * 10 + (c - '0');
+                    significantDigits++;
+                }
+                if (point) {
+                    exponent--;
+                }
+            }
+            else {
+                break;
+            }
+        }
+
+        if (i < end && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            int explicitExponent = parseExponent(s, i + 1, end);
+            if (explicitExponent == Integer.MIN_VALUE) {
+                return fallbackParseDouble(s, start, end);
+            }
+            exponent += explicitExponent;
+        }
+        else if (i < end && !isEndOrSuffix(s, i, end)) {
+            // Hexadecimal notation or too many digits to be parsed exactly
+            return fallbackParseDouble(s, start, end);
+        }
+
+        if (significantDigits > MAX_EXACT_DIGITS) {
+            return fallbackParseDouble(s, start, end);
+        }
+
+        double value;
+        if (mantissa == 0) {
+            value = 0d;
+        }
+        else if (exponent >= 0 && exponent < EXACT_POWERS_OF_TEN.length) {
+            value = mantissa * EXACT_POWERS_OF_TEN[exponent];
+        }
+        else if (exponent < 0 && -exponent < EXACT_POWERS_OF_TEN.length) {
+            value = mantissa / EXACT_POWERS_OF_TEN[-exponent];
+        }
+        else {
+            return fallbackParseDouble(s, start, end);
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a double, or returns the default value if the region does not hold a double
+     */
+    public static double parseDouble(CharSequence s, int start, int end, double defaultValue) {
+        return checkDouble(s, start, end) == OK ? parseDouble(s, start, end) : defaultValue;
+    }
+
+    // ------------------------------------------------------------------------
+    // BigDecimal
+    // ------------------------------------------------------------------------
+
+    /**
+     * Checks whether the region holds a double that is a finite number, which is
+     * what {@link BigDecimal#valueOf(double)} accepts
+     */
+    public static int checkBigDecimal(CharSequence s, int start, int end) {
+        int status = checkDouble(s, start, end);
+        if (status != OK) {
+            return status;
+        }
+        double value = parseDouble(s, start, end);
+        if (Double.isNaN(value)) {
+            return MALFORMED;
+        }
+        return Double.isInfinite(value) ? OUT_OF_RANGE : OK;
+    }
+
+    /**
+     * Parses a BigDecimal from a region that has been {@link #checkBigDecimal checked}.
+     * The region is parsed as a double, so the result is equal to
+     * {@code BigDecimal.valueOf(Double.parseDouble(s))}
+     */
+    public static BigDecimal parseBigDecimal(CharSequence s, int start, int end) {
+        return BigDecimal.valueOf(parseDouble(s, start, end));
+    }
+
+    // ------------------------------------------------------------------------
+    // ASCII bytes
+    // ------------------------------------------------------------------------
+
+    // Regions of byte arrays and ByteBuffers holding ASCII (or UTF-8) text are checked and parsed like the
+    // same text in a CharSequence, without decoding it first. Bytes outside of ASCII are never digits, so
+    // the non-ASCII digits Integer.parseInt accepts in a String are rejected. Integers of up to 18 digits
+    // are read eight digits at a time, anything else through a CharSequence view of the bytes. ByteBuffers
+    // are read at absolute indices, leaving their position alone.
+
+    public static int checkInt(byte[] b, int start, int end) {
+        if (start >= end || end - start > MAX_SWAR_LENGTH) {
+            return checkInt(view(b, start, end), 0, end - start);
+        }
+        boolean negative = b[start] == '-';
+        long value = unsignedValue(b, start, end);
+        if (value < 0) {
+            return MALFORMED;
+        }
+        return (value > (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE)) ? OUT_OF_RANGE : OK;
+    }
+
+    public static int parseInt(byte[] b, int start, int end) {
+        return (int) parseLong(b, start, end);
+    }
+
+    public static int parseInt(byte[] b, int start, int end, int defaultValue) {
+        return checkInt(b, start, end) == OK ? parseInt(b, start, end) : defaultValue;
+    }
+
+    public static int checkLong(byte[] b, int start, int end) {
+        if (start >= end || end - start > MAX_SWAR_LENGTH) {
+            return checkLong(view(b, start, end), 0, end - start);
+        }
+        return unsignedValue(b, start, end) < 0 ? MALFORMED : OK;
+    }
+
+    public static long parseLong(byte[] b, int start, int end) {
+        if (end - start > MAX_SWAR_LENGTH) {
+            return parseLong(view(b, start, end), 0, end - start);
+        }
+        long value = unsignedValue(b, start, end);
+        return (b[start] == '-') ? -value : value;
+    }
+
+    public static long parseLong(byte[] b, int start, int end, long defaultValue) {
+        return checkLong(b, start, end) == OK ? parseLong(b, start, end) : defaultValue;
+    }
+
+    public static int checkUnsignedBigInteger(byte[] b, int start, int end) {
+        int status = checkLong(b, start, end);
+        if (status != OK) {
+            return status;
+        }
+        long value = parseLong(b, start, end);
+        return (value < 0 || value > UNSIGNED_INT_MAX) ? OUT_OF_RANGE : OK;
+    }
+
+    public static BigInteger parseUnsignedBigInteger(byte[] b, int start, int end) {
+        return BigInteger.valueOf(parseLong(b, start, end));
+    }
+
+    public static int checkDouble(byte[] b, int start, int end) {
+        return checkDouble(view(b, start, end), 0, end - start);
+    }
+
+    public static double parseDouble(byte[] b, int start, int end) {
+        return parseDouble(view(b, start, end), 0, end - start);
+    }
+
+    public static double parseDouble(byte[] b, int start, int end, double defaultValue) {
+        return parseDouble(view(b, start, end), 0, end - start, defaultValue);
+    }
+
+    public static int checkBigDecimal(byte[] b, int start, int end) {
+        return checkBigDecimal(view(b, start, end), 0, end - start);
+    }
+
+    public static BigDecimal parseBigDecimal(byte[] b, int start, int end) {
+        return parseBigDecimal(view(b, start, end), 0, end - start);
+    }
+
+    // Heap buffers are parsed from their backing array, direct buffers through a view
+
+    public static int checkInt(ByteBuffer buf, int start, int end) {
+        return buf.hasArray() ? checkInt(buf.array(), buf.arrayOffset() + start, buf.arrayOffset() + end) : checkInt(view(buf, start, end), 0, end - start);
+    }
+
+    public static int parseInt(ByteBuffer buf, int start, int end) {
+        return buf.hasArray() ? parseInt(buf.array(), buf.arrayOffset() + start, buf.arrayOffset() + end) : parseInt(view(buf, start, end), 0, end - start);
+    }
+
+    public static int parseInt(ByteBuffer buf, int start, int end, int defaultValue) {
+        return checkInt(buf, start, end) == OK ? parseInt(buf, start, end) : defaultValue;
+    }
+
+    public static int checkLong(ByteBuffer buf, int start, int end) {
+        return buf.hasArray() ? checkLong(buf.array(), buf.arrayOffset() + start, buf.arrayOffset() + end) : checkLong(view(buf, start, end), 0, end - start);
+    }
+
+    public static long parseLong(ByteBuffer buf, int start, int end) {
+        return buf.hasArray() ? parseLong(buf.array(), buf.arrayOffset() + start, buf.arrayOffset() + end) : parseLong(view(buf, start, end), 0, end - start);
+    }
+
+    public static long parseLong(ByteBuffer buf, int start, int end, long defaultValue) {
+        return checkLong(buf, start, end) == OK ? parseLong(buf, start, end) : defaultValue;
+    }
+
+    public static int checkUnsignedBigInteger(ByteBuffer buf, int start, int end) {
+        int status = checkLong(buf, start, end);
+        if (status != OK) {
+            return status;
+        }
+        long value = parseLong(buf, start, end);
+        return (value < 0 || value > UNSIGNED_INT_MAX) ? OUT_OF_RANGE : OK;
+    }
+
+    public static BigInteger parseUnsignedBigInteger(ByteBuffer buf, int start, int end) {
+        return BigInteger.valueOf(parseLong(buf, start, end));
+    }
+
+    public static int checkDouble(ByteBuffer buf, int start, int end) {
+        return checkDouble(view(buf, start, end), 0, end - start);
+    }
+
+    public static double parseDouble(ByteBuffer buf, int start, int end) {
+        return parseDouble(view(buf, start, end), 0, end - start);
+    }
+
+    public static double parseDouble(ByteBuffer buf, int start, int end, double defaultValue) {
+        return parseDouble(view(buf, start, end), 0, end - start, defaultValue);
+    }
+
+    public static int checkBigDecimal(ByteBuffer buf, int start, int end) {
+        return checkBigDecimal(view(buf, start, end), 0, end - start);
+    }
+
+    public static BigDecimal parseBigDecimal(ByteBuffer buf, int start, int end) {
+        return parseBigDecimal(view(buf, start, end), 0, end - start);
+    }
+
+    private static CharSequence view(byte[] b, int start, int end) {
+        return new AsciiSequence(b, start, end - start);
+    }
+
+    private static CharSequence view(ByteBuffer buf, int start, int end) {
+        if (buf.hasArray()) {
+            return new AsciiSequence(buf.array(), buf.arrayOffset() + start, end - start);
+        }
+        return new AsciiSequence(buf, start, end - start);
+    }
+
+    /**
+     * Value of the digits following an optional sign in a non-empty region of at most
+     * {@link #MAX_SWAR_LENGTH} bytes, or -1 if the region does not hold a signed integer
+     */
+    private static long unsignedValue(byte[] b, int start, int end) {
+        int i = (b[start] == '-' || b[start] == '+') ? start + 1 : start;
+        return (i == end) ? -1 : AsciiDigits.digitsValue(b, i, end);
+    }
+
+    // ------------------------------------------------------------------------
+    // Internals
+    // ------------------------------------------------------------------------
+
+    private static int checkInteger(CharSequence s, int start, int end, long min, long max) {
+        if (start >= end) {
+            return EMPTY;
+        }
+
+        int i = start;
+        boolean negative = false;
+        char c = s.charAt(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            if (++i == end) {
+                return MALFORMED;
+            }
+        }
+
+        // Accumulate negatively (like the JDK does) since the negative range is the larger one
+        long limit = negative ? min : -max;
+        long multiplicationLimit = limit / 10;
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = digit(s.charAt(i));
+            if (digit < 0) {
+                return MALFORMED;
+            }
+            if (result < multiplicationLimit) {
+                return skipDigits(s, i + 1, end) ? OUT_OF_RANGE : MALFORMED;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return skipDigits(s, i + 1, end) ? OUT_OF_RANGE : MALFORMED;
+            }
+            result -= digit;
+        }
+        return OK;
+    }
+
+    private static long parseInteger(CharSequence s, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        char c = s.charAt(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+
+        long result = 0;
+        for (; i < end; i++) {
+            result = result * 10 - digit(s.charAt(i));
+        }
+        return negative ? result : -result;
+    }
+
+    private static boolean skipDigits(CharSequence s, int i, int end) {
+        for (; i < end; i++) {
+            if (digit(s.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decimal digit value like {@link Character#digit(char, int)}, which the JDK integer parsers use
+     */
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        return c < 128 ? -1 : Character.digit(c, 10);
+    }
+
+    private static int checkHexDouble(CharSequence s, int i, int end) {
+        int digits = 0;
+        boolean point = false;
+        for (; i < end; i++) {
+            char c = s.charAt(i);
+            if ((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F')) {
+                digits++;
+            }
+            else if (c == '.' && !point) {
+                point = true;
+            }
+            else {
+                break;
+            }
+        }
+        if (digits == 0 || i == end || (s.charAt(i) != 'p' && s.charAt(i) != 'P')) {
+            return MALFORMED;
+        }
+        i = skipExponent(s, i + 1, end);
+        return (i >= 0 && isEndOrSuffix(s, i, end)) ? OK : MALFORMED;
+    }
+
+    /**
+     * Skips an exponent (optional sign and at least one digit), returning the
+     * index following it or -1 if there is no valid exponent
+     */
+    private static int skipExponent(CharSequence s, int i, int end) {
+        if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            i++;
+        }
+        int first = i;
+        while (i < end && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+            i++;
+        }
+        return i == first ? -1 : i;
+    }
+
+    /**
+     * Parses a checked exponent, returning Integer.MIN_VALUE if it is too large to be handled
+     */
+    private static int parseExponent(CharSequence s, int i, int end) {
+        boolean negative = false;
+        if (s.charAt(i) == '-' || s.charAt(i) == '+') {
+            negative = s.charAt(i) == '-';
+            i++;
+        }
+        int exponent = 0;
+        for (; i < end && s.charAt(i) >= '0' && s.charAt(i) <= '9'; i++) {
+            exponent = exponent * 10 + (s.charAt(i) - '0');
+            if (exponent > 100000) {
+                return Integer.MIN_VALUE;
+            }
+        }
+        return negative ? -exponent : exponent;
+    }
+
+    private static boolean isEndOrSuffix(CharSequence s, int i, int end) {
+        if (i == end) {
+            return true;
+        }
+        char c = s.charAt(i);
+        return i == end - 1 && (c == 'f' || c == 'F' || c == 'd' || c == 'D');
+    }
+
+    private static boolean regionMatches(CharSequence s, int i, int end, String expected) {
+        if (end - i != expected.length()) {
+            return false;
+        }
+        for (int j = 0; j < expected.length(); j++) {
+            if (s.charAt(i + j) != expected.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Values that cannot be computed exactly by the fast path are left to the JDK.
+     * The region has been checked, so this does not throw.
+     */
+    private static double fallbackParseDouble(CharSequence s, int start, int end) {
+        return Double.parseDouble(s.subSequence(start, end).toString());
+    }
+}
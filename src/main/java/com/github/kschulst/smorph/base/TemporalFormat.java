@@ -3,9 +3,18 @@ package com.github.kschulst.smorph.base;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeUtils;
+import org.joda.time.LocalDate;
+import org.joda.time.ReadableInstant;
+import org.joda.time.ReadablePartial;
+import org.joda.time.chrono.ISOChronology;
 import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
 
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
@@ -118,11 +127,23 @@ public enum TemporalFormat {
             .build();
 
     private final DateTimeFormatter formatter;
+    private final FixedWidthParser fixedWidthParser;
+    private final FixedWidthPrinter fixedWidthPrinter;
     private final DateTimeAwareness dateTimeAwareness;
     private final String pattern;
+    // Buffer of each thread for the fixed width printer, as printed text is copied out of it anyway
+    private final ThreadLocal<char[]> printBuffers;
 
     private TemporalFormat(String pattern, DateTimeAwareness dateTimeAwareness) {
         this.formatter = DateTimeFormat.forPattern(pattern);
+        this.fixedWidthParser = FixedWidthParser.compile(pattern);
+        this.fixedWidthPrinter = FixedWidthPrinter.of(fixedWidthParser);
+        this.printBuffers = (fixedWidthPrinter == null) ? null : new ThreadLocal<char[]>() {
+            @Override
+            protected char[] initialValue() {
+                return new char[fixedWidthPrinter.length()];
+            }
+        };
         this.dateTimeAwareness = dateTimeAwareness;
         this.pattern = pattern;
     }
@@ -131,6 +152,290 @@ public enum TemporalFormat {
         return formatter;
     }
 
+    /**
+     * Parses the string as a LocalDate. Same as parsing using the {@link #getFormatter() formatter},
+     * but strings matching a fixed width, digit only format exactly are parsed without it. The
+     * result is shared through the {@link LocalDateTable}.
+     *
+     * @throws IllegalArgumentException if the string is not valid for this format
+     */
+    public LocalDate parseLocalDate(@Nonnull CharSequence s) {
+        if (fixedWidthParser != null) {
+            long fields = fixedWidthParser.parse(s);
+            if (fields != FixedWidthParser.INVALID) {
+                return FixedWidthParser.toLocalDate(fields);
+            }
+        }
+        return LocalDateTable.canonical(formatter.parseLocalDate(s.toString()));
+    }
+
+    /**
+     * Parses the string as a DateTime in the default time zone. Same as parsing using the
+     * {@link #getFormatter() formatter}, but strings matching a fixed width, digit only format
+     * exactly are parsed without it.
+     *
+     * @throws IllegalArgumentException if the string is not valid for this format
+     */
+    public DateTime parseDateTime(@Nonnull CharSequence s) {
+        if (fixedWidthParser != null) {
+            DateTime dateTime = toDateTime(fixedWidthParser.parse(s));
+            if (dateTime != null) {
+                return dateTime;
+            }
+        }
+        return formatter.parseDateTime(s.toString());
+    }
+
+    /**
+     * Same as {@link #parseLocalDate(CharSequence)} for the region of the string starting
+     * at the offset, which is parsed in place if it matches a fixed width format exactly
+     *
+     * @throws IllegalArgumentException if the region is not valid for this format
+     */
+    public LocalDate parseLocalDate(@Nonnull CharSequence s, int offset, int length) {
+        if (fixedWidthParser != null) {
+            long fields = fixedWidthParser.parse(s, offset, length);
+            if (fields != FixedWidthParser.INVALID) {
+                return FixedWidthParser.toLocalDate(fields);
+            }
+        }
+        return LocalDateTable.canonical(formatter.parseLocalDate(s.subSequence(offset, offset + length).toString()));
+    }
+
+    /**
+     * Same as {@link #parseDateTime(CharSequence)} for the region of the string starting
+     * at the offset, which is parsed in place if it matches a fixed width format exactly
+     *
+     * @throws IllegalArgumentException if the region is not valid for this format
+     */
+    public DateTime parseDateTime(@Nonnull CharSequence s, int offset, int length) {
+        if (fixedWidthParser != null) {
+            DateTime dateTime = toDateTime(fixedWidthParser.parse(s, offset, length));
+            if (dateTime != null) {
+                return dateTime;
+            }
+        }
+        return formatter.parseDateTime(s.subSequence(offset, offset + length).toString());
+    }
+
+    /**
+     * Same as {@link #parseLocalDate(CharSequence)} for a region of ASCII (or UTF-8) bytes.
+     * Input matching a fixed width format exactly is parsed straight from the bytes, anything
+     * else is decoded and handed to the formatter.
+     *
+     * @throws IllegalArgumentException if the bytes are not valid for this format
+     */
+    public LocalDate parseLocalDate(@Nonnull byte[] b, int offset, int length) {
+        if (fixedWidthParser != null) {
+            long fields = fixedWidthParser.parse(b, offset, length);
+            if (fields != FixedWidthParser.INVALID) {
+                return FixedWidthParser.toLocalDate(fields);
+            }
+        }
+        return LocalDateTable.canonical(formatter.parseLocalDate(new String(b, offset, length, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Same as {@link #parseLocalDate(byte[], int, int)} for the bytes starting at the
+     * (absolute) index of the buffer. The position of the buffer is left alone.
+     */
+    public LocalDate parseLocalDate(@Nonnull ByteBuffer buf, int index, int length) {
+        if (fixedWidthParser != null) {
+            long fields = fixedWidthParser.parse(buf, index, length);
+            if (fields != FixedWidthParser.INVALID) {
+                return FixedWidthParser.toLocalDate(fields);
+            }
+        }
+        return LocalDateTable.canonical(formatter.parseLocalDate(decode(buf, index, length)));
+    }
+
+    /**
+     * Same as {@link #parseDateTime(CharSequence)} for a region of ASCII (or UTF-8) bytes.
+     * Input matching a fixed width format exactly is parsed straight from the bytes, anything
+     * else is decoded and handed to the formatter.
+     *
+     * @throws IllegalArgumentException if the bytes are not valid for this format
+     */
+    public DateTime parseDateTime(@Nonnull byte[] b, int offset, int length) {
+        if (fixedWidthParser != null) {
+            DateTime dateTime = toDateTime(fixedWidthParser.parse(b, offset, length));
+            if (dateTime != null) {
+                return dateTime;
+            }
+        }
+        return formatter.parseDateTime(new String(b, offset, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Same as {@link #parseDateTime(byte[], int, int)} for the bytes starting at the
+     * (absolute) index of the buffer. The position of the buffer is left alone.
+     */
+    public DateTime parseDateTime(@Nonnull ByteBuffer buf, int index, int length) {
+        if (fixedWidthParser != null) {
+            DateTime dateTime = toDateTime(fixedWidthParser.parse(buf, index, length));
+            if (dateTime != null) {
+                return dateTime;
+            }
+        }
+        return formatter.parseDateTime(decode(buf, index, length));
+    }
+
+    /**
+     * DateTime of the parsed fields, or null if they are invalid or the local time
+     * falls in a daylight saving gap, which is left to the formatter to report
+     */
+    private static DateTime toDateTime(long fields) {
+        if (fields == FixedWidthParser.INVALID) {
+            return null;
+        }
+        try {
+            return FixedWidthParser.toDateTime(fields);
+        }
+        catch (IllegalArgumentException e) { // NOSONAR
+            return null;
+        }
+    }
+
+    private static String decode(ByteBuffer buf, int index, int length) {
+        ByteBuffer region = buf.duplicate();
+        region.limit(index + length);
+        region.position(index);
+        return StandardCharsets.UTF_8.decode(region).toString();
+    }
+
+    /**
+     * Prints the partial using the {@link #getFormatter() formatter}. Fields unknown to
+     * the partial (such as the hours of a LocalDate) are printed as zero digits. Fixed
+     * width, digit only formats are printed without the formatter.
+     */
+    public String print(@Nonnull ReadablePartial partial) {
+        if (fixedWidthPrinter != null) {
+            char[] buffer = printBuffers.get();
+            if (fixedWidthPrinter.print(partial, buffer, 0)) {
+                return new String(buffer);
+            }
+        }
+        StringBuilder sb = new StringBuilder(formatter.getPrinter().estimatePrintedLength());
+        try {
+            formatter.printTo(new ZeroFillingAppendable(sb), partial);
+        }
+        catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Prints the instant in its own chronology and time zone, like the {@link #getFormatter() formatter}
+     * does. Fixed width, digit only formats are printed without the formatter.
+     */
+    public String print(@Nonnull ReadableInstant instant) {
+        if (fixedWidthPrinter != null) {
+            char[] buffer = printBuffers.get();
+            if (fixedWidthPrinter.print(instant.getMillis(), DateTimeUtils.getInstantChronology(instant), buffer, 0)) {
+                return new String(buffer);
+            }
+        }
+        return formatter.print(instant);
+    }
+
+    /**
+     * Prints the instant, given as milliseconds since the epoch, in the default time zone
+     */
+    public String print(long instant) {
+        if (fixedWidthPrinter != null) {
+            char[] buffer = printBuffers.get();
+            if (fixedWidthPrinter.print(instant, ISOChronology.getInstance(), buffer, 0)) {
+                return new String(buffer);
+            }
+        }
+        return formatter.print(instant);
+    }
+
+    /**
+     * Same as {@link #print(ReadablePartial)}, but appends to the Appendable
+     */
+    public void printTo(@Nonnull Appendable out, @Nonnull ReadablePartial partial) throws IOException {
+        if (fixedWidthPrinter != null) {
+            char[] buffer = printBuffers.get();
+            if (fixedWidthPrinter.print(partial, buffer, 0)) {
+                Chars.append(out, buffer, 0, buffer.length);
+                return;
+            }
+        }
+        formatter.printTo(new ZeroFillingAppendable(out), partial);
+    }
+
+    public void printTo(@Nonnull Appendable out, @Nonnull ReadableInstant instant) throws IOException {
+        if (fixedWidthPrinter != null) {
+            char[] buffer = printBuffers.get();
+            if (fixedWidthPrinter.print(instant.getMillis(), DateTimeUtils.getInstantChronology(instant), buffer, 0)) {
+                Chars.append(out, buffer, 0, buffer.length);
+                return;
+            }
+        }
+        formatter.printTo(out, instant);
+    }
+
+    public void printTo(@Nonnull Appendable out, long instant) throws IOException {
+        if (fixedWidthPrinter != null) {
+            char[] buffer = printBuffers.get();
+            if (fixedWidthPrinter.print(instant, ISOChronology.getInstance(), buffer, 0)) {
+                Chars.append(out, buffer, 0, buffer.length);
+                return;
+            }
+        }
+        formatter.printTo(out, instant);
+    }
+
+    /**
+     * Same as {@link #print(ReadablePartial)}, but writes into the array starting at the offset
+     *
+     * @return the number of chars written
+     * @throws IndexOutOfBoundsException if the array is too small
+     */
+    public int printTo(@Nonnull char[] out, int offset, @Nonnull ReadablePartial partial) {
+        if (fixedWidthPrinter != null && fixedWidthPrinter.print(partial, out, offset)) {
+            return fixedWidthPrinter.length();
+        }
+        ZeroFillingAppendable sink = new ZeroFillingAppendable(out, offset);
+        try {
+            formatter.printTo(sink, partial);
+        }
+        catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return sink.length();
+    }
+
+    public int printTo(@Nonnull char[] out, int offset, @Nonnull ReadableInstant instant) {
+        if (fixedWidthPrinter != null && fixedWidthPrinter.print(instant.getMillis(), DateTimeUtils.getInstantChronology(instant), out, offset)) {
+            return fixedWidthPrinter.length();
+        }
+        ZeroFillingAppendable sink = new ZeroFillingAppendable(out, offset);
+        try {
+            formatter.printTo(sink, instant);
+        }
+        catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return sink.length();
+    }
+
+    public int printTo(@Nonnull char[] out, int offset, long instant) {
+        if (fixedWidthPrinter != null && fixedWidthPrinter.print(instant, ISOChronology.getInstance(), out, offset)) {
+            return fixedWidthPrinter.length();
+        }
+        ZeroFillingAppendable sink = new ZeroFillingAppendable(out, offset);
+        try {
+            formatter.printTo(sink, instant);
+        }
+        catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return sink.length();
+    }
+
     public boolean isDateAware() {
         return dateTimeAwareness == DateTimeAwareness.DATE_AND_TIME || dateTimeAwareness == DateTimeAwareness.DATE_ONLY;
     }
@@ -1,7 +1,8 @@
 package com.github.kschulst.smorph.base;
 
-import com.google.common.collect.Range;
-
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeConstants;
+import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
 
 public final class XMLGregorianCalendars {
@@ -10,16 +11,58 @@ public final class XMLGregorianCalendars {
     private static final int MINUTES_OF_HOUR = 59;
     private static final int SECONDS_OF_MINUTE = 59;
 
+    // DatatypeFactory.newInstance() is an expensive service lookup, and factories are not guaranteed to be thread safe
+    private static final ThreadLocal<DatatypeFactory> DATATYPE_FACTORIES = new ThreadLocal<DatatypeFactory>() {
+        @Override
+        protected DatatypeFactory initialValue() {
+            try {
+                return DatatypeFactory.newInstance();
+            }
+            catch (DatatypeConfigurationException e) {
+                throw new IllegalStateException("Unable to create DatatypeFactory", e);
+            }
+        }
+    };
+
     private XMLGregorianCalendars() {}
 
+    /**
+     * Returns the DatatypeFactory of the calling thread, created once per thread.
+     * It must not be handed over to other threads.
+     *
+     * @throws IllegalStateException if no DatatypeFactory implementation is available
+     */
+    public static DatatypeFactory datatypeFactory() {
+        return DATATYPE_FACTORIES.get();
+    }
+
+    /**
+     * Creates a calendar with only year, month and day set, without time zone
+     */
+    public static XMLGregorianCalendar newDate(int year, int month, int day) {
+        return datatypeFactory().newXMLGregorianCalendarDate(year, month, day, DatatypeConstants.FIELD_UNDEFINED);
+    }
+
+    /**
+     * Creates a calendar with all date and time fields set, using the given
+     * time zone offset in minutes
+     */
+    public static XMLGregorianCalendar newDateTime(int year, int month, int day, int hour, int minute, int second, int millisecond, int timezone) {
+        return datatypeFactory().newXMLGregorianCalendar(year, month, day, hour, minute, second, millisecond, timezone);
+    }
+
     public static boolean isDateTime(XMLGregorianCalendar xmlGregorianCalendar) {
         if (xmlGregorianCalendar == null) {
             return false;
         }
 
-        return Range.closed(0, HOURS_OF_DAY).contains(xmlGregorianCalendar.getHour()) &&
-               Range.closed(0, MINUTES_OF_HOUR).contains(xmlGregorianCalendar.getMinute()) &&
-               Range.closed(0, SECONDS_OF_MINUTE).contains(xmlGregorianCalendar.getSecond());
+        return isWithin(xmlGregorianCalendar.getHour(), HOURS_OF_DAY) &&
+               isWithin(xmlGregorianCalendar.getMinute(), MINUTES_OF_HOUR) &&
+               isWithin(xmlGregorianCalendar.getSecond(), SECONDS_OF_MINUTE);
+    }
+
+    private static boolean isWithin(int value, int max) {
+        return value >= 0 && value <= max;
     }
 
     public static boolean isDateOnly(XMLGregorianCalendar xmlGregorianCalendar) {
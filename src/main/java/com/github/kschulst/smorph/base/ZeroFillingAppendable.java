@@ -0,0 +1,80 @@
+package com.github.kschulst.smorph.base;
+
+import java.io.IOException;
+
+/**
+ * Appends to another Appendable or a char array, writing a zero digit for each
+ * replacement character (U+FFFD) Joda prints in place of fields unknown to a
+ * partial, such as the hours of a LocalDate.
+ */
+final class ZeroFillingAppendable implements Appendable {
+
+    private static final char UNKNOWN = '\uFFFD';
+
+    private final Appendable out;
+    private final char[] array;
+    private final int offset;
+    private int position;
+
+    ZeroFillingAppendable(Appendable out) {
+        this.out = out;
+        this.array = null;
+        this.offset = 0;
+    }
+
+    /**
+     * Appends to the array starting at the offset. Appending beyond the end of
+     * the array throws an IndexOutOfBoundsException.
+     */
+    ZeroFillingAppendable(char[] array, int offset) {
+        this.out = null;
+        this.array = array;
+        this.offset = offset;
+        this.position = offset;
+    }
+
+    /**
+     * Number of chars appended to the array
+     */
+    int length() {
+        return position - offset;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) throws IOException {
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws IOException {
+        if (out != null && !containsUnknown(csq, start, end)) {
+            out.append(csq, start, end);
+            return this;
+        }
+        for (int i = start; i < end; i++) {
+            append(csq.charAt(i));
+        }
+        return this;
+    }
+
+    private static boolean containsUnknown(CharSequence csq, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (csq.charAt(i) == UNKNOWN) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+        char ch = (c == UNKNOWN) ? '0' : c;
+        if (array != null) {
+            array[position++] = ch;
+        }
+        else {
+            out.append(ch);
+        }
+        return this;
+    }
+}
@@ -1,12 +1,7 @@
 package com.github.kschulst.smorph.converters;
 
-import com.google.common.base.Joiner;
-
 import javax.annotation.Nullable;
 
-import static com.google.common.base.Strings.emptyToNull;
-import static com.google.common.base.Strings.isNullOrEmpty;
-
 /**
  * Converter configuration
  *
@@ -16,23 +11,57 @@ import static com.google.common.base.Strings.isNullOrEmpty;
  * @author kls
  */
 public class Conversion<F, T> {
-    private static final Joiner ERROR_MESSAGE_JOINER = Joiner.on(". ").skipNulls();
-
+    private F inputValue;
     private F fromValue;
+    private int fromStart;
+    private int fromEnd = -1;
+    private boolean trimmed;
     private T defaultValue;
+    private boolean throwsExceptionOnError;
     private String onErrorExceptionMessage;
     private String conversionReference;
     private boolean allowEmptyStrings;
     private boolean trimInputStrings;
+    private boolean stacklessExceptions;
+    private boolean inUse;
+    private boolean failed;
 
     public Conversion(F fromValue) {
+        this.inputValue = fromValue;
         this.fromValue = fromValue;
     }
 
     // Package private methods so that only the Converter can reach
 
+    /**
+     * Sets the value to be converted, as it was handed to the converter.
+     */
     void setFromValue(F fromValue) {
+        this.inputValue = fromValue;
+        this.failed = false;
+        replaceFromValue(fromValue);
+    }
+
+    /**
+     * Replaces the value passed on to the conversion function while keeping
+     * the original input for error messages.
+     */
+    void replaceFromValue(F fromValue) {
         this.fromValue = fromValue;
+        this.fromStart = 0;
+        this.fromEnd = -1;
+        this.trimmed = false;
+    }
+
+    /**
+     * Trims the CharSequence to be converted to the region from start to end,
+     * without copying it. The region is only copied out into a String if
+     * {@link #fromValue()} is asked for.
+     */
+    void trimFromValue(int start, int end) {
+        this.fromStart = start;
+        this.fromEnd = end;
+        this.trimmed = true;
     }
 
     void setDefaultValue(T defaultValue) {
@@ -40,15 +69,13 @@ public class Conversion<F, T> {
     }
 
     void setOnErrorExceptionMessage(String onErrorExceptionMessage, String conversionReference) {
-        this.onErrorExceptionMessage = ERROR_MESSAGE_JOINER.join(
-                (isNullOrEmpty(conversionReference) ? "" : conversionReference + " - ") + "Error converting from '" + fromValue + "'",
-                emptyToNull(onErrorExceptionMessage)
-        );
+        this.throwsExceptionOnError = true;
+        this.onErrorExceptionMessage = onErrorExceptionMessage;
         this.conversionReference = conversionReference;
     }
 
     boolean throwsExceptionOnError() {
-        return this.onErrorExceptionMessage != null;
+        return this.throwsExceptionOnError;
     }
 
     void setAllowEmptyStrings(boolean allowEmptyStrings) {
@@ -67,15 +94,77 @@ public class Conversion<F, T> {
         return this.trimInputStrings;
     }
 
+    void setStacklessExceptions(boolean stacklessExceptions) {
+        this.stacklessExceptions = stacklessExceptions;
+    }
+
+    void setInUse(boolean inUse) {
+        this.inUse = inUse;
+    }
+
+    boolean isInUse() {
+        return this.inUse;
+    }
+
+    /**
+     * Whether the value to be converted is a CharSequence, that can be read from {@link #fromSequence()}
+     */
+    boolean isSequence() {
+        return fromValue instanceof CharSequence;
+    }
+
+    /**
+     * Whether the default has been resolved since the value to be converted was last set
+     */
+    boolean hasFailed() {
+        return this.failed;
+    }
+
     // ------------------------------------------------------------------------
 
     /**
-     * Returns the value to be converted
+     * Returns the value to be converted. A trimmed CharSequence is returned as
+     * a String holding the trimmed region, which is copied out on the first call.
+     * Functions parsing CharSequences can avoid the copy by reading the region
+     * from {@link #fromSequence()} instead.
      */
     public F fromValue() {
+        if (trimmed) {
+            CharSequence s = (CharSequence) fromValue;
+            if (!(s instanceof String) || fromStart != 0 || fromEnd != s.length()) {
+                fromValue = (F) s.subSequence(fromStart, fromEnd).toString();
+                fromStart = 0;
+                fromEnd = -1;
+            }
+            trimmed = false;
+        }
         return fromValue;
     }
 
+    /**
+     * Returns the CharSequence holding the value to be converted, untrimmed.
+     * The value is the region from {@link #fromStart()} to {@link #fromEnd()}.
+     *
+     * @throws ClassCastException if the value is not a CharSequence
+     */
+    public CharSequence fromSequence() {
+        return (CharSequence) fromValue;
+    }
+
+    /**
+     * Returns the index in {@link #fromSequence()} where the value to be converted starts
+     */
+    public int fromStart() {
+        return fromStart;
+    }
+
+    /**
+     * Returns the index in {@link #fromSequence()} where the value to be converted ends
+     */
+    public int fromEnd() {
+        return (fromEnd >= 0) ? fromEnd : fromSequence().length();
+    }
+
     /**
      * Cancels the conversion and applies any default value or action if this
      * has been registered. This method should typically be invoked if the
@@ -131,10 +220,9 @@ public class Conversion<F, T> {
      *          as underlying cause for the conversion exception that is thrown
      */
     public T resolveDefault(@Nullable String description, @Nullable Exception e) {
+        failed = true;
         if (throwsExceptionOnError()) {
-            throw (e == null)
-                ? new ConversionException(ERROR_MESSAGE_JOINER.join(onErrorExceptionMessage, emptyToNull(description)), conversionReference)
-                : new ConversionException(ERROR_MESSAGE_JOINER.join(onErrorExceptionMessage, emptyToNull(description), emptyToNull(e.getMessage())), e, conversionReference);
+            throw ConversionException.forFailedConversion(inputValue, onErrorExceptionMessage, description, e, conversionReference, stacklessExceptions);
         }
         return defaultValue;
     }
@@ -1,17 +1,95 @@
 package com.github.kschulst.smorph.converters;
 
+import com.google.common.base.Joiner;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
+import static com.google.common.base.Strings.emptyToNull;
+import static com.google.common.base.Strings.isNullOrEmpty;
+
 public class ConversionException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private static final Joiner ERROR_MESSAGE_JOINER = Joiner.on(". ").skipNulls();
+
+    private static volatile boolean stacklessByDefault = Boolean.getBoolean("smorph.stacklessConversionExceptions");
 
     private final String conversionReference;
 
+    // Message template, only rendered if the message is actually asked for, or the
+    // exception is serialized. Input other than strings need not be serializable.
+    private final boolean template;
+    private final transient Object fromValue;
+    private final String onErrorExceptionMessage;
+    private final String description;
+    private final String causeMessage;
+    private String message;
+
     public ConversionException(String message, String conversionReference) {
         super(message);
         this.conversionReference = conversionReference;
+        this.template = false;
+        this.fromValue = null;
+        this.onErrorExceptionMessage = null;
+        this.description = null;
+        this.causeMessage = null;
     }
 
     public ConversionException(String message, Throwable throwable, String conversionReference) {
         super(message, throwable);
         this.conversionReference = conversionReference;
+        this.template = false;
+        this.fromValue = null;
+        this.onErrorExceptionMessage = null;
+        this.description = null;
+        this.causeMessage = null;
+    }
+
+    /**
+     * Creates an exception whose message is rendered from its parts the first time
+     * {@link #getMessage()} is invoked. The causeMessage is used in place of the
+     * message of the underlying cause if the cause itself is not kept. Character
+     * sequences other than strings are copied, as they may be changed later on,
+     * such as a reused buffer.
+     */
+    ConversionException(Object fromValue, String onErrorExceptionMessage, String description, String causeMessage, Throwable throwable, String conversionReference) {
+        super(null, throwable);
+        this.conversionReference = conversionReference;
+        this.template = true;
+        this.fromValue = (fromValue instanceof CharSequence) ? fromValue.toString() : fromValue;
+        this.onErrorExceptionMessage = onErrorExceptionMessage;
+        this.description = description;
+        this.causeMessage = causeMessage;
+    }
+
+    /**
+     * Creates the exception for a failed conversion, without stack trace if
+     * requested or if that is the {@link #isStacklessByDefault() default}
+     */
+    static ConversionException forFailedConversion(Object fromValue, String onErrorExceptionMessage, String description,
+                                                   Exception cause, String conversionReference, boolean stackless) {
+        if (stackless || isStacklessByDefault()) {
+            return new StacklessConversionException(fromValue, onErrorExceptionMessage, description, (cause == null) ? null : cause.getMessage(), conversionReference);
+        }
+        return new ConversionException(fromValue, onErrorExceptionMessage, description, null, cause, conversionReference);
+    }
+
+    /**
+     * Specifies whether conversions should throw exceptions without stack trace
+     * and underlying cause, unless configured otherwise. Filling in stack traces
+     * dominates the cost of failed conversions, which matters for input with
+     * a high failure rate. The default can also be set by the system property
+     * {@code smorph.stacklessConversionExceptions}.
+     *
+     * @see Converter#stacklessExceptions()
+     */
+    public static void setStacklessByDefault(boolean stackless) {
+        stacklessByDefault = stackless;
+    }
+
+    public static boolean isStacklessByDefault() {
+        return stacklessByDefault;
     }
 
     /**
@@ -21,4 +99,26 @@ public class ConversionException extends RuntimeException {
     public String getConversionReference() {
         return conversionReference;
     }
+
+    @Override
+    public String getMessage() {
+        if (!template) {
+            return super.getMessage();
+        }
+        if (message == null) {
+            message = ERROR_MESSAGE_JOINER.join(
+                    (isNullOrEmpty(conversionReference) ? "" : conversionReference + " - ") + "Error converting from '" + fromValue + "'",
+                    emptyToNull(onErrorExceptionMessage),
+                    emptyToNull(description),
+                    (getCause() == null) ? emptyToNull(causeMessage) : emptyToNull(getCause().getMessage())
+            );
+        }
+        return message;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        // The input is not serialized, only the message rendered from it
+        getMessage();
+        out.defaultWriteObject();
+    }
 }
@@ -4,6 +4,9 @@ import com.google.common.base.Function;
 
 import javax.annotation.Nullable;
 
+import static com.github.kschulst.smorph.base.Chars.trimEnd;
+import static com.github.kschulst.smorph.base.Chars.trimStart;
+
 /**
  * A {@code Converter} is used to transform a value of type F to a value of type T.
  * Converters supports specifying default values or exception handling
@@ -16,7 +19,8 @@ import javax.annotation.Nullable;
  * <p>
  * A word of warning: Using the converter architecture implies that for every conversion
  * made, an object is instantiated. This is okay for most situations, however pay attention
- * to performance if using Converters to convert MEGA-collections
+ * to performance if using Converters to convert MEGA-collections. For those, build a
+ * {@link ConverterSpec} once and reuse it.
  *
  * @param <F> Type to transform from
  * @param <T> Type to transform to
@@ -48,13 +52,27 @@ public class Converter<F, T> implements Function<F,T> {
     /**
      * Only applicable if {code fromType} is String. Specifies that input
      * strings will be trimmed (leading and trailing whitespace omitted) before
-     * being applied to the transform function.
+     * being applied to the transform function. The input is not copied, see
+     * {@link Conversion#fromSequence()}.
      */
     public Converter<F, T> trimInput() {
         this.conv.setTrimInputStrings(true);
         return this;
     }
 
+    /**
+     * Specifies that any ConversionException thrown by this conversion is
+     * created without stack trace, and keeps only the message of the
+     * underlying cause. Useful when converting input with a high failure
+     * rate, as filling in stack traces dominates the cost of failures.
+     *
+     * @see ConversionException#setStacklessByDefault(boolean)
+     */
+    public Converter<F, T> stacklessExceptions() {
+        this.conv.setStacklessExceptions(true);
+        return this;
+    }
+
     /**
      * Specifies that null is to be returned in the case of invalid input or
      * an error during conversion. Finalizes the conversion configuration chain
@@ -130,6 +148,14 @@ public class Converter<F, T> implements Function<F,T> {
      * function.
      */
     private T convert() {
+        return convert(conv, function);
+    }
+
+    /**
+     * Invokes the conversion function using the supplied conversion. Shared
+     * between the one-shot Converter and the reusable {@link ConverterSpec}.
+     */
+    static <F, T> T convert(Conversion<F, T> conv, Function<Conversion<F, T>, T> function) {
         // This way we guarantee that null is never passed to the conversion function
         if (conv.fromValue() == null) {
             return conv.resolveDefault("Null is not allowed");
@@ -137,14 +163,14 @@ public class Converter<F, T> implements Function<F,T> {
 
         // Handle trimming and empty strings if input is String
         if (conv.fromValue() instanceof CharSequence) {
-            CharSequence fromValue = (CharSequence) conv.fromValue();
-
+            // Trimmed as String.trim() does, but only by narrowing the bounds of the input
             if (conv.trimsInputStrings()) {
-                fromValue = fromValue.toString().trim();
-                conv.setFromValue((F) fromValue);
+                CharSequence fromValue = (CharSequence) conv.fromValue();
+                int start = trimStart(fromValue, 0, fromValue.length());
+                conv.trimFromValue(start, trimEnd(fromValue, start, fromValue.length()));
             }
 
-            if (! conv.allowEmptyStrings() && fromValue.length() == 0) {
+            if (! conv.allowEmptyStrings() && conv.fromEnd() == conv.fromStart()) {
                 return conv.resolveDefault("Empty strings not allowed");
             }
         }
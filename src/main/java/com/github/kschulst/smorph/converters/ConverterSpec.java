@@ -0,0 +1,397 @@
+package com.github.kschulst.smorph.converters;
+
+import com.google.common.base.Function;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@code ConverterSpec} is an immutable, reusable {@link Converter} configuration.
+ * It is built once using the same fluent chain as the Converter, typically held
+ * in a static field, and then applied to any number of values:
+ * <pre>
+ * private static final ConverterSpec&lt;String, Integer&gt; AGE =
+ *         ConverterSpec.of(ToNumber.fromStringAsInteger).trimInput().withDefaultValue(0);
+ * ...
+ * int age = AGE.apply(ageString);
+ * </pre>
+ * Unlike the Converter, the configuration methods of a spec do not trigger the
+ * conversion. Each of them returns a new spec, leaving the original untouched.
+ * <p>
+ * A spec is thread safe. Each thread reuses its own {@link Conversion}, so applying
+ * a spec does not allocate anything beyond the result of the conversion function.
+ * <p>
+ * Large amounts of values are converted in one go using {@code convertAll}, which
+ * records failed conversions in a BitSet rather than throwing exceptions. Given a
+ * ForkJoinPool, the values are split into ranges that are converted in parallel.
+ *
+ * @param <F> Type to transform from
+ * @param <T> Type to transform to
+ *
+ * @author kls
+ */
+public final class ConverterSpec<F, T> implements Function<F, T> {
+
+    /**
+     * Number of values below which a parallel conversion is no longer split
+     */
+    public static final int DEFAULT_SPLIT_THRESHOLD = 8192;
+
+    private final Function<Conversion<F, T>, T> function;
+    private final T defaultValue;
+    private final boolean throwsExceptionOnError;
+    private final String onErrorExceptionMessage;
+    private final String conversionReference;
+    private final boolean allowEmptyStrings;
+    private final boolean trimInputStrings;
+    private final boolean stacklessExceptions;
+
+    private final ThreadLocal<Conversion<F, T>> conversions = new ThreadLocal<Conversion<F, T>>() {
+        @Override
+        protected Conversion<F, T> initialValue() {
+            return newConversion();
+        }
+    };
+
+    private ConverterSpec(Function<Conversion<F, T>, T> function, T defaultValue, boolean throwsExceptionOnError,
+                          String onErrorExceptionMessage, String conversionReference,
+                          boolean allowEmptyStrings, boolean trimInputStrings, boolean stacklessExceptions) {
+        this.function = checkNotNull(function, "Function must not be null");
+        this.defaultValue = defaultValue;
+        this.throwsExceptionOnError = throwsExceptionOnError;
+        this.onErrorExceptionMessage = onErrorExceptionMessage;
+        this.conversionReference = conversionReference;
+        this.allowEmptyStrings = allowEmptyStrings;
+        this.trimInputStrings = trimInputStrings;
+        this.stacklessExceptions = stacklessExceptions;
+    }
+
+    /**
+     * Creates a spec that converts using the given function, with null as
+     * default value. Equivalent to {@link Converter#transform(Object, Function)}.
+     */
+    public static <F, T> ConverterSpec<F, T> of(Function<Conversion<F, T>, T> function) {
+        return new ConverterSpec<F, T>(function, null, false, null, null, false, false, false);
+    }
+
+    /**
+     * Only applicable if {code fromType} is String. Returns a spec that passes
+     * empty strings on to the conversion function.
+     *
+     * @see Converter#allowEmptyInput()
+     */
+    public ConverterSpec<F, T> allowEmptyInput() {
+        return new ConverterSpec<F, T>(function, defaultValue, throwsExceptionOnError, onErrorExceptionMessage, conversionReference, true, trimInputStrings, stacklessExceptions);
+    }
+
+    /**
+     * Only applicable if {code fromType} is String. Returns a spec that trims
+     * input strings before they are applied to the transform function.
+     *
+     * @see Converter#trimInput()
+     */
+    public ConverterSpec<F, T> trimInput() {
+        return new ConverterSpec<F, T>(function, defaultValue, throwsExceptionOnError, onErrorExceptionMessage, conversionReference, allowEmptyStrings, true, stacklessExceptions);
+    }
+
+    /**
+     * Returns a spec that throws ConversionExceptions without stack trace.
+     *
+     * @see Converter#stacklessExceptions()
+     */
+    public ConverterSpec<F, T> stacklessExceptions() {
+        return new ConverterSpec<F, T>(function, defaultValue, throwsExceptionOnError, onErrorExceptionMessage, conversionReference, allowEmptyStrings, trimInputStrings, true);
+    }
+
+    /**
+     * Returns a spec that yields null in the case of invalid input or an
+     * error during conversion.
+     */
+    public ConverterSpec<F, T> withNullAsDefaultValue() {
+        return withDefaultValue(null);
+    }
+
+    /**
+     * Returns a spec that yields the given default value in the case of
+     * invalid input or an error during conversion. Note that the very same
+     * instance is handed out on every failed conversion.
+     */
+    public ConverterSpec<F, T> withDefaultValue(T defaultValue) {
+        return new ConverterSpec<F, T>(function, defaultValue, false, null, null, allowEmptyStrings, trimInputStrings, stacklessExceptions);
+    }
+
+    /**
+     * Returns a spec that throws a ConversionException with the given message
+     * in the case of error during conversion.
+     *
+     * @see Converter#orThrowException(String, String)
+     */
+    public ConverterSpec<F, T> orThrowException(String message, String conversionReference) {
+        return new ConverterSpec<F, T>(function, null, true, message, conversionReference, allowEmptyStrings, trimInputStrings, stacklessExceptions);
+    }
+
+    /**
+     * Returns a spec that throws a ConversionException in the case of error
+     * during conversion.
+     *
+     * @see Converter#orThrowException(String)
+     */
+    public ConverterSpec<F, T> orThrowException(String conversionReference) {
+        return orThrowException("", conversionReference);
+    }
+
+    /**
+     * Returns a spec that throws a ConversionException in the case of error
+     * during conversion.
+     */
+    public ConverterSpec<F, T> orThrowException() {
+        return orThrowException("", null);
+    }
+
+    /**
+     * Returns a spec configured like this one, converting using another function
+     */
+    ConverterSpec<F, T> withFunction(Function<Conversion<F, T>, T> function) {
+        return new ConverterSpec<F, T>(function, defaultValue, throwsExceptionOnError, onErrorExceptionMessage, conversionReference, allowEmptyStrings, trimInputStrings, stacklessExceptions);
+    }
+
+    Function<Conversion<F, T>, T> function() {
+        return function;
+    }
+
+    /**
+     * Converts the given value according to this spec. Safe to invoke
+     * concurrently from any number of threads.
+     */
+    public T apply(@Nullable F fromValue) {
+        Conversion<F, T> conv = conversions.get();
+
+        // The conversion function might itself apply this spec, in which case the thread's conversion is taken
+        if (conv.isInUse()) {
+            conv = newConversion();
+        }
+
+        conv.setInUse(true);
+        conv.setFromValue(fromValue);
+        try {
+            return Converter.convert(conv, function);
+        }
+        finally {
+            conv.setFromValue(null);
+            conv.setInUse(false);
+        }
+    }
+
+    /**
+     * Converts all values into the corresponding positions of the output array.
+     * A value that fails conversion (including null) yields the default value of
+     * this spec, or null if the spec is configured to throw exceptions. Its index
+     * is set in the failures BitSet, if given, rather than an exception being thrown,
+     * so that one bad value does not abort the batch.
+     *
+     * @return number of values that failed conversion
+     */
+    public int convertAll(@Nonnull F[] in, @Nonnull T[] out, @Nullable BitSet failures) {
+        return convertAll(in, 0, in.length, out, failures);
+    }
+
+    /**
+     * Converts the values in the range [fromIndex, toIndex) into the same
+     * positions of the output array.
+     *
+     * @see #convertAll(Object[], Object[], BitSet)
+     */
+    public int convertAll(@Nonnull F[] in, int fromIndex, int toIndex, @Nonnull T[] out, @Nullable BitSet failures) {
+        checkArgument(fromIndex >= 0 && fromIndex <= toIndex && toIndex <= in.length, "Invalid range [%s, %s) of %s values", fromIndex, toIndex, in.length);
+        checkArgument(toIndex <= out.length, "Output array too small, %s < %s", out.length, toIndex);
+
+        Conversion<F, T> conv = newBatchConversion();
+        int failureCount = 0;
+        for (int i = fromIndex; i < toIndex; i++) {
+            conv.setFromValue(in[i]);
+            out[i] = Converter.convert(conv, function);
+            if (conv.hasFailed()) {
+                failureCount++;
+                if (failures != null) {
+                    failures.set(i);
+                }
+            }
+        }
+        return failureCount;
+    }
+
+    /**
+     * Converts all values, in iteration order, into the output array. The output
+     * array must hold all values. This is checked up front for collections, but only
+     * when reached for other iterables, which then fail after converting the values
+     * that fit.
+     *
+     * @throws IllegalArgumentException if the output array is too small
+     * @see #convertAll(Object[], Object[], BitSet)
+     */
+    public int convertAll(@Nonnull Iterable<? extends F> in, @Nonnull T[] out, @Nullable BitSet failures) {
+        if (in instanceof Collection) {
+            int size = ((Collection<?>) in).size();
+            checkArgument(size <= out.length, "Output array too small, %s < %s", out.length, size);
+        }
+        Conversion<F, T> conv = newBatchConversion();
+        int failureCount = 0;
+        int i = 0;
+        for (F fromValue : in) {
+            checkArgument(i < out.length, "Output array too small, %s values", out.length);
+            conv.setFromValue(fromValue);
+            out[i] = Converter.convert(conv, function);
+            if (conv.hasFailed()) {
+                failureCount++;
+                if (failures != null) {
+                    failures.set(i);
+                }
+            }
+            i++;
+        }
+        return failureCount;
+    }
+
+    /**
+     * Converts all values in parallel using the given pool, splitting them into
+     * ranges of at most {@link #DEFAULT_SPLIT_THRESHOLD} values. The results are
+     * written to the same positions of the output array as in
+     * {@link #convertAll(Object[], Object[], BitSet)}.
+     *
+     * @return number of values that failed conversion
+     */
+    public int convertAll(@Nonnull F[] in, @Nonnull T[] out, @Nullable BitSet failures, @Nonnull ForkJoinPool pool) {
+        return convertAll(Arrays.asList(in), out, failures, pool, DEFAULT_SPLIT_THRESHOLD);
+    }
+
+    /**
+     * Converts all values in parallel using the given pool, splitting them into
+     * ranges of at most splitThreshold values.
+     *
+     * @see #convertAll(Object[], Object[], BitSet, ForkJoinPool)
+     */
+    public int convertAll(@Nonnull F[] in, @Nonnull T[] out, @Nullable BitSet failures, @Nonnull ForkJoinPool pool, int splitThreshold) {
+        return convertAll(Arrays.asList(in), out, failures, pool, splitThreshold);
+    }
+
+    /**
+     * Converts all values of the list in parallel using the given pool.
+     *
+     * @see #convertAll(Object[], Object[], BitSet, ForkJoinPool)
+     */
+    public int convertAll(@Nonnull List<? extends F> in, @Nonnull T[] out, @Nullable BitSet failures, @Nonnull ForkJoinPool pool) {
+        return convertAll(in, out, failures, pool, DEFAULT_SPLIT_THRESHOLD);
+    }
+
+    /**
+     * Converts all values of the list in parallel using the given pool, splitting
+     * them into ranges of at most splitThreshold values. Lists without random
+     * access are copied first.
+     *
+     * @see #convertAll(Object[], Object[], BitSet, ForkJoinPool)
+     */
+    public int convertAll(@Nonnull List<? extends F> in, @Nonnull T[] out, @Nullable BitSet failures, @Nonnull ForkJoinPool pool, int splitThreshold) {
+        checkNotNull(pool, "Pool must not be null");
+        checkArgument(splitThreshold > 0, "Split threshold must be positive, was %s", splitThreshold);
+        checkArgument(in.size() <= out.length, "Output array too small, %s < %s", out.length, in.size());
+
+        List<? extends F> values = (in instanceof RandomAccess) ? in : new ArrayList<F>(in);
+        return pool.invoke(new ConvertAllTask(values, 0, values.size(), out, failures, splitThreshold));
+    }
+
+    /**
+     * Converts a range of values, splitting it in two until below the threshold.
+     * Each task writes to its own range of the output array only. Failures are
+     * collected per task and added to the shared BitSet in one go.
+     */
+    private final class ConvertAllTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<? extends F> in;
+        private final int fromIndex;
+        private final int toIndex;
+        private final T[] out;
+        private final BitSet failures;
+        private final int splitThreshold;
+
+        ConvertAllTask(List<? extends F> in, int fromIndex, int toIndex, T[] out, BitSet failures, int splitThreshold) {
+            this.in = in;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.out = out;
+            this.failures = failures;
+            this.splitThreshold = splitThreshold;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (toIndex - fromIndex <= splitThreshold) {
+                return convertRange();
+            }
+            int middle = (fromIndex + toIndex) >>> 1;
+            ConvertAllTask left = new ConvertAllTask(in, fromIndex, middle, out, failures, splitThreshold);
+            left.fork();
+            int rightCount = new ConvertAllTask(in, middle, toIndex, out, failures, splitThreshold).compute();
+            return left.join() + rightCount;
+        }
+
+        private int convertRange() {
+            Conversion<F, T> conv = newBatchConversion();
+            int[] failed = null;
+            int failureCount = 0;
+            for (int i = fromIndex; i < toIndex; i++) {
+                conv.setFromValue(in.get(i));
+                out[i] = Converter.convert(conv, function);
+                if (conv.hasFailed()) {
+                    if (failures != null) {
+                        if (failed == null) {
+                            failed = new int[16];
+                        }
+                        else if (failureCount == failed.length) {
+                            failed = Arrays.copyOf(failed, failureCount * 2);
+                        }
+                        failed[failureCount] = i;
+                    }
+                    failureCount++;
+                }
+            }
+            if (failed != null) {
+                synchronized (failures) {
+                    for (int j = 0; j < failureCount; j++) {
+                        failures.set(failed[j]);
+                    }
+                }
+            }
+            return failureCount;
+        }
+    }
+
+    // Batch conversions never throw, failures are recorded instead
+    private Conversion<F, T> newBatchConversion() {
+        Conversion<F, T> conv = new Conversion<F, T>(null);
+        conv.setDefaultValue(defaultValue);
+        conv.setAllowEmptyStrings(allowEmptyStrings);
+        conv.setTrimInputStrings(trimInputStrings);
+        return conv;
+    }
+
+    private Conversion<F, T> newConversion() {
+        Conversion<F, T> conv = newBatchConversion();
+        conv.setStacklessExceptions(stacklessExceptions);
+        if (throwsExceptionOnError) {
+            conv.setOnErrorExceptionMessage(onErrorExceptionMessage, conversionReference);
+        }
+        return conv;
+    }
+}
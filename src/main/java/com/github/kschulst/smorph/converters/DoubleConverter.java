@@ -0,0 +1,46 @@
+package com.github.kschulst.smorph.converters;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A converter from F to a primitive {@code double}, without boxing.
+ *
+ * @param <F> Type to transform from
+ */
+public abstract class DoubleConverter<F> extends PrimitiveConverter<F> {
+
+    /**
+     * Converts a value that has passed {@link #check(Object)}
+     */
+    protected abstract double convertChecked(@Nonnull F fromValue);
+
+    /**
+     * Converts the value, or returns the default value if it is null or
+     * cannot be converted.
+     */
+    public final double convert(@Nullable F fromValue, double defaultValue) {
+        return canConvert(fromValue) ? convertChecked(fromValue) : defaultValue;
+    }
+
+    /**
+     * Converts the value, or throws a ConversionException if it is null or
+     * cannot be converted.
+     *
+     * @param conversionReference field name or similar that can potentially
+     *                            later can be used to determine which
+     *                            conversion that went wrong
+     */
+    public final double convertOrThrow(@Nullable F fromValue, @Nullable String conversionReference) {
+        checkOrThrow(fromValue, conversionReference);
+        return convertChecked(fromValue);
+    }
+
+    /**
+     * Converts the value, or throws a ConversionException if it is null or
+     * cannot be converted.
+     */
+    public final double convertOrThrow(@Nullable F fromValue) {
+        return convertOrThrow(fromValue, null);
+    }
+}
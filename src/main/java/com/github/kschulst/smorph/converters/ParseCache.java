@@ -0,0 +1,215 @@
+package com.github.kschulst.smorph.converters;
+
+import com.google.common.base.Function;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+
+import javax.annotation.Nonnull;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.util.Calendar;
+import java.util.Date;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A bounded cache of conversion results, for input where the same strings
+ * repeat over and over (e.g. dates in large feeds). Results are keyed by the
+ * (trimmed) input together with the conversion function, which identifies
+ * both the format and the target type:
+ * <pre>
+ * ParseCache cache = ParseCache.withMaximumSize(10000);
+ * ...
+ * LocalDate date = ToLocalDate.from(dateString, TemporalFormat.DD_MM_YYYY, cache);
+ * </pre>
+ * When full, the least recently used entries are evicted. The cache is split
+ * into segments that are locked independently, so concurrent conversions do not
+ * contend on a single lock. Eviction is approximately LRU across segments.
+ * <p>
+ * A lookup costs a hash of the input, so caching pays off for conversions that
+ * are more expensive than that, such as dates with time zones. Numbers and fixed
+ * width dates typically parse faster than they are looked up.
+ * <p>
+ * Only successful conversions are cached. Failing input goes through the
+ * conversion function every time, so that defaults and exceptions are
+ * resolved as configured. Mutable results ({@link Date}, {@link Calendar} and
+ * {@link XMLGregorianCalendar}) are stored and handed out as copies.
+ * <p>
+ * Only input strings are cached. Other input, such as dates and numbers, is
+ * converted straight away, as values that print alike need not convert alike.
+ */
+public final class ParseCache {
+
+    private final Cache<Key, Object> results;
+
+    // One caching spec per original spec, so that each conversion does not create a new spec
+    private final LoadingCache<ConverterSpec<?, ?>, ConverterSpec<?, ?>> specs = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build(new CacheLoader<ConverterSpec<?, ?>, ConverterSpec<?, ?>>() {
+                @Override
+                public ConverterSpec<?, ?> load(ConverterSpec<?, ?> spec) {
+                    return caching(spec);
+                }
+            });
+
+    private ParseCache(long maximumSize) {
+        this.results = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .concurrencyLevel(Math.max(4, Runtime.getRuntime().availableProcessors()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Creates a cache holding at most the given number of results
+     */
+    public static ParseCache withMaximumSize(long maximumSize) {
+        checkArgument(maximumSize > 0, "Maximum size must be positive, was %s", maximumSize);
+        return new ParseCache(maximumSize);
+    }
+
+    /**
+     * Returns a spec that converts like the given one, but looks up the result in
+     * this cache first. The returned spec is reused for the same given spec, so
+     * there is no need to hold on to it.
+     */
+    @SuppressWarnings("unchecked")
+    public <F, T> ConverterSpec<F, T> spec(@Nonnull ConverterSpec<F, T> spec) {
+        return (ConverterSpec<F, T>) specs.getUnchecked(spec);
+    }
+
+    private <F, T> ConverterSpec<F, T> caching(ConverterSpec<F, T> spec) {
+        return spec.withFunction(new CachingFunction<F, T>(spec.function(), results));
+    }
+
+    /**
+     * Hit, miss and eviction counts since the cache was created
+     */
+    public CacheStats stats() {
+        return results.stats();
+    }
+
+    /**
+     * Approximate number of cached results
+     */
+    public long size() {
+        return results.size();
+    }
+
+    public void invalidateAll() {
+        results.invalidateAll();
+    }
+
+    private static final class CachingFunction<F, T> implements Function<Conversion<F, T>, T> {
+        private final Function<Conversion<F, T>, T> function;
+        private final Cache<Key, Object> results;
+
+        CachingFunction(Function<Conversion<F, T>, T> function, Cache<Key, Object> results) {
+            this.function = function;
+            this.results = results;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T apply(Conversion<F, T> conversion) {
+            if (!conversion.isSequence()) {
+                return function.apply(conversion);
+            }
+
+            // Strings are looked up by their (trimmed) region, which is only copied out to be cached
+            Key key = new Key(function, conversion.fromSequence(), conversion.fromStart(), conversion.fromEnd());
+            Object cached = results.getIfPresent(key);
+            if (cached != null) {
+                return (T) copyIfMutable(cached);
+            }
+
+            T result = function.apply(conversion);
+            if (result != null && !conversion.hasFailed()) {
+                results.put(key.copy(), copyIfMutable(result));
+            }
+            return result;
+        }
+    }
+
+    private static Object copyIfMutable(Object value) {
+        if (value instanceof Date) {
+            return ((Date) value).clone();
+        }
+        if (value instanceof Calendar) {
+            return ((Calendar) value).clone();
+        }
+        if (value instanceof XMLGregorianCalendar) {
+            return ((XMLGregorianCalendar) value).clone();
+        }
+        return value;
+    }
+
+    /**
+     * A function together with the region of a CharSequence it converts. Keys of
+     * the same function are equal if their regions hold the same characters.
+     */
+    private static final class Key {
+        private final Object function;
+        private final CharSequence input;
+        private final int start;
+        private final int end;
+        private final int hash;
+
+        Key(Object function, String input) {
+            this(function, input, 0, input.length());
+        }
+
+        Key(Object function, CharSequence input, int start, int end) {
+            this.function = function;
+            this.input = input;
+            this.start = start;
+            this.end = end;
+            this.hash = 31 * System.identityHashCode(function) + hash(input, start, end);
+        }
+
+        /**
+         * Returns an equal key holding a String of its own, for keeping in the cache
+         */
+        Key copy() {
+            if (input instanceof String && start == 0 && end == input.length()) {
+                return this;
+            }
+            return new Key(function, input.subSequence(start, end).toString());
+        }
+
+        // Same as String.hashCode() of the region, and taken from the String if it is all of it
+        private static int hash(CharSequence s, int start, int end) {
+            if (s instanceof String && start == 0 && end == s.length()) {
+                return s.hashCode();
+            }
+            int h = 0;
+            for (int i = start; i < end; i++) {
+                h = 31 * h + s.charAt(i);
+            }
+            return h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            if (function != other.function || hash != other.hash || end - start != other.end - other.start) {
+                return false;
+            }
+            for (int i = start, j = other.start; i < end; i++, j++) {
+                if (input.charAt(i) != other.input.charAt(j)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.kschulst.smorph.converters;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Checking and failure handling shared by the converters to primitives,
+ * {@link IntConverter}, {@link LongConverter} and {@link DoubleConverter}.
+ * Unlike the {@link Converter} there is neither boxing nor a {@link Conversion}
+ * involved, so a conversion does not allocate anything. The default value is
+ * supplied per conversion.
+ * <p>
+ * Implementations are stateless and thus safe to share between threads.
+ *
+ * @param <F> Type to transform from
+ */
+public abstract class PrimitiveConverter<F> {
+
+    // Only extended by the converters of each primitive type
+    PrimitiveConverter() {}
+
+    /**
+     * Checks whether the (non-null) value can be converted.
+     *
+     * @return null if the value can be converted, otherwise a description of
+     *         why not, to be used in exception messages
+     */
+    @Nullable
+    protected abstract String check(@Nonnull F fromValue);
+
+    final boolean canConvert(@Nullable F fromValue) {
+        return fromValue != null && check(fromValue) == null;
+    }
+
+    /**
+     * Throws a ConversionException if the value is null or cannot be converted
+     */
+    final void checkOrThrow(@Nullable F fromValue, @Nullable String conversionReference) {
+        if (fromValue == null) {
+            throw ConversionException.forFailedConversion(null, null, "Null is not allowed", null, conversionReference, false);
+        }
+        String error = check(fromValue);
+        if (error != null) {
+            throw ConversionException.forFailedConversion(fromValue, null, error, null, conversionReference, false);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.kschulst.smorph.converters;
+
+/**
+ * A ConversionException that does not fill in its stack trace. The underlying
+ * cause is not kept, only its message.
+ */
+final class StacklessConversionException extends ConversionException {
+
+    private static final long serialVersionUID = 1L;
+
+    StacklessConversionException(Object fromValue, String onErrorExceptionMessage, String description, String causeMessage, String conversionReference) {
+        super(fromValue, onErrorExceptionMessage, description, causeMessage, null, conversionReference);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -1,18 +1,22 @@
 package com.github.kschulst.smorph.converters.formatters;
 
 import com.google.common.base.Function;
+import com.google.common.collect.Maps;
+import com.github.kschulst.smorph.base.Instants;
 import com.github.kschulst.smorph.base.TemporalFormat;
 import com.github.kschulst.smorph.converters.Conversion;
 import com.github.kschulst.smorph.converters.Converter;
-import com.github.kschulst.smorph.converters.nullsafe.ToDateTime;
+import com.github.kschulst.smorph.converters.ConverterSpec;
 import org.joda.time.ReadableInstant;
 import org.joda.time.ReadablePartial;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.xml.datatype.XMLGregorianCalendar;
+import java.io.IOException;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Map;
 
 import static com.github.kschulst.smorph.converters.Converter.transform;
 
@@ -26,7 +30,7 @@ public final class ToDateString {
     public static Function fromReadablePartial(@Nonnull final TemporalFormat format) {
         return new Function<Conversion<ReadablePartial, String>, String>() {
             public String apply(Conversion<ReadablePartial, String> conversion) {
-                return unknownCharsToZero(format.getFormatter().print(conversion.fromValue()));
+                return format.print(conversion.fromValue());
             }
         };
     }
@@ -34,13 +38,71 @@ public final class ToDateString {
     public static Function fromReadableInstant(@Nonnull final TemporalFormat format) {
         return new Function<Conversion<ReadableInstant, String>, String>() {
             public String apply(Conversion<ReadableInstant, String> conversion) {
-                return unknownCharsToZero(format.getFormatter().print(conversion.fromValue()));
+                return format.print(conversion.fromValue());
             }
         };
     }
 
-    private static String unknownCharsToZero(String s) {
-        return (s == null) ? null : s.replaceAll("�", "0");
+    public static Function fromDate(@Nonnull final TemporalFormat format) {
+        return new Function<Conversion<Date, String>, String>() {
+            public String apply(Conversion<Date, String> conversion) {
+                return format.print(conversion.fromValue().getTime());
+            }
+        };
+    }
+
+    public static Function fromCalendar(@Nonnull final TemporalFormat format) {
+        return new Function<Conversion<Calendar, String>, String>() {
+            public String apply(Conversion<Calendar, String> conversion) {
+                return format.print(conversion.fromValue().getTimeInMillis());
+            }
+        };
+    }
+
+    public static Function fromXMLGregorianCalendar(@Nonnull final TemporalFormat format) {
+        return new Function<Conversion<XMLGregorianCalendar, String>, String>() {
+            public String apply(Conversion<XMLGregorianCalendar, String> conversion) {
+                return format.print(Instants.millis(conversion.fromValue()));
+            }
+        };
+    }
+
+    // ------------------------------------------------------------------------
+    // Specs
+    // ------------------------------------------------------------------------
+
+    private static final Map<TemporalFormat, ConverterSpec<ReadablePartial, String>> readablePartialSpecs = buildReadablePartialSpecs();
+
+    private static final Map<TemporalFormat, ConverterSpec<ReadableInstant, String>> readableInstantSpecs = buildReadableInstantSpecs();
+
+    private static Map<TemporalFormat, ConverterSpec<ReadablePartial, String>> buildReadablePartialSpecs() {
+        Map<TemporalFormat, ConverterSpec<ReadablePartial, String>> specs = Maps.newEnumMap(TemporalFormat.class);
+        for (TemporalFormat format : TemporalFormat.values()) {
+            specs.put(format, ConverterSpec.of(ToDateString.fromReadablePartial(format)));
+        }
+        return Maps.immutableEnumMap(specs);
+    }
+
+    private static Map<TemporalFormat, ConverterSpec<ReadableInstant, String>> buildReadableInstantSpecs() {
+        Map<TemporalFormat, ConverterSpec<ReadableInstant, String>> specs = Maps.newEnumMap(TemporalFormat.class);
+        for (TemporalFormat format : TemporalFormat.values()) {
+            specs.put(format, ConverterSpec.of(ToDateString.fromReadableInstant(format)));
+        }
+        return Maps.immutableEnumMap(specs);
+    }
+
+    /**
+     * Returns a prebuilt spec formatting partials (such as LocalDate) with the given format
+     */
+    public static ConverterSpec<ReadablePartial, String> readablePartialSpec(@Nonnull TemporalFormat format) {
+        return readablePartialSpecs.get(format);
+    }
+
+    /**
+     * Returns a prebuilt spec formatting instants (such as DateTime) with the given format
+     */
+    public static ConverterSpec<ReadableInstant, String> readableInstantSpec(@Nonnull TemporalFormat format) {
+        return readableInstantSpecs.get(format);
     }
 
     // ------------------------------------------------------------------------
@@ -52,7 +114,7 @@ public final class ToDateString {
     }
 
     public static String from(@Nullable ReadablePartial date, @Nonnull TemporalFormat format) {
-        return format(date, format).withNullAsDefaultValue();
+        return (date == null) ? null : format.print(date);
     }
 
     public static Converter<ReadableInstant, String> format(@Nullable ReadableInstant date, @Nonnull TemporalFormat format) {
@@ -60,31 +122,115 @@ public final class ToDateString {
     }
 
     public static String from(@Nullable ReadableInstant date, @Nonnull TemporalFormat format) {
-        return format(date, format).withNullAsDefaultValue();
+        return (date == null) ? null : format.print(date);
     }
 
     public static Converter<Date, String> format(@Nullable Date date, @Nonnull TemporalFormat format) {
-        return transform(ToDateTime.from(date), ToDateString.fromReadableInstant(format));
+        return transform(date, ToDateString.fromDate(format));
     }
 
     public static String from(@Nullable Date date, @Nonnull TemporalFormat format) {
-        return format(date, format).withNullAsDefaultValue();
+        return (date == null) ? null : format.print(date.getTime());
     }
 
     public static Converter<Calendar, String> format(@Nullable Calendar calendar, @Nonnull TemporalFormat format) {
-        return transform(ToDateTime.from(calendar), ToDateString.fromReadableInstant(format));
+        return transform(calendar, ToDateString.fromCalendar(format));
     }
 
     public static String from(@Nullable Calendar calendar, @Nonnull TemporalFormat format) {
-        return format(calendar, format).withNullAsDefaultValue();
+        return (calendar == null) ? null : format.print(calendar.getTimeInMillis());
     }
 
     public static Converter<XMLGregorianCalendar, String> format(@Nullable XMLGregorianCalendar calendar, @Nonnull TemporalFormat format) {
-        return transform(ToDateTime.from(calendar), ToDateString.fromReadableInstant(format));
+        return transform(calendar, ToDateString.fromXMLGregorianCalendar(format));
     }
 
     public static String from(@Nullable XMLGregorianCalendar calendar, @Nonnull TemporalFormat format) {
-        return format(calendar, format).withNullAsDefaultValue();
+        long instant = millis(calendar);
+        return (instant == Long.MIN_VALUE) ? null : format.print(instant);
+    }
+
+    // ------------------------------------------------------------------------
+    // Output to Appendables and char arrays
+    // ------------------------------------------------------------------------
+
+    /**
+     * Appends the formatted date to the Appendable without creating an intermediate
+     * String. Nothing is appended for null.
+     */
+    public static void formatTo(@Nonnull Appendable out, @Nullable ReadablePartial date, @Nonnull TemporalFormat format) throws IOException {
+        if (date != null) {
+            format.printTo(out, date);
+        }
+    }
+
+    public static void formatTo(@Nonnull Appendable out, @Nullable ReadableInstant date, @Nonnull TemporalFormat format) throws IOException {
+        if (date != null) {
+            format.printTo(out, date);
+        }
+    }
+
+    public static void formatTo(@Nonnull Appendable out, @Nullable Date date, @Nonnull TemporalFormat format) throws IOException {
+        if (date != null) {
+            format.printTo(out, date.getTime());
+        }
+    }
+
+    public static void formatTo(@Nonnull Appendable out, @Nullable Calendar calendar, @Nonnull TemporalFormat format) throws IOException {
+        if (calendar != null) {
+            format.printTo(out, calendar.getTimeInMillis());
+        }
+    }
+
+    public static void formatTo(@Nonnull Appendable out, @Nullable XMLGregorianCalendar calendar, @Nonnull TemporalFormat format) throws IOException {
+        long instant = millis(calendar);
+        if (instant != Long.MIN_VALUE) {
+            format.printTo(out, instant);
+        }
+    }
+
+    /**
+     * Writes the formatted date into the array starting at the offset. Nothing is
+     * written for null.
+     *
+     * @return the number of chars written
+     * @throws IndexOutOfBoundsException if the array is too small
+     */
+    public static int formatTo(@Nonnull char[] out, int offset, @Nullable ReadablePartial date, @Nonnull TemporalFormat format) {
+        return (date == null) ? 0 : format.printTo(out, offset, date);
+    }
+
+    public static int formatTo(@Nonnull char[] out, int offset, @Nullable ReadableInstant date, @Nonnull TemporalFormat format) {
+        return (date == null) ? 0 : format.printTo(out, offset, date);
+    }
+
+    public static int formatTo(@Nonnull char[] out, int offset, @Nullable Date date, @Nonnull TemporalFormat format) {
+        return (date == null) ? 0 : format.printTo(out, offset, date.getTime());
+    }
+
+    public static int formatTo(@Nonnull char[] out, int offset, @Nullable Calendar calendar, @Nonnull TemporalFormat format) {
+        return (calendar == null) ? 0 : format.printTo(out, offset, calendar.getTimeInMillis());
+    }
+
+    public static int formatTo(@Nonnull char[] out, int offset, @Nullable XMLGregorianCalendar calendar, @Nonnull TemporalFormat format) {
+        long instant = millis(calendar);
+        return (instant == Long.MIN_VALUE) ? 0 : format.printTo(out, offset, instant);
+    }
+
+    /**
+     * Returns the instant of the calendar, or Long.MIN_VALUE if it is null or invalid
+     * (as ToDateTime yields null for)
+     */
+    private static long millis(@Nullable XMLGregorianCalendar calendar) {
+        if (calendar == null) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return Instants.millis(calendar);
+        }
+        catch (RuntimeException e) {
+            return Long.MIN_VALUE;
+        }
     }
 
     // TODO Tests for XMLGregorianCalendar
@@ -7,6 +7,7 @@ import com.github.kschulst.smorph.converters.Converter;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.IOException;
 
 import static com.github.kschulst.smorph.converters.Converter.transform;
 
@@ -20,7 +21,7 @@ public final class ToNumberString {
     public static Function fromNumber(@Nonnull final NumberFormat format) {
         return new Function<Conversion<Number, String>, String>() {
             public String apply(Conversion<Number, String> conversion) {
-                return format.getFormat().format(conversion.fromValue());
+                return format.getFormatter().format(conversion.fromValue());
             }
         };
     }
@@ -37,4 +38,29 @@ public final class ToNumberString {
         return format(n, format).withNullAsDefaultValue();
     }
 
+    // ------------------------------------------------------------------------
+    // Output to Appendables and char arrays
+    // ------------------------------------------------------------------------
+
+    /**
+     * Appends the formatted number to the Appendable without creating an intermediate
+     * String. Nothing is appended for null.
+     */
+    public static void formatTo(@Nonnull Appendable out, @Nullable Number n, @Nonnull NumberFormat format) throws IOException {
+        if (n != null) {
+            format.getFormatter().formatTo(out, n);
+        }
+    }
+
+    /**
+     * Writes the formatted number into the array starting at the offset. Nothing is
+     * written for null.
+     *
+     * @return the number of chars written
+     * @throws IndexOutOfBoundsException if the array is too small
+     */
+    public static int formatTo(@Nonnull char[] out, int offset, @Nullable Number n, @Nonnull NumberFormat format) {
+        return (n == null) ? 0 : format.getFormatter().formatTo(out, offset, n);
+    }
+
 }
@@ -1,10 +1,15 @@
 package com.github.kschulst.smorph.converters.nullsafe;
 
 import com.google.common.base.Function;
+import com.google.common.collect.Maps;
+import com.github.kschulst.smorph.base.Instants;
 import com.github.kschulst.smorph.base.TemporalFormat;
 import com.github.kschulst.smorph.converters.Conversion;
 import com.github.kschulst.smorph.converters.Converter;
+import com.github.kschulst.smorph.converters.ConverterSpec;
+import com.github.kschulst.smorph.converters.ParseCache;
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
 import org.joda.time.LocalDate;
 
 import javax.annotation.Nonnull;
@@ -13,6 +18,7 @@ import javax.xml.bind.JAXBElement;
 import javax.xml.datatype.XMLGregorianCalendar;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Map;
 import java.util.Locale;
 
 import static com.github.kschulst.smorph.converters.Converter.transform;
@@ -30,7 +36,8 @@ public final class ToCalendar {
         return new Function<Conversion<CharSequence, Calendar>, Calendar>() {
             public Calendar apply(Conversion<CharSequence, Calendar> conversion) {
                 try {
-                    return format.getFormatter().parseDateTime(conversion.fromValue().toString()).toCalendar(LOCALE);
+                    int start = conversion.fromStart();
+                    return format.parseDateTime(conversion.fromSequence(), start, conversion.fromEnd() - start).toCalendar(LOCALE);
                 }
                 catch (Exception e) {
                     return conversion.resolveDefault("Dateformat: " + format.getPattern(), e);
@@ -41,7 +48,7 @@ public final class ToCalendar {
 
     public static final Function fromLocalDate = new Function<Conversion<LocalDate, Calendar>, Calendar>() {
         public Calendar apply(Conversion<LocalDate, Calendar> conversion) {
-            return conversion.fromValue().toDateTimeAtStartOfDay().toCalendar(LOCALE);
+            return calendar(Instants.startOfDay(conversion.fromValue()));
         }
     };
 
@@ -61,10 +68,48 @@ public final class ToCalendar {
 
     public static final Function fromXMLGregorianCalendar = new Function<Conversion<XMLGregorianCalendar, Calendar>, Calendar>() {
         public Calendar apply(Conversion<XMLGregorianCalendar, Calendar> conversion) {
-            return ToDateTime.from(conversion.fromValue()).toCalendar(LOCALE);
+            return calendar(Instants.millis(conversion.fromValue()));
         }
     };
 
+    /**
+     * Creates the calendar of the instant the way DateTime.toCalendar() does in the default time zone
+     */
+    private static Calendar calendar(long instant) {
+        Calendar calendar = Calendar.getInstance(DateTimeZone.getDefault().toTimeZone(), LOCALE);
+        calendar.setTimeInMillis(instant);
+        return calendar;
+    }
+
+    // ------------------------------------------------------------------------
+    // Specs
+    // ------------------------------------------------------------------------
+
+    public static final ConverterSpec<LocalDate, Calendar> localDateSpec = ConverterSpec.of(ToCalendar.fromLocalDate);
+
+    public static final ConverterSpec<DateTime, Calendar> dateTimeSpec = ConverterSpec.of(ToCalendar.fromDateTime);
+
+    public static final ConverterSpec<Date, Calendar> dateSpec = ConverterSpec.of(ToCalendar.fromDate);
+
+    public static final ConverterSpec<XMLGregorianCalendar, Calendar> xmlGregorianCalendarSpec = ConverterSpec.of(ToCalendar.fromXMLGregorianCalendar);
+
+    private static final Map<TemporalFormat, ConverterSpec<CharSequence, Calendar>> stringSpecs = buildStringSpecs();
+
+    private static Map<TemporalFormat, ConverterSpec<CharSequence, Calendar>> buildStringSpecs() {
+        Map<TemporalFormat, ConverterSpec<CharSequence, Calendar>> specs = Maps.newEnumMap(TemporalFormat.class);
+        for (TemporalFormat format : TemporalFormat.values()) {
+            specs.put(format, ConverterSpec.of(ToCalendar.fromString(format)).trimInput());
+        }
+        return Maps.immutableEnumMap(specs);
+    }
+
+    /**
+     * Returns a prebuilt spec converting (trimmed) strings of the given format
+     */
+    public static ConverterSpec<CharSequence, Calendar> stringSpec(@Nonnull TemporalFormat format) {
+        return stringSpecs.get(format);
+    }
+
     // ------------------------------------------------------------------------
     // Converters
     // ------------------------------------------------------------------------
@@ -74,7 +119,14 @@ public final class ToCalendar {
     }
 
     public static Calendar from(@Nullable CharSequence dateString, @Nonnull TemporalFormat format) {
-        return convert(dateString, format).trimInput().withNullAsDefaultValue();
+        return stringSpec(format).apply(dateString);
+    }
+
+    /**
+     * Same as {@link #from(CharSequence, TemporalFormat)}, but looks up the result in the given cache first
+     */
+    public static Calendar from(@Nullable CharSequence dateString, @Nonnull TemporalFormat format, @Nonnull ParseCache cache) {
+        return cache.spec(stringSpec(format)).apply(dateString);
     }
 
     public static Converter<LocalDate, Calendar> convert(@Nullable LocalDate localDate) {
@@ -82,7 +134,7 @@ public final class ToCalendar {
     }
 
     public static Calendar from(@Nullable LocalDate localDate) {
-        return convert(localDate).withNullAsDefaultValue();
+        return localDateSpec.apply(localDate);
     }
 
     public static Converter<DateTime, Calendar> convert(@Nullable DateTime dateTime) {
@@ -90,7 +142,7 @@ public final class ToCalendar {
     }
 
     public static Calendar from(@Nullable DateTime dateTime) {
-        return convert(dateTime).withNullAsDefaultValue();
+        return dateTimeSpec.apply(dateTime);
     }
 
     public static Converter<Date, Calendar> convert(@Nullable Date date) {
@@ -98,7 +150,7 @@ public final class ToCalendar {
     }
 
     public static Calendar from(@Nullable Date date) {
-        return convert(date).withNullAsDefaultValue();
+        return dateSpec.apply(date);
     }
 
     public static Converter<XMLGregorianCalendar, Calendar> convert(@Nullable XMLGregorianCalendar xmlGregorianCalendar) {
@@ -106,7 +158,7 @@ public final class ToCalendar {
     }
 
     public static Calendar from(@Nullable XMLGregorianCalendar xmlGregorianCalendar) {
-        return convert(xmlGregorianCalendar).withNullAsDefaultValue();
+        return xmlGregorianCalendarSpec.apply(xmlGregorianCalendar);
     }
 
     public static Calendar from(@Nullable JAXBElement<Calendar> jaxbElement) {
@@ -1,9 +1,13 @@
 package com.github.kschulst.smorph.converters.nullsafe;
 
 import com.google.common.base.Function;
+import com.google.common.collect.Maps;
+import com.github.kschulst.smorph.base.Instants;
 import com.github.kschulst.smorph.base.TemporalFormat;
 import com.github.kschulst.smorph.converters.Conversion;
 import com.github.kschulst.smorph.converters.Converter;
+import com.github.kschulst.smorph.converters.ConverterSpec;
+import com.github.kschulst.smorph.converters.ParseCache;
 import org.joda.time.DateTime;
 import org.joda.time.LocalDate;
 
@@ -13,6 +17,7 @@ import javax.xml.bind.JAXBElement;
 import javax.xml.datatype.XMLGregorianCalendar;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Map;
 
 import static com.github.kschulst.smorph.converters.Converter.transform;
 
@@ -27,7 +32,8 @@ public final class ToDate {
         return new Function<Conversion<CharSequence, Date>, Date>() {
             public Date apply(Conversion<CharSequence, Date> conversion) {
                 try {
-                    return format.getFormatter().parseDateTime(conversion.fromValue().toString()).toDate();
+                    int start = conversion.fromStart();
+                    return format.parseDateTime(conversion.fromSequence(), start, conversion.fromEnd() - start).toDate();
                 }
                 catch (Exception e) {
                     return conversion.resolveDefault("Dateformat: " + format.getPattern(), e);
@@ -38,7 +44,7 @@ public final class ToDate {
 
     public static final Function fromXMLGregorianCalendar = new Function<Conversion<XMLGregorianCalendar, Date>, Date>() {
         public Date apply(Conversion<XMLGregorianCalendar, Date> conversion) {
-            return ToDateTime.from(conversion.fromValue()).toDate();
+            return new Date(Instants.millis(conversion.fromValue()));
         }
     };
 
@@ -59,6 +65,35 @@ public final class ToDate {
         }
     };
 
+    // ------------------------------------------------------------------------
+    // Specs
+    // ------------------------------------------------------------------------
+
+    public static final ConverterSpec<Calendar, Date> calendarSpec = ConverterSpec.of(ToDate.fromCalendar);
+
+    public static final ConverterSpec<XMLGregorianCalendar, Date> xmlGregorianCalendarSpec = ConverterSpec.of(ToDate.fromXMLGregorianCalendar);
+
+    public static final ConverterSpec<LocalDate, Date> localDateSpec = ConverterSpec.of(ToDate.fromLocalDate);
+
+    public static final ConverterSpec<DateTime, Date> dateTimeSpec = ConverterSpec.of(ToDate.fromDateTime);
+
+    private static final Map<TemporalFormat, ConverterSpec<CharSequence, Date>> stringSpecs = buildStringSpecs();
+
+    private static Map<TemporalFormat, ConverterSpec<CharSequence, Date>> buildStringSpecs() {
+        Map<TemporalFormat, ConverterSpec<CharSequence, Date>> specs = Maps.newEnumMap(TemporalFormat.class);
+        for (TemporalFormat format : TemporalFormat.values()) {
+            specs.put(format, ConverterSpec.of(ToDate.fromString(format)).trimInput());
+        }
+        return Maps.immutableEnumMap(specs);
+    }
+
+    /**
+     * Returns a prebuilt spec converting (trimmed) strings of the given format
+     */
+    public static ConverterSpec<CharSequence, Date> stringSpec(@Nonnull TemporalFormat format) {
+        return stringSpecs.get(format);
+    }
+
     // ------------------------------------------------------------------------
     // Converters
     // ------------------------------------------------------------------------
@@ -68,7 +103,14 @@ public final class ToDate {
     }
 
     public static Date from(@Nullable CharSequence dateString, @Nonnull TemporalFormat format) {
-        return convert(dateString, format).trimInput().withNullAsDefaultValue();
+        return stringSpec(format).apply(dateString);
+    }
+
+    /**
+     * Same as {@link #from(CharSequence, TemporalFormat)}, but looks up the result in the given cache first
+     */
+    public static Date from(@Nullable CharSequence dateString, @Nonnull TemporalFormat format, @Nonnull ParseCache cache) {
+        return cache.spec(stringSpec(format)).apply(dateString);
     }
 
     public static Converter<Calendar, Date> convert(@Nullable Calendar calendar) {
@@ -76,7 +118,7 @@ public final class ToDate {
     }
 
     public static Date from(@Nullable Calendar calendar) {
-        return convert(calendar).withNullAsDefaultValue();
+        return calendarSpec.apply(calendar);
     }
 
     public static Converter<XMLGregorianCalendar, Date> convert(@Nullable XMLGregorianCalendar calendar) {
@@ -84,7 +126,7 @@ public final class ToDate {
     }
 
     public static Date from(@Nullable XMLGregorianCalendar calendar) {
-        return convert(calendar).withNullAsDefaultValue();
+        return xmlGregorianCalendarSpec.apply(calendar);
     }
 
     public static Converter<LocalDate, Date> convert(@Nullable LocalDate localDate) {
@@ -92,7 +134,7 @@ public final class ToDate {
     }
 
     public static Date from(@Nullable LocalDate localDate) {
-        return convert(localDate).withNullAsDefaultValue();
+        return localDateSpec.apply(localDate);
     }
 
     public static Converter<DateTime, Date> convert(@Nullable DateTime dateTime) {
@@ -100,7 +142,7 @@ public final class ToDate {
     }
 
     public static Date from(@Nullable DateTime dateTime) {
-        return convert(dateTime).withNullAsDefaultValue();
+        return dateTimeSpec.apply(dateTime);
     }
 
     public static Date from(@Nullable JAXBElement<Date> jaxbElement) {
@@ -1,10 +1,13 @@
 package com.github.kschulst.smorph.converters.nullsafe;
 
 import com.google.common.base.Function;
+import com.google.common.collect.Maps;
 import com.github.kschulst.smorph.base.TemporalFormat;
 import com.github.kschulst.smorph.base.XMLGregorianCalendars;
 import com.github.kschulst.smorph.converters.Conversion;
 import com.github.kschulst.smorph.converters.Converter;
+import com.github.kschulst.smorph.converters.ConverterSpec;
+import com.github.kschulst.smorph.converters.ParseCache;
 import org.joda.time.DateTime;
 import org.joda.time.LocalDate;
 
@@ -13,9 +16,16 @@ import javax.annotation.Nullable;
 import javax.xml.bind.JAXBElement;
 import javax.xml.datatype.DatatypeConstants;
 import javax.xml.datatype.XMLGregorianCalendar;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
+import static com.github.kschulst.smorph.base.Chars.trimEnd;
+import static com.github.kschulst.smorph.base.Chars.trimStart;
 import static com.github.kschulst.smorph.converters.Converter.transform;
 
 public final class ToDateTime {
@@ -29,7 +39,8 @@ public final class ToDateTime {
         return new Function<Conversion<CharSequence, DateTime>, DateTime>() {
             public DateTime apply(Conversion<CharSequence, DateTime> conversion) {
                 try {
-                    return format.getFormatter().parseDateTime(conversion.fromValue().toString());
+                    int start = conversion.fromStart();
+                    return format.parseDateTime(conversion.fromSequence(), start, conversion.fromEnd() - start);
                 }
                 catch (Exception e) {
                     return conversion.resolveDefault("Dateformat: " + format.getPattern(), e);
@@ -68,7 +79,7 @@ public final class ToDateTime {
 
     public static final Function fromCalendar = new Function<Conversion<Calendar, DateTime>, DateTime>() {
         public DateTime apply(Conversion<Calendar, DateTime> conversion) {
-            return new DateTime(conversion.fromValue().getTime());
+            return new DateTime(conversion.fromValue().getTimeInMillis());
         }
     };
 
@@ -84,6 +95,35 @@ public final class ToDateTime {
         }
     };
 
+    // ------------------------------------------------------------------------
+    // Specs
+    // ------------------------------------------------------------------------
+
+    public static final ConverterSpec<Calendar, DateTime> calendarSpec = ConverterSpec.of(ToDateTime.fromCalendar);
+
+    public static final ConverterSpec<XMLGregorianCalendar, DateTime> xmlGregorianCalendarSpec = ConverterSpec.of(ToDateTime.fromXMLGregorianCal);
+
+    public static final ConverterSpec<LocalDate, DateTime> localDateSpec = ConverterSpec.of(ToDateTime.fromLocalDate);
+
+    public static final ConverterSpec<Date, DateTime> dateSpec = ConverterSpec.of(ToDateTime.fromDate);
+
+    private static final Map<TemporalFormat, ConverterSpec<CharSequence, DateTime>> stringSpecs = buildStringSpecs();
+
+    private static Map<TemporalFormat, ConverterSpec<CharSequence, DateTime>> buildStringSpecs() {
+        Map<TemporalFormat, ConverterSpec<CharSequence, DateTime>> specs = Maps.newEnumMap(TemporalFormat.class);
+        for (TemporalFormat format : TemporalFormat.values()) {
+            specs.put(format, ConverterSpec.of(ToDateTime.fromString(format)).trimInput());
+        }
+        return Maps.immutableEnumMap(specs);
+    }
+
+    /**
+     * Returns a prebuilt spec converting (trimmed) strings of the given format
+     */
+    public static ConverterSpec<CharSequence, DateTime> stringSpec(@Nonnull TemporalFormat format) {
+        return stringSpecs.get(format);
+    }
+
     // ------------------------------------------------------------------------
     // Converters
     // ------------------------------------------------------------------------
@@ -93,7 +133,7 @@ public final class ToDateTime {
     }
 
     public static DateTime from(@Nullable Calendar calendar) {
-        return convert(calendar).withNullAsDefaultValue();
+        return calendarSpec.apply(calendar);
     }
 
     public static Converter<XMLGregorianCalendar, DateTime> convert(@Nullable XMLGregorianCalendar calendar) {
@@ -101,7 +141,7 @@ public final class ToDateTime {
     }
 
     public static DateTime from(@Nullable XMLGregorianCalendar calendar) {
-        return convert(calendar).withNullAsDefaultValue();
+        return xmlGregorianCalendarSpec.apply(calendar);
     }
 
     public static Converter<LocalDate, DateTime> convert(@Nullable LocalDate localDate) {
@@ -109,7 +149,7 @@ public final class ToDateTime {
     }
 
     public static DateTime from(@Nullable LocalDate localDate) {
-        return convert(localDate).withNullAsDefaultValue();
+        return localDateSpec.apply(localDate);
     }
 
     public static Converter<Date, DateTime> convert(@Nullable Date date) {
@@ -117,7 +157,7 @@ public final class ToDateTime {
     }
 
     public static DateTime from(@Nullable Date date) {
-        return convert(date).withNullAsDefaultValue();
+        return dateSpec.apply(date);
     }
 
     public static Converter<CharSequence, DateTime> convert(@Nullable CharSequence dateString, @Nonnull TemporalFormat format) {
@@ -125,7 +165,14 @@ public final class ToDateTime {
     }
 
     public static DateTime from(@Nullable CharSequence dateString, @Nonnull TemporalFormat format) {
-        return convert(dateString, format).trimInput().withNullAsDefaultValue();
+        return stringSpec(format).apply(dateString);
+    }
+
+    /**
+     * Same as {@link #from(CharSequence, TemporalFormat)}, but looks up the result in the given cache first
+     */
+    public static DateTime from(@Nullable CharSequence dateString, @Nonnull TemporalFormat format, @Nonnull ParseCache cache) {
+        return cache.spec(stringSpec(format)).apply(dateString);
     }
 
     public static Converter<XMLGregorianCalendar, DateTime> convertXMLGregorianCalendar(@Nullable JAXBElement<XMLGregorianCalendar> jaxbElement) {
@@ -159,4 +206,139 @@ public final class ToDateTime {
     public static DateTime forEndOfYear(@Nonnull String yyyy) {
         return convert(yyyy + "-12-31", TemporalFormat.ISO8601DateOnly).withNullAsDefaultValue();
     }
+
+    /**
+     * Same as {@link #from(CharSequence, TemporalFormat)} for the region of the string from
+     * start to end, such as a space padded field of a fixed width record. The region is
+     * trimmed and parsed in place, without copying it into a String first (if the format is
+     * of fixed width). Invalid input yields null.
+     */
+    public static DateTime from(@Nullable CharSequence s, int start, int end, @Nonnull TemporalFormat format) {
+        if (s == null) {
+            return null;
+        }
+        start = trimStart(s, start, end);
+        end = trimEnd(s, start, end);
+        if (start == end) {
+            return null;
+        }
+        try {
+            return format.parseDateTime(s, start, end - start);
+        }
+        catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Byte input
+    // ------------------------------------------------------------------------
+
+    /**
+     * Same as {@link #from(CharSequence, TemporalFormat)} for a region of ASCII (or UTF-8)
+     * bytes, which is trimmed and parsed without decoding it into a String first (if the
+     * format is of fixed width). Invalid input yields null.
+     */
+    public static DateTime fromBytes(@Nullable byte[] buf, int off, int len, @Nonnull TemporalFormat format) {
+        if (buf == null) {
+            return null;
+        }
+        int start = off;
+        int end = off + len;
+        start = trimStart(buf, start, end);
+        end = trimEnd(buf, start, end);
+        if (start == end) {
+            return null;
+        }
+        try {
+            return format.parseDateTime(buf, start, end - start);
+        }
+        catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Same as {@link #fromBytes(byte[], int, int, TemporalFormat)} for the bytes from the position
+     * to the limit of the buffer. The position of the buffer is left alone.
+     */
+    public static DateTime fromBytes(@Nullable ByteBuffer buf, @Nonnull TemporalFormat format) {
+        if (buf == null) {
+            return null;
+        }
+        int start = buf.position();
+        int end = buf.limit();
+        start = trimStart(buf, start, end);
+        end = trimEnd(buf, start, end);
+        if (start == end) {
+            return null;
+        }
+        try {
+            return format.parseDateTime(buf, start, end - start);
+        }
+        catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Batch conversions
+    // ------------------------------------------------------------------------
+
+    /**
+     * Converts all (trimmed) strings of the given format into the corresponding
+     * positions of the output array. Invalid strings yield null.
+     *
+     * @return number of strings that failed conversion
+     */
+    public static int convertAll(@Nonnull CharSequence[] in, @Nonnull TemporalFormat format, @Nonnull DateTime[] out) {
+        return stringSpec(format).convertAll(in, out, null);
+    }
+
+    /**
+     * Converts all (trimmed) strings of the given format into the corresponding
+     * positions of the output array. Invalid strings yield null, and their
+     * indexes are set in the failures BitSet.
+     *
+     * @return number of strings that failed conversion
+     */
+    public static int convertAll(@Nonnull CharSequence[] in, @Nonnull TemporalFormat format, @Nonnull DateTime[] out, @Nullable BitSet failures) {
+        return stringSpec(format).convertAll(in, out, failures);
+    }
+
+    /**
+     * Converts all (trimmed) strings of the given format, in iteration order,
+     * into the output array. Invalid strings yield null, and their indexes are
+     * set in the failures BitSet. The output array must hold all strings, as
+     * described by {@link ConverterSpec#convertAll(Iterable, Object[], BitSet)}.
+     *
+     * @return number of strings that failed conversion
+     * @throws IllegalArgumentException if the output array is too small
+     */
+    public static int convertAll(@Nonnull Iterable<? extends CharSequence> in, @Nonnull TemporalFormat format, @Nonnull DateTime[] out, @Nullable BitSet failures) {
+        return stringSpec(format).convertAll(in, out, failures);
+    }
+
+    /**
+     * Converts all (trimmed) strings of the given format in parallel using the
+     * given pool. The results are written to the corresponding positions of the
+     * output array. Invalid strings yield null, and their indexes are set in the
+     * failures BitSet. Use the {@link #stringSpec(TemporalFormat) spec} directly
+     * to control the split threshold.
+     *
+     * @return number of strings that failed conversion
+     */
+    public static int convertAll(@Nonnull CharSequence[] in, @Nonnull TemporalFormat format, @Nonnull DateTime[] out, @Nullable BitSet failures, @Nonnull ForkJoinPool pool) {
+        return stringSpec(format).convertAll(in, out, failures, pool);
+    }
+
+    /**
+     * Converts all (trimmed) strings of the given format in parallel using the
+     * given pool.
+     *
+     * @see #convertAll(CharSequence[], TemporalFormat, DateTime[], BitSet, ForkJoinPool)
+     */
+    public static int convertAll(@Nonnull List<? extends CharSequence> in, @Nonnull TemporalFormat format, @Nonnull DateTime[] out, @Nullable BitSet failures, @Nonnull ForkJoinPool pool) {
+        return stringSpec(format).convertAll(in, out, failures, pool);
+    }
 }
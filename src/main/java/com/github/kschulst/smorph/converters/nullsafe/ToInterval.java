@@ -1,30 +1,45 @@
 package com.github.kschulst.smorph.converters.nullsafe;
 
 import com.google.common.base.Function;
+import com.google.common.collect.Maps;
+import com.github.kschulst.smorph.base.Instants;
 import com.github.kschulst.smorph.base.TemporalFormat;
 import com.github.kschulst.smorph.converters.Conversion;
 import com.github.kschulst.smorph.converters.Converter;
-import com.github.kschulst.smorph.converters.formatters.ToDateString;
+import com.github.kschulst.smorph.converters.ConverterSpec;
+import com.github.kschulst.smorph.converters.ParseCache;
 import org.joda.time.DateTime;
 import org.joda.time.Interval;
 import org.joda.time.LocalDate;
+import org.joda.time.chrono.ISOChronology;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.xml.datatype.XMLGregorianCalendar;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import static com.google.common.base.Objects.firstNonNull;
-import static com.github.kschulst.smorph.base.TemporalFormat.ISO8601DateOnly;
 import static com.github.kschulst.smorph.base.TemporalFormat.ISO8601DateTimeWithMillis;
 import static com.github.kschulst.smorph.converters.Converter.transform;
 
+/**
+ * Intervals are built straight from the instants of their endpoints, in the
+ * ISO chronology of the default time zone. An interval is invalid if either
+ * endpoint is missing or invalid, or if it ends before it starts.
+ */
 public final class ToInterval {
     private ToInterval() {}
 
     private static final String SEPARATOR = "/";
 
+    /** Instant of a missing or invalid endpoint */
+    private static final long INVALID = Long.MIN_VALUE;
+
+    private static final int INVALID_YEAR = Integer.MIN_VALUE;
+
     // ------------------------------------------------------------------------
     // Functions
     // ------------------------------------------------------------------------
@@ -32,24 +47,71 @@ public final class ToInterval {
     public static Function fromString(@Nonnull final TemporalFormat format, @Nonnull final String separator) {
         return new Function<Conversion<CharSequence, Interval>, Interval>() {
             public Interval apply(Conversion<CharSequence, Interval> conversion) {
-                if (conversion.fromValue().length() != (format.length() + format.length() + separator.length())) {
+                CharSequence s = conversion.fromSequence();
+                int from = conversion.fromStart();
+                int to = conversion.fromEnd();
+                int width = format.length();
+                if (to - from != (width + width + separator.length())) {
                     return conversion.resolveDefault("Invalid interval string. Separator: '" + separator + "', format: '" + format.getPattern() + "'");
                 }
 
-                CharSequence s1 = conversion.fromValue().subSequence(0, format.length());
-                CharSequence s2 = conversion.fromValue().subSequence(format.length() + separator.length(), conversion.fromValue().length());
-                DateTime d1 = ToDateTime.from(s1, format);
-                DateTime d2 = ToDateTime.from(s2, format);
+                // The endpoints are parsed in place, on either side of the separator
+                long start = parse(s, from, from + width, format);
+                long end = parse(s, to - width, to, format);
 
-                if (d1 == null || d2 == null) {
+                if (start == INVALID || end == INVALID) {
                     return conversion.resolveDefault("Invalid format");
                 }
 
-                return new Interval(d1, d2);
+                return new Interval(start, end);
             }
         };
     }
 
+    private static final Function<Conversion<CharSequence, Interval>, Interval> fromEndpoints = new Function<Conversion<CharSequence, Interval>, Interval>() {
+        public Interval apply(Conversion<CharSequence, Interval> conversion) {
+            // The untrimmed input, as trimming would copy it out into a String
+            Endpoints endpoints = (Endpoints) conversion.fromSequence();
+            if (endpoints.start == INVALID || endpoints.end == INVALID) {
+                // The endpoints are printed by the exception message, if any
+                return conversion.resolveDefault("Invalid interval");
+            }
+
+            // Fails if the interval ends before it starts
+            return new Interval(endpoints.start, endpoints.end);
+        }
+    };
+
+    // ------------------------------------------------------------------------
+    // Specs
+    // ------------------------------------------------------------------------
+
+    // Specs by format and separator, so that cached results are found by the same spec again
+    private static final Map<TemporalFormat, ConcurrentMap<String, ConverterSpec<CharSequence, Interval>>> stringSpecs = buildStringSpecs();
+
+    private static Map<TemporalFormat, ConcurrentMap<String, ConverterSpec<CharSequence, Interval>>> buildStringSpecs() {
+        Map<TemporalFormat, ConcurrentMap<String, ConverterSpec<CharSequence, Interval>>> specs = Maps.newEnumMap(TemporalFormat.class);
+        for (TemporalFormat format : TemporalFormat.values()) {
+            specs.put(format, new ConcurrentHashMap<String, ConverterSpec<CharSequence, Interval>>());
+        }
+        return Maps.immutableEnumMap(specs);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConverterSpec<CharSequence, Interval> stringSpec(TemporalFormat format, String separator) {
+        ConcurrentMap<String, ConverterSpec<CharSequence, Interval>> specs = stringSpecs.get(format);
+        ConverterSpec<CharSequence, Interval> spec = specs.get(separator);
+        if (spec == null) {
+            ConverterSpec<CharSequence, Interval> created =
+                    ConverterSpec.of((Function<Conversion<CharSequence, Interval>, Interval>) fromString(format, separator)).trimInput();
+            spec = specs.putIfAbsent(separator, created);
+            if (spec == null) {
+                spec = created;
+            }
+        }
+        return spec;
+    }
+
     // ------------------------------------------------------------------------
     // Converters
     // ------------------------------------------------------------------------
@@ -62,60 +124,205 @@ public final class ToInterval {
         return convert(intervalString, format, separator).withNullAsDefaultValue();
     }
 
+    /**
+     * Same as {@link #from(CharSequence, TemporalFormat, String)}, but looks up the result in the given cache first
+     */
+    public static Interval from(@Nullable CharSequence intervalString, @Nonnull TemporalFormat format, @Nonnull String separator, @Nonnull ParseCache cache) {
+        return cache.spec(stringSpec(format, separator)).apply(intervalString);
+    }
+
+    /**
+     * Converts a year to the interval from the start of its first day to the start of its last day
+     */
     public static Converter<CharSequence, Interval> convertForYear(@Nullable String year) {
-        return convert(year + "-01-01" + SEPARATOR + year + "-12-31", ISO8601DateOnly, SEPARATOR);
+        int y = parseYear(year);
+        return convert(dayStart(y, 1, 1), dayStart(y, 12, 31));
     }
 
     public static Interval forYear(@Nullable String year) {
-        return convertForYear(year).withNullAsDefaultValue();
+        int y = parseYear(year);
+        return interval(dayStart(y, 1, 1), dayStart(y, 12, 31));
     }
 
     public static Converter<CharSequence, Interval> convert(@Nullable CharSequence start, @Nullable CharSequence end, @Nonnull TemporalFormat format) {
-        return convert(firstNonNull(start, "").toString().trim() + SEPARATOR + firstNonNull(end, "").toString().trim(), format, SEPARATOR);
+        return convert(parse(start, format), parse(end, format));
     }
 
     public static Interval from(@Nullable CharSequence start, @Nullable CharSequence end, @Nonnull TemporalFormat format) {
-        return convert(start, end, format).withNullAsDefaultValue();
+        return interval(parse(start, format), parse(end, format));
     }
 
     public static Converter<CharSequence, Interval> convert(@Nullable DateTime start, @Nullable DateTime end) {
-        return convert(start + SEPARATOR + end, ISO8601DateTimeWithMillis, SEPARATOR);
+        return convert(millis(start), millis(end));
     }
 
     public static Interval from(@Nullable DateTime start, @Nullable DateTime end) {
-        return convert(start, end).withNullAsDefaultValue();
+        return interval(millis(start), millis(end));
     }
 
     public static Converter<CharSequence, Interval> convert(@Nullable LocalDate start, @Nullable LocalDate end) {
-        return convert(start + SEPARATOR + end, ISO8601DateOnly, SEPARATOR);
+        return convert(millis(start), millis(end));
     }
 
     public static Interval from(@Nullable LocalDate start, @Nullable LocalDate end) {
-        return convert(start, end).withNullAsDefaultValue();
+        return interval(millis(start), millis(end));
     }
 
     public static Converter<CharSequence, Interval> convert(@Nullable Date start, @Nullable Date end) {
-        return convert(ToDateString.from(start, ISO8601DateTimeWithMillis) + SEPARATOR + ToDateString.from(end, ISO8601DateTimeWithMillis), ISO8601DateTimeWithMillis, SEPARATOR);
+        return convert(millis(start), millis(end));
     }
 
     public static Interval from(@Nullable Date start, @Nullable Date end) {
-        return convert(start, end).withNullAsDefaultValue();
+        return interval(millis(start), millis(end));
     }
 
     public static Converter<CharSequence, Interval> convert(@Nullable Calendar start, @Nullable Calendar end) {
-        return convert(ToDateString.from(start, ISO8601DateTimeWithMillis) + SEPARATOR + ToDateString.from(end, ISO8601DateTimeWithMillis), ISO8601DateTimeWithMillis, SEPARATOR);
+        return convert(millis(start), millis(end));
     }
 
     public static Interval from(@Nullable Calendar start, @Nullable Calendar end) {
-        return convert(start, end).withNullAsDefaultValue();
+        return interval(millis(start), millis(end));
     }
 
     public static Converter<CharSequence, Interval> convert(@Nullable XMLGregorianCalendar start, @Nullable XMLGregorianCalendar end) {
-        return convert(ToDateString.from(start, ISO8601DateTimeWithMillis) + SEPARATOR + ToDateString.from(end, ISO8601DateTimeWithMillis), ISO8601DateTimeWithMillis, SEPARATOR);
+        return convert(millis(start), millis(end));
     }
 
     public static Interval from(@Nullable XMLGregorianCalendar start, @Nullable XMLGregorianCalendar end) {
-        return convert(start, end).withNullAsDefaultValue();
+        return interval(millis(start), millis(end));
+    }
+
+    // ------------------------------------------------------------------------
+    // Endpoints
+    // ------------------------------------------------------------------------
+
+    private static Converter<CharSequence, Interval> convert(long start, long end) {
+        // Endpoints are never empty, and allowing empty input spares printing them to check
+        return transform((CharSequence) new Endpoints(start, end), fromEndpoints).allowEmptyInput();
+    }
+
+    @Nullable
+    private static Interval interval(long start, long end) {
+        if (start == INVALID || end == INVALID || end < start) {
+            return null;
+        }
+        return new Interval(start, end);
+    }
+
+    private static long millis(@Nullable DateTime dateTime) {
+        return dateTime != null ? dateTime.getMillis() : INVALID;
+    }
+
+    /**
+     * The start of the date's day in the default time zone, taken from the date's
+     * fields as they read in its own chronology
+     */
+    private static long millis(@Nullable LocalDate date) {
+        return date != null ? dayStart(date.getYear(), date.getMonthOfYear(), date.getDayOfMonth()) : INVALID;
+    }
+
+    private static long millis(@Nullable Date date) {
+        return date != null ? date.getTime() : INVALID;
+    }
+
+    private static long millis(@Nullable Calendar calendar) {
+        return calendar != null ? calendar.getTimeInMillis() : INVALID;
+    }
+
+    private static long millis(@Nullable XMLGregorianCalendar calendar) {
+        if (calendar == null) {
+            return INVALID;
+        }
+        try {
+            return Instants.millis(calendar);
+        }
+        catch (RuntimeException e) {
+            return INVALID;
+        }
+    }
+
+    /**
+     * Midnight of the date in the default time zone, which is invalid if it falls
+     * in a daylight saving gap
+     */
+    private static long dayStart(int year, int monthOfYear, int dayOfMonth) {
+        if (year == INVALID_YEAR) {
+            return INVALID;
+        }
+        try {
+            return ISOChronology.getInstance().getDateTimeMillis(year, monthOfYear, dayOfMonth, 0);
+        }
+        catch (IllegalArgumentException e) {
+            return INVALID;
+        }
+    }
+
+    /**
+     * Parses a year of exactly four digits, as the ISO date format does
+     */
+    private static int parseYear(@Nullable String year) {
+        if (year == null || year.length() != 4) {
+            return INVALID_YEAR;
+        }
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            char c = year.charAt(i);
+            if (c < '0' || c > '9') {
+                return INVALID_YEAR;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static long parse(@Nullable CharSequence s, @Nonnull TemporalFormat format) {
+        return s != null ? parse(s, 0, s.length(), format) : INVALID;
+    }
+
+    private static long parse(@Nonnull CharSequence s, int start, int end, @Nonnull TemporalFormat format) {
+        DateTime dateTime = ToDateTime.from(s, start, end, format);
+        return dateTime != null ? dateTime.getMillis() : INVALID;
+    }
+
+    /**
+     * The instants of the endpoints of an interval, as converted from by the
+     * converters of pairs of endpoints. Reads as the ISO interval string they make
+     * up, which is only built if read, such as in the message of a failure.
+     */
+    static final class Endpoints implements CharSequence {
+        private final long start;
+        private final long end;
+        private String text;
+
+        private Endpoints(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public int length() {
+            return toString().length();
+        }
+
+        public char charAt(int index) {
+            return toString().charAt(index);
+        }
+
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            // Racing threads may print it twice, which is harmless
+            if (text == null) {
+                text = print(start) + SEPARATOR + print(end);
+            }
+            return text;
+        }
+
+        private static String print(long instant) {
+            return instant != INVALID ? ISO8601DateTimeWithMillis.getFormatter().print(instant) : "null";
+        }
     }
 
 }
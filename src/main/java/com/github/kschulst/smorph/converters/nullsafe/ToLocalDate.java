@@ -1,19 +1,32 @@
 package com.github.kschulst.smorph.converters.nullsafe;
 
 import com.google.common.base.Function;
+import com.google.common.collect.Maps;
+import com.github.kschulst.smorph.base.LocalDateTable;
 import com.github.kschulst.smorph.base.TemporalFormat;
 import com.github.kschulst.smorph.converters.Conversion;
 import com.github.kschulst.smorph.converters.Converter;
+import com.github.kschulst.smorph.converters.ConverterSpec;
+import com.github.kschulst.smorph.converters.ParseCache;
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
 import org.joda.time.LocalDate;
+import org.joda.time.chrono.ISOChronology;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.xml.bind.JAXBElement;
 import javax.xml.datatype.XMLGregorianCalendar;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
+import static com.github.kschulst.smorph.base.Chars.trimEnd;
+import static com.github.kschulst.smorph.base.Chars.trimStart;
 import static com.github.kschulst.smorph.converters.Converter.transform;
 
 public final class ToLocalDate {
@@ -27,7 +40,8 @@ public final class ToLocalDate {
         return new Function<Conversion<CharSequence, LocalDate>, LocalDate>() {
             public LocalDate apply(Conversion<CharSequence, LocalDate> conversion) {
                 try {
-                    return format.getFormatter().parseLocalDate(conversion.fromValue().toString());
+                    int start = conversion.fromStart();
+                    return format.parseLocalDate(conversion.fromSequence(), start, conversion.fromEnd() - start);
                 }
                 catch (Exception e) {
                     return conversion.resolveDefault("Dateformat: " + format.getPattern(), e);
@@ -38,28 +52,62 @@ public final class ToLocalDate {
 
     public static final Function fromXMLGregorianCalendar = new Function<Conversion<XMLGregorianCalendar, LocalDate>, LocalDate>() {
         public LocalDate apply(Conversion<XMLGregorianCalendar, LocalDate> conversion) {
-            return new LocalDate(conversion.fromValue().getYear(), conversion.fromValue().getMonth(), conversion.fromValue().getDay());
+            return LocalDateTable.of(conversion.fromValue().getYear(), conversion.fromValue().getMonth(), conversion.fromValue().getDay());
         }
     };
 
     public static final Function fromCalendar = new Function<Conversion<Calendar, LocalDate>, LocalDate>() {
         public LocalDate apply(Conversion<Calendar, LocalDate> conversion) {
-            return new LocalDate(conversion.fromValue().getTime());
+            return LocalDateTable.ofInstant(conversion.fromValue().getTimeInMillis(), DateTimeZone.getDefault());
         }
     };
 
     public static final Function fromDate = new Function<Conversion<Date, LocalDate>, LocalDate>() {
         public LocalDate apply(Conversion<Date, LocalDate> conversion) {
-            return LocalDate.fromDateFields(conversion.fromValue());
+            // The fields of the date as the JDK reads them, in the JDK's default time zone
+            return LocalDateTable.canonical(LocalDate.fromDateFields(conversion.fromValue()));
         }
     };
 
     public static final Function fromDateTime = new Function<Conversion<DateTime, LocalDate>, LocalDate>() {
         public LocalDate apply(Conversion<DateTime, LocalDate> conversion) {
-            return conversion.fromValue().toLocalDate();
+            DateTime dateTime = conversion.fromValue();
+            if (dateTime.getChronology() instanceof ISOChronology) {
+                return LocalDateTable.ofInstant(dateTime.getMillis(), dateTime.getZone());
+            }
+            return dateTime.toLocalDate();
         }
     };
 
+    // ------------------------------------------------------------------------
+    // Specs
+    // ------------------------------------------------------------------------
+
+    public static final ConverterSpec<Calendar, LocalDate> calendarSpec = ConverterSpec.of(ToLocalDate.fromCalendar);
+
+    public static final ConverterSpec<XMLGregorianCalendar, LocalDate> xmlGregorianCalendarSpec = ConverterSpec.of(ToLocalDate.fromXMLGregorianCalendar);
+
+    public static final ConverterSpec<DateTime, LocalDate> dateTimeSpec = ConverterSpec.of(ToLocalDate.fromDateTime);
+
+    public static final ConverterSpec<Date, LocalDate> dateSpec = ConverterSpec.of(ToLocalDate.fromDate);
+
+    private static final Map<TemporalFormat, ConverterSpec<CharSequence, LocalDate>> stringSpecs = buildStringSpecs();
+
+    private static Map<TemporalFormat, ConverterSpec<CharSequence, LocalDate>> buildStringSpecs() {
+        Map<TemporalFormat, ConverterSpec<CharSequence, LocalDate>> specs = Maps.newEnumMap(TemporalFormat.class);
+        for (TemporalFormat format : TemporalFormat.values()) {
+            specs.put(format, ConverterSpec.of(ToLocalDate.fromString(format)).trimInput());
+        }
+        return Maps.immutableEnumMap(specs);
+    }
+
+    /**
+     * Returns a prebuilt spec converting (trimmed) strings of the given format
+     */
+    public static ConverterSpec<CharSequence, LocalDate> stringSpec(@Nonnull TemporalFormat format) {
+        return stringSpecs.get(format);
+    }
+
     // ------------------------------------------------------------------------
     // Converters
     // ------------------------------------------------------------------------
@@ -69,7 +117,7 @@ public final class ToLocalDate {
     }
 
     public static LocalDate from(@Nullable Calendar calendar) {
-        return convert(calendar).withNullAsDefaultValue();
+        return calendarSpec.apply(calendar);
     }
 
     public static Converter<XMLGregorianCalendar, LocalDate> convert(@Nullable XMLGregorianCalendar calendar) {
@@ -77,7 +125,7 @@ public final class ToLocalDate {
     }
 
     public static LocalDate from(@Nullable XMLGregorianCalendar calendar) {
-        return convert(calendar).withNullAsDefaultValue();
+        return xmlGregorianCalendarSpec.apply(calendar);
     }
 
     public static Converter<DateTime, LocalDate> convert(@Nullable DateTime dateTime) {
@@ -85,7 +133,7 @@ public final class ToLocalDate {
     }
 
     public static LocalDate from(@Nullable DateTime dateTime) {
-        return convert(dateTime).withNullAsDefaultValue();
+        return dateTimeSpec.apply(dateTime);
     }
 
     public static Converter<Date, LocalDate> convert(@Nullable Date date) {
@@ -93,7 +141,7 @@ public final class ToLocalDate {
     }
 
     public static LocalDate from(@Nullable Date date) {
-        return convert(date).withNullAsDefaultValue();
+        return dateSpec.apply(date);
     }
 
     public static Converter<CharSequence, LocalDate> convert(@Nullable CharSequence dateString, @Nonnull TemporalFormat format) {
@@ -101,7 +149,14 @@ public final class ToLocalDate {
     }
 
     public static LocalDate from(@Nullable CharSequence dateString, @Nonnull TemporalFormat format) {
-        return convert(dateString, format).trimInput().withNullAsDefaultValue();
+        return stringSpec(format).apply(dateString);
+    }
+
+    /**
+     * Same as {@link #from(CharSequence, TemporalFormat)}, but looks up the result in the given cache first
+     */
+    public static LocalDate from(@Nullable CharSequence dateString, @Nonnull TemporalFormat format, @Nonnull ParseCache cache) {
+        return cache.spec(stringSpec(format)).apply(dateString);
     }
 
     public static Converter<XMLGregorianCalendar, LocalDate> convertXMLGregorianCalendar(@Nullable JAXBElement<XMLGregorianCalendar> jaxbElement) {
@@ -136,4 +191,138 @@ public final class ToLocalDate {
         return convert(yyyy + "-12-31", TemporalFormat.ISO8601DateOnly).withNullAsDefaultValue();
     }
 
+    /**
+     * Same as {@link #from(CharSequence, TemporalFormat)} for the region of the string from
+     * start to end, such as a space padded field of a fixed width record. The region is
+     * trimmed and parsed in place, without copying it into a String first (if the format is
+     * of fixed width). Invalid input yields null.
+     */
+    public static LocalDate from(@Nullable CharSequence s, int start, int end, @Nonnull TemporalFormat format) {
+        if (s == null) {
+            return null;
+        }
+        start = trimStart(s, start, end);
+        end = trimEnd(s, start, end);
+        if (start == end) {
+            return null;
+        }
+        try {
+            return format.parseLocalDate(s, start, end - start);
+        }
+        catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Byte input
+    // ------------------------------------------------------------------------
+
+    /**
+     * Same as {@link #from(CharSequence, TemporalFormat)} for a region of ASCII (or UTF-8)
+     * bytes, which is trimmed and parsed without decoding it into a String first (if the
+     * format is of fixed width). Invalid input yields null.
+     */
+    public static LocalDate fromBytes(@Nullable byte[] buf, int off, int len, @Nonnull TemporalFormat format) {
+        if (buf == null) {
+            return null;
+        }
+        int start = off;
+        int end = off + len;
+        start = trimStart(buf, start, end);
+        end = trimEnd(buf, start, end);
+        if (start == end) {
+            return null;
+        }
+        try {
+            return format.parseLocalDate(buf, start, end - start);
+        }
+        catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Same as {@link #fromBytes(byte[], int, int, TemporalFormat)} for the bytes from the position
+     * to the limit of the buffer. The position of the buffer is left alone.
+     */
+    public static LocalDate fromBytes(@Nullable ByteBuffer buf, @Nonnull TemporalFormat format) {
+        if (buf == null) {
+            return null;
+        }
+        int start = buf.position();
+        int end = buf.limit();
+        start = trimStart(buf, start, end);
+        end = trimEnd(buf, start, end);
+        if (start == end) {
+            return null;
+        }
+        try {
+            return format.parseLocalDate(buf, start, end - start);
+        }
+        catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Batch conversions
+    // ------------------------------------------------------------------------
+
+    /**
+     * Converts all (trimmed) strings of the given format into the corresponding
+     * positions of the output array. Invalid strings yield null.
+     *
+     * @return number of strings that failed conversion
+     */
+    public static int convertAll(@Nonnull CharSequence[] in, @Nonnull TemporalFormat format, @Nonnull LocalDate[] out) {
+        return stringSpec(format).convertAll(in, out, null);
+    }
+
+    /**
+     * Converts all (trimmed) strings of the given format into the corresponding
+     * positions of the output array. Invalid strings yield null, and their
+     * indexes are set in the failures BitSet.
+     *
+     * @return number of strings that failed conversion
+     */
+    public static int convertAll(@Nonnull CharSequence[] in, @Nonnull TemporalFormat format, @Nonnull LocalDate[] out, @Nullable BitSet failures) {
+        return stringSpec(format).convertAll(in, out, failures);
+    }
+
+    /**
+     * Converts all (trimmed) strings of the given format, in iteration order,
+     * into the output array. Invalid strings yield null, and their indexes are
+     * set in the failures BitSet. The output array must hold all strings, as
+     * described by {@link ConverterSpec#convertAll(Iterable, Object[], BitSet)}.
+     *
+     * @return number of strings that failed conversion
+     * @throws IllegalArgumentException if the output array is too small
+     */
+    public static int convertAll(@Nonnull Iterable<? extends CharSequence> in, @Nonnull TemporalFormat format, @Nonnull LocalDate[] out, @Nullable BitSet failures) {
+        return stringSpec(format).convertAll(in, out, failures);
+    }
+
+    /**
+     * Converts all (trimmed) strings of the given format in parallel using the
+     * given pool. The results are written to the corresponding positions of the
+     * output array. Invalid strings yield null, and their indexes are set in the
+     * failures BitSet. Use the {@link #stringSpec(TemporalFormat) spec} directly
+     * to control the split threshold.
+     *
+     * @return number of strings that failed conversion
+     */
+    public static int convertAll(@Nonnull CharSequence[] in, @Nonnull TemporalFormat format, @Nonnull LocalDate[] out, @Nullable BitSet failures, @Nonnull ForkJoinPool pool) {
+        return stringSpec(format).convertAll(in, out, failures, pool);
+    }
+
+    /**
+     * Converts all (trimmed) strings of the given format in parallel using the
+     * given pool.
+     *
+     * @see #convertAll(CharSequence[], TemporalFormat, LocalDate[], BitSet, ForkJoinPool)
+     */
+    public static int convertAll(@Nonnull List<? extends CharSequence> in, @Nonnull TemporalFormat format, @Nonnull LocalDate[] out, @Nullable BitSet failures, @Nonnull ForkJoinPool pool) {
+        return stringSpec(format).convertAll(in, out, failures, pool);
+    }
 }
@@ -2,15 +2,25 @@ package com.github.kschulst.smorph.converters.nullsafe;
 
 import com.google.common.base.Function;
 import com.google.common.primitives.UnsignedInteger;
+import com.github.kschulst.smorph.base.NumberParser;
 import com.github.kschulst.smorph.converters.Conversion;
 import com.github.kschulst.smorph.converters.Converter;
+import com.github.kschulst.smorph.converters.ConverterSpec;
+import com.github.kschulst.smorph.converters.DoubleConverter;
+import com.github.kschulst.smorph.converters.IntConverter;
+import com.github.kschulst.smorph.converters.LongConverter;
+import com.github.kschulst.smorph.converters.ParseCache;
 
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.xml.bind.JAXBElement;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
 
 import static com.github.kschulst.smorph.converters.Converter.transform;
+import static com.google.common.base.Preconditions.checkArgument;
 
 public final class ToNumber {
     private ToNumber() {}
@@ -28,7 +38,12 @@ public final class ToNumber {
 
     public static final Function fromStringAsInteger = new Function<Conversion<String, Integer>, Integer>() {
         public Integer apply(Conversion<String, Integer> conversion) {
-            return Integer.parseInt(conversion.fromValue());
+            CharSequence s = conversion.fromSequence();
+            int status = NumberParser.checkInt(s, conversion.fromStart(), conversion.fromEnd());
+            if (status != NumberParser.OK) {
+                return conversion.resolveDefault(NumberParser.describe(status));
+            }
+            return NumberParser.parseInt(s, conversion.fromStart(), conversion.fromEnd());
         }
     };
 
@@ -40,7 +55,12 @@ public final class ToNumber {
 
     public static final Function fromStringAsLong = new Function<Conversion<String, Long>, Long>() {
         public Long apply(Conversion<String, Long> conversion) {
-            return Long.parseLong(conversion.fromValue());
+            CharSequence s = conversion.fromSequence();
+            int status = NumberParser.checkLong(s, conversion.fromStart(), conversion.fromEnd());
+            if (status != NumberParser.OK) {
+                return conversion.resolveDefault(NumberParser.describe(status));
+            }
+            return NumberParser.parseLong(s, conversion.fromStart(), conversion.fromEnd());
         }
     };
 
@@ -52,7 +72,12 @@ public final class ToNumber {
 
     public static final Function fromStringAsDouble = new Function<Conversion<String, Double>, Double>() {
         public Double apply(Conversion<String, Double> conversion) {
-            return Double.parseDouble(conversion.fromValue());
+            CharSequence s = conversion.fromSequence();
+            int status = NumberParser.checkDouble(s, conversion.fromStart(), conversion.fromEnd());
+            if (status != NumberParser.OK) {
+                return conversion.resolveDefault(NumberParser.describe(status));
+            }
+            return NumberParser.parseDouble(s, conversion.fromStart(), conversion.fromEnd());
         }
     };
 
@@ -64,7 +89,12 @@ public final class ToNumber {
 
     public static final Function fromStringAsBigDecimal = new Function<Conversion<String, BigDecimal>, BigDecimal>() {
         public BigDecimal apply(Conversion<String, BigDecimal> conversion) {
-            return BigDecimal.valueOf(Double.parseDouble(conversion.fromValue()));
+            CharSequence s = conversion.fromSequence();
+            int status = NumberParser.checkBigDecimal(s, conversion.fromStart(), conversion.fromEnd());
+            if (status != NumberParser.OK) {
+                return conversion.resolveDefault(NumberParser.describe(status));
+            }
+            return NumberParser.parseBigDecimal(s, conversion.fromStart(), conversion.fromEnd());
         }
     };
 
@@ -76,16 +106,40 @@ public final class ToNumber {
 
     public static final Function fromStringAsBigInteger = new Function<Conversion<String, BigInteger>, BigInteger>() {
         public BigInteger apply(Conversion<String, BigInteger> conversion) {
-            return UnsignedInteger.valueOf(conversion.fromValue()).bigIntegerValue();
+            CharSequence s = conversion.fromSequence();
+            int status = NumberParser.checkUnsignedBigInteger(s, conversion.fromStart(), conversion.fromEnd());
+            if (status != NumberParser.OK) {
+                return conversion.resolveDefault(NumberParser.describe(status));
+            }
+            return NumberParser.parseUnsignedBigInteger(s, conversion.fromStart(), conversion.fromEnd());
         }
     };
 
+    // ------------------------------------------------------------------------
+    // Specs
+    // ------------------------------------------------------------------------
+
+    public static final ConverterSpec<Number, Integer> numberAsIntegerSpec = ConverterSpec.of(fromNumberAsInteger);
+    public static final ConverterSpec<String, Integer> stringAsIntegerSpec = ConverterSpec.of(fromStringAsInteger);
+
+    public static final ConverterSpec<Number, Long> numberAsLongSpec = ConverterSpec.of(fromNumberAsLong);
+    public static final ConverterSpec<String, Long> stringAsLongSpec = ConverterSpec.of(fromStringAsLong);
+
+    public static final ConverterSpec<Number, Double> numberAsDoubleSpec = ConverterSpec.of(fromNumberAsDouble);
+    public static final ConverterSpec<String, Double> stringAsDoubleSpec = ConverterSpec.of(fromStringAsDouble);
+
+    public static final ConverterSpec<Number, BigDecimal> numberAsBigDecimalSpec = ConverterSpec.of(fromNumberAsBigDecimal);
+    public static final ConverterSpec<String, BigDecimal> stringAsBigDecimalSpec = ConverterSpec.of(fromStringAsBigDecimal);
+
+    public static final ConverterSpec<Number, BigInteger> numberAsBigIntegerSpec = ConverterSpec.of(fromNumberAsBigInteger);
+    public static final ConverterSpec<String, BigInteger> stringAsBigIntegerSpec = ConverterSpec.of(fromStringAsBigInteger);
+
     // ------------------------------------------------------------------------
     // Integer
     // ------------------------------------------------------------------------
 
     public static Integer asInteger(@Nullable Number n) {
-        return convertAsInteger(n).withNullAsDefaultValue();
+        return numberAsIntegerSpec.apply(n);
     }
 
     public static Converter<Number, Integer> convertAsInteger(@Nullable Number n) {
@@ -93,7 +147,14 @@ public final class ToNumber {
     }
 
     public static Integer asInteger(@Nullable String s) {
-        return convertAsInteger(s).withNullAsDefaultValue();
+        return stringAsIntegerSpec.apply(s);
+    }
+
+    /**
+     * Same as {@link #asInteger(String)}, but looks up the result in the given cache first
+     */
+    public static Integer asInteger(@Nullable String s, @Nonnull ParseCache cache) {
+        return cache.spec(stringAsIntegerSpec).apply(s);
     }
 
     public static Converter<Number, Integer> convertAsInteger(@Nullable String s) {
@@ -113,7 +174,7 @@ public final class ToNumber {
     // ------------------------------------------------------------------------
 
     public static Long asLong(@Nullable Number n) {
-        return convertAsLong(n).withNullAsDefaultValue();
+        return numberAsLongSpec.apply(n);
     }
 
     public static Converter<Number, Long> convertAsLong(@Nullable Number n) {
@@ -121,7 +182,14 @@ public final class ToNumber {
     }
 
     public static Long asLong(@Nullable String s) {
-        return convertAsLong(s).withNullAsDefaultValue();
+        return stringAsLongSpec.apply(s);
+    }
+
+    /**
+     * Same as {@link #asLong(String)}, but looks up the result in the given cache first
+     */
+    public static Long asLong(@Nullable String s, @Nonnull ParseCache cache) {
+        return cache.spec(stringAsLongSpec).apply(s);
     }
 
     public static Converter<Number, Long> convertAsLong(@Nullable String s) {
@@ -141,7 +209,7 @@ public final class ToNumber {
     // ------------------------------------------------------------------------
 
     public static Double asDouble(@Nullable Number n) {
-        return convertAsDouble(n).withNullAsDefaultValue();
+        return numberAsDoubleSpec.apply(n);
     }
 
     public static Converter<Number, Double> convertAsDouble(@Nullable Number n) {
@@ -149,7 +217,14 @@ public final class ToNumber {
     }
 
     public static Double asDouble(@Nullable String s) {
-        return convertAsDouble(s).withNullAsDefaultValue();
+        return stringAsDoubleSpec.apply(s);
+    }
+
+    /**
+     * Same as {@link #asDouble(String)}, but looks up the result in the given cache first
+     */
+    public static Double asDouble(@Nullable String s, @Nonnull ParseCache cache) {
+        return cache.spec(stringAsDoubleSpec).apply(s);
     }
 
     public static Converter<Number, Double> convertAsDouble(@Nullable String s) {
@@ -169,7 +244,7 @@ public final class ToNumber {
     // ------------------------------------------------------------------------
 
     public static BigDecimal asBigDecimal(@Nullable Number n) {
-        return convertAsBigDecimal(n).withNullAsDefaultValue();
+        return numberAsBigDecimalSpec.apply(n);
     }
 
     public static Converter<Number, BigDecimal> convertAsBigDecimal(@Nullable Number n) {
@@ -177,7 +252,14 @@ public final class ToNumber {
     }
 
     public static BigDecimal asBigDecimal(@Nullable String s) {
-        return convertAsBigDecimal(s).withNullAsDefaultValue();
+        return stringAsBigDecimalSpec.apply(s);
+    }
+
+    /**
+     * Same as {@link #asBigDecimal(String)}, but looks up the result in the given cache first
+     */
+    public static BigDecimal asBigDecimal(@Nullable String s, @Nonnull ParseCache cache) {
+        return cache.spec(stringAsBigDecimalSpec).apply(s);
     }
 
     public static Converter<Number, BigDecimal> convertAsBigDecimal(@Nullable String s) {
@@ -197,7 +279,7 @@ public final class ToNumber {
     // ------------------------------------------------------------------------
 
     public static BigInteger asBigInteger(@Nullable Number n) {
-        return convertAsBigInteger(n).withNullAsDefaultValue();
+        return numberAsBigIntegerSpec.apply(n);
     }
 
     public static Converter<Number, BigInteger> convertAsBigInteger(@Nullable Number n) {
@@ -205,7 +287,14 @@ public final class ToNumber {
     }
 
     public static BigInteger asBigInteger(@Nullable String s) {
-        return convertAsBigInteger(s).withNullAsDefaultValue();
+        return stringAsBigIntegerSpec.apply(s);
+    }
+
+    /**
+     * Same as {@link #asBigInteger(String)}, but looks up the result in the given cache first
+     */
+    public static BigInteger asBigInteger(@Nullable String s, @Nonnull ParseCache cache) {
+        return cache.spec(stringAsBigIntegerSpec).apply(s);
     }
 
     public static Converter<Number, BigInteger> convertAsBigInteger(@Nullable String s) {
@@ -219,4 +308,311 @@ public final class ToNumber {
     public static <T extends Number> Converter<Number, BigInteger> convertAsBigInteger(@Nullable JAXBElement<T> jaxbElement) {
         return convertAsBigInteger(ToValue.from(jaxbElement));
     }
+
+    // ------------------------------------------------------------------------
+    // Primitives
+    // ------------------------------------------------------------------------
+
+    // These never box, neither for the result nor for the default value. Input strings are not trimmed. They are
+    // named by the type of input, so that null input is never ambiguous.
+
+    public static final IntConverter<CharSequence> stringAsIntConverter = new IntConverter<CharSequence>() {
+        protected String check(CharSequence fromValue) {
+            int status = NumberParser.checkInt(fromValue, 0, fromValue.length());
+            return (status == NumberParser.OK) ? null : NumberParser.describe(status);
+        }
+
+        protected int convertChecked(CharSequence fromValue) {
+            return NumberParser.parseInt(fromValue, 0, fromValue.length());
+        }
+    };
+
+    public static final IntConverter<Number> numberAsIntConverter = new IntConverter<Number>() {
+        protected String check(Number fromValue) {
+            return null;
+        }
+
+        protected int convertChecked(Number fromValue) {
+            return fromValue.intValue();
+        }
+    };
+
+    public static int parseInt(@Nullable CharSequence s, int defaultValue) {
+        return stringAsIntConverter.convert(s, defaultValue);
+    }
+
+    public static int parseIntOrThrow(@Nullable CharSequence s, @Nullable String conversionReference) {
+        return stringAsIntConverter.convertOrThrow(s, conversionReference);
+    }
+
+    public static int intValue(@Nullable Number n, int defaultValue) {
+        return numberAsIntConverter.convert(n, defaultValue);
+    }
+
+    public static int intValueOrThrow(@Nullable Number n, @Nullable String conversionReference) {
+        return numberAsIntConverter.convertOrThrow(n, conversionReference);
+    }
+
+    public static final LongConverter<CharSequence> stringAsLongConverter = new LongConverter<CharSequence>() {
+        protected String check(CharSequence fromValue) {
+            int status = NumberParser.checkLong(fromValue, 0, fromValue.length());
+            return (status == NumberParser.OK) ? null : NumberParser.describe(status);
+        }
+
+        protected long convertChecked(CharSequence fromValue) {
+            return NumberParser.parseLong(fromValue, 0, fromValue.length());
+        }
+    };
+
+    public static final LongConverter<Number> numberAsLongConverter = new LongConverter<Number>() {
+        protected String check(Number fromValue) {
+            return null;
+        }
+
+        protected long convertChecked(Number fromValue) {
+            return fromValue.longValue();
+        }
+    };
+
+    public static long parseLong(@Nullable CharSequence s, long defaultValue) {
+        return stringAsLongConverter.convert(s, defaultValue);
+    }
+
+    public static long parseLongOrThrow(@Nullable CharSequence s, @Nullable String conversionReference) {
+        return stringAsLongConverter.convertOrThrow(s, conversionReference);
+    }
+
+    public static long longValue(@Nullable Number n, long defaultValue) {
+        return numberAsLongConverter.convert(n, defaultValue);
+    }
+
+    public static long longValueOrThrow(@Nullable Number n, @Nullable String conversionReference) {
+        return numberAsLongConverter.convertOrThrow(n, conversionReference);
+    }
+
+    public static final DoubleConverter<CharSequence> stringAsDoubleConverter = new DoubleConverter<CharSequence>() {
+        protected String check(CharSequence fromValue) {
+            int status = NumberParser.checkDouble(fromValue, 0, fromValue.length());
+            return (status == NumberParser.OK) ? null : NumberParser.describe(status);
+        }
+
+        protected double convertChecked(CharSequence fromValue) {
+            return NumberParser.parseDouble(fromValue, 0, fromValue.length());
+        }
+    };
+
+    public static final DoubleConverter<Number> numberAsDoubleConverter = new DoubleConverter<Number>() {
+        protected String check(Number fromValue) {
+            return null;
+        }
+
+        protected double convertChecked(Number fromValue) {
+            return fromValue.doubleValue();
+        }
+    };
+
+    public static double parseDouble(@Nullable CharSequence s, double defaultValue) {
+        return stringAsDoubleConverter.convert(s, defaultValue);
+    }
+
+    public static double parseDoubleOrThrow(@Nullable CharSequence s, @Nullable String conversionReference) {
+        return stringAsDoubleConverter.convertOrThrow(s, conversionReference);
+    }
+
+    public static double doubleValue(@Nullable Number n, double defaultValue) {
+        return numberAsDoubleConverter.convert(n, defaultValue);
+    }
+
+    public static double doubleValueOrThrow(@Nullable Number n, @Nullable String conversionReference) {
+        return numberAsDoubleConverter.convertOrThrow(n, conversionReference);
+    }
+
+    // ------------------------------------------------------------------------
+    // Byte input
+    // ------------------------------------------------------------------------
+
+    // Regions of ASCII (or UTF-8) bytes are parsed like strings, but without decoding them into one. ByteBuffers
+    // are read from their position to their limit, leaving the position alone. Input is not trimmed, and invalid
+    // (or null) input yields the default value, or null for the boxed types.
+
+    public static int intFromBytes(@Nullable byte[] buf, int off, int len, int defaultValue) {
+        return (buf == null) ? defaultValue : NumberParser.parseInt(buf, off, off + len, defaultValue);
+    }
+
+    public static int intFromBytes(@Nullable ByteBuffer buf, int defaultValue) {
+        return (buf == null) ? defaultValue : NumberParser.parseInt(buf, buf.position(), buf.limit(), defaultValue);
+    }
+
+    public static long longFromBytes(@Nullable byte[] buf, int off, int len, long defaultValue) {
+        return (buf == null) ? defaultValue : NumberParser.parseLong(buf, off, off + len, defaultValue);
+    }
+
+    public static long longFromBytes(@Nullable ByteBuffer buf, long defaultValue) {
+        return (buf == null) ? defaultValue : NumberParser.parseLong(buf, buf.position(), buf.limit(), defaultValue);
+    }
+
+    public static double doubleFromBytes(@Nullable byte[] buf, int off, int len, double defaultValue) {
+        return (buf == null) ? defaultValue : NumberParser.parseDouble(buf, off, off + len, defaultValue);
+    }
+
+    public static double doubleFromBytes(@Nullable ByteBuffer buf, double defaultValue) {
+        return (buf == null) ? defaultValue : NumberParser.parseDouble(buf, buf.position(), buf.limit(), defaultValue);
+    }
+
+    public static Integer asInteger(@Nullable byte[] buf, int off, int len) {
+        if (buf == null || NumberParser.checkInt(buf, off, off + len) != NumberParser.OK) {
+            return null;
+        }
+        return NumberParser.parseInt(buf, off, off + len);
+    }
+
+    public static Integer asInteger(@Nullable ByteBuffer buf) {
+        if (buf == null || NumberParser.checkInt(buf, buf.position(), buf.limit()) != NumberParser.OK) {
+            return null;
+        }
+        return NumberParser.parseInt(buf, buf.position(), buf.limit());
+    }
+
+    public static Long asLong(@Nullable byte[] buf, int off, int len) {
+        if (buf == null || NumberParser.checkLong(buf, off, off + len) != NumberParser.OK) {
+            return null;
+        }
+        return NumberParser.parseLong(buf, off, off + len);
+    }
+
+    public static Long asLong(@Nullable ByteBuffer buf) {
+        if (buf == null || NumberParser.checkLong(buf, buf.position(), buf.limit()) != NumberParser.OK) {
+            return null;
+        }
+        return NumberParser.parseLong(buf, buf.position(), buf.limit());
+    }
+
+    public static Double asDouble(@Nullable byte[] buf, int off, int len) {
+        if (buf == null || NumberParser.checkDouble(buf, off, off + len) != NumberParser.OK) {
+            return null;
+        }
+        return NumberParser.parseDouble(buf, off, off + len);
+    }
+
+    public static Double asDouble(@Nullable ByteBuffer buf) {
+        if (buf == null || NumberParser.checkDouble(buf, buf.position(), buf.limit()) != NumberParser.OK) {
+            return null;
+        }
+        return NumberParser.parseDouble(buf, buf.position(), buf.limit());
+    }
+
+    public static BigDecimal asBigDecimal(@Nullable byte[] buf, int off, int len) {
+        if (buf == null || NumberParser.checkBigDecimal(buf, off, off + len) != NumberParser.OK) {
+            return null;
+        }
+        return NumberParser.parseBigDecimal(buf, off, off + len);
+    }
+
+    public static BigDecimal asBigDecimal(@Nullable ByteBuffer buf) {
+        if (buf == null || NumberParser.checkBigDecimal(buf, buf.position(), buf.limit()) != NumberParser.OK) {
+            return null;
+        }
+        return NumberParser.parseBigDecimal(buf, buf.position(), buf.limit());
+    }
+
+    public static BigInteger asBigInteger(@Nullable byte[] buf, int off, int len) {
+        if (buf == null || NumberParser.checkUnsignedBigInteger(buf, off, off + len) != NumberParser.OK) {
+            return null;
+        }
+        return NumberParser.parseUnsignedBigInteger(buf, off, off + len);
+    }
+
+    public static BigInteger asBigInteger(@Nullable ByteBuffer buf) {
+        if (buf == null || NumberParser.checkUnsignedBigInteger(buf, buf.position(), buf.limit()) != NumberParser.OK) {
+            return null;
+        }
+        return NumberParser.parseUnsignedBigInteger(buf, buf.position(), buf.limit());
+    }
+
+    // ------------------------------------------------------------------------
+    // Batch conversions
+    // ------------------------------------------------------------------------
+
+    // Invalid (or null) strings yield 0, and their indexes are set in the invalid BitSet if given
+
+    /**
+     * Parses all strings into the corresponding positions of the output array.
+     *
+     * @return number of strings that could not be parsed
+     */
+    public static int parseAllInts(@Nonnull CharSequence[] in, @Nonnull final int[] out, @Nullable BitSet invalid) {
+        return new ParseAll() {
+            int check(CharSequence s) {
+                return NumberParser.checkInt(s, 0, s.length());
+            }
+
+            void parse(int i, CharSequence s) {
+                out[i] = s != null ? NumberParser.parseInt(s, 0, s.length()) : 0;
+            }
+        }.run(in, out.length, invalid);
+    }
+
+    /**
+     * Parses all strings into the corresponding positions of the output array.
+     *
+     * @return number of strings that could not be parsed
+     */
+    public static int parseAllLongs(@Nonnull CharSequence[] in, @Nonnull final long[] out, @Nullable BitSet invalid) {
+        return new ParseAll() {
+            int check(CharSequence s) {
+                return NumberParser.checkLong(s, 0, s.length());
+            }
+
+            void parse(int i, CharSequence s) {
+                out[i] = s != null ? NumberParser.parseLong(s, 0, s.length()) : 0L;
+            }
+        }.run(in, out.length, invalid);
+    }
+
+    /**
+     * Parses all strings into the corresponding positions of the output array.
+     *
+     * @return number of strings that could not be parsed
+     */
+    public static int parseAllDoubles(@Nonnull CharSequence[] in, @Nonnull final double[] out, @Nullable BitSet invalid) {
+        return new ParseAll() {
+            int check(CharSequence s) {
+                return NumberParser.checkDouble(s, 0, s.length());
+            }
+
+            void parse(int i, CharSequence s) {
+                out[i] = s != null ? NumberParser.parseDouble(s, 0, s.length()) : 0d;
+            }
+        }.run(in, out.length, invalid);
+    }
+
+    /**
+     * The loop of the parseAll methods, which write to an output array of their own type
+     */
+    private abstract static class ParseAll {
+
+        abstract int check(CharSequence s);
+
+        /** Parses a checked string into position i of the output array, or sets it to 0 if null */
+        abstract void parse(int i, @Nullable CharSequence s);
+
+        final int run(CharSequence[] in, int outLength, @Nullable BitSet invalid) {
+            checkArgument(in.length <= outLength, "Output array too small, %s < %s", outLength, in.length);
+            int invalidCount = 0;
+            for (int i = 0; i < in.length; i++) {
+                CharSequence s = in[i];
+                if (s != null && check(s) == NumberParser.OK) {
+                    parse(i, s);
+                }
+                else {
+                    parse(i, null);
+                    invalidCount++;
+                    if (invalid != null) {
+                        invalid.set(i);
+                    }
+                }
+            }
+            return invalidCount;
+        }
+    }
 }
@@ -3,6 +3,7 @@ package com.github.kschulst.smorph.converters.nullsafe;
 import com.google.common.base.Function;
 import com.github.kschulst.smorph.converters.Conversion;
 import com.github.kschulst.smorph.converters.Converter;
+import com.github.kschulst.smorph.converters.ConverterSpec;
 
 import javax.annotation.Nullable;
 import javax.xml.bind.JAXBElement;
@@ -24,6 +25,12 @@ public final class ToValue {
         };
     }
 
+    // ------------------------------------------------------------------------
+    // Specs
+    // ------------------------------------------------------------------------
+
+    public static final ConverterSpec<JAXBElement<Object>, Object> jaxbElementSpec = ConverterSpec.of(ToValue.fromJaxbElementToValue());
+
     // ------------------------------------------------------------------------
     // Converters
     // ------------------------------------------------------------------------
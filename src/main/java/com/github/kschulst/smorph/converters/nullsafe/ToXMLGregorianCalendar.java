@@ -2,16 +2,19 @@ package com.github.kschulst.smorph.converters.nullsafe;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
+import com.github.kschulst.smorph.base.Instants;
 import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.base.XMLGregorianCalendars;
 import com.github.kschulst.smorph.converters.Conversion;
 import com.github.kschulst.smorph.converters.Converter;
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
 import org.joda.time.LocalDate;
+import org.joda.time.chrono.ISOChronology;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.xml.bind.JAXBElement;
-import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
 import java.util.Calendar;
 import java.util.Date;
@@ -45,15 +48,18 @@ public final class ToXMLGregorianCalendar {
 
     public static final Function fromCalendarAsDateOnly = new Function<Conversion<Calendar, XMLGregorianCalendar>, XMLGregorianCalendar>() {
         public XMLGregorianCalendar apply(Conversion<Calendar, XMLGregorianCalendar> conversion) {
-            LocalDate d = new LocalDate(conversion.fromValue());
-            return withDateOnly(d.getYear(), d.getMonthOfYear(), d.getDayOfMonth());
+            long localMillis = Instants.localMillis(conversion.fromValue());
+            if (localMillis == Long.MIN_VALUE) {
+                LocalDate d = new LocalDate(conversion.fromValue());
+                return withDateOnly(d.getYear(), d.getMonthOfYear(), d.getDayOfMonth());
+            }
+            return withDateOnly(localMillis);
         }
     };
 
     public static final Function fromDateAsDateOnly = new Function<Conversion<Date, XMLGregorianCalendar>, XMLGregorianCalendar>() {
         public XMLGregorianCalendar apply(Conversion<Date, XMLGregorianCalendar> conversion) {
-            LocalDate d = new LocalDate(conversion.fromValue());
-            return withDateOnly(d.getYear(), d.getMonthOfYear(), d.getDayOfMonth());
+            return withDateOnly(Instants.localMillis(conversion.fromValue().getTime(), DateTimeZone.getDefault()));
         }
     };
 
@@ -71,20 +77,27 @@ public final class ToXMLGregorianCalendar {
 
     public static final Function fromCalendarAsDateTime = new Function<Conversion<Calendar, XMLGregorianCalendar>, XMLGregorianCalendar>() {
         public XMLGregorianCalendar apply(Conversion<Calendar, XMLGregorianCalendar> conversion) {
-            DateTime d = new DateTime(conversion.fromValue());
-            return withDateAndTime(d);
+            long localMillis = Instants.localMillis(conversion.fromValue());
+            if (localMillis == Long.MIN_VALUE) {
+                return withDateAndTime(new DateTime(conversion.fromValue()));
+            }
+            return withDateAndTime(localMillis);
         }
     };
 
     public static final Function fromDateAsDateTime = new Function<Conversion<Date, XMLGregorianCalendar>, XMLGregorianCalendar>() {
         public XMLGregorianCalendar apply(Conversion<Date, XMLGregorianCalendar> conversion) {
-            return withDateAndTime(new DateTime(conversion.fromValue()));
+            return withDateAndTime(Instants.localMillis(conversion.fromValue().getTime(), DateTimeZone.getDefault()));
         }
     };
 
     public static final Function fromLocalDateAsDateTime = new Function<Conversion<LocalDate, XMLGregorianCalendar>, XMLGregorianCalendar>() {
         public XMLGregorianCalendar apply(Conversion<LocalDate, XMLGregorianCalendar> conversion) {
-            return withDateAndTime(conversion.fromValue().toDateTimeAtStartOfDay());
+            LocalDate date = conversion.fromValue();
+            if (date.getChronology() != ISOChronology.getInstanceUTC()) {
+                return withDateAndTime(date.toDateTimeAtStartOfDay());
+            }
+            return withDateAndTime(Instants.localMillis(Instants.startOfDay(date), DateTimeZone.getDefault()));
         }
     };
 
@@ -97,21 +110,27 @@ public final class ToXMLGregorianCalendar {
     @VisibleForTesting
     static XMLGregorianCalendar withDateOnly(int year, int month, int day) {
         try {
-            XMLGregorianCalendar xmlGregorianCalendar = DatatypeFactory.newInstance().newXMLGregorianCalendar();
-            xmlGregorianCalendar.setYear(year);
-            xmlGregorianCalendar.setMonth(month);
-            xmlGregorianCalendar.setDay(day);
-            return xmlGregorianCalendar;
+            return XMLGregorianCalendars.newDate(year, month, day);
         }
         catch (Exception e) {
             return null;
         }
     }
 
+    private static XMLGregorianCalendar withDateOnly(long localMillis) {
+        return withDateOnly(Instants.year(localMillis), Instants.monthOfYear(localMillis), Instants.dayOfMonth(localMillis));
+    }
+
+    private static XMLGregorianCalendar withDateAndTime(long localMillis) {
+        int millisOfDay = Instants.millisOfDay(localMillis);
+        return withDateAndTime(Instants.year(localMillis), Instants.monthOfYear(localMillis), Instants.dayOfMonth(localMillis),
+                millisOfDay / 3600000, millisOfDay / 60000 % 60, millisOfDay / 1000 % 60, millisOfDay % 1000);
+    }
+
     @VisibleForTesting
     static XMLGregorianCalendar withDateAndTime(int year, int monthOfYear, int dayOfMonth, int hourOfDay, int minuteOfHour, int secondOfMinute, int millisOfSecond) {
         try {
-            return DatatypeFactory.newInstance().newXMLGregorianCalendar(year, monthOfYear, dayOfMonth, hourOfDay, minuteOfHour, secondOfMinute, millisOfSecond, 1);
+            return XMLGregorianCalendars.newDateTime(year, monthOfYear, dayOfMonth, hourOfDay, minuteOfHour, secondOfMinute, millisOfSecond, 1);
         }
         catch (Exception e) {
             return null;
@@ -121,7 +140,7 @@ public final class ToXMLGregorianCalendar {
     @VisibleForTesting
     static XMLGregorianCalendar withDateAndTime(@Nullable DateTime dateTime) {
         try {
-            return DatatypeFactory.newInstance().newXMLGregorianCalendar(dateTime.getYear(), dateTime.getMonthOfYear(), dateTime.getDayOfMonth(), dateTime.getHourOfDay(), dateTime.getMinuteOfHour(), dateTime.getSecondOfMinute(), dateTime.getMillisOfSecond(), 1);
+            return XMLGregorianCalendars.newDateTime(dateTime.getYear(), dateTime.getMonthOfYear(), dateTime.getDayOfMonth(), dateTime.getHourOfDay(), dateTime.getMinuteOfHour(), dateTime.getSecondOfMinute(), dateTime.getMillisOfSecond(), 1);
         }
         catch (Exception e) {
             return null;
@@ -0,0 +1,229 @@
+package com.github.kschulst.smorph.mapping;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.converters.ConverterSpec;
+import com.github.kschulst.smorph.reflect.FieldAccessor;
+import com.github.kschulst.smorph.reflect.Reflection;
+import com.google.common.primitives.Primitives;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.xml.bind.JAXBElement;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Maps beans onto beans of another class, matching their fields by name:
+ * <pre>
+ * private static final BeanMapper MAPPER = BeanMapper.create().withDefaultFormat(TemporalFormat.DD_MM_YYYY);
+ * ...
+ * PersonDto dto = MAPPER.map(person, PersonDto.class);
+ * </pre>
+ * The {@link MappingPlan} of each pair of source and target class is computed on
+ * first use and cached. Fields of the same (boxed) type are copied, fields of other
+ * types are converted by the matching spec of the To* converters:
+ * <ul>
+ * <li>numbers and strings to Integer, Long, Double, BigDecimal and BigInteger</li>
+ * <li>strings, XMLGregorianCalendars, Calendars, Dates, LocalDates and DateTimes to
+ * LocalDate, DateTime, Date and Calendar</li>
+ * <li>LocalDates and DateTimes to String</li>
+ * </ul>
+ * Dates are parsed from and printed to strings in the format declared by a
+ * {@link MappingFormat} on the field, or else the default format of the mapper.
+ * Source fields of type JAXBElement are unwrapped first.
+ * <p>
+ * Static and synthetic fields, final target fields and fields without a
+ * counterpart of the same name are ignored. Fields of the same name with types
+ * that cannot be converted cause an IllegalArgumentException when the plan is
+ * computed.
+ * <p>
+ * A mapper is thread safe. Like a spec, configuring it returns a new mapper with
+ * its own plans, leaving the original untouched.
+ */
+public final class BeanMapper {
+
+    private final TemporalFormat defaultFormat;
+
+    // Plans by source class, then by target class. Held by the mapper alone, so the
+    // plans and their classes are released along with it
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, MappingPlan<?, ?>>> plans =
+            new ConcurrentHashMap<Class<?>, ConcurrentMap<Class<?>, MappingPlan<?, ?>>>();
+
+    private BeanMapper(@Nullable TemporalFormat defaultFormat) {
+        this.defaultFormat = defaultFormat;
+    }
+
+    /**
+     * Creates a mapper without a default format
+     */
+    public static BeanMapper create() {
+        return new BeanMapper(null);
+    }
+
+    /**
+     * Returns a mapper that maps dates from and to strings in the given format,
+     * unless the field declares a {@link MappingFormat}
+     */
+    public BeanMapper withDefaultFormat(@Nonnull TemporalFormat format) {
+        return new BeanMapper(checkNotNull(format, "Format must not be null"));
+    }
+
+    /**
+     * Returns the cached plan for mapping the source type onto the target type
+     *
+     * @throws IllegalArgumentException if a field cannot be mapped
+     */
+    @SuppressWarnings("unchecked")
+    public <S, T> MappingPlan<S, T> plan(@Nonnull Class<S> sourceType, @Nonnull Class<T> targetType) {
+        ConcurrentMap<Class<?>, MappingPlan<?, ?>> byTarget = plans.get(sourceType);
+        if (byTarget == null) {
+            ConcurrentMap<Class<?>, MappingPlan<?, ?>> created = new ConcurrentHashMap<Class<?>, MappingPlan<?, ?>>();
+            byTarget = plans.putIfAbsent(sourceType, created);
+            if (byTarget == null) {
+                byTarget = created;
+            }
+        }
+        MappingPlan<?, ?> plan = byTarget.get(targetType);
+        if (plan == null) {
+            MappingPlan<?, ?> built = buildPlan(sourceType, targetType);
+            plan = byTarget.putIfAbsent(targetType, built);
+            if (plan == null) {
+                plan = built;
+            }
+        }
+        return (MappingPlan<S, T>) plan;
+    }
+
+    /**
+     * Maps the source onto a new instance of the target type. Returns null for null.
+     */
+    @SuppressWarnings("unchecked")
+    public <S, T> T map(@Nullable S source, @Nonnull Class<T> targetType) {
+        if (source == null) {
+            return null;
+        }
+        return plan((Class<S>) source.getClass(), targetType).map(source);
+    }
+
+    /**
+     * Maps the source onto the given target, overwriting its mapped fields
+     */
+    @SuppressWarnings("unchecked")
+    public <S, T> void map(@Nonnull S source, @Nonnull T target) {
+        plan((Class<S>) source.getClass(), (Class<T>) target.getClass()).map(source, target);
+    }
+
+    // ------------------------------------------------------------------------
+    // Planning
+    // ------------------------------------------------------------------------
+
+    private <S, T> MappingPlan<S, T> buildPlan(Class<S> sourceType, Class<T> targetType) {
+        List<MappingPlan.FieldMapping> mappings = new ArrayList<MappingPlan.FieldMapping>();
+        Set<String> seen = new HashSet<String>();
+        for (Field targetField : Reflection.getFields(targetType)) {
+            // Fields shadowed by a subclass field of the same name are not mapped
+            if (!seen.add(targetField.getName()) || !isMappable(targetField) || Modifier.isFinal(targetField.getModifiers())) {
+                continue;
+            }
+            Field sourceField = Reflection.findField(sourceType, targetField.getName());
+            if (sourceField == null || !isMappable(sourceField)) {
+                continue;
+            }
+            mappings.add(buildFieldMapping(sourceField, targetField));
+        }
+        return new MappingPlan<S, T>(sourceType, targetType, mappings, defaultConstructor(targetType));
+    }
+
+    private MappingPlan.FieldMapping buildFieldMapping(Field sourceField, Field targetField) {
+        Class<?> sourceType = sourceField.getType();
+        boolean unwrapJaxbElement = JAXBElement.class.equals(sourceType);
+        if (unwrapJaxbElement) {
+            sourceType = jaxbElementValueType(sourceField);
+        }
+        Class<?> from = Primitives.wrap(sourceType);
+        Class<?> to = Primitives.wrap(targetField.getType());
+
+        ConverterSpec<Object, Object> spec = null;
+        if (!to.isAssignableFrom(from)) {
+            try {
+                spec = FieldConversions.find(from, to, format(sourceField, targetField, to));
+            }
+            catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(describe(sourceField, targetField) + ": " + e.getMessage(), e);
+            }
+            if (spec == null) {
+                throw new IllegalArgumentException(describe(sourceField, targetField) + ": no conversion from "
+                        + from.getName() + " to " + to.getName());
+            }
+        }
+        return new MappingPlan.FieldMapping(FieldAccessor.of(sourceField), FieldAccessor.of(targetField), unwrapJaxbElement, spec);
+    }
+
+    private static boolean isMappable(Field field) {
+        return !Modifier.isStatic(field.getModifiers()) && !field.isSynthetic();
+    }
+
+    /**
+     * Format of the strings, which is the one of the string field if it declares one
+     */
+    private TemporalFormat format(Field sourceField, Field targetField, Class<?> to) {
+        MappingFormat declared = String.class.equals(to)
+                ? sourceField.getAnnotation(MappingFormat.class)
+                : targetField.getAnnotation(MappingFormat.class);
+        if (declared == null) {
+            declared = String.class.equals(to)
+                    ? targetField.getAnnotation(MappingFormat.class)
+                    : sourceField.getAnnotation(MappingFormat.class);
+        }
+        return (declared != null) ? declared.value() : defaultFormat;
+    }
+
+    private static Class<?> jaxbElementValueType(Field field) {
+        Type type = field.getGenericType();
+        if (type instanceof ParameterizedType) {
+            Type valueType = ((ParameterizedType) type).getActualTypeArguments()[0];
+            if (valueType instanceof Class) {
+                return (Class<?>) valueType;
+            }
+        }
+        throw new IllegalArgumentException("Cannot map field '" + field.getName() + "' of " + field.getDeclaringClass().getName()
+                + ": the value type of the JAXBElement is unknown");
+    }
+
+    private static String describe(Field sourceField, Field targetField) {
+        return "Cannot map field '" + targetField.getName() + "' of " + sourceField.getDeclaringClass().getName()
+                + " to " + targetField.getDeclaringClass().getName();
+    }
+
+    @Nullable
+    private static MethodHandle defaultConstructor(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+        }
+        catch (NoSuchMethodException e) {
+            return null;
+        }
+        catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+}
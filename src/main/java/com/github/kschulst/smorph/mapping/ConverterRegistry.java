@@ -0,0 +1,196 @@
+package com.github.kschulst.smorph.mapping;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.converters.Conversion;
+import com.github.kschulst.smorph.converters.ConverterSpec;
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Primitives;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Converts values to a given type by the runtime class of the values, for code
+ * handling values of any type:
+ * <pre>
+ * private static final ConverterRegistry CONVERTERS = ConverterRegistry.create()
+ *         .withDefaultFormat(TemporalFormat.DD_MM_YYYY)
+ *         .register(Money.class, BigDecimal.class, MONEY_AMOUNT);
+ * ...
+ * Date date = CONVERTERS.convert(value, Date.class);
+ * </pre>
+ * A registry knows the conversions used by the {@link BeanMapper} (those between
+ * strings and dates only given a default format) and the converters registered
+ * with it. The converter of a value is resolved as follows:
+ * <ol>
+ * <li>the most recently registered converter from a supertype of the value's class to the target type</li>
+ * <li>the value itself, if it is an instance of the target type</li>
+ * <li>the BeanMapper conversion from a supertype of the value's class to the target type</li>
+ * </ol>
+ * The resolution is done once per pair of classes and cached by the registry, so a
+ * conversion costs a couple of map lookups on top of the converter itself.
+ * <p>
+ * A registry is immutable and thread safe. {@link #withDefaultFormat} and the
+ * register methods return new registries with caches of their own, so registries
+ * are meant to be built once and held in static fields.
+ */
+public final class ConverterRegistry {
+
+    /**
+     * A registered converter
+     */
+    private static final class Entry {
+        final Class<?> fromType;
+        final Class<?> toType;
+        final ConverterSpec<Object, Object> spec;
+
+        @SuppressWarnings("unchecked")
+        Entry(Class<?> fromType, Class<?> toType, ConverterSpec<?, ?> spec) {
+            this.fromType = fromType;
+            this.toType = toType;
+            this.spec = (ConverterSpec<Object, Object>) spec;
+        }
+    }
+
+    private static final ConverterSpec<Object, Object> IDENTITY = ConverterSpec.of(new Function<Conversion<Object, Object>, Object>() {
+        public Object apply(Conversion<Object, Object> conversion) {
+            return conversion.fromValue();
+        }
+    });
+
+    // Marks pairs of classes without a conversion, as the maps do not hold nulls
+    private static final Object NONE = new Object();
+
+    private static final ConverterRegistry DEFAULT = new ConverterRegistry(ImmutableList.<Entry>of(), null);
+
+    private final List<Entry> entries;
+    @Nullable
+    private final TemporalFormat defaultFormat;
+
+    // Source class -> target class -> converter, or NONE if there is none. Held by the
+    // registry alone, so the classes are released along with it
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, Object>> converters =
+            new ConcurrentHashMap<Class<?>, ConcurrentMap<Class<?>, Object>>();
+
+    private ConverterRegistry(List<Entry> entries, @Nullable TemporalFormat defaultFormat) {
+        this.entries = entries;
+        this.defaultFormat = defaultFormat;
+    }
+
+    /**
+     * Returns a registry of the BeanMapper conversions, without a default format
+     */
+    public static ConverterRegistry create() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns a registry like this one, converting between strings and dates using the given format
+     */
+    public ConverterRegistry withDefaultFormat(TemporalFormat format) {
+        return new ConverterRegistry(entries, checkNotNull(format, "Format must not be null"));
+    }
+
+    /**
+     * Returns a registry like this one, converting instances of the from type
+     * (and its subtypes) to the to type using the spec
+     */
+    public <F, T> ConverterRegistry register(Class<F> fromType, Class<T> toType, ConverterSpec<? super F, ? extends T> spec) {
+        checkNotNull(spec, "Spec must not be null");
+        Entry entry = new Entry(Primitives.wrap(fromType), Primitives.wrap(toType), spec);
+        return new ConverterRegistry(ImmutableList.<Entry>builder().add(entry).addAll(entries).build(), defaultFormat);
+    }
+
+    /**
+     * Returns a registry like this one, converting instances of the from type
+     * (and its subtypes) to the to type using the function
+     */
+    public <F, T> ConverterRegistry register(Class<F> fromType, Class<T> toType, Function<Conversion<F, T>, T> function) {
+        return register(fromType, toType, ConverterSpec.of(function));
+    }
+
+    /**
+     * Returns the spec converting instances of the from type to the to type, or
+     * null if there is no such conversion
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <F, T> ConverterSpec<F, T> find(Class<F> fromType, Class<T> toType) {
+        return (ConverterSpec<F, T>) (ConverterSpec<?, ?>) lookup(Primitives.wrap(fromType), toType);
+    }
+
+    public boolean canConvert(Class<?> fromType, Class<?> toType) {
+        return find(fromType, toType) != null;
+    }
+
+    /**
+     * Converts the value to the given type (or its wrapper type, if primitive)
+     *
+     * @return the converted value, or null if the value is null or cannot be converted,
+     * such as a string not matching the date format
+     * @throws IllegalArgumentException if there is no conversion from the class of the value to the type
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T convert(@Nullable Object value, Class<T> toType) {
+        if (value == null) {
+            return null;
+        }
+        ConverterSpec<Object, Object> spec = lookup(value.getClass(), toType);
+        if (spec == IDENTITY) {
+            return (T) value;
+        }
+        if (spec == null) {
+            throw new IllegalArgumentException("No conversion from " + value.getClass().getName() + " to " + toType.getName());
+        }
+        return (T) spec.apply(value);
+    }
+
+    /**
+     * Returns the cached spec, or null if there is no conversion
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private ConverterSpec<Object, Object> lookup(Class<?> fromType, Class<?> toType) {
+        ConcurrentMap<Class<?>, Object> byTarget = converters.get(fromType);
+        if (byTarget == null) {
+            ConcurrentMap<Class<?>, Object> created = new ConcurrentHashMap<Class<?>, Object>();
+            byTarget = converters.putIfAbsent(fromType, created);
+            if (byTarget == null) {
+                byTarget = created;
+            }
+        }
+        Object spec = byTarget.get(toType);
+        if (spec == null) {
+            // Resolving twice on a race is harmless, as resolution has no side effects
+            ConverterSpec<Object, Object> resolved = resolve(fromType, Primitives.wrap(toType));
+            spec = (resolved != null) ? resolved : NONE;
+            byTarget.put(toType, spec);
+        }
+        return (spec == NONE) ? null : (ConverterSpec<Object, Object>) spec;
+    }
+
+    @Nullable
+    private ConverterSpec<Object, Object> resolve(Class<?> fromType, Class<?> toType) {
+        for (Entry entry : entries) {
+            if (entry.toType.equals(toType) && entry.fromType.isAssignableFrom(fromType)) {
+                return entry.spec;
+            }
+        }
+        if (toType.isAssignableFrom(fromType)) {
+            return IDENTITY;
+        }
+        try {
+            return FieldConversions.find(fromType, toType, defaultFormat);
+        }
+        catch (IllegalArgumentException e) {
+            // Between strings and dates, but without a default format
+            return null;
+        }
+    }
+}
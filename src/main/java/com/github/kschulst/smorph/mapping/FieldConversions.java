@@ -0,0 +1,151 @@
+package com.github.kschulst.smorph.mapping;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.converters.ConverterSpec;
+import com.github.kschulst.smorph.converters.formatters.ToDateString;
+import com.github.kschulst.smorph.converters.nullsafe.ToCalendar;
+import com.github.kschulst.smorph.converters.nullsafe.ToDate;
+import com.github.kschulst.smorph.converters.nullsafe.ToDateTime;
+import com.github.kschulst.smorph.converters.nullsafe.ToLocalDate;
+import com.github.kschulst.smorph.converters.nullsafe.ToNumber;
+import com.google.common.collect.ImmutableList;
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+import org.joda.time.ReadableInstant;
+import org.joda.time.ReadablePartial;
+
+import javax.annotation.Nullable;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The conversions used for mapping a field of one type onto a field of another,
+ * each being one of the prebuilt specs of the To* converters.
+ */
+final class FieldConversions {
+    private FieldConversions() {}
+
+    /**
+     * Conversion from values of (a subtype of) one type to another type
+     */
+    private static class Rule {
+        final Class<?> fromType;
+        final Class<?> toType;
+        private final ConverterSpec<?, ?> spec;
+
+        Rule(Class<?> fromType, Class<?> toType, ConverterSpec<?, ?> spec) {
+            this.fromType = fromType;
+            this.toType = toType;
+            this.spec = spec;
+        }
+
+        ConverterSpec<?, ?> spec(@Nullable TemporalFormat format) {
+            return spec;
+        }
+    }
+
+    /**
+     * Conversion between dates and strings, which needs the format of the strings
+     */
+    private abstract static class FormatRule extends Rule {
+        FormatRule(Class<?> fromType, Class<?> toType) {
+            super(fromType, toType, null);
+        }
+
+        @Override
+        ConverterSpec<?, ?> spec(@Nullable TemporalFormat format) {
+            if (format == null) {
+                throw new IllegalArgumentException("Mapping " + fromType.getSimpleName() + " to " + toType.getSimpleName()
+                        + " requires a @" + MappingFormat.class.getSimpleName() + " or a default format");
+            }
+            return specFor(format);
+        }
+
+        abstract ConverterSpec<?, ?> specFor(TemporalFormat format);
+    }
+
+    private static final List<Rule> RULES = ImmutableList.of(
+            new Rule(Number.class, Integer.class, ToNumber.numberAsIntegerSpec),
+            new Rule(Number.class, Long.class, ToNumber.numberAsLongSpec),
+            new Rule(Number.class, Double.class, ToNumber.numberAsDoubleSpec),
+            new Rule(Number.class, BigDecimal.class, ToNumber.numberAsBigDecimalSpec),
+            new Rule(Number.class, BigInteger.class, ToNumber.numberAsBigIntegerSpec),
+            new Rule(String.class, Integer.class, ToNumber.stringAsIntegerSpec),
+            new Rule(String.class, Long.class, ToNumber.stringAsLongSpec),
+            new Rule(String.class, Double.class, ToNumber.stringAsDoubleSpec),
+            new Rule(String.class, BigDecimal.class, ToNumber.stringAsBigDecimalSpec),
+            new Rule(String.class, BigInteger.class, ToNumber.stringAsBigIntegerSpec),
+
+            new FormatRule(String.class, LocalDate.class) {
+                ConverterSpec<?, ?> specFor(TemporalFormat format) {
+                    return ToLocalDate.stringSpec(format);
+                }
+            },
+            new Rule(XMLGregorianCalendar.class, LocalDate.class, ToLocalDate.xmlGregorianCalendarSpec),
+            new Rule(Calendar.class, LocalDate.class, ToLocalDate.calendarSpec),
+            new Rule(Date.class, LocalDate.class, ToLocalDate.dateSpec),
+            new Rule(DateTime.class, LocalDate.class, ToLocalDate.dateTimeSpec),
+
+            new FormatRule(String.class, DateTime.class) {
+                ConverterSpec<?, ?> specFor(TemporalFormat format) {
+                    return ToDateTime.stringSpec(format);
+                }
+            },
+            new Rule(XMLGregorianCalendar.class, DateTime.class, ToDateTime.xmlGregorianCalendarSpec),
+            new Rule(Calendar.class, DateTime.class, ToDateTime.calendarSpec),
+            new Rule(Date.class, DateTime.class, ToDateTime.dateSpec),
+            new Rule(LocalDate.class, DateTime.class, ToDateTime.localDateSpec),
+
+            new FormatRule(String.class, Date.class) {
+                ConverterSpec<?, ?> specFor(TemporalFormat format) {
+                    return ToDate.stringSpec(format);
+                }
+            },
+            new Rule(XMLGregorianCalendar.class, Date.class, ToDate.xmlGregorianCalendarSpec),
+            new Rule(Calendar.class, Date.class, ToDate.calendarSpec),
+            new Rule(LocalDate.class, Date.class, ToDate.localDateSpec),
+            new Rule(DateTime.class, Date.class, ToDate.dateTimeSpec),
+
+            new FormatRule(String.class, Calendar.class) {
+                ConverterSpec<?, ?> specFor(TemporalFormat format) {
+                    return ToCalendar.stringSpec(format);
+                }
+            },
+            new Rule(XMLGregorianCalendar.class, Calendar.class, ToCalendar.xmlGregorianCalendarSpec),
+            new Rule(Date.class, Calendar.class, ToCalendar.dateSpec),
+            new Rule(LocalDate.class, Calendar.class, ToCalendar.localDateSpec),
+            new Rule(DateTime.class, Calendar.class, ToCalendar.dateTimeSpec),
+
+            new FormatRule(ReadablePartial.class, String.class) {
+                ConverterSpec<?, ?> specFor(TemporalFormat format) {
+                    return ToDateString.readablePartialSpec(format);
+                }
+            },
+            new FormatRule(ReadableInstant.class, String.class) {
+                ConverterSpec<?, ?> specFor(TemporalFormat format) {
+                    return ToDateString.readableInstantSpec(format);
+                }
+            }
+    );
+
+    /**
+     * Returns the spec converting values of the (boxed) from type to the (boxed)
+     * to type, or null if there is no such conversion
+     *
+     * @throws IllegalArgumentException if the conversion needs a format, but none is given
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static ConverterSpec<Object, Object> find(Class<?> fromType, Class<?> toType, @Nullable TemporalFormat format) {
+        for (Rule rule : RULES) {
+            if (rule.toType.equals(toType) && rule.fromType.isAssignableFrom(fromType)) {
+                return (ConverterSpec<Object, Object>) rule.spec(format);
+            }
+        }
+        return null;
+    }
+}
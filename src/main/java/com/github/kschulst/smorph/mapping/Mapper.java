@@ -0,0 +1,30 @@
+package com.github.kschulst.smorph.mapping;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an interface (or abstract class) whose abstract methods map beans onto
+ * other beans, for the smorph-processor annotation processor to implement at
+ * compile time:
+ * <pre>
+ * &#64;Mapper
+ * &#64;MappingFormat(TemporalFormat.DD_MM_YYYY)
+ * public interface PersonMapper {
+ *     PersonDto toDto(Person person);
+ *     void update(Person person, PersonDto dto);
+ * }
+ * </pre>
+ * The generated class (PersonMapperImpl) maps properties by name the way a
+ * {@link BeanMapper} maps fields, but through getters, setters and accessible
+ * fields, calling the To* converters directly instead of using reflection.
+ * A {@link MappingFormat} on the mapper declares its default format.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface Mapper {
+}
@@ -0,0 +1,24 @@
+package com.github.kschulst.smorph.mapping;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the format of a date held as a String, used when mapping the field
+ * from or to a date type. May be put on the source or the target field; if both
+ * have one, the target field's format is used for parsing and the source field's
+ * format for printing.
+ * <p>
+ * Put on a {@link Mapper} type, it declares the default format of the generated mapper.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.TYPE})
+public @interface MappingFormat {
+    TemporalFormat value();
+}
@@ -0,0 +1,130 @@
+package com.github.kschulst.smorph.mapping;
+
+import com.github.kschulst.smorph.converters.ConverterSpec;
+import com.github.kschulst.smorph.converters.nullsafe.ToValue;
+import com.github.kschulst.smorph.reflect.FieldAccessor;
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.xml.bind.JAXBElement;
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+
+/**
+ * The mapping of one class onto another, computed once by a {@link BeanMapper}.
+ * Each mapped field is read, converted and written through accessors and specs
+ * looked up when the plan was built, so mapping does no reflection lookups.
+ * <p>
+ * Conversions are nullsafe: null values, and values that cannot be converted,
+ * are mapped to null. Primitive target fields are left as they are instead.
+ * A plan is thread safe.
+ *
+ * @param <S> Type to map from
+ * @param <T> Type to map to
+ */
+public final class MappingPlan<S, T> {
+
+    /**
+     * Mapping of a source field onto the target field of the same name
+     */
+    static final class FieldMapping {
+        final FieldAccessor source;
+        final FieldAccessor target;
+        final boolean unwrapJaxbElement;
+        final ConverterSpec<Object, Object> spec;
+        final boolean primitiveTarget;
+
+        FieldMapping(FieldAccessor source, FieldAccessor target, boolean unwrapJaxbElement, @Nullable ConverterSpec<Object, Object> spec) {
+            this.source = source;
+            this.target = target;
+            this.unwrapJaxbElement = unwrapJaxbElement;
+            this.spec = spec;
+            this.primitiveTarget = target.getField().getType().isPrimitive();
+        }
+    }
+
+    private final Class<S> sourceType;
+    private final Class<T> targetType;
+    private final FieldMapping[] mappings;
+    private final List<String> fieldNames;
+
+    // Default constructor of the target type as ()Object, or null if there is none
+    private final MethodHandle constructor;
+
+    MappingPlan(Class<S> sourceType, Class<T> targetType, List<FieldMapping> mappings, @Nullable MethodHandle constructor) {
+        this.sourceType = sourceType;
+        this.targetType = targetType;
+        this.mappings = mappings.toArray(new FieldMapping[mappings.size()]);
+        ImmutableList.Builder<String> names = ImmutableList.builder();
+        for (FieldMapping mapping : mappings) {
+            names.add(mapping.target.getField().getName());
+        }
+        this.fieldNames = names.build();
+        this.constructor = constructor;
+    }
+
+    public Class<S> getSourceType() {
+        return sourceType;
+    }
+
+    public Class<T> getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * Names of the fields that are mapped, in the order they are mapped
+     */
+    public List<String> getFieldNames() {
+        return fieldNames;
+    }
+
+    /**
+     * Maps the source onto a new instance of the target type, created by its
+     * default constructor. Returns null for null.
+     *
+     * @throws IllegalStateException if the target type has no default constructor
+     */
+    public T map(@Nullable S source) {
+        if (source == null) {
+            return null;
+        }
+        T target = newTarget();
+        map(source, target);
+        return target;
+    }
+
+    /**
+     * Maps the source onto the given target, overwriting its mapped fields
+     */
+    @SuppressWarnings("unchecked")
+    public void map(@Nonnull S source, @Nonnull T target) {
+        for (FieldMapping mapping : mappings) {
+            Object value = mapping.source.get(source);
+            if (mapping.unwrapJaxbElement) {
+                value = ToValue.jaxbElementSpec.apply((JAXBElement<Object>) value);
+            }
+            if (mapping.spec != null) {
+                value = mapping.spec.apply(value);
+            }
+            if (value != null || !mapping.primitiveTarget) {
+                mapping.target.set(target, value);
+            }
+        }
+    }
+
+    private T newTarget() {
+        if (constructor == null) {
+            throw new IllegalStateException(targetType.getName() + " has no default constructor");
+        }
+        try {
+            return targetType.cast(constructor.invokeExact());
+        }
+        catch (RuntimeException | Error e) {
+            throw e;
+        }
+        catch (Throwable t) {
+            throw new IllegalStateException("Could not create " + targetType.getName() + ": " + t.getMessage(), t);
+        }
+    }
+}
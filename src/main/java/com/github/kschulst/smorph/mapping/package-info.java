@@ -0,0 +1,8 @@
+/**
+ * Mapping of beans onto other beans, field by field, and conversion of values
+ * by their runtime class, using the converters.
+ */
+@ParametersAreNonnullByDefault
+package com.github.kschulst.smorph.mapping;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,133 @@
+package com.github.kschulst.smorph.reflect;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Fields of a class and its superclasses (up to {@link Object}), in the order
+ * {@link Reflection#findField} searches them: the fields declared by the class
+ * itself first, each class in declaration order. The fields are looked up once
+ * per class and indexed by name and by type, with the first field in search
+ * order winning. A field is made accessible when it is first handed out, so the
+ * fields of superclasses that are searched but never used, such as those of JDK
+ * classes, are left alone. {@link FieldAccessor}s are created on first use.
+ * <p>
+ * Instances are kept in a {@link ClassValue}, so they are released along with
+ * the class and its class loader.
+ */
+final class ClassFields {
+
+    private static final ClassValue<ClassFields> CACHE = new ClassValue<ClassFields>() {
+        @Override
+        protected ClassFields computeValue(Class<?> type) {
+            return new ClassFields(type);
+        }
+    };
+
+    private final Field[] fields;
+    private final List<Field> fieldList;
+    private final Map<String, Field> fieldsByName;
+    private final Map<Class<?>, Field> fieldsByType;
+    private final ConcurrentMap<String, FieldAccessor> accessors = new ConcurrentHashMap<String, FieldAccessor>();
+    private final Set<Field> accessible = Collections.newSetFromMap(new ConcurrentHashMap<Field, Boolean>());
+    private volatile boolean allAccessible;
+
+    private ClassFields(Class<?> clazz) {
+        List<Field> all = new ArrayList<Field>();
+        Map<String, Field> byName = new HashMap<String, Field>();
+        Map<Class<?>, Field> byType = new HashMap<Class<?>, Field>();
+        for (Class<?> searchType = clazz; searchType != null && !Object.class.equals(searchType); searchType = searchType.getSuperclass()) {
+            for (Field field : searchType.getDeclaredFields()) {
+                all.add(field);
+                if (!byName.containsKey(field.getName())) {
+                    byName.put(field.getName(), field);
+                }
+                if (!byType.containsKey(field.getType())) {
+                    byType.put(field.getType(), field);
+                }
+            }
+        }
+        this.fields = all.toArray(new Field[all.size()]);
+        this.fieldList = Collections.unmodifiableList(Arrays.asList(fields));
+        this.fieldsByName = Collections.unmodifiableMap(byName);
+        this.fieldsByType = Collections.unmodifiableMap(byType);
+    }
+
+    static ClassFields of(Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    List<Field> all() {
+        if (!allAccessible) {
+            for (Field field : fields) {
+                accessible(field);
+            }
+            allAccessible = true;
+        }
+        return fieldList;
+    }
+
+    Field find(String name, Class<?> type) {
+        if (type == null) {
+            return accessible(fieldsByName.get(name));
+        }
+        if (name == null) {
+            return accessible(fieldsByType.get(type));
+        }
+        Field field = fieldsByName.get(name);
+        if (field == null || type.equals(field.getType())) {
+            return accessible(field);
+        }
+        // A field of the name is shadowed by one of another type, so look further up the hierarchy
+        for (Field candidate : fields) {
+            if (name.equals(candidate.getName()) && type.equals(candidate.getType())) {
+                return accessible(candidate);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the accessor of the field {@link #find found} by the name, or null if there is none
+     */
+    FieldAccessor accessor(String name) {
+        FieldAccessor accessor = accessors.get(name);
+        if (accessor == null) {
+            Field field = fieldsByName.get(name);
+            if (field == null) {
+                return null;
+            }
+            // Racing threads may create an accessor each, which is harmless
+            accessor = new FieldAccessor(accessible(field));
+            FieldAccessor existing = accessors.putIfAbsent(name, accessor);
+            accessor = (existing != null) ? existing : accessor;
+        }
+        return accessor;
+    }
+
+    private Field accessible(Field field) {
+        // Racing threads may both make the field accessible, which is harmless
+        if (field != null && !accessible.contains(field)) {
+            makeAccessible(field);
+            accessible.add(field);
+        }
+        return field;
+    }
+
+    private static void makeAccessible(Field field) {
+        try {
+            field.setAccessible(true);
+        }
+        catch (RuntimeException e) { // NOSONAR
+            // Denied by a security manager or module, so the field is accessed the way it would be without the cache
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.github.kschulst.smorph.reflect;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Reads and writes a field through {@link MethodHandle}s that are looked up once,
+ * so there are no access checks per call. The primitive variants ({@link #getInt},
+ * {@link #setLong} and so on) do not box, and widen the value the way the
+ * corresponding {@link Field} methods do, e.g. {@code getLong} reads int fields too.
+ * <p>
+ * Accessors are cached per class and field name. Static fields are read and written
+ * the same way, ignoring the target. Final fields cannot be written.
+ * <p>
+ * As with {@link Field}, a target of the wrong class or a value of the wrong type
+ * causes an IllegalArgumentException. Values passed to {@link #set} are unboxed
+ * but not widened, so an Integer cannot be set on a long field.
+ */
+public final class FieldAccessor {
+
+    private final Field field;
+
+    // Getters of type (Object)T and setters of type (Object,T)void, null if the field cannot be accessed as T
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final MethodHandle intGetter;
+    private final MethodHandle intSetter;
+    private final MethodHandle longGetter;
+    private final MethodHandle longSetter;
+    private final MethodHandle doubleGetter;
+    private final MethodHandle doubleSetter;
+    private final MethodHandle booleanGetter;
+    private final MethodHandle byteGetter;
+    private final MethodHandle shortGetter;
+    private final MethodHandle charGetter;
+    private final MethodHandle floatGetter;
+    private final MethodHandle booleanSetter;
+
+    FieldAccessor(Field field) {
+        this.field = field;
+        MethodHandle exactGetter;
+        MethodHandle exactSetter;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            exactGetter = lookup.unreflectGetter(field);
+            exactSetter = Modifier.isFinal(field.getModifiers()) ? null : lookup.unreflectSetter(field);
+        }
+        catch (IllegalAccessException e) {
+            throw new IllegalStateException("Field " + field + " is not accessible: " + e.getMessage(), e);
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            exactGetter = MethodHandles.dropArguments(exactGetter, 0, Object.class);
+            exactSetter = (exactSetter == null) ? null : MethodHandles.dropArguments(exactSetter, 0, Object.class);
+        }
+
+        Class<?> type = field.getType();
+        this.getter = exactGetter.asType(MethodType.methodType(Object.class, Object.class));
+        this.setter = adaptSetter(exactSetter, Object.class, true);
+        this.intGetter = adaptGetter(exactGetter, int.class, type == int.class || type == short.class || type == char.class || type == byte.class);
+        this.intSetter = adaptSetter(exactSetter, int.class, type == int.class || type == long.class || type == float.class || type == double.class);
+        this.longGetter = adaptGetter(exactGetter, long.class, intGetter != null || type == long.class);
+        this.longSetter = adaptSetter(exactSetter, long.class, type == long.class || type == float.class || type == double.class);
+        this.doubleGetter = adaptGetter(exactGetter, double.class, longGetter != null || type == float.class || type == double.class);
+        this.doubleSetter = adaptSetter(exactSetter, double.class, type == double.class);
+        this.booleanGetter = adaptGetter(exactGetter, boolean.class, type == boolean.class);
+        this.booleanSetter = adaptSetter(exactSetter, boolean.class, type == boolean.class);
+        this.byteGetter = adaptGetter(exactGetter, byte.class, type == byte.class);
+        this.shortGetter = adaptGetter(exactGetter, short.class, type == short.class || type == byte.class);
+        this.charGetter = adaptGetter(exactGetter, char.class, type == char.class);
+        this.floatGetter = adaptGetter(exactGetter, float.class, longGetter != null || type == float.class);
+    }
+
+    private static MethodHandle adaptGetter(MethodHandle exactGetter, Class<?> valueType, boolean supported) {
+        return supported ? exactGetter.asType(MethodType.methodType(valueType, Object.class)) : null;
+    }
+
+    private static MethodHandle adaptSetter(@Nullable MethodHandle exactSetter, Class<?> valueType, boolean supported) {
+        return (exactSetter != null && supported) ? exactSetter.asType(MethodType.methodType(void.class, Object.class, valueType)) : null;
+    }
+
+    /**
+     * Returns the cached accessor of the field with the supplied name, searching the
+     * class and its superclasses the way {@link Reflection#findField(Class, String)} does
+     *
+     * @throws IllegalArgumentException if there is no such field
+     */
+    public static FieldAccessor of(@Nonnull Class<?> clazz, @Nonnull String name) {
+        FieldAccessor accessor = ClassFields.of(clazz).accessor(name);
+        checkArgument(accessor != null, "No field '%s' in %s", name, clazz.getName());
+        return accessor;
+    }
+
+    /**
+     * Returns the cached accessor of the field
+     */
+    public static FieldAccessor of(@Nonnull Field field) {
+        FieldAccessor accessor = ClassFields.of(field.getDeclaringClass()).accessor(field.getName());
+        // A field is found by name in its declaring class, as the class comes first in the search
+        return (accessor != null && accessor.field.equals(field)) ? accessor : new FieldAccessor(field);
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    // ------------------------------------------------------------------------
+    // Getters
+    // ------------------------------------------------------------------------
+
+    /**
+     * Returns the value of the field, wrapped if the field has a primitive type
+     */
+    public Object get(@Nullable Object target) {
+        try {
+            return getter.invokeExact(target);
+        }
+        catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    public int getInt(@Nullable Object target) {
+        try {
+            return (int) checkGetter(intGetter, int.class).invokeExact(target);
+        }
+        catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    public long getLong(@Nullable Object target) {
+        try {
+            return (long) checkGetter(longGetter, long.class).invokeExact(target);
+        }
+        catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    public double getDouble(@Nullable Object target) {
+        try {
+            return (double) checkGetter(doubleGetter, double.class).invokeExact(target);
+        }
+        catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    public boolean getBoolean(@Nullable Object target) {
+        try {
+            return (boolean) checkGetter(booleanGetter, boolean.class).invokeExact(target);
+        }
+        catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    public byte getByte(@Nullable Object target) {
+        try {
+            return (byte) checkGetter(byteGetter, byte.class).invokeExact(target);
+        }
+        catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    public short getShort(@Nullable Object target) {
+        try {
+            return (short) checkGetter(shortGetter, short.class).invokeExact(target);
+        }
+        catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    public char getChar(@Nullable Object target) {
+        try {
+            return (char) checkGetter(charGetter, char.class).invokeExact(target);
+        }
+        catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    public float getFloat(@Nullable Object target) {
+        try {
+            return (float) checkGetter(floatGetter, float.class).invokeExact(target);
+        }
+        catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Setters
+    // ------------------------------------------------------------------------
+
+    /**
+     * Sets the value of the field, unwrapping it if the field has a primitive type
+     */
+    public void set(@Nullable Object target, @Nullable Object value) {
+        try {
+            checkSetter(setter, Object.class).invokeExact(target, value);
+        }
+        catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    public void setInt(@Nullable Object target, int value) {
+        try {
+            checkSetter(intSetter, int.class).invokeExact(target, value);
+        }
+        catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    public void setLong(@Nullable Object target, long value) {
+        try {
+            checkSetter(longSetter, long.class).invokeExact(target, value);
+        }
+        catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    public void setDouble(@Nullable Object target, double value) {
+        try {
+            checkSetter(doubleSetter, double.class).invokeExact(target, value);
+        }
+        catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    public void setBoolean(@Nullable Object target, boolean value) {
+        try {
+            checkSetter(booleanSetter, boolean.class).invokeExact(target, value);
+        }
+        catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Internals
+    // ------------------------------------------------------------------------
+
+    private MethodHandle checkGetter(@Nullable MethodHandle handle, Class<?> valueType) {
+        if (handle == null) {
+            throw new IllegalArgumentException("Field " + field + " cannot be read as " + valueType.getName());
+        }
+        return handle;
+    }
+
+    private MethodHandle checkSetter(@Nullable MethodHandle handle, Class<?> valueType) {
+        if (handle == null) {
+            throw new IllegalArgumentException(Modifier.isFinal(field.getModifiers())
+                    ? "Field " + field + " is final"
+                    : "Field " + field + " cannot be set from " + valueType.getName());
+        }
+        return handle;
+    }
+
+    private RuntimeException propagate(Throwable t) {
+        if (t instanceof ClassCastException) {
+            return new IllegalArgumentException("Cannot access field " + field + ": " + t.getMessage(), t);
+        }
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IllegalStateException("Unexpected reflection exception - " + t.getClass().getName() + ": " + t.getMessage(), t);
+    }
+}
@@ -3,6 +3,7 @@ package com.github.kschulst.smorph.reflect;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.lang.reflect.Field;
+import java.util.List;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -16,6 +17,8 @@ public final class Reflection {
     /**
      * Attempt to find a {@link java.lang.reflect.Field field} on the supplied {@link Class} with the
      * supplied <code>name</code>. Searches all superclasses up to {@link Object}.
+     * The fields of each class are looked up once and made accessible, so the
+     * returned Field is shared and must not be modified.
      * @param clazz the class to introspect
      * @param name the name of the field
      * @return the corresponding Field object, or <code>null</code> if not found
@@ -36,25 +39,27 @@ public final class Reflection {
     public static Field findField(@Nonnull Class<?> clazz, @Nullable String name, @Nullable Class<?> type) {
         checkNotNull(clazz, "Class must not be null");
         checkArgument(name != null || type != null, "Either name or type of the field must be specified");
+        return ClassFields.of(clazz).find(name, type);
+    }
 
-        Class<?> searchType = clazz;
-        while (!Object.class.equals(searchType) && searchType != null) {
-            Field[] fields = searchType.getDeclaredFields();
-            for (Field field : fields) {
-                if ((name == null || name.equals(field.getName())) && (type == null || type.equals(field.getType()))) {
-                    return field;
-                }
-            }
-            searchType = searchType.getSuperclass();
-        }
-        return null;
+    /**
+     * Get all {@link Field fields} of the supplied {@link Class} and its superclasses
+     * up to {@link Object}, in the order {@link #findField(Class, String)} searches
+     * them: the fields declared by the class itself first. The fields are shared
+     * and accessible, like the ones returned by findField.
+     * @param clazz the class to introspect
+     * @return an unmodifiable list of the fields
+     */
+    public static List<Field> getFields(@Nonnull Class<?> clazz) {
+        checkNotNull(clazz, "Class must not be null");
+        return ClassFields.of(clazz).all();
     }
 
     /**
      * Get the field represented by the supplied {@link Field field object} on the
      * specified {@link Object target object}. In accordance with {@link Field#get(Object)}
      * semantics, the returned value is automatically wrapped if the underlying field
-     * has a primitive type.
+     * has a primitive type. Use {@link FieldAccessor} to read a field repeatedly.
      * @param field the field to get
      * @param target the target object from which to get the field
      * @return the field's current value
@@ -68,4 +73,18 @@ public final class Reflection {
         }
     }
 
+    /**
+     * Get the value of the field with the supplied <code>name</code> on the
+     * specified {@link Object target object}, searching the fields of its class
+     * the way {@link #findField(Class, String)} does. Use {@link FieldAccessor}
+     * directly to read primitive values without boxing them.
+     * @param target the target object from which to get the field
+     * @param name the name of the field
+     * @return the field's current value
+     * @throws IllegalArgumentException if the class of the target has no such field
+     */
+    public static Object getField(@Nonnull Object target, @Nonnull String name) {
+        return FieldAccessor.of(target.getClass(), name).get(target);
+    }
+
 }
@@ -0,0 +1,28 @@
+package com.github.kschulst.smorph.base;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.github.kschulst.smorph.base.Chars.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class CharsTest {
+
+    @Test
+    public void trim_matchesStringTrim() {
+        for (String s : Arrays.asList("", " ", " \t\n", "x", "  x y \r\n", "\u0000x\u007f")) {
+            byte[] b = s.getBytes(StandardCharsets.ISO_8859_1);
+            int start = trimStart(s, 0, s.length());
+            int end = trimEnd(s, start, s.length());
+            assertThat(s, s.substring(start, end), is(s.trim()));
+            assertThat(s, trimStart(b, 0, b.length), is(start));
+            assertThat(s, trimEnd(b, start, b.length), is(end));
+            assertThat(s, trimStart(ByteBuffer.wrap(b), 0, b.length), is(start));
+            assertThat(s, trimEnd(ByteBuffer.wrap(b), start, b.length), is(end));
+        }
+    }
+}
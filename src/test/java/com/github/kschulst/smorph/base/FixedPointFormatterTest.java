@@ -0,0 +1,136 @@
+package com.github.kschulst.smorph.base;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class FixedPointFormatterTest {
+
+    private static final List<Double> DOUBLES = Arrays.asList(
+            0d, -0d, 0.5, 1.5, 2.5, -2.5, 0.125, 0.375, 0.05, 0.15, 0.25, 0.35, 0.00005, 0.00015, 0.00025, -0.001,
+            10000.295, -10000.295, 0.029, 0.099, .295, 1e-300, -1e-300, Double.MIN_VALUE, 4503599627370496.5,
+            99999999999999.99, 1e14, 123456789012345.67, 1e20, 1.2345678901234567e25, Double.MAX_VALUE,
+            Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+    );
+
+    @Test
+    public void formatDouble_matchesDecimalFormat() {
+        for (NumberFormat format : NumberFormat.values()) {
+            for (double d : DOUBLES) {
+                assertFormatsLikeDecimalFormat(format, d);
+            }
+        }
+    }
+
+    @Test
+    public void formatDouble_matchesDecimalFormatForRandomValues() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            for (NumberFormat format : NumberFormat.values()) {
+                assertFormatsLikeDecimalFormat(format, (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(20) - 4));
+                assertFormatsLikeDecimalFormat(format, random.nextInt(1000000) / 1000d);
+                assertFormatsLikeDecimalFormat(format, Double.longBitsToDouble(random.nextLong()));
+            }
+        }
+    }
+
+    @Test
+    public void formatLong_matchesDecimalFormat() {
+        Random random = new Random(42);
+        List<Long> longs = new ArrayList<Long>(Arrays.asList(0L, 1L, -1L, 9L, 10L, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1));
+        for (int i = 0; i < 10000; i++) {
+            longs.add(random.nextLong() >> random.nextInt(64));
+        }
+        for (NumberFormat format : NumberFormat.values()) {
+            for (long l : longs) {
+                assertThat(format.getFormatter().format(l), is(format.getFormat().format(l)));
+            }
+        }
+    }
+
+    @Test
+    public void formatBigDecimal_matchesDecimalFormat() {
+        Random random = new Random(42);
+        List<BigDecimal> values = new ArrayList<BigDecimal>();
+        for (String s : Arrays.asList("0", "-0.00", "0.00005", "0.00015", "-0.001", "10000.295", "-10000.295", "2.5",
+                "123456789012345678.9", "1e30", "-1e-30", "0.123456789012345678901234567890")) {
+            values.add(new BigDecimal(s));
+        }
+        for (int i = 0; i < 10000; i++) {
+            values.add(new BigDecimal(BigInteger.valueOf(random.nextLong() >> random.nextInt(64)), random.nextInt(12) - 2));
+        }
+        for (NumberFormat format : NumberFormat.values()) {
+            for (BigDecimal bd : values) {
+                assertThat(bd.toString(), format.getFormatter().format(bd), is(format.getFormat().format(bd)));
+            }
+        }
+    }
+
+    @Test
+    public void formatNumber_dispatchesLikeDecimalFormat() {
+        List<Number> numbers = Arrays.<Number>asList(42, (short) -7, (byte) 3, 2.5f, 0.1f, 12345678901L, new AtomicLong(99),
+                new BigInteger("123"), new BigInteger("123456789012345678901234567890"), new BigDecimal("0.125"));
+        for (NumberFormat format : NumberFormat.values()) {
+            for (Number n : numbers) {
+                assertThat(n.toString(), format.getFormatter().format(n), is(format.getFormat().format(n)));
+            }
+        }
+    }
+
+    @Test
+    public void format_sharedUnderContention() throws Exception {
+        final int threads = 16;
+        final FixedPointFormatter formatter = NumberFormat.N_COMMA_DDD.getFormatter();
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+            for (int t = 0; t < threads; t++) {
+                final long seed = t;
+                results.add(executor.submit(new Callable<Integer>() {
+                    public Integer call() throws InterruptedException {
+                        Random random = new Random(seed);
+                        start.await();
+                        int corrupted = 0;
+                        for (int i = 0; i < 50000; i++) {
+                            double d = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(12));
+                            long l = random.nextLong() >> random.nextInt(64);
+                            BigDecimal bd = BigDecimal.valueOf(random.nextInt(), random.nextInt(8));
+                            if (!formatter.format(d).equals(NumberFormat.N_COMMA_DDD.getFormat().format(d))
+                                    || !formatter.format(l).equals(NumberFormat.N_COMMA_DDD.getFormat().format(l))
+                                    || !formatter.format(bd).equals(NumberFormat.N_COMMA_DDD.getFormat().format(bd))) {
+                                corrupted++;
+                            }
+                        }
+                        return corrupted;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertThat(result.get(), is(0));
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void assertFormatsLikeDecimalFormat(NumberFormat format, double d) {
+        assertThat(format + " " + d, format.getFormatter().format(d), is(format.getFormat().format(d)));
+    }
+}
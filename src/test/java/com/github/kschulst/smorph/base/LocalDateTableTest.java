@@ -0,0 +1,65 @@
+package com.github.kschulst.smorph.base;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.joda.time.chrono.ISOChronology;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class LocalDateTableTest {
+
+    @After
+    public void restoreDefaultRange() {
+        LocalDateTable.setYearRange(1900, 2100);
+    }
+
+    @Test
+    public void epochDay_matchesJoda() {
+        for (LocalDate date = new LocalDate(-1000, 1, 1); date.getYear() < 3000; date = date.plusDays(13)) {
+            long expected = Math.round(date.toDateTimeAtStartOfDay(DateTimeZone.UTC).getMillis() / 86400000d);
+            assertThat(date.toString(), LocalDateTable.epochDay(date.getYear(), date.getMonthOfYear(), date.getDayOfMonth()), is(expected));
+        }
+    }
+
+    @Test
+    public void of_sharesInstancesWithinRange() {
+        LocalDate date = LocalDateTable.of(2007, 2, 23);
+        assertThat(date, is(new LocalDate(2007, 2, 23)));
+        assertThat(LocalDateTable.of(2007, 2, 23), is(sameInstance(date)));
+        assertThat(LocalDateTable.ofEpochDay(13567), is(sameInstance(date)));
+        assertThat(LocalDateTable.ofInstant(new LocalDate(2007, 2, 23).toDateTimeAtStartOfDay().plusHours(23).getMillis(), DateTimeZone.getDefault()), is(sameInstance(date)));
+        assertThat(LocalDateTable.canonical(new LocalDate(2007, 2, 23)), is(sameInstance(date)));
+        assertThat(LocalDateTable.of(1900, 1, 1), is(sameInstance(LocalDateTable.of(1900, 1, 1))));
+        assertThat(LocalDateTable.of(2100, 12, 31), is(sameInstance(LocalDateTable.of(2100, 12, 31))));
+        assertThat(LocalDateTable.of(2008, 2, 29), is(new LocalDate(2008, 2, 29)));
+    }
+
+    @Test
+    public void of_createsInstancesOutsideRange() {
+        assertThat(LocalDateTable.of(1899, 12, 31), is(new LocalDate(1899, 12, 31)));
+        assertThat(LocalDateTable.of(1899, 12, 31), is(not(sameInstance(LocalDateTable.of(1899, 12, 31)))));
+        assertThat(LocalDateTable.ofEpochDay(-1000000), is(new LocalDate(-1000000 * 86400000L, ISOChronology.getInstanceUTC())));
+
+        LocalDate buddhist = new LocalDate(2550, 2, 23, org.joda.time.chrono.BuddhistChronology.getInstanceUTC());
+        assertThat(LocalDateTable.canonical(buddhist), is(sameInstance(buddhist)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void of_rejectsInvalidDates() {
+        LocalDateTable.of(2007, 2, 29);
+    }
+
+    @Test
+    public void setYearRangeAndDisable() {
+        LocalDateTable.setYearRange(2000, 2001);
+        assertThat(LocalDateTable.of(2000, 6, 1), is(sameInstance(LocalDateTable.of(2000, 6, 1))));
+        assertThat(LocalDateTable.of(2002, 6, 1), is(not(sameInstance(LocalDateTable.of(2002, 6, 1)))));
+
+        LocalDateTable.disable();
+        assertThat(LocalDateTable.of(2000, 6, 1), is(not(sameInstance(LocalDateTable.of(2000, 6, 1)))));
+        assertThat(LocalDateTable.of(2000, 6, 1), is(new LocalDate(2000, 6, 1)));
+    }
+}
@@ -0,0 +1,226 @@
+package com.github.kschulst.smorph.base;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.primitives.UnsignedInteger;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.github.kschulst.smorph.base.NumberParser.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class NumberParserTest {
+
+    private static final List<String> INPUT = Arrays.asList(
+            "", " ", "0", "-0", "+0", "00012", "123", "-123", "+123", "+", "-", "--1", "+-1", "1-", " 1", "1 ",
+            "2147483647", "2147483648", "-2147483648", "-2147483649", "4294967295", "4294967296",
+            "9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809",
+            "99999999999999999999999", "99999999999999999999999x", "12a", "invalidNumber", "١٢٣", "１２",
+            "1.5", "-1.5", ".5", "5.", ".", "-.", "1e5", "1E-5", "1e", "1e+", "1.5e3f", "1.5d", "1.5F", "1.5D", "1.5dd", "1.5x",
+            "  12.25  ", "\t-3.75\n", "NaN", "-NaN", "Infinity", "-Infinity", "+Infinity", "Inf", "nan", "NaNx",
+            "0x1p3", "0X1.8P-1", "-0x.8p1d", "0x1", "0xp1", "0x1.p", "1e400", "-1e400", "1e-400", "0e999999999",
+            "0.1", "0.2", "0.3", "123456789012345", "1234567890123456", "12345678901234567890", "3.141592653589793",
+            "2.2250738585072014E-308", "4.9e-324", "1.7976931348623157e308", "1.7976931348623159e308", "0.000001",
+            "100000000000000000000000", "1.00000000000000000000", "10000.295", "1,5", "1_000"
+    );
+
+    @Test
+    public void checkAndParseInt_matchesJdk() {
+        for (String s : INPUT) {
+            Integer expected = tryParseInt(s);
+            assertThat(s, checkInt(s, 0, s.length()) == OK, is(expected != null));
+            if (expected != null) {
+                assertThat(s, parseInt(s, 0, s.length()), is(expected.intValue()));
+            }
+        }
+    }
+
+    @Test
+    public void checkAndParseLong_matchesJdk() {
+        for (String s : INPUT) {
+            Long expected = tryParseLong(s);
+            assertThat(s, checkLong(s, 0, s.length()) == OK, is(expected != null));
+            if (expected != null) {
+                assertThat(s, parseLong(s, 0, s.length()), is(expected.longValue()));
+            }
+        }
+    }
+
+    @Test
+    public void checkAndParseDouble_matchesJdk() {
+        for (String s : INPUT) {
+            assertDoubleMatchesJdk(s);
+        }
+    }
+
+    @Test
+    public void checkAndParseDouble_matchesJdkForRandomValues() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            assertDoubleMatchesJdk(Double.toString(Double.longBitsToDouble(random.nextLong())));
+            assertDoubleMatchesJdk(String.valueOf(random.nextInt(1000000)) + "." + random.nextInt(100000));
+            assertDoubleMatchesJdk(String.valueOf((random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 20)));
+        }
+    }
+
+    @Test
+    public void checkAndParseBigDecimal_matchesValueOfDouble() {
+        for (String s : INPUT) {
+            BigDecimal expected;
+            try {
+                expected = BigDecimal.valueOf(Double.parseDouble(s));
+            }
+            catch (NumberFormatException e) {
+                expected = null;
+            }
+            assertThat(s, checkBigDecimal(s, 0, s.length()) == OK, is(expected != null));
+            if (expected != null) {
+                assertThat(s, parseBigDecimal(s, 0, s.length()), is(expected));
+            }
+        }
+    }
+
+    @Test
+    public void checkAndParseUnsignedBigInteger_matchesUnsignedInteger() {
+        for (String s : INPUT) {
+            UnsignedInteger expected;
+            try {
+                expected = UnsignedInteger.valueOf(s);
+            }
+            catch (NumberFormatException e) {
+                expected = null;
+            }
+            assertThat(s, checkUnsignedBigInteger(s, 0, s.length()) == OK, is(expected != null));
+            if (expected != null) {
+                assertThat(s, parseUnsignedBigInteger(s, 0, s.length()), is(expected.bigIntegerValue()));
+            }
+        }
+    }
+
+    @Test
+    public void check_statusCodes() {
+        assertThat(checkInt("", 0, 0), is(EMPTY));
+        assertThat(checkInt("12a", 0, 3), is(MALFORMED));
+        assertThat(checkInt("2147483648", 0, 10), is(OUT_OF_RANGE));
+        assertThat(checkInt("21474836489x", 0, 12), is(MALFORMED));
+        assertThat(checkLong("-9223372036854775809", 0, 20), is(OUT_OF_RANGE));
+        assertThat(checkDouble("  ", 0, 2), is(EMPTY));
+        assertThat(checkDouble("1e", 0, 2), is(MALFORMED));
+        assertThat(checkBigDecimal("1e400", 0, 5), is(OUT_OF_RANGE));
+        assertThat(checkBigDecimal("NaN", 0, 3), is(MALFORMED));
+        assertThat(checkUnsignedBigInteger("-1", 0, 2), is(OUT_OF_RANGE));
+    }
+
+    @Test
+    public void parse_region() {
+        String s = "[ 42|-7.25|x]";
+        assertThat(checkInt(s, 2, 4), is(OK));
+        assertThat(parseInt(s, 2, 4), is(42));
+        assertThat(parseLong(s, 1, 4, -1L), is(-1L));
+        assertThat(parseDouble(s, 5, 10, 0d), is(-7.25d));
+        assertThat(parseDouble(s, 11, 12, 1.5d), is(1.5d));
+        assertThat(parseInt(new StringBuilder("x123"), 1, 4, 0), is(123));
+    }
+
+    @Test
+    public void checkAndParseBytes_matchesCharSequence() {
+        for (String s : INPUT) {
+            assertBytesMatchCharSequence(s);
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            assertBytesMatchCharSequence(String.valueOf(random.nextInt()));
+            assertBytesMatchCharSequence(String.valueOf(random.nextLong() >> random.nextInt(64)));
+            assertBytesMatchCharSequence(String.valueOf(random.nextDouble() * random.nextInt()));
+        }
+    }
+
+    @Test
+    public void checkBytes_rejectsNonAscii() {
+        byte[] arabicDigits = "\u0661\u0662\u0663".getBytes(StandardCharsets.UTF_8);
+        assertThat(checkInt(arabicDigits, 0, arabicDigits.length), is(MALFORMED));
+        assertThat(checkLong(arabicDigits, 0, arabicDigits.length), is(MALFORMED));
+        assertThat(checkDouble(arabicDigits, 0, arabicDigits.length), is(MALFORMED));
+    }
+
+    private static void assertBytesMatchCharSequence(String s) {
+        if (!CharMatcher.ASCII.matchesAllOf(s)) {
+            return;
+        }
+        byte[] bytes = ("#" + s + "#").getBytes(StandardCharsets.US_ASCII);
+        int start = 1;
+        int end = bytes.length - 1;
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes);
+        ByteBuffer slice = ByteBuffer.wrap(bytes, start, end - start).slice();
+
+        assertThat(s, checkInt(bytes, start, end), is(checkInt(s, 0, s.length())));
+        assertThat(s, checkInt(direct, start, end), is(checkInt(s, 0, s.length())));
+        assertThat(s, checkInt(slice, 0, slice.limit()), is(checkInt(s, 0, s.length())));
+        assertThat(s, checkLong(bytes, start, end), is(checkLong(s, 0, s.length())));
+        assertThat(s, checkLong(direct, start, end), is(checkLong(s, 0, s.length())));
+        assertThat(s, checkUnsignedBigInteger(bytes, start, end), is(checkUnsignedBigInteger(s, 0, s.length())));
+        assertThat(s, checkDouble(bytes, start, end), is(checkDouble(s, 0, s.length())));
+        assertThat(s, checkDouble(direct, start, end), is(checkDouble(s, 0, s.length())));
+        assertThat(s, checkBigDecimal(bytes, start, end), is(checkBigDecimal(s, 0, s.length())));
+
+        if (checkInt(s, 0, s.length()) == OK) {
+            assertThat(s, parseInt(bytes, start, end), is(parseInt(s, 0, s.length())));
+            assertThat(s, parseInt(direct, start, end), is(parseInt(s, 0, s.length())));
+            assertThat(s, parseInt(slice, 0, slice.limit()), is(parseInt(s, 0, s.length())));
+        }
+        if (checkLong(s, 0, s.length()) == OK) {
+            assertThat(s, parseLong(bytes, start, end), is(parseLong(s, 0, s.length())));
+            assertThat(s, parseLong(direct, start, end), is(parseLong(s, 0, s.length())));
+        }
+        if (checkUnsignedBigInteger(s, 0, s.length()) == OK) {
+            assertThat(s, parseUnsignedBigInteger(bytes, start, end), is(parseUnsignedBigInteger(s, 0, s.length())));
+        }
+        if (checkDouble(s, 0, s.length()) == OK) {
+            long expected = Double.doubleToRawLongBits(parseDouble(s, 0, s.length()));
+            assertThat(s, Double.doubleToRawLongBits(parseDouble(bytes, start, end)), is(expected));
+            assertThat(s, Double.doubleToRawLongBits(parseDouble(direct, start, end)), is(expected));
+        }
+        if (checkBigDecimal(s, 0, s.length()) == OK) {
+            assertThat(s, parseBigDecimal(bytes, start, end), is(parseBigDecimal(s, 0, s.length())));
+        }
+    }
+
+    private static void assertDoubleMatchesJdk(String s) {
+        Double expected;
+        try {
+            expected = Double.parseDouble(s);
+        }
+        catch (NumberFormatException e) {
+            expected = null;
+        }
+        assertThat(s, checkDouble(s, 0, s.length()) == OK, is(expected != null));
+        if (expected != null) {
+            assertThat(s, Double.doubleToRawLongBits(parseDouble(s, 0, s.length())), is(Double.doubleToRawLongBits(expected)));
+        }
+    }
+
+    private static Integer tryParseInt(String s) {
+        try {
+            return Integer.parseInt(s);
+        }
+        catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Long tryParseLong(String s) {
+        try {
+            return Long.parseLong(s);
+        }
+        catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
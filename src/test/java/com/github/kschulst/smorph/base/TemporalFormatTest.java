@@ -1,9 +1,30 @@
 package com.github.kschulst.smorph.base;
 
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+import org.joda.time.ReadableInstant;
+import org.joda.time.ReadablePartial;
+import org.joda.time.YearMonth;
+import org.joda.time.chrono.BuddhistChronology;
+import org.joda.time.chrono.ISOChronology;
 import org.junit.Test;
 
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import static com.github.kschulst.smorph.base.TemporalFormat.*;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 public class TemporalFormatTest {
@@ -18,4 +39,242 @@ public class TemporalFormatTest {
         }
     }
 
+    @Test
+    public void fixedWidthParser_onlyForFixedWidthDigitFormats() {
+        EnumSet<TemporalFormat> unsupported = EnumSet.of(DD_MM_YY, ISO8601DateTime, ISO8601DateTimeWithMillis);
+        for (TemporalFormat format : TemporalFormat.values()) {
+            FixedWidthParser parser = FixedWidthParser.compile(format.getPattern());
+            if (unsupported.contains(format)) {
+                assertThat(format.name(), parser, is(nullValue()));
+            }
+            else {
+                assertThat(format.name(), parser.length(), is(format.length()));
+            }
+        }
+    }
+
+    @Test
+    public void parse_matchesFormatter() {
+        // Every 7 hours, 13 minutes and 17.123 seconds over some years, passing several daylight saving transitions
+        DateTime dateTime = new DateTime(2006, 1, 1, 0, 0, 0, 0);
+        for (int i = 0; i < 10000; i++) {
+            for (TemporalFormat format : TemporalFormat.values()) {
+                assertParsesLikeFormatter(format, format.getFormatter().print(dateTime));
+            }
+            dateTime = dateTime.plusMillis(7 * 3600000 + 13 * 60000 + 17123);
+        }
+    }
+
+    @Test
+    public void parse_matchesFormatterForEdgeCases() {
+        for (String s : Arrays.asList("29.02.2007", "29.02.2008", "29.02.1900", "29.02.2000", "31.04.2007", "00.01.2007",
+                "01.13.2007", "01.00.2007", "23.02.0000", "23.02.9999", "1.2.2007", "23-02-2007", "23.02.2007 ",
+                "23.02.20071", "+3.02.2007", "23.02.2007 24:00:00", "23.02.2007 23:60:00", "23.02.2007 23:59:60",
+                "23.02.2007 23:59:59", "25.03.2007 02:30:00", "28.10.2007 02:30:00", "23.02.2007 23:59:59.999")) {
+            for (TemporalFormat format : EnumSet.of(DD_MM_YYYY, DD_MM_YYYY_HH_MM_SS, DD_MM_YYYY_HH_MM_SS_SSS)) {
+                assertParsesLikeFormatter(format, s);
+            }
+        }
+        for (String s : Arrays.asList("20070229", "20080229", "2007022", "200702231", "2007O223", "20071232", "20070223133760")) {
+            for (TemporalFormat format : EnumSet.of(YYYYMMDD, YYYYMMDDHHMMSS)) {
+                assertParsesLikeFormatter(format, s);
+            }
+        }
+    }
+
+    private static void assertParsesLikeFormatter(TemporalFormat format, String s) {
+        String reason = format.name() + ": " + s;
+        Object expectedLocalDate = formatterParseLocalDate(format, s);
+        Object expectedDateTime = formatterParseDateTime(format, s);
+        assertThat(reason, parseLocalDate(format, s), is(expectedLocalDate));
+        assertThat(reason, parseDateTime(format, s), is(expectedDateTime));
+
+        // Same from the middle of a string, a byte array and a direct buffer
+        CharSequence chars = new StringBuilder("#").append(s).append('#');
+        assertThat(reason, parseLocalDate(format, chars, 1, s.length()), is(expectedLocalDate));
+        assertThat(reason, parseDateTime(format, chars, 1, s.length()), is(expectedDateTime));
+        byte[] bytes = ("#" + s + "#").getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes);
+        assertThat(reason, parseLocalDate(format, bytes, 1, s.length()), is(expectedLocalDate));
+        assertThat(reason, parseDateTime(format, bytes, 1, s.length()), is(expectedDateTime));
+        assertThat(reason, parseLocalDate(format, direct, 1, s.length()), is(expectedLocalDate));
+        assertThat(reason, parseDateTime(format, direct, 1, s.length()), is(expectedDateTime));
+    }
+
+    private static Object parseLocalDate(TemporalFormat format, CharSequence s, int offset, int length) {
+        try {
+            return format.parseLocalDate(s, offset, length);
+        }
+        catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static Object parseDateTime(TemporalFormat format, CharSequence s, int offset, int length) {
+        try {
+            return format.parseDateTime(s, offset, length);
+        }
+        catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static Object parseLocalDate(TemporalFormat format, byte[] b, int offset, int length) {
+        try {
+            return format.parseLocalDate(b, offset, length);
+        }
+        catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static Object parseLocalDate(TemporalFormat format, ByteBuffer buf, int index, int length) {
+        try {
+            return format.parseLocalDate(buf, index, length);
+        }
+        catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static Object parseDateTime(TemporalFormat format, byte[] b, int offset, int length) {
+        try {
+            return format.parseDateTime(b, offset, length);
+        }
+        catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static Object parseDateTime(TemporalFormat format, ByteBuffer buf, int index, int length) {
+        try {
+            return format.parseDateTime(buf, index, length);
+        }
+        catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static Object parseLocalDate(TemporalFormat format, String s) {
+        try {
+            return format.parseLocalDate(s);
+        }
+        catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static Object formatterParseLocalDate(TemporalFormat format, String s) {
+        try {
+            return format.getFormatter().parseLocalDate(s);
+        }
+        catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static Object parseDateTime(TemporalFormat format, String s) {
+        try {
+            return format.parseDateTime(s);
+        }
+        catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static Object formatterParseDateTime(TemporalFormat format, String s) {
+        try {
+            return format.getFormatter().parseDateTime(s);
+        }
+        catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Test
+    public void print_matchesJodaWithUnknownFieldsAsZeros() throws Exception {
+        List<ReadablePartial> partials = new ArrayList<ReadablePartial>(Arrays.<ReadablePartial>asList(
+                new LocalDate(2007, 2, 23), new LocalDate(12345, 1, 1), new LocalDate(-50, 6, 30), new LocalDate(999, 12, 31),
+                new LocalDateTime(2007, 2, 23, 13, 37, 42, 19), new LocalTime(23, 59, 59, 999), new YearMonth(2007, 2),
+                new LocalDate(2550, 2, 23, BuddhistChronology.getInstance())));
+        List<ReadableInstant> instants = new ArrayList<ReadableInstant>(Arrays.<ReadableInstant>asList(
+                new DateTime(2007, 2, 23, 13, 37, 42, 19), new DateTime(0L, DateTimeZone.UTC), new DateTime(-1L),
+                new DateTime(2007, 3, 25, 3, 0, 0, 0, DateTimeZone.forID("Europe/Oslo")),
+                new DateTime(1900, 1, 1, 0, 0, DateTimeZone.forOffsetHoursMinutes(5, 30)),
+                new DateTime(12345, 1, 1, 0, 0), new DateTime(-5, 1, 1, 0, 0),
+                new DateTime(2007, 2, 23, 13, 37, BuddhistChronology.getInstance())));
+        Random random = new Random(42);
+        DateTimeZone[] zones = {DateTimeZone.getDefault(), DateTimeZone.UTC, DateTimeZone.forID("America/New_York"), DateTimeZone.forID("Asia/Kathmandu")};
+        for (int i = 0; i < 2000; i++) {
+            long millis = (random.nextLong() % (400L * 365 * 86400000L)) + random.nextInt(1000);
+            instants.add(new DateTime(millis, ISOChronology.getInstance(zones[i % zones.length])));
+            partials.add(new LocalDateTime(millis, DateTimeZone.UTC));
+        }
+
+        for (TemporalFormat format : TemporalFormat.values()) {
+            for (ReadablePartial partial : partials) {
+                String expected = format.getFormatter().print(partial).replace('\uFFFD', '0');
+                assertThat(format + " " + partial, format.print(partial), is(expected));
+
+                StringBuilder sb = new StringBuilder("x");
+                format.printTo(sb, partial);
+                assertThat(sb.toString(), is("x" + expected));
+                char[] chars = new char[40];
+                assertThat(new String(chars, 1, format.printTo(chars, 1, partial)), is(expected));
+            }
+            for (ReadableInstant instant : instants) {
+                String expected = format.getFormatter().print(instant);
+                assertThat(format + " " + instant, format.print(instant), is(expected));
+                assertThat(format.print(instant.getMillis()), is(format.getFormatter().print(instant.getMillis())));
+
+                StringBuilder sb = new StringBuilder("x");
+                format.printTo(sb, instant);
+                assertThat(sb.toString(), is("x" + expected));
+                char[] chars = new char[40];
+                assertThat(new String(chars, 1, format.printTo(chars, 1, instant)), is(expected));
+            }
+        }
+    }
+
+    @Test
+    public void printTo_writesToWriterInOneCall() throws Exception {
+        CountingWriter writer = new CountingWriter();
+        DD_MM_YYYY.printTo(writer, new LocalDate(2007, 2, 23));
+        YYYYMMDDHHMMSS.printTo(writer, new DateTime(2007, 2, 23, 13, 37, 42));
+        NumberFormat.N_COMMA_DD.getFormatter().formatTo(writer, 10000.295);
+        assertThat(writer.toString(), is("23.02.200720070223133742" + NumberFormat.N_COMMA_DD.getFormatter().format(10000.295)));
+        assertThat(writer.writes, is(3));
+    }
+
+    /**
+     * Counts the writes, each of which would take the lock of a Writer
+     */
+    private static final class CountingWriter extends StringWriter {
+        int writes;
+
+        @Override
+        public void write(int c) {
+            writes++;
+            super.write(c);
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            writes++;
+            super.write(chars, offset, length);
+        }
+
+        @Override
+        public void write(String s) {
+            writes++;
+            super.write(s);
+        }
+
+        @Override
+        public void write(String s, int offset, int length) {
+            writes++;
+            super.write(s, offset, length);
+        }
+    }
 }
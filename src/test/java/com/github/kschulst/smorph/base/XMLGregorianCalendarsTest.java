@@ -4,9 +4,12 @@ import com.github.kschulst.smorph.converters.nullsafe.ToXMLGregorianCalendar;
 import org.joda.time.DateTime;
 import org.junit.Test;
 
+import javax.xml.datatype.DatatypeConstants;
+import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 public class XMLGregorianCalendarsTest {
@@ -29,4 +32,21 @@ public class XMLGregorianCalendarsTest {
         assertThat(XMLGregorianCalendars.isDateOnly(calWithoutTime), is(true));
     }
 
+    @Test
+    public void datatypeFactory_isReused() throws Exception {
+        assertThat(XMLGregorianCalendars.datatypeFactory(), is(sameInstance(XMLGregorianCalendars.datatypeFactory())));
+    }
+
+    @Test
+    public void newDateAndNewDateTime() throws Exception {
+        XMLGregorianCalendar expectedDate = DatatypeFactory.newInstance().newXMLGregorianCalendar();
+        expectedDate.setYear(2007);
+        expectedDate.setMonth(2);
+        expectedDate.setDay(23);
+        assertThat(XMLGregorianCalendars.newDate(2007, 2, 23), is(expectedDate));
+        assertThat(XMLGregorianCalendars.newDate(2007, 2, 23).getTimezone(), is(DatatypeConstants.FIELD_UNDEFINED));
+
+        assertThat(XMLGregorianCalendars.newDateTime(2007, 2, 23, 13, 37, 42, 19, 60),
+                is(DatatypeFactory.newInstance().newXMLGregorianCalendar(2007, 2, 23, 13, 37, 42, 19, 60)));
+    }
 }
@@ -0,0 +1,84 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.converters.nullsafe.ToLocalDate;
+import com.github.kschulst.smorph.converters.nullsafe.ToNumber;
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares converting 10k values one by one through a Converter with converting
+ * them in one batch:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="BatchConversion -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchConversionBenchmark {
+
+    private static final int SIZE = 10000;
+
+    private final String[] dates = new String[SIZE];
+    private final String[] numbers = new String[SIZE];
+    private final LocalDate[] localDates = new LocalDate[SIZE];
+    private final long[] longs = new long[SIZE];
+    private final BitSet failures = new BitSet(SIZE);
+
+    @Setup
+    public void setup() {
+        LocalDate date = new LocalDate(2007, 2, 23);
+        for (int i = 0; i < SIZE; i++) {
+            // Every 100th value is invalid
+            dates[i] = (i % 100 == 0) ? "bogus" : date.plusDays(i).toString();
+            numbers[i] = (i % 100 == 0) ? "12a" : String.valueOf(i * 7919L);
+        }
+    }
+
+    @Benchmark
+    public LocalDate[] localDates_oneByOne() {
+        for (int i = 0; i < SIZE; i++) {
+            localDates[i] = ToLocalDate.convert(dates[i], TemporalFormat.ISO8601DateOnly).trimInput().withNullAsDefaultValue();
+        }
+        return localDates;
+    }
+
+    @Benchmark
+    public LocalDate[] localDates_convertAll() {
+        failures.clear();
+        ToLocalDate.convertAll(dates, TemporalFormat.ISO8601DateOnly, localDates, failures);
+        return localDates;
+    }
+
+    @Benchmark
+    public long[] longs_oneByOne() {
+        for (int i = 0; i < SIZE; i++) {
+            Long value = ToNumber.convertAsLong(numbers[i]).withNullAsDefaultValue();
+            longs[i] = (value == null) ? 0 : value;
+        }
+        return longs;
+    }
+
+    @Benchmark
+    public long[] longs_parseAll() {
+        failures.clear();
+        ToNumber.parseAllLongs(numbers, longs, failures);
+        return longs;
+    }
+}
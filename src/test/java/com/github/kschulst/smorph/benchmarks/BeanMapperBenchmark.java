@@ -0,0 +1,95 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.converters.formatters.ToDateString;
+import com.github.kschulst.smorph.converters.nullsafe.ToDateTime;
+import com.github.kschulst.smorph.converters.nullsafe.ToLocalDate;
+import com.github.kschulst.smorph.converters.nullsafe.ToNumber;
+import com.github.kschulst.smorph.converters.nullsafe.ToValue;
+import com.github.kschulst.smorph.mapping.BeanMapper;
+import com.github.kschulst.smorph.mapping.MappingPlan;
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.namespace.QName;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares mapping a bean with the BeanMapper against hand-written mapping
+ * code calling the same converters:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="BeanMapperBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanMapperBenchmark {
+
+    public static class Source {
+        String name = "Ola Nordmann";
+        String birthDate = "23.02.2007";
+        XMLGregorianCalendar updated;
+        Integer amount = 42;
+        JAXBElement<String> nickname = new JAXBElement<String>(new QName("nickname"), String.class, "Ola");
+        LocalDate endDate = new LocalDate(2007, 3, 1);
+    }
+
+    public static class Target {
+        String name;
+        LocalDate birthDate;
+        DateTime updated;
+        BigDecimal amount;
+        String nickname;
+        String endDate;
+    }
+
+    private static final BeanMapper MAPPER = BeanMapper.create().withDefaultFormat(TemporalFormat.DD_MM_YYYY);
+
+    private Source source = new Source();
+    private MappingPlan<Source, Target> plan = MAPPER.plan(Source.class, Target.class);
+
+    @Setup
+    public void setUp() throws Exception {
+        source.updated = DatatypeFactory.newInstance().newXMLGregorianCalendar("2007-02-23T13:37:42.019+01:00");
+    }
+
+    @Benchmark
+    public Target handWritten() {
+        Target target = new Target();
+        target.name = source.name;
+        target.birthDate = ToLocalDate.from(source.birthDate, TemporalFormat.DD_MM_YYYY);
+        target.updated = ToDateTime.from(source.updated);
+        target.amount = ToNumber.asBigDecimal(source.amount);
+        target.nickname = ToValue.from(source.nickname);
+        target.endDate = ToDateString.from(source.endDate, TemporalFormat.DD_MM_YYYY);
+        return target;
+    }
+
+    @Benchmark
+    public Target beanMapper() {
+        return MAPPER.map(source, Target.class);
+    }
+
+    @Benchmark
+    public Target mappingPlan() {
+        return plan.map(source);
+    }
+}
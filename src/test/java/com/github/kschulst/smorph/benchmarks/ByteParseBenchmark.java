@@ -0,0 +1,80 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.converters.nullsafe.ToLocalDate;
+import com.github.kschulst.smorph.converters.nullsafe.ToNumber;
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing numbers and dates straight from ASCII bytes with decoding
+ * them into a String first:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="ByteParseBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ByteParseBenchmark {
+
+    // A record of fixed width fields: a long, an int and a yyyyMMdd date
+    private byte[] record = "|1234567890123456|20070223|20070223|".getBytes(StandardCharsets.US_ASCII);
+    private ByteBuffer directRecord = ByteBuffer.allocateDirect(record.length);
+
+    public ByteParseBenchmark() {
+        directRecord.put(record);
+        directRecord.clear();
+    }
+
+    @Benchmark
+    public long long_decoded() {
+        return ToNumber.parseLong(new String(record, 1, 16, StandardCharsets.US_ASCII), -1L);
+    }
+
+    @Benchmark
+    public long long_bytes() {
+        return ToNumber.longFromBytes(record, 1, 16, -1L);
+    }
+
+    @Benchmark
+    public int int_decoded() {
+        return ToNumber.parseInt(new String(record, 18, 8, StandardCharsets.US_ASCII), -1);
+    }
+
+    @Benchmark
+    public int int_bytes() {
+        return ToNumber.intFromBytes(record, 18, 8, -1);
+    }
+
+    @Benchmark
+    public LocalDate localDate_decoded() {
+        return ToLocalDate.from(new String(record, 27, 8, StandardCharsets.US_ASCII), TemporalFormat.YYYYMMDD);
+    }
+
+    @Benchmark
+    public LocalDate localDate_bytes() {
+        return ToLocalDate.fromBytes(record, 27, 8, TemporalFormat.YYYYMMDD);
+    }
+
+    @Benchmark
+    public LocalDate localDate_directBuffer() {
+        directRecord.limit(35).position(27);
+        return ToLocalDate.fromBytes(directRecord, TemporalFormat.YYYYMMDD);
+    }
+}
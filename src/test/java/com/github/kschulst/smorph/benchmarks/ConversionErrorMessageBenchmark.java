@@ -0,0 +1,60 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.converters.ConversionException;
+import com.github.kschulst.smorph.converters.nullsafe.ToNumber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the success path of {@code orThrowException} with {@code withNullAsDefaultValue}.
+ * Run with the gc profiler and compare {@code gc.alloc.rate.norm}, which should be the same
+ * for both since the exception message is only rendered on failure:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="ConversionErrorMessage -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionErrorMessageBenchmark {
+
+    private String valid = "1234567";
+    private String invalid = "12e4567";
+
+    @Benchmark
+    public Integer success_withNullAsDefaultValue() {
+        return ToNumber.convertAsInteger(valid).withNullAsDefaultValue();
+    }
+
+    @Benchmark
+    public Integer success_orThrowException() {
+        return ToNumber.convertAsInteger(valid).orThrowException("Custom error message", "amount");
+    }
+
+    @Benchmark
+    public Integer failure_withNullAsDefaultValue() {
+        return ToNumber.convertAsInteger(invalid).withNullAsDefaultValue();
+    }
+
+    @Benchmark
+    public Object failure_orThrowException() {
+        try {
+            return ToNumber.convertAsInteger(invalid).orThrowException("Custom error message", "amount");
+        }
+        catch (ConversionException e) {
+            return e.getConversionReference();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.converters.nullsafe.ToDate;
+import com.github.kschulst.smorph.mapping.ConverterRegistry;
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares converting values of unknown type to Date with the ConverterRegistry
+ * against a chain of instanceof checks calling the same converters:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="ConverterRegistryBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterRegistryBenchmark {
+
+    private static final ConverterRegistry REGISTRY = ConverterRegistry.create().withDefaultFormat(TemporalFormat.DD_MM_YYYY);
+
+    private Object[] values;
+
+    @Setup
+    public void setUp() throws Exception {
+        values = new Object[] {
+                new GregorianCalendar(2007, Calendar.FEBRUARY, 23),
+                DatatypeFactory.newInstance().newXMLGregorianCalendar("2007-02-23T13:37:42.019+01:00"),
+                "23.02.2007",
+                new LocalDate(2007, 2, 23),
+                new DateTime(2007, 2, 23, 13, 37)
+        };
+    }
+
+    @Benchmark
+    public void instanceOfChain(Blackhole bh) {
+        for (Object value : values) {
+            bh.consume(toDate(value));
+        }
+    }
+
+    @Benchmark
+    public void registry(Blackhole bh) {
+        for (Object value : values) {
+            bh.consume(REGISTRY.convert(value, Date.class));
+        }
+    }
+
+    private static Date toDate(Object value) {
+        if (value instanceof Calendar) {
+            return ToDate.from((Calendar) value);
+        }
+        if (value instanceof XMLGregorianCalendar) {
+            return ToDate.from((XMLGregorianCalendar) value);
+        }
+        if (value instanceof String) {
+            return ToDate.from((String) value, TemporalFormat.DD_MM_YYYY);
+        }
+        if (value instanceof LocalDate) {
+            return ToDate.from((LocalDate) value);
+        }
+        if (value instanceof DateTime) {
+            return ToDate.from((DateTime) value);
+        }
+        throw new IllegalArgumentException("No conversion from " + value.getClass().getName() + " to Date");
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.converters.formatters.ToDateString;
+import com.github.kschulst.smorph.converters.nullsafe.ToDate;
+import com.github.kschulst.smorph.converters.nullsafe.ToDateTime;
+import com.github.kschulst.smorph.converters.nullsafe.ToXMLGregorianCalendar;
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the conversions going straight to the target against the chains
+ * through Joda objects they replaced:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="DirectConversionBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirectConversionBenchmark {
+
+    private XMLGregorianCalendar xmlGregorianCalendar;
+    private Calendar calendar = Calendar.getInstance();
+    private Date date = new Date(1172237862019L);
+
+    @Setup
+    public void setUp() throws Exception {
+        xmlGregorianCalendar = DatatypeFactory.newInstance().newXMLGregorianCalendar("2007-02-23T13:37:42+01:00");
+        calendar.setTimeInMillis(1172237862019L);
+    }
+
+    @Benchmark
+    public Date xmlGregorianCalendarToDate_chained() {
+        return ToDateTime.from(xmlGregorianCalendar).toDate();
+    }
+
+    @Benchmark
+    public Date xmlGregorianCalendarToDate_direct() {
+        return ToDate.from(xmlGregorianCalendar);
+    }
+
+    @Benchmark
+    public XMLGregorianCalendar calendarAsDateOnly_chained() {
+        LocalDate d = new LocalDate(calendar);
+        return ToXMLGregorianCalendar.asDateOnly(d);
+    }
+
+    @Benchmark
+    public XMLGregorianCalendar calendarAsDateOnly_direct() {
+        return ToXMLGregorianCalendar.asDateOnly(calendar);
+    }
+
+    @Benchmark
+    public String dateToString_chained() {
+        return ToDateString.format(new DateTime(date), TemporalFormat.DD_MM_YYYY_HH_MM_SS).withNullAsDefaultValue();
+    }
+
+    @Benchmark
+    public String dateToString_direct() {
+        return ToDateString.from(date, TemporalFormat.DD_MM_YYYY_HH_MM_SS);
+    }
+}
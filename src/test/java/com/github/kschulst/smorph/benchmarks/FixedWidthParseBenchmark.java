@@ -0,0 +1,64 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing fixed width formats through {@link TemporalFormat} with
+ * parsing through its Joda formatter:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="FixedWidthParse -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixedWidthParseBenchmark {
+
+    @Param({"YYYYMMDD", "ISO8601DateOnly", "DD_MM_YYYY", "YYYYMMDDHHMMSS", "DD_MM_YYYY_HH_MM_SS"})
+    private TemporalFormat format;
+
+    private String value;
+
+    @Setup
+    public void setup() {
+        value = format.exampleString();
+    }
+
+    @Benchmark
+    public LocalDate localDate_formatter() {
+        return format.getFormatter().parseLocalDate(value);
+    }
+
+    @Benchmark
+    public LocalDate localDate_fixedWidth() {
+        return format.parseLocalDate(value);
+    }
+
+    @Benchmark
+    public DateTime dateTime_formatter() {
+        return format.getFormatter().parseDateTime(value);
+    }
+
+    @Benchmark
+    public DateTime dateTime_fixedWidth() {
+        return format.parseDateTime(value);
+    }
+}
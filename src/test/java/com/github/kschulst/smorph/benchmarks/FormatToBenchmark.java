@@ -0,0 +1,72 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.base.NumberFormat;
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.converters.formatters.ToDateString;
+import com.github.kschulst.smorph.converters.formatters.ToNumberString;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing a CSV line of a date and two numbers by appending the Strings
+ * returned by ToDateString/ToNumberString with formatting straight into the buffer:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="FormatToBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatToBenchmark {
+
+    private DateTime dateTime = new DateTime(2007, 2, 23, 13, 37, 42, 19);
+    private double amount = 12345.678901;
+    private long count = 1234567890L;
+
+    private StringBuilder sb = new StringBuilder(64);
+    private char[] chars = new char[64];
+
+    @Benchmark
+    public int appendStrings() {
+        sb.setLength(0);
+        sb.append(ToDateString.from(dateTime, TemporalFormat.DD_MM_YYYY_HH_MM_SS)).append(';')
+                .append(ToNumberString.from(amount, NumberFormat.N_COMMA_DD)).append(';')
+                .append(ToNumberString.from(count, NumberFormat.NO_DECIMALS));
+        return sb.length();
+    }
+
+    @Benchmark
+    public int formatToStringBuilder() throws IOException {
+        sb.setLength(0);
+        ToDateString.formatTo(sb, dateTime, TemporalFormat.DD_MM_YYYY_HH_MM_SS);
+        sb.append(';');
+        ToNumberString.formatTo(sb, amount, NumberFormat.N_COMMA_DD);
+        sb.append(';');
+        ToNumberString.formatTo(sb, count, NumberFormat.NO_DECIMALS);
+        return sb.length();
+    }
+
+    @Benchmark
+    public int formatToCharArray() {
+        int length = ToDateString.formatTo(chars, 0, dateTime, TemporalFormat.DD_MM_YYYY_HH_MM_SS);
+        chars[length++] = ';';
+        length += ToNumberString.formatTo(chars, length, amount, NumberFormat.N_COMMA_DD);
+        chars[length++] = ';';
+        length += ToNumberString.formatTo(chars, length, count, NumberFormat.NO_DECIMALS);
+        return length;
+    }
+}
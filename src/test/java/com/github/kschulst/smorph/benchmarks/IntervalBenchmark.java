@@ -0,0 +1,59 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.converters.nullsafe.ToInterval;
+import org.joda.time.DateTime;
+import org.joda.time.Interval;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building intervals straight from their endpoints against printing
+ * the endpoints to an interval string and parsing it back:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="IntervalBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntervalBenchmark {
+
+    private DateTime start = new DateTime(2007, 2, 23, 21, 11, 13, 19);
+    private DateTime end = new DateTime(2008, 9, 18, 8, 7, 37, 0);
+    private Date startDate = start.toDate();
+    private Date endDate = end.toDate();
+
+    @Benchmark
+    public Interval dateTime_roundTrip() {
+        return ToInterval.from(start + "/" + end, TemporalFormat.ISO8601DateTimeWithMillis, "/");
+    }
+
+    @Benchmark
+    public Interval dateTime_direct() {
+        return ToInterval.from(start, end);
+    }
+
+    @Benchmark
+    public Interval date_direct() {
+        return ToInterval.from(startDate, endDate);
+    }
+
+    @Benchmark
+    public Interval string() {
+        return ToInterval.from("23.02.2007 - 18.09.2008", TemporalFormat.DD_MM_YYYY, " - ");
+    }
+}
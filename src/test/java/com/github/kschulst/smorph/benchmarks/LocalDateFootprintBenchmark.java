@@ -0,0 +1,57 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.base.LocalDateTable;
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.converters.nullsafe.ToLocalDate;
+import org.joda.time.LocalDate;
+
+/**
+ * Measures the heap retained by converted dates with and without the
+ * {@link LocalDateTable}. Not a JMH benchmark, since it measures memory
+ * rather than time. Converts 10M date strings (or the number given as
+ * argument) spread over 30 years, and reports the heap used after GC:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.github.kschulst.smorph.benchmarks.LocalDateFootprintBenchmark -Dbenchmark.args=
+ * </pre>
+ */
+public final class LocalDateFootprintBenchmark {
+
+    private LocalDateFootprintBenchmark() {}
+
+    public static void main(String[] args) {
+        int count = (args.length > 0) ? Integer.parseInt(args[0]) : 10000000;
+
+        String[] strings = new String[30 * 366];
+        LocalDate first = new LocalDate(1990, 1, 1);
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = first.plusDays(i).toString(TemporalFormat.YYYYMMDD.getPattern());
+        }
+
+        LocalDateTable.disable();
+        System.out.printf("Without table: %,d bytes retained by %,d dates%n", retained(strings, count), count);
+
+        LocalDateTable.setYearRange(1900, 2100);
+        System.out.printf("With table:    %,d bytes retained by %,d dates%n", retained(strings, count), count);
+    }
+
+    private static long retained(String[] strings, int count) {
+        long before = usedHeap();
+        LocalDate[] dates = new LocalDate[count];
+        for (int i = 0; i < count; i++) {
+            dates[i] = ToLocalDate.from(strings[i % strings.length], TemporalFormat.YYYYMMDD);
+        }
+        long retained = usedHeap() - before;
+        if (dates[count - 1] == null) {
+            throw new IllegalStateException("Conversion failed");
+        }
+        return retained;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.base.NumberFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares formatting numbers with the DecimalFormat of NumberFormat with its
+ * FixedPointFormatter:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="NumberFormatBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberFormatBenchmark {
+
+    private NumberFormat format = NumberFormat.N_COMMA_DD;
+    private double doubleValue = 12345.678901;
+    private long longValue = 1234567890L;
+    private BigDecimal bigDecimalValue = new BigDecimal("12345.678");
+
+    @Benchmark
+    public String double_decimalFormat() {
+        return format.getFormat().format(doubleValue);
+    }
+
+    @Benchmark
+    public String double_fixedPoint() {
+        return format.getFormatter().format(doubleValue);
+    }
+
+    @Benchmark
+    public String long_decimalFormat() {
+        return format.getFormat().format(longValue);
+    }
+
+    @Benchmark
+    public String long_fixedPoint() {
+        return format.getFormatter().format(longValue);
+    }
+
+    @Benchmark
+    public String bigDecimal_decimalFormat() {
+        return format.getFormat().format(bigDecimalValue);
+    }
+
+    @Benchmark
+    public String bigDecimal_fixedPoint() {
+        return format.getFormatter().format(bigDecimalValue);
+    }
+}
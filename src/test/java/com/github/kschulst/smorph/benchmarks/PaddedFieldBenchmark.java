@@ -0,0 +1,56 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.converters.nullsafe.ToDateTime;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.kschulst.smorph.base.TemporalFormat.YYYYMMDD;
+
+/**
+ * Compares converting space padded fields in place against copying them into
+ * trimmed Strings first:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="PaddedFieldBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaddedFieldBenchmark {
+
+    private StringBuilder field = new StringBuilder("  20070223    ");
+    private StringBuilder record = new StringBuilder("  0042  20070223    ");
+
+    @Benchmark
+    public DateTime field_copied() {
+        return ToDateTime.from(field.toString().trim(), YYYYMMDD);
+    }
+
+    @Benchmark
+    public DateTime field_inPlace() {
+        return ToDateTime.from(field, YYYYMMDD);
+    }
+
+    @Benchmark
+    public DateTime record_copied() {
+        return ToDateTime.from(record.substring(8, 20), YYYYMMDD);
+    }
+
+    @Benchmark
+    public DateTime record_inPlace() {
+        return ToDateTime.from(record, 8, 20, YYYYMMDD);
+    }
+}
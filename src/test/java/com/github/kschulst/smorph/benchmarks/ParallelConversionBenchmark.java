@@ -0,0 +1,77 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.converters.nullsafe.ToDateTime;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how parallel conversion of 1M timestamps scales with the number of
+ * threads in the pool. Compare the score of each thread count with the one of
+ * a single thread:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="ParallelConversion"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelConversionBenchmark {
+
+    private static final int SIZE = 1000000;
+    private static final TemporalFormat FORMAT = TemporalFormat.YYYYMMDDHHMMSS;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    private int threads;
+
+    private final String[] timestamps = new String[SIZE];
+    private final DateTime[] dateTimes = new DateTime[SIZE];
+    private final BitSet failures = new BitSet(SIZE);
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        DateTime dateTime = new DateTime(2007, 2, 23, 13, 37, 42);
+        for (int i = 0; i < SIZE; i++) {
+            timestamps[i] = dateTime.plusSeconds(i * 61).toString(FORMAT.getPattern());
+        }
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public DateTime[] sequential() {
+        failures.clear();
+        ToDateTime.convertAll(timestamps, FORMAT, dateTimes, failures);
+        return dateTimes;
+    }
+
+    @Benchmark
+    public DateTime[] parallel() {
+        failures.clear();
+        ToDateTime.convertAll(timestamps, FORMAT, dateTimes, failures, pool);
+        return dateTimes;
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.converters.ParseCache;
+import com.github.kschulst.smorph.converters.nullsafe.ToDateTime;
+import com.github.kschulst.smorph.converters.nullsafe.ToNumber;
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares converting strings drawn from a set of 2000 distinct values with
+ * and without a ParseCache:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="ParseCache -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ParseCacheBenchmark {
+
+    private static final int DISTINCT = 2000;
+
+    private final String[] dateTimes = new String[DISTINCT];
+    private final String[] amounts = new String[DISTINCT];
+    private final ParseCache cache = ParseCache.withMaximumSize(10000);
+
+    @State(Scope.Thread)
+    public static class Position {
+        int next;
+
+        int next() {
+            next = (next + 7) % DISTINCT;
+            return next;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        LocalDate date = new LocalDate(2007, 2, 23);
+        for (int i = 0; i < DISTINCT; i++) {
+            dateTimes[i] = date.plusDays(i).toDateTimeAtStartOfDay().plusMinutes(i).toString(TemporalFormat.ISO8601DateTime.getPattern());
+            amounts[i] = i + "." + (i * 7919 % 1000) + "E-3";
+        }
+    }
+
+    @Benchmark
+    public DateTime dateTime_uncached(Position position) {
+        return ToDateTime.from(dateTimes[position.next()], TemporalFormat.ISO8601DateTime);
+    }
+
+    @Benchmark
+    public DateTime dateTime_cached(Position position) {
+        return ToDateTime.from(dateTimes[position.next()], TemporalFormat.ISO8601DateTime, cache);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal_uncached(Position position) {
+        return ToNumber.asBigDecimal(amounts[position.next()]);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal_cached(Position position) {
+        return ToNumber.asBigDecimal(amounts[position.next()], cache);
+    }
+}
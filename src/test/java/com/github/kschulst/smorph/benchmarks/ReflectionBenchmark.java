@@ -0,0 +1,104 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.reflect.FieldAccessor;
+import com.github.kschulst.smorph.reflect.Reflection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares looking up fields of a deep class hierarchy by walking the
+ * superclasses (the way Reflection did before caching) with the cached lookup,
+ * and reading a long field by Field.get, through the cached Field and through
+ * a FieldAccessor:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="ReflectionBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReflectionBenchmark {
+
+    @SuppressWarnings("unused")
+    public static class Level1 { private String a1; private int b1; private long c1; private double d1; }
+    @SuppressWarnings("unused")
+    public static class Level2 extends Level1 { private String a2; private int b2; private long c2; private double d2; }
+    @SuppressWarnings("unused")
+    public static class Level3 extends Level2 { private String a3; private int b3; private long c3; private double d3; }
+    @SuppressWarnings("unused")
+    public static class Level4 extends Level3 { private String a4; private int b4; private long c4; private double d4; }
+    @SuppressWarnings("unused")
+    public static class Level5 extends Level4 { private String a5; private int b5; private long c5; private double d5; }
+    @SuppressWarnings("unused")
+    public static class Level6 extends Level5 { private String a6; private int b6; private long c6; private double d6; }
+
+    private Level6 target = new Level6();
+    private Field cachedField = Reflection.findField(Level6.class, "c1");
+    private FieldAccessor accessor = FieldAccessor.of(Level6.class, "c1");
+
+    @Benchmark
+    public Field findField_walkingHierarchy() {
+        return walkHierarchy(Level6.class, "a1");
+    }
+
+    @Benchmark
+    public Field findField() {
+        return Reflection.findField(Level6.class, "a1");
+    }
+
+    @Benchmark
+    public Object getField_walkingHierarchy() throws Exception {
+        Field field = walkHierarchy(target.getClass(), "c1");
+        field.setAccessible(true);
+        return field.get(target);
+    }
+
+    @Benchmark
+    public Object getField() {
+        return Reflection.getField(target, "c1");
+    }
+
+    @Benchmark
+    public Object get_cachedField() throws Exception {
+        return cachedField.get(target);
+    }
+
+    @Benchmark
+    public long getLong_cachedField() throws Exception {
+        return cachedField.getLong(target);
+    }
+
+    @Benchmark
+    public Object get_accessor() {
+        return accessor.get(target);
+    }
+
+    @Benchmark
+    public long getLong_accessor() {
+        return accessor.getLong(target);
+    }
+
+    private static Field walkHierarchy(Class<?> clazz, String name) {
+        for (Class<?> searchType = clazz; searchType != null && !Object.class.equals(searchType); searchType = searchType.getSuperclass()) {
+            for (Field field : searchType.getDeclaredFields()) {
+                if (name.equals(field.getName())) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.converters.ConversionException;
+import com.github.kschulst.smorph.converters.nullsafe.ToLocalDate;
+import com.github.kschulst.smorph.converters.nullsafe.ToNumber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Failure path throughput of {@code orThrowException} with and without stackless exceptions:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="StacklessConversionException"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StacklessConversionExceptionBenchmark {
+
+    private String invalidDate = "31.02.2007";
+    private String invalidNumber = "12e4567";
+
+    @Benchmark
+    public Object date_withStackTrace() {
+        try {
+            return ToLocalDate.convert(invalidDate, TemporalFormat.DD_MM_YYYY).orThrowException("birthDate");
+        }
+        catch (ConversionException e) {
+            return e.getConversionReference();
+        }
+    }
+
+    @Benchmark
+    public Object date_stackless() {
+        try {
+            return ToLocalDate.convert(invalidDate, TemporalFormat.DD_MM_YYYY).stacklessExceptions().orThrowException("birthDate");
+        }
+        catch (ConversionException e) {
+            return e.getConversionReference();
+        }
+    }
+
+    @Benchmark
+    public Object number_withStackTrace() {
+        try {
+            return ToNumber.convertAsInteger(invalidNumber).orThrowException("amount");
+        }
+        catch (ConversionException e) {
+            return e.getConversionReference();
+        }
+    }
+
+    @Benchmark
+    public Object number_stackless() {
+        try {
+            return ToNumber.convertAsInteger(invalidNumber).stacklessExceptions().orThrowException("amount");
+        }
+        catch (ConversionException e) {
+            return e.getConversionReference();
+        }
+    }
+}
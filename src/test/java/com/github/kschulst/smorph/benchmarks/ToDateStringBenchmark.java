@@ -0,0 +1,70 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.converters.formatters.ToDateString;
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares ToDateString with printing by the Joda formatter, with and without
+ * replacing the characters printed for unknown fields by a regex:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="ToDateStringBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToDateStringBenchmark {
+
+    @Param({"DD_MM_YYYY_HH_MM_SS", "ISO8601DateTime"})
+    private TemporalFormat format;
+
+    private LocalDate localDate = new LocalDate(2007, 2, 23);
+    private DateTime dateTime = new DateTime(2007, 2, 23, 13, 37, 42, 19);
+
+    @Benchmark
+    public String localDate_jodaPrinter() {
+        return format.getFormatter().print(localDate);
+    }
+
+    @Benchmark
+    public String localDate_jodaPrinterWithRegex() {
+        return format.getFormatter().print(localDate).replaceAll("�", "0");
+    }
+
+    @Benchmark
+    public String localDate() {
+        return ToDateString.from(localDate, format);
+    }
+
+    @Benchmark
+    public String dateTime_jodaPrinter() {
+        return format.getFormatter().print(dateTime);
+    }
+
+    @Benchmark
+    public String dateTime_jodaPrinterWithRegex() {
+        return format.getFormatter().print(dateTime).replaceAll("�", "0");
+    }
+
+    @Benchmark
+    public String dateTime() {
+        return ToDateString.from(dateTime, format);
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.kschulst.smorph.benchmarks;
+
+import com.github.kschulst.smorph.converters.nullsafe.ToXMLGregorianCalendar;
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares creating XMLGregorianCalendars through ToXMLGregorianCalendar with
+ * looking up a new DatatypeFactory for every calendar:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="XMLGregorianCalendar -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XMLGregorianCalendarBenchmark {
+
+    private LocalDate localDate = new LocalDate(2007, 2, 23);
+    private DateTime dateTime = new DateTime(2007, 2, 23, 13, 37, 42, 19);
+
+    @Benchmark
+    public XMLGregorianCalendar dateOnly_newFactory() throws DatatypeConfigurationException {
+        XMLGregorianCalendar calendar = DatatypeFactory.newInstance().newXMLGregorianCalendar();
+        calendar.setYear(localDate.getYear());
+        calendar.setMonth(localDate.getMonthOfYear());
+        calendar.setDay(localDate.getDayOfMonth());
+        return calendar;
+    }
+
+    @Benchmark
+    public XMLGregorianCalendar dateOnly() {
+        return ToXMLGregorianCalendar.asDateOnly(localDate);
+    }
+
+    @Benchmark
+    public XMLGregorianCalendar dateTime_newFactory() throws DatatypeConfigurationException {
+        return DatatypeFactory.newInstance().newXMLGregorianCalendar(dateTime.getYear(), dateTime.getMonthOfYear(), dateTime.getDayOfMonth(),
+                dateTime.getHourOfDay(), dateTime.getMinuteOfHour(), dateTime.getSecondOfMinute(), dateTime.getMillisOfSecond(), 1);
+    }
+
+    @Benchmark
+    public XMLGregorianCalendar dateTime() {
+        return ToXMLGregorianCalendar.asDateTime(dateTime);
+    }
+}
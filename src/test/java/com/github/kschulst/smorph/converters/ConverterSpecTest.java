@@ -0,0 +1,234 @@
+package com.github.kschulst.smorph.converters;
+
+import com.google.common.base.Function;
+import com.google.common.collect.Iterables;
+import org.joda.time.LocalDate;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ConverterSpecTest {
+
+    private static final LocalDate LOCAL_DATE = new LocalDate("2007-02-23");
+
+    private static final Function fromStringToLocalDate = new Function<Conversion<String, LocalDate>, LocalDate>() {
+        public LocalDate apply(Conversion<String, LocalDate> conversion) {
+            return new LocalDate(conversion.fromValue());
+        }
+    };
+
+    private static final Function noOperation = new Function<Conversion<String, String>, String>() {
+        public String apply(Conversion<String, String> conversion) {
+            return conversion.fromValue();
+        }
+    };
+
+    private static final ConverterSpec<String, LocalDate> TO_LOCAL_DATE = ConverterSpec.of(fromStringToLocalDate);
+    private static final ConverterSpec<String, String> NO_OPERATION = ConverterSpec.of(noOperation);
+
+    @Test
+    public void testApply_withDefaultValue() throws Exception {
+        assertThat(TO_LOCAL_DATE.apply("2007-02-23"), is(LOCAL_DATE));
+        assertThat(TO_LOCAL_DATE.apply(null), is(nullValue()));
+        assertThat(TO_LOCAL_DATE.apply("Bogus"), is(nullValue()));
+        assertThat(TO_LOCAL_DATE.withDefaultValue(LOCAL_DATE).apply(null), is(LOCAL_DATE));
+        assertThat(TO_LOCAL_DATE.withDefaultValue(LOCAL_DATE).apply("Bogus"), is(LOCAL_DATE));
+        assertThat(TO_LOCAL_DATE.withDefaultValue(LOCAL_DATE).withNullAsDefaultValue().apply("Bogus"), is(nullValue()));
+    }
+
+    @Test
+    public void testApply_orThrowException() throws Exception {
+        ConverterSpec<String, LocalDate> spec = TO_LOCAL_DATE.orThrowException("Custom error message", "birthDate");
+        try {
+            spec.apply(null);
+            fail("Expected conversion to throw exception");
+        }
+        catch (ConversionException e) {
+            assertThat(e.getConversionReference(), is("birthDate"));
+            assertThat(e.getMessage(), is("birthDate - Error converting from 'null'. Custom error message. Null is not allowed"));
+        }
+
+        try {
+            spec.apply("bogus");
+            fail("Expected conversion to throw exception due to invalid format");
+        }
+        catch (ConversionException e) {
+            assertThat(e.getMessage(), is("birthDate - Error converting from 'bogus'. Custom error message. Invalid format: \"bogus\""));
+            assertThat(e.getCause(), is(instanceOf(IllegalArgumentException.class)));
+        }
+
+        // The spec is reusable after a failure, and each message refers to its own input
+        assertThat(spec.apply("2007-02-23"), is(LOCAL_DATE));
+        try {
+            TO_LOCAL_DATE.orThrowException().apply("other");
+            fail("Expected conversion to throw exception due to invalid format");
+        }
+        catch (ConversionException e) {
+            assertThat(e.getConversionReference(), is(nullValue()));
+            assertThat(e.getMessage(), is("Error converting from 'other'. Invalid format: \"other\""));
+        }
+    }
+
+    @Test
+    public void testApply_trimInputAndAllowEmptyInput() {
+        assertThat(NO_OPERATION.trimInput().apply("  \t a string \n "), is("a string"));
+        assertThat(NO_OPERATION.apply("  \t a string \n "), is("  \t a string \n "));
+        assertThat(NO_OPERATION.apply(""), is(nullValue()));
+        assertThat(NO_OPERATION.allowEmptyInput().apply(""), is(""));
+        assertThat(NO_OPERATION.trimInput().apply("    "), is(nullValue()));
+        assertThat(NO_OPERATION.trimInput().allowEmptyInput().apply("    "), is(""));
+
+        try {
+            NO_OPERATION.trimInput().orThrowException("someField").apply("  ");
+            fail("Expected conversion to throw exception");
+        }
+        catch (ConversionException e) {
+            assertThat(e.getMessage(), is("someField - Error converting from '  '. Empty strings not allowed"));
+        }
+    }
+
+    @Test
+    public void testConfiguration_doesNotAlterOriginalSpec() {
+        ConverterSpec<String, String> trimming = NO_OPERATION.trimInput();
+        trimming.allowEmptyInput().withDefaultValue("default");
+
+        assertThat(trimming.apply(" a "), is("a"));
+        assertThat(trimming.apply("  "), is(nullValue()));
+        assertThat(NO_OPERATION.apply(" a "), is(" a "));
+    }
+
+    @Test
+    public void testApply_reentrant() {
+        final ConverterSpec<String, String>[] self = new ConverterSpec[1];
+        self[0] = ConverterSpec.of(new Function<Conversion<String, String>, String>() {
+            public String apply(Conversion<String, String> conversion) {
+                String s = conversion.fromValue();
+                return s.length() <= 1 ? s : self[0].apply(s.substring(1)) + s.charAt(0);
+            }
+        });
+
+        assertThat(self[0].apply("abcd"), is("dcba"));
+    }
+
+    @Test
+    public void testApply_concurrently() throws Exception {
+        final ConverterSpec<String, LocalDate> spec = TO_LOCAL_DATE.withDefaultValue(LOCAL_DATE);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int t = 0; t < 8; t++) {
+                final int offset = t;
+                results.add(executor.submit(new Callable<Boolean>() {
+                    public Boolean call() {
+                        for (int i = 0; i < 10000; i++) {
+                            LocalDate expected = LOCAL_DATE.plusDays((i + offset) % 365);
+                            if (!expected.equals(spec.apply(expected.toString()))) {
+                                return false;
+                            }
+                            if (!LOCAL_DATE.equals(spec.apply("bogus"))) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(), is(true));
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testConvertAll_recordsFailures() {
+        String[] in = {"2007-02-23", null, "bogus", "2007-02-24"};
+        LocalDate[] out = new LocalDate[in.length];
+        BitSet failures = new BitSet();
+
+        // Configured to throw, but batches record failures instead
+        assertThat(TO_LOCAL_DATE.orThrowException("birthDate").convertAll(in, out, failures), is(2));
+        assertThat(out, is(new LocalDate[] {LOCAL_DATE, null, null, LOCAL_DATE.plusDays(1)}));
+        assertThat(failures.toString(), is("{1, 2}"));
+
+        assertThat(TO_LOCAL_DATE.withDefaultValue(LOCAL_DATE).convertAll(Arrays.asList(in), out, null), is(2));
+        assertThat(out, is(new LocalDate[] {LOCAL_DATE, LOCAL_DATE, LOCAL_DATE, LOCAL_DATE.plusDays(1)}));
+    }
+
+    @Test
+    public void testConvertAll_range() {
+        String[] in = {" a ", "  ", "c", "d"};
+        String[] out = new String[in.length];
+        BitSet failures = new BitSet();
+
+        assertThat(NO_OPERATION.trimInput().convertAll(in, 0, 3, out, failures), is(1));
+        assertThat(out, is(new String[] {"a", null, "c", null}));
+        assertThat(failures.toString(), is("{1}"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConvertAll_outputTooSmall() {
+        NO_OPERATION.convertAll(Arrays.asList("a", "b"), new String[1], null);
+    }
+
+    @Test
+    public void testConvertAll_outputTooSmallCheckedUpFrontForCollections() {
+        String[] out = new String[1];
+        try {
+            NO_OPERATION.convertAll(Arrays.asList("a", "b"), out, null);
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            assertThat(out[0], is(nullValue()));
+        }
+        try {
+            NO_OPERATION.convertAll(Iterables.unmodifiableIterable(Arrays.asList("a", "b")), out, null);
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            assertThat(out[0], is("a"));
+        }
+    }
+
+    @Test
+    public void testConvertAll_parallel() throws Exception {
+        String[] in = new String[100000];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = (i % 97 == 0) ? "bogus" : LOCAL_DATE.plusDays(i % 5000).toString();
+        }
+        LocalDate[] expected = new LocalDate[in.length];
+        BitSet expectedFailures = new BitSet();
+        int expectedCount = TO_LOCAL_DATE.convertAll(in, expected, expectedFailures);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            LocalDate[] out = new LocalDate[in.length];
+            BitSet failures = new BitSet();
+            assertThat(TO_LOCAL_DATE.convertAll(in, out, failures, pool, 1000), is(expectedCount));
+            assertThat(out, is(expected));
+            assertThat(failures, is(expectedFailures));
+
+            out = new LocalDate[in.length];
+            assertThat(TO_LOCAL_DATE.convertAll(new LinkedList<String>(Arrays.asList(in)), out, null, pool), is(expectedCount));
+            assertThat(out, is(expected));
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -5,6 +5,11 @@ import com.github.kschulst.smorph.base.TemporalFormat;
 import org.joda.time.LocalDate;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 import static com.github.kschulst.smorph.base.TemporalFormat.DD_MM_YYYY;
 import static com.github.kschulst.smorph.converters.Converter.transform;
 import static org.hamcrest.CoreMatchers.*;
@@ -29,6 +34,12 @@ public class ConverterTest {
         }
     };
 
+    private static final Function fromObjectFailing = new Function<Conversion<Object, Object>, Object>() {
+        public Object apply(Conversion<Object, Object> conversion) {
+            return conversion.resolveDefault("Not supported");
+        }
+    };
+
     private static Function fromLocalDateToString(final TemporalFormat format) {
         return new Function<Conversion<LocalDate, String>, String>() {
             public String apply(Conversion<LocalDate, String> conversion) {
@@ -137,12 +148,75 @@ public class ConverterTest {
 
     }
 
+    @Test
+    public void testConvert_orThrowException_stacklessExceptions() throws Exception {
+        try {
+            toLocalDate("bogus").stacklessExceptions().orThrowException("birthDate");
+            fail("Expected conversion to throw exception due to invalid format");
+        }
+        catch (ConversionException e) {
+            assertThat(e.getConversionReference(), is("birthDate"));
+            assertThat(e.getMessage(), is("birthDate - Error converting from 'bogus'. Invalid format: \"bogus\""));
+            assertThat(e.getCause(), is(nullValue()));
+            assertThat(e.getStackTrace().length, is(0));
+        }
+
+        try {
+            toLocalDate(null).stacklessExceptions().orThrowException("Custom error message", "birthDate");
+            fail("Expected conversion to throw exception");
+        }
+        catch (ConversionException e) {
+            assertThat(e.getMessage(), is("birthDate - Error converting from 'null'. Custom error message. Null is not allowed"));
+            assertThat(e.getStackTrace().length, is(0));
+        }
+    }
+
+    @Test
+    public void testConvert_orThrowException_stacklessByDefault() throws Exception {
+        ConversionException.setStacklessByDefault(true);
+        try {
+            toLocalDate("bogus").orThrowException("birthDate");
+            fail("Expected conversion to throw exception due to invalid format");
+        }
+        catch (ConversionException e) {
+            assertThat(e.getMessage(), is("birthDate - Error converting from 'bogus'. Invalid format: \"bogus\""));
+            assertThat(e.getCause(), is(nullValue()));
+            assertThat(e.getStackTrace().length, is(0));
+        }
+        finally {
+            ConversionException.setStacklessByDefault(false);
+        }
+
+        try {
+            toLocalDate("bogus").orThrowException("birthDate");
+            fail("Expected conversion to throw exception due to invalid format");
+        }
+        catch (ConversionException e) {
+            assertThat(e.getCause(), is(instanceOf(IllegalArgumentException.class)));
+            assertThat(e.getStackTrace().length, is(not(0)));
+        }
+    }
+
     @Test
     public void testConvert_trimInput() {
         assertThat(noOperation("  \t  \n   a string with leading and trailing whitespace \t \n     ").trimInput().withNullAsDefaultValue(), is("a string with leading and trailing whitespace"));
         assertThat(noOperation("  \t  \n   a string with leading and trailing whitespace \t \n     ").withNullAsDefaultValue(), is("  \t  \n   a string with leading and trailing whitespace \t \n     "));
     }
 
+    @Test
+    public void testConvert_trimInput_withoutCopying() {
+        final StringBuilder input = new StringBuilder("  \t 23.02.2007 \n ");
+        Function<Conversion<CharSequence, String>, String> region = new Function<Conversion<CharSequence, String>, String>() {
+            public String apply(Conversion<CharSequence, String> conversion) {
+                assertThat(conversion.fromSequence(), is(sameInstance((CharSequence) input)));
+                return conversion.fromStart() + "-" + conversion.fromEnd();
+            }
+        };
+        assertThat(transform((CharSequence) input, region).trimInput().withNullAsDefaultValue(), is("4-14"));
+        assertThat(transform((CharSequence) input, region).withNullAsDefaultValue(), is("0-17"));
+        assertThat(noOperation((CharSequence) input).trimInput().withNullAsDefaultValue(), is((CharSequence) "23.02.2007"));
+    }
+
     @Test
     public void testConvert_allowEmptyInput() {
         assertThat(noOperation("").withNullAsDefaultValue(), is(nullValue()));
@@ -159,4 +233,42 @@ public class ConverterTest {
         }
     }
 
+    @Test
+    public void testConvert_orThrowException_messageOfChangedInput() {
+        StringBuilder buffer = new StringBuilder("31.02.2007");
+        try {
+            transform(buffer, fromObjectFailing).orThrowException("someField");
+            fail("Expected conversion to throw exception");
+        }
+        catch (ConversionException e) {
+            // A reused buffer does not change the message
+            buffer.setLength(0);
+            buffer.append("01.01.2020");
+            assertThat(e.getMessage(), is("someField - Error converting from '31.02.2007'. Not supported"));
+        }
+    }
+
+    @Test
+    public void testConvert_orThrowException_serializable() throws Exception {
+        Object unserializable = new Object() {
+            @Override
+            public String toString() {
+                return "unserializable";
+            }
+        };
+        try {
+            transform(unserializable, fromObjectFailing).orThrowException("someField");
+            fail("Expected conversion to throw exception");
+        }
+        catch (ConversionException e) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ObjectOutputStream out = new ObjectOutputStream(bytes);
+            out.writeObject(e);
+            out.close();
+            ConversionException read = (ConversionException) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+            assertThat(read.getMessage(), is("someField - Error converting from 'unserializable'. Not supported"));
+            assertThat(read.getConversionReference(), is("someField"));
+        }
+    }
+
 }
@@ -0,0 +1,188 @@
+package com.github.kschulst.smorph.converters;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.base.XMLGregorianCalendars;
+import com.github.kschulst.smorph.converters.formatters.ToDateString;
+import com.github.kschulst.smorph.converters.nullsafe.ToCalendar;
+import com.github.kschulst.smorph.converters.nullsafe.ToDate;
+import com.github.kschulst.smorph.converters.nullsafe.ToDateTime;
+import com.github.kschulst.smorph.converters.nullsafe.ToXMLGregorianCalendar;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.joda.time.chrono.BuddhistChronology;
+import org.junit.After;
+import org.junit.Test;
+
+import javax.xml.datatype.DatatypeConstants;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Verifies that the conversions going straight from the source fields to the
+ * target give the same results as the chains through Joda objects they replace
+ */
+public class DirectConversionsTest {
+
+    private static final Locale LOCALE = new Locale("nb", "NO");
+    private static final List<TemporalFormat> FORMATS = Arrays.asList(TemporalFormat.DD_MM_YYYY,
+            TemporalFormat.DD_MM_YYYY_HH_MM_SS_SSS, TemporalFormat.YYYYMMDDHHMMSS, TemporalFormat.ISO8601DateTimeWithMillis);
+
+    private final DateTimeZone defaultZone = DateTimeZone.getDefault();
+    private final TimeZone defaultTimeZone = TimeZone.getDefault();
+
+    @After
+    public void restoreDefaultZone() {
+        DateTimeZone.setDefault(defaultZone);
+        TimeZone.setDefault(defaultTimeZone);
+    }
+
+    @Test
+    public void matchesChainedConversions() {
+        for (String zone : Arrays.asList("Europe/Oslo", "UTC", "America/New_York", "Asia/Kathmandu", "Australia/Lord_Howe")) {
+            DateTimeZone.setDefault(DateTimeZone.forID(zone));
+            TimeZone.setDefault(TimeZone.getTimeZone(zone));
+
+            for (long instant : instants()) {
+                Date date = new Date(instant);
+                assertDate(date);
+                for (Calendar calendar : calendars(instant)) {
+                    assertCalendar(calendar);
+                }
+                for (XMLGregorianCalendar calendar : xmlGregorianCalendars(new DateTime(instant))) {
+                    assertXMLGregorianCalendar(calendar);
+                }
+                assertLocalDate(new LocalDate(instant));
+            }
+            // Midnight in a daylight saving gap, and a Buddhist date
+            assertLocalDate(new LocalDate(2010, 3, 14));
+            assertLocalDate(new LocalDate(2007, 10, 7));
+            assertLocalDate(new LocalDate(2550, 2, 23, BuddhistChronology.getInstance()));
+        }
+    }
+
+    private static List<Long> instants() {
+        List<Long> instants = new ArrayList<Long>(Arrays.asList(0L, -1L, 1174784400000L, 1193533200000L, 1193536800000L));
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            instants.add((random.nextLong() % (400L * 365 * 86400000L)) + random.nextInt(1000));
+        }
+        return instants;
+    }
+
+    private static List<Calendar> calendars(long instant) {
+        List<Calendar> calendars = new ArrayList<Calendar>();
+        for (Calendar calendar : Arrays.asList(Calendar.getInstance(), new GregorianCalendar(TimeZone.getTimeZone("Asia/Tokyo")),
+                Calendar.getInstance(new Locale("th", "TH")))) {
+            calendar.setTimeInMillis(instant);
+            calendars.add(calendar);
+        }
+        return calendars;
+    }
+
+    private static List<XMLGregorianCalendar> xmlGregorianCalendars(DateTime dateTime) {
+        XMLGregorianCalendar withoutMillis = XMLGregorianCalendars.newDateTime(dateTime.getYear(), dateTime.getMonthOfYear(), dateTime.getDayOfMonth(),
+                dateTime.getHourOfDay(), dateTime.getMinuteOfHour(), dateTime.getSecondOfMinute(), 0, DatatypeConstants.FIELD_UNDEFINED);
+        withoutMillis.setMillisecond(DatatypeConstants.FIELD_UNDEFINED);
+        return Arrays.asList(
+                XMLGregorianCalendars.newDate(dateTime.getYear(), dateTime.getMonthOfYear(), dateTime.getDayOfMonth()),
+                XMLGregorianCalendars.newDateTime(dateTime.getYear(), dateTime.getMonthOfYear(), dateTime.getDayOfMonth(),
+                        dateTime.getHourOfDay(), dateTime.getMinuteOfHour(), dateTime.getSecondOfMinute(), dateTime.getMillisOfSecond(), 60),
+                withoutMillis,
+                // In the daylight saving gap of Oslo and New York
+                XMLGregorianCalendars.newDateTime(2007, 3, 25, 2, 30, 0, 0, DatatypeConstants.FIELD_UNDEFINED),
+                XMLGregorianCalendars.newDateTime(2007, 3, 11, 2, 30, 0, 0, DatatypeConstants.FIELD_UNDEFINED));
+    }
+
+    // ------------------------------------------------------------------------
+    // Pairs
+    // ------------------------------------------------------------------------
+
+    private static void assertDate(Date date) {
+        String reason = "Date " + date.getTime();
+        assertXml(reason, ToXMLGregorianCalendar.asDateOnly(date), dateOnly(new LocalDate(date)));
+        assertXml(reason, ToXMLGregorianCalendar.asDateTime(date), dateTime(new DateTime(date)));
+        for (TemporalFormat format : FORMATS) {
+            String expected = format.getFormatter().print(new DateTime(date));
+            assertThat(reason, ToDateString.from(date, format), is(expected));
+            assertThat(reason, ToDateString.format(date, format).withNullAsDefaultValue(), is(expected));
+        }
+    }
+
+    private static void assertCalendar(Calendar calendar) {
+        String reason = calendar.getClass().getSimpleName() + " " + calendar.getTimeZone().getID() + " " + calendar.getTimeInMillis();
+        assertThat(reason, ToDateTime.from(calendar), is(new DateTime(calendar.getTime())));
+        assertXml(reason, ToXMLGregorianCalendar.asDateOnly(calendar), dateOnly(new LocalDate(calendar)));
+        assertXml(reason, ToXMLGregorianCalendar.asDateTime(calendar), dateTime(new DateTime(calendar)));
+        for (TemporalFormat format : FORMATS) {
+            String expected = format.getFormatter().print(new DateTime(calendar.getTime()));
+            assertThat(reason, ToDateString.from(calendar, format), is(expected));
+            assertThat(reason, ToDateString.format(calendar, format).withNullAsDefaultValue(), is(expected));
+        }
+    }
+
+    private static void assertXMLGregorianCalendar(XMLGregorianCalendar calendar) {
+        String reason = calendar.toXMLFormat();
+        DateTime dateTime = ToDateTime.from(calendar);
+        assertThat(reason, ToDate.from(calendar), is(dateTime == null ? null : dateTime.toDate()));
+        assertThat(reason, ToCalendar.from(calendar), is(dateTime == null ? null : dateTime.toCalendar(LOCALE)));
+        for (TemporalFormat format : FORMATS) {
+            String expected = (dateTime == null) ? null : format.getFormatter().print(dateTime);
+            assertThat(reason, ToDateString.from(calendar, format), is(expected));
+            assertThat(reason, ToDateString.format(calendar, format).withNullAsDefaultValue(), is(expected));
+
+            StringBuilder sb = new StringBuilder();
+            try {
+                ToDateString.formatTo(sb, calendar, format);
+            }
+            catch (java.io.IOException e) {
+                throw new AssertionError(e);
+            }
+            assertThat(reason, sb.toString(), is(expected == null ? "" : expected));
+        }
+    }
+
+    private static void assertLocalDate(LocalDate localDate) {
+        String reason = "LocalDate " + localDate;
+        assertThat(reason, ToCalendar.from(localDate), is(localDate.toDateTimeAtStartOfDay().toCalendar(LOCALE)));
+        assertXml(reason, ToXMLGregorianCalendar.asDateTime(localDate), dateTime(localDate.toDateTimeAtStartOfDay()));
+    }
+
+    // ------------------------------------------------------------------------
+    // Chained conversions
+    // ------------------------------------------------------------------------
+
+    private static XMLGregorianCalendar dateOnly(LocalDate d) {
+        try {
+            return XMLGregorianCalendars.newDate(d.getYear(), d.getMonthOfYear(), d.getDayOfMonth());
+        }
+        catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static XMLGregorianCalendar dateTime(DateTime d) {
+        try {
+            return XMLGregorianCalendars.newDateTime(d.getYear(), d.getMonthOfYear(), d.getDayOfMonth(), d.getHourOfDay(),
+                    d.getMinuteOfHour(), d.getSecondOfMinute(), d.getMillisOfSecond(), 1);
+        }
+        catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static void assertXml(String reason, XMLGregorianCalendar actual, XMLGregorianCalendar expected) {
+        assertThat(reason, actual == null ? null : actual.toXMLFormat(), is(expected == null ? null : expected.toXMLFormat()));
+    }
+}
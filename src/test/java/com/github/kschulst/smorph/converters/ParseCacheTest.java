@@ -0,0 +1,135 @@
+package com.github.kschulst.smorph.converters;
+
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.converters.nullsafe.ToDate;
+import com.github.kschulst.smorph.converters.nullsafe.Fixtures;
+import com.github.kschulst.smorph.converters.nullsafe.ToDateTime;
+import com.github.kschulst.smorph.converters.nullsafe.ToInterval;
+import com.github.kschulst.smorph.converters.nullsafe.ToLocalDate;
+import com.github.kschulst.smorph.converters.nullsafe.ToNumber;
+import org.joda.time.Interval;
+import org.joda.time.LocalDate;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ParseCacheTest {
+
+    private static final LocalDate LOCAL_DATE = new LocalDate("2007-02-23");
+
+    @Test
+    public void from_cachesResults() {
+        ParseCache cache = ParseCache.withMaximumSize(100);
+
+        LocalDate first = ToLocalDate.from("23.02.2007", TemporalFormat.DD_MM_YYYY, cache);
+        assertThat(first, is(LOCAL_DATE));
+        assertThat(ToLocalDate.from(" 23.02.2007 ", TemporalFormat.DD_MM_YYYY, cache), is(sameInstance(first)));
+        assertThat(cache.stats().missCount(), is(1L));
+        assertThat(cache.stats().hitCount(), is(1L));
+
+        // Same input, but another format or target type
+        assertThat(ToLocalDate.from("23.02.2007", TemporalFormat.DD_MM_YY, cache), is(LOCAL_DATE));
+        assertThat(ToDateTime.from("23.02.2007", TemporalFormat.DD_MM_YYYY, cache), is(LOCAL_DATE.toDateTimeAtStartOfDay()));
+        assertThat(cache.size(), is(3L));
+
+        BigDecimal amount = ToNumber.asBigDecimal("10000.295", cache);
+        assertThat(amount, is(new BigDecimal("10000.295")));
+        assertThat(ToNumber.asBigDecimal("10000.295", cache), is(sameInstance(amount)));
+        assertThat(ToNumber.asInteger("42", cache), is(42));
+
+        Interval interval = ToInterval.from("23.02.2007 - 24.02.2007", TemporalFormat.DD_MM_YYYY, " - ", cache);
+        assertThat(interval, is(new Interval(LOCAL_DATE.toDateTimeAtStartOfDay(), LOCAL_DATE.plusDays(1).toDateTimeAtStartOfDay())));
+        assertThat(ToInterval.from("23.02.2007 - 24.02.2007", TemporalFormat.DD_MM_YYYY, " - ", cache), is(sameInstance(interval)));
+    }
+
+    @Test
+    public void from_looksUpWithoutCopyingInput() {
+        ParseCache cache = ParseCache.withMaximumSize(100);
+        LocalDate first = ToLocalDate.from("23.02.2007", TemporalFormat.DD_MM_YYYY, cache);
+        assertThat(ToLocalDate.from(Fixtures.uncopyable(" 23.02.2007 "), TemporalFormat.DD_MM_YYYY, cache), is(sameInstance(first)));
+        assertThat(cache.stats().hitCount(), is(1L));
+    }
+
+    @Test
+    public void spec_doesNotCacheOtherInputThanStrings() {
+        ParseCache cache = ParseCache.withMaximumSize(100);
+
+        // Printed alike, but not the same instant
+        Date first = new Date(1000);
+        Date second = new Date(1500);
+        assertThat(first.toString(), is(second.toString()));
+        assertThat(cache.spec(ToDateTime.dateSpec).apply(first).getMillis(), is(1000L));
+        assertThat(cache.spec(ToDateTime.dateSpec).apply(second).getMillis(), is(1500L));
+
+        // Printed alike, but not the same double
+        assertThat(cache.spec(ToNumber.numberAsDoubleSpec).apply(0.1d), is(0.1d));
+        assertThat(cache.spec(ToNumber.numberAsDoubleSpec).apply(0.1f), is((double) 0.1f));
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test
+    public void from_doesNotCacheFailures() {
+        ParseCache cache = ParseCache.withMaximumSize(100);
+
+        assertThat(ToLocalDate.from("bogus", TemporalFormat.DD_MM_YYYY, cache), is(nullValue()));
+        assertThat(ToLocalDate.from(null, TemporalFormat.DD_MM_YYYY, cache), is(nullValue()));
+        assertThat(cache.size(), is(0L));
+
+        ConverterSpec<CharSequence, LocalDate> spec = cache.spec(ToLocalDate.stringSpec(TemporalFormat.DD_MM_YYYY).withDefaultValue(LOCAL_DATE));
+        assertThat(spec.apply("bogus"), is(LOCAL_DATE));
+        assertThat(cache.size(), is(0L));
+
+        try {
+            cache.spec(ToLocalDate.stringSpec(TemporalFormat.DD_MM_YYYY).orThrowException("birthDate")).apply("bogus");
+            fail("Expected conversion to throw exception");
+        }
+        catch (ConversionException e) {
+            assertThat(e.getConversionReference(), is("birthDate"));
+        }
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test
+    public void from_copiesMutableResults() {
+        ParseCache cache = ParseCache.withMaximumSize(100);
+
+        Date first = ToDate.from("23.02.2007", TemporalFormat.DD_MM_YYYY, cache);
+        long time = first.getTime();
+        first.setTime(0);
+
+        Date second = ToDate.from("23.02.2007", TemporalFormat.DD_MM_YYYY, cache);
+        assertThat(second.getTime(), is(time));
+        assertThat(cache.stats().hitCount(), is(1L));
+        assertThat(ToDate.from("23.02.2007", TemporalFormat.DD_MM_YYYY, cache), is(not(sameInstance(second))));
+    }
+
+    @Test
+    public void withMaximumSize_evicts() {
+        ParseCache cache = ParseCache.withMaximumSize(2);
+        for (int day = 1; day <= 20; day++) {
+            ToLocalDate.from(day + ".02.2007", TemporalFormat.DD_MM_YYYY, cache);
+        }
+        assertThat(cache.size() <= 2, is(true));
+        assertThat(cache.stats().evictionCount() >= 18, is(true));
+
+        cache.invalidateAll();
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test
+    public void spec_isReused() {
+        ParseCache cache = ParseCache.withMaximumSize(100);
+        ConverterSpec<String, Integer> spec = ToNumber.stringAsIntegerSpec;
+        assertThat(cache.spec(spec), is(sameInstance(cache.spec(spec))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void withMaximumSize_mustBePositive() {
+        ParseCache.withMaximumSize(0);
+    }
+}
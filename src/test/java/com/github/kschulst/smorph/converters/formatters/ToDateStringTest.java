@@ -1,9 +1,14 @@
 package com.github.kschulst.smorph.converters.formatters;
 
+import com.github.kschulst.smorph.base.TemporalFormat;
+import com.github.kschulst.smorph.converters.nullsafe.ToXMLGregorianCalendar;
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
 import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
 import org.junit.Test;
 
+import javax.xml.datatype.XMLGregorianCalendar;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
@@ -109,4 +114,48 @@ public class ToDateStringTest {
         assertThat(ToDateString.from(cal, ISO8601DateOnly), is("2007-02-23"));
     }
 
+    @Test
+    public void formatTo_matchesFrom() throws Exception {
+        LocalDate localDate = new LocalDate("2007-02-23");
+        LocalDateTime localDateTime = new LocalDateTime("2007-02-23T13:37:42.019");
+        DateTime dateTime = new DateTime("2007-02-23T13:37:42.019");
+        DateTime utcDateTime = new DateTime("2007-02-23T23:37:42.019", DateTimeZone.UTC);
+        Date date = dateTime.toDate();
+        Calendar calendar = dateTime.toCalendar(NORWEGIAN_LOCALE);
+        XMLGregorianCalendar xmlGregorianCalendar = ToXMLGregorianCalendar.asDateTime(dateTime);
+
+        for (TemporalFormat format : TemporalFormat.values()) {
+            StringBuilder sb = new StringBuilder("x");
+            ToDateString.formatTo(sb, localDate, format);
+            ToDateString.formatTo(sb, localDateTime, format);
+            ToDateString.formatTo(sb, dateTime, format);
+            ToDateString.formatTo(sb, utcDateTime, format);
+            ToDateString.formatTo(sb, date, format);
+            ToDateString.formatTo(sb, calendar, format);
+            ToDateString.formatTo(sb, xmlGregorianCalendar, format);
+            ToDateString.formatTo(sb, (Date) null, format);
+            String expected = "x" + ToDateString.from(localDate, format) + ToDateString.from(localDateTime, format)
+                    + ToDateString.from(dateTime, format) + ToDateString.from(utcDateTime, format) + ToDateString.from(date, format)
+                    + ToDateString.from(calendar, format) + ToDateString.from(xmlGregorianCalendar, format);
+            assertThat(sb.toString(), is(expected));
+
+            char[] chars = new char[256];
+            chars[0] = 'x';
+            int length = 1;
+            length += ToDateString.formatTo(chars, length, localDate, format);
+            length += ToDateString.formatTo(chars, length, localDateTime, format);
+            length += ToDateString.formatTo(chars, length, dateTime, format);
+            length += ToDateString.formatTo(chars, length, utcDateTime, format);
+            length += ToDateString.formatTo(chars, length, date, format);
+            length += ToDateString.formatTo(chars, length, calendar, format);
+            length += ToDateString.formatTo(chars, length, xmlGregorianCalendar, format);
+            length += ToDateString.formatTo(chars, length, (Calendar) null, format);
+            assertThat(new String(chars, 0, length), is(expected));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void formatTo_arrayTooSmall() throws Exception {
+        ToDateString.formatTo(new char[10], 3, new LocalDate("2007-02-23"), DD_MM_YYYY);
+    }
 }
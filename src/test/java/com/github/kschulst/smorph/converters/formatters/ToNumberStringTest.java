@@ -1,7 +1,18 @@
 package com.github.kschulst.smorph.converters.formatters;
 
+import com.github.kschulst.smorph.base.NumberFormat;
 import org.junit.Test;
 
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static com.github.kschulst.smorph.base.NumberFormat.*;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
@@ -48,4 +59,58 @@ public class ToNumberStringTest {
         assertThat(ToNumberString.from(-10000.295, N_COMMA_D), is("-10000,3"));
         assertThat(ToNumberString.from(0.029, N_COMMA_D), is("0,0"));
     }
+
+    @Test
+    public void fromNumber_concurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int t = 0; t < 8; t++) {
+                final int offset = t * 100000;
+                results.add(executor.submit(new Callable<Boolean>() {
+                    public Boolean call() {
+                        for (int i = offset; i < offset + 20000; i++) {
+                            if (!ToNumberString.from(i + 0.5, N_COMMA_D).equals(i + ",5")) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(), is(true));
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void formatTo_matchesFrom() throws Exception {
+        List<Number> numbers = Arrays.<Number>asList(10000.295, -0.029, 42, 12345678901L, new BigDecimal("-10000.295"), 1e300, Double.NaN);
+        for (NumberFormat format : NumberFormat.values()) {
+            StringBuilder expected = new StringBuilder();
+            StringBuilder sb = new StringBuilder();
+            StringWriter writer = new StringWriter();
+            char[] chars = new char[1024];
+            int length = 0;
+            for (Number n : numbers) {
+                expected.append(ToNumberString.from(n, format)).append(';');
+                ToNumberString.formatTo(sb, n, format);
+                sb.append(';');
+                ToNumberString.formatTo(writer, n, format);
+                writer.append(';');
+                length += ToNumberString.formatTo(chars, length, n, format);
+                chars[length++] = ';';
+            }
+            ToNumberString.formatTo(sb, null, format);
+            length += ToNumberString.formatTo(chars, length, null, format);
+
+            assertThat(sb.toString(), is(expected.toString()));
+            assertThat(writer.toString(), is(expected.toString()));
+            assertThat(new String(chars, 0, length), is(expected.toString()));
+        }
+    }
 }
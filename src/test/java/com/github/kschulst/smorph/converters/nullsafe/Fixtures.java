@@ -9,4 +9,28 @@ public final class Fixtures {
     public static <T> JAXBElement<T> jaxbElement(Class<T> clazz, T value) {
         return new JAXBElement<T>(new QName("http://dummy/schema/url", "somename"), clazz, clazz, value);
     }
+
+    /**
+     * Returns a CharSequence of the string which fails if copied, for verifying that it is parsed in place
+     */
+    public static CharSequence uncopyable(final String s) {
+        return new CharSequence() {
+            public int length() {
+                return s.length();
+            }
+
+            public char charAt(int index) {
+                return s.charAt(index);
+            }
+
+            public CharSequence subSequence(int start, int end) {
+                throw new AssertionError("Copied region " + start + "-" + end + " of '" + s + "'");
+            }
+
+            @Override
+            public String toString() {
+                throw new AssertionError("Copied '" + s + "'");
+            }
+        };
+    }
 }
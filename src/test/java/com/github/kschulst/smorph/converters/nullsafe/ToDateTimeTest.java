@@ -6,8 +6,10 @@ import org.junit.Test;
 
 import javax.xml.bind.JAXBElement;
 import javax.xml.datatype.XMLGregorianCalendar;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.github.kschulst.smorph.base.TemporalFormat.*;
 import static org.hamcrest.CoreMatchers.is;
@@ -109,6 +111,25 @@ public class ToDateTimeTest {
         assertThat(ToDateTime.convert("bogus", DD_MM_YYYY).withDefaultValue(DATE_TIME_WITH_TIME), is(DATE_TIME_WITH_TIME));
     }
 
+    @Test
+    public void fromString_parsedInPlace() throws Exception {
+        assertThat(ToDateTime.from(Fixtures.uncopyable("   23.02.2007 13:37:42 "), DD_MM_YYYY_HH_MM_SS), is(new DateTime(2007, 2, 23, 13, 37, 42, 0)));
+        assertThat(ToDateTime.from(Fixtures.uncopyable(" 20070223 "), YYYYMMDD), is(DATE_TIME_WITHOUT_TIME));
+        assertThat(ToDateTime.from(Fixtures.uncopyable("    "), YYYYMMDD), is(nullValue()));
+    }
+
+    @Test
+    public void fromRegion() throws Exception {
+        CharSequence record = Fixtures.uncopyable("0042  20070223    23.02.2007 13:37:42      ");
+        assertThat(ToDateTime.from(record, 4, 16, YYYYMMDD), is(DATE_TIME_WITHOUT_TIME));
+        assertThat(ToDateTime.from(record, 16, record.length(), DD_MM_YYYY_HH_MM_SS), is(new DateTime(2007, 2, 23, 13, 37, 42, 0)));
+
+        // Regions not matching a fixed width format are parsed by the formatter
+        assertThat(ToDateTime.from("0042  20070223", 2, 14, YYYYMMDD), is(nullValue()));
+        assertThat(ToDateTime.from("0042 23.2.2007", 4, 14, DD_MM_YYYY), is(ToDateTime.from("23.2.2007", DD_MM_YYYY)));
+        assertThat(ToDateTime.from(null, 0, 0, DD_MM_YYYY), is(nullValue()));
+    }
+
     @Test
     public void forStartOfYear() throws Exception {
         assertThat(ToDateTime.forStartOfYear("2012"), is(new DateTime("2012-01-01")));
@@ -123,4 +144,26 @@ public class ToDateTimeTest {
         assertThat(ToDateTime.forEndOfYear(""), is(nullValue()));
         assertThat(ToDateTime.forEndOfYear(null), is(nullValue()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void convertAll_parallel() throws Exception {
+        String[] in = new String[50000];
+        DateTime[] expected = new DateTime[in.length];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = (i == 42) ? "bogus" : DATE_TIME_WITH_TIME.plusMinutes(i * 37).toString(DD_MM_YYYY_HH_MM_SS.getPattern());
+            expected[i] = ToDateTime.from(in[i], DD_MM_YYYY_HH_MM_SS);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            DateTime[] out = new DateTime[in.length];
+            BitSet failures = new BitSet();
+            assertThat(ToDateTime.convertAll(in, DD_MM_YYYY_HH_MM_SS, out, failures, pool), is(1));
+            assertThat(out, is(expected));
+            assertThat(failures.toString(), is("{42}"));
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.github.kschulst.smorph.converters.nullsafe;
 
+import com.github.kschulst.smorph.converters.ConversionException;
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
 import org.joda.time.Interval;
 import org.joda.time.LocalDate;
 import org.junit.Test;
@@ -14,6 +16,7 @@ import static com.github.kschulst.smorph.base.TemporalFormat.*;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 public class ToIntervalTest {
     private static final Locale LOCALE = new Locale("nb", "NO");
@@ -54,6 +57,7 @@ public class ToIntervalTest {
         assertThat(ToInterval.from(START_WITHOUT_TIME, END_WITHOUT_TIME), is(INTERVAL_WITHOUT_TIME));
         assertThat(ToInterval.from((DateTime) null, (DateTime) null), is(nullValue()));
         assertThat(ToInterval.convert((DateTime)null, (DateTime)null).withDefaultValue(INTERVAL_WITH_TIME), is(INTERVAL_WITH_TIME));
+        assertThat("Endpoints read as their ISO interval string", ToInterval.convert(START_WITH_TIME, END_WITH_TIME).trimInput().withNullAsDefaultValue(), is(INTERVAL_WITH_TIME));
     }
 
     @Test
@@ -106,6 +110,48 @@ public class ToIntervalTest {
         assertThat(ToInterval.convert((Calendar)null, (Calendar)null).withDefaultValue(INTERVAL_WITH_TIME), is(INTERVAL_WITH_TIME));
     }
 
+    @Test
+    public void endBeforeStart() throws Exception {
+        assertThat(ToInterval.from(END_WITH_TIME, START_WITH_TIME), is(nullValue()));
+        assertThat(ToInterval.from(END_WITH_TIME.toDate(), START_WITH_TIME.toDate()), is(nullValue()));
+        assertThat(ToInterval.from(END_WITH_TIME.toLocalDate(), START_WITH_TIME.toLocalDate()), is(nullValue()));
+        assertThat(ToInterval.from("18.09.2008", "23.02.2007", DD_MM_YYYY), is(nullValue()));
+        assertThat(ToInterval.from("18.09.2008 - 23.02.2007", DD_MM_YYYY, " - "), is(nullValue()));
+        assertThat(ToInterval.convert(END_WITH_TIME, START_WITH_TIME).withDefaultValue(INTERVAL_WITH_TIME), is(INTERVAL_WITH_TIME));
+        try {
+            ToInterval.convert(END_WITH_TIME, START_WITH_TIME).orThrowException();
+            fail();
+        }
+        catch (ConversionException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void invalidEndpoint() throws Exception {
+        assertThat(ToInterval.from(START_WITH_TIME, null), is(nullValue()));
+        assertThat(ToInterval.from("23.02.2007", "31.02.2008", DD_MM_YYYY), is(nullValue()));
+        assertThat(ToInterval.from("23.02.2007 - 31.02.2008", DD_MM_YYYY, " - "), is(nullValue()));
+        DateTimeZone zone = DateTimeZone.getDefault();
+        try {
+            DateTimeZone.setDefault(DateTimeZone.forID("America/Sao_Paulo"));
+            assertThat("Midnight in a daylight saving gap", ToInterval.from(new LocalDate(2007, 2, 23), new LocalDate(2007, 10, 14)), is(nullValue()));
+        }
+        finally {
+            DateTimeZone.setDefault(zone);
+        }
+        try {
+            ToInterval.convert(START_WITH_TIME.toDate(), null).orThrowException();
+            fail();
+        }
+        catch (ConversionException e) {
+            // The endpoint is printed with the offset of the default time zone
+            String start = ISO8601DateTimeWithMillis.getFormatter().withZone(DateTimeZone.getDefault()).print(START_WITH_TIME);
+            assertThat(e.getMessage().contains(start + "/null"), is(true));
+            assertThat(e.getMessage().endsWith("Invalid interval"), is(true));
+        }
+    }
+
     @Test
     public void forYear() throws Exception {
         assertThat(ToInterval.forYear("2012"), is(new Interval(new DateTime("2012-01-01"), new DateTime("2012-12-31"))));
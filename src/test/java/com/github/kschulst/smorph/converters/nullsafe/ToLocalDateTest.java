@@ -1,17 +1,25 @@
 package com.github.kschulst.smorph.converters.nullsafe;
 
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
 import org.joda.time.LocalDate;
+import org.joda.time.chrono.BuddhistChronology;
 import org.junit.Test;
 
 import javax.xml.bind.JAXBElement;
 import javax.xml.datatype.XMLGregorianCalendar;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.TimeZone;
 
 import static com.github.kschulst.smorph.base.TemporalFormat.*;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 public class ToLocalDateTest {
@@ -33,6 +41,24 @@ public class ToLocalDateTest {
         assertThat(ToLocalDate.convert((Date) null).withDefaultValue(LOCAL_DATE), is(LOCAL_DATE));
     }
 
+    @Test
+    public void fromDate_readsFieldsInJdkTimeZone() throws Exception {
+        TimeZone timeZone = TimeZone.getDefault();
+        DateTimeZone zone = DateTimeZone.getDefault();
+        try {
+            // The JDK's and Joda's default time zones need not agree
+            TimeZone.setDefault(TimeZone.getTimeZone("Pacific/Kiritimati"));
+            DateTimeZone.setDefault(DateTimeZone.UTC);
+            Date date = new Date(new DateTime(2020, 11, 14, 12, 0, DateTimeZone.UTC).getMillis());
+            assertThat(ToLocalDate.from(date), is(new LocalDate(2020, 11, 15)));
+            assertThat(ToLocalDate.from(date), is(LocalDate.fromDateFields(date)));
+        }
+        finally {
+            TimeZone.setDefault(timeZone);
+            DateTimeZone.setDefault(zone);
+        }
+    }
+
     @Test
     public void fromCalendar() throws Exception {
         Calendar cal = ToCalendar.from(LOCAL_DATE);
@@ -115,4 +141,53 @@ public class ToLocalDateTest {
         assertThat(ToLocalDate.forEndOfYear(null), is(nullValue()));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void from_bytes() throws Exception {
+        byte[] bytes = "| 23.02.2007 |20070223|bogus|".getBytes(StandardCharsets.US_ASCII);
+        assertThat(ToLocalDate.fromBytes(bytes, 1, 12, DD_MM_YYYY), is(LOCAL_DATE));
+        assertThat(ToLocalDate.fromBytes(bytes, 14, 8, YYYYMMDD), is(LOCAL_DATE));
+        assertThat(ToLocalDate.fromBytes(bytes, 23, 5, YYYYMMDD), is(nullValue()));
+        assertThat(ToLocalDate.fromBytes(bytes, 1, 1, YYYYMMDD), is(nullValue()));
+        assertThat(ToLocalDate.fromBytes((byte[]) null, 0, 0, YYYYMMDD), is(nullValue()));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes);
+        direct.position(14).limit(22);
+        assertThat(ToLocalDate.fromBytes(direct, YYYYMMDD), is(LOCAL_DATE));
+        assertThat(direct.position(), is(14));
+        assertThat(ToLocalDate.fromBytes(ByteBuffer.wrap(bytes, 1, 12), DD_MM_YYYY), is(LOCAL_DATE));
+    }
+
+    @Test
+    public void convertAll() throws Exception {
+        String[] in = {"23.02.2007", " 24.02.2007 ", "bogus", null};
+        LocalDate[] out = new LocalDate[in.length];
+        BitSet failures = new BitSet();
+        assertThat(ToLocalDate.convertAll(in, DD_MM_YYYY, out, failures), is(2));
+        assertThat(out, is(new LocalDate[] {LOCAL_DATE, LOCAL_DATE.plusDays(1), null, null}));
+        assertThat(failures.toString(), is("{2, 3}"));
+
+        assertThat(ToLocalDate.convertAll(Arrays.asList("20070223"), YYYYMMDD, out, failures), is(0));
+        assertThat(out[0], is(LOCAL_DATE));
+    }
+
+    @Test
+    public void from_matchesJodaAndSharesInstances() throws Exception {
+        DateTime dateTime = new DateTime(1850, 1, 1, 0, 30);
+        while (dateTime.getYear() < 2150) {
+            Date date = dateTime.toDate();
+            Calendar calendar = ToCalendar.from(dateTime);
+            assertThat(dateTime.toString(), ToLocalDate.from(date), is(LocalDate.fromDateFields(date)));
+            assertThat(dateTime.toString(), ToLocalDate.from(calendar), is(new LocalDate(calendar.getTime())));
+            assertThat(dateTime.toString(), ToLocalDate.from(dateTime), is(dateTime.toLocalDate()));
+            assertThat(dateTime.toString(), ToLocalDate.from(dateTime.withZone(DateTimeZone.forOffsetHours(-11))), is(dateTime.withZone(DateTimeZone.forOffsetHours(-11)).toLocalDate()));
+            dateTime = dateTime.plusHours(173);
+        }
+
+        DateTime buddhist = DATE_TIME.withChronology(BuddhistChronology.getInstance());
+        assertThat(ToLocalDate.from(buddhist), is(buddhist.toLocalDate()));
+
+        assertThat(ToLocalDate.from(DATE_TIME), is(sameInstance(ToLocalDate.from(ToDate.from(DATE_TIME)))));
+        assertThat(ToLocalDate.from("23.02.2007", DD_MM_YYYY), is(sameInstance(ToLocalDate.from("23.02.07", DD_MM_YY))));
+    }
+}
@@ -1,17 +1,22 @@
 package com.github.kschulst.smorph.converters.nullsafe;
 
+import com.github.kschulst.smorph.converters.ConversionException;
 import com.google.common.primitives.UnsignedInteger;
 import org.junit.Test;
 
 import javax.xml.bind.JAXBElement;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
 
 import static com.github.kschulst.smorph.converters.nullsafe.Fixtures.jaxbElement;
 import static com.github.kschulst.smorph.converters.nullsafe.ToNumber.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.fail;
 
 public class ToNumberTest {
 
@@ -54,6 +59,18 @@ public class ToNumberTest {
         assertThat(asInteger("123"), is(123));
     }
 
+    @Test
+    public void asInteger_fromString_orThrowException() throws Exception {
+        try {
+            convertAsInteger("2147483648").orThrowException("amount");
+            fail("Expected conversion to throw exception");
+        }
+        catch (ConversionException e) {
+            assertThat(e.getMessage(), is("amount - Error converting from '2147483648'. Number out of range"));
+            assertThat(e.getCause(), is(nullValue()));
+        }
+    }
+
     // ------------------------------------------------------------------------
     // Long
     // ------------------------------------------------------------------------
@@ -204,4 +221,103 @@ public class ToNumberTest {
 
         assertThat(asBigInteger("123"), is(bigInteger));
     }
+
+    // ------------------------------------------------------------------------
+    // Primitives
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void toInt() throws Exception {
+        assertThat(ToNumber.parseInt(null, 42), is(42));
+        assertThat(ToNumber.parseInt("invalidNumber", 42), is(42));
+        assertThat(ToNumber.parseInt("", 42), is(42));
+        assertThat(ToNumber.parseInt("123", 42), is(123));
+        assertThat(ToNumber.parseInt(new StringBuilder("-123"), 42), is(-123));
+        assertThat(ToNumber.intValue(null, 42), is(42));
+        assertThat(ToNumber.intValue(123.9D, 42), is(123));
+        assertThat(ToNumber.intFromBytes(null, 42), is(42));
+    }
+
+    @Test
+    public void toLong() throws Exception {
+        assertThat(ToNumber.parseLong(null, 42L), is(42L));
+        assertThat(ToNumber.parseLong("invalidNumber", 42L), is(42L));
+        assertThat(ToNumber.parseLong("9223372036854775807", 42L), is(Long.MAX_VALUE));
+        assertThat(ToNumber.parseLong("9223372036854775808", 42L), is(42L));
+        assertThat(ToNumber.longValue(null, 42L), is(42L));
+        assertThat(ToNumber.longValue(123, 42L), is(123L));
+    }
+
+    @Test
+    public void toDouble() throws Exception {
+        assertThat(ToNumber.parseDouble(null, 42D), is(42D));
+        assertThat(ToNumber.parseDouble("invalidNumber", 42D), is(42D));
+        assertThat(ToNumber.parseDouble("123.5", 42D), is(123.5D));
+        assertThat(ToNumber.doubleValue(null, 42D), is(42D));
+        assertThat(ToNumber.doubleValue(123L, 42D), is(123D));
+    }
+
+    @Test
+    public void toPrimitiveOrThrow() throws Exception {
+        assertThat(ToNumber.parseIntOrThrow("123", "amount"), is(123));
+        assertThat(ToNumber.longValueOrThrow(123L, "amount"), is(123L));
+        assertThat(ToNumber.parseDoubleOrThrow("-1.5", "amount"), is(-1.5D));
+
+        try {
+            ToNumber.parseIntOrThrow("12a", "amount");
+            fail("Expected conversion to throw exception");
+        }
+        catch (ConversionException e) {
+            assertThat(e.getConversionReference(), is("amount"));
+            assertThat(e.getMessage(), is("amount - Error converting from '12a'. Invalid number format"));
+        }
+
+        try {
+            ToNumber.parseLongOrThrow(null, "amount");
+            fail("Expected conversion to throw exception");
+        }
+        catch (ConversionException e) {
+            assertThat(e.getMessage(), is("amount - Error converting from 'null'. Null is not allowed"));
+        }
+    }
+
+    @Test
+    public void parseAllLongs() throws Exception {
+        long[] out = new long[5];
+        BitSet invalid = new BitSet();
+        assertThat(ToNumber.parseAllLongs(new String[] {"1", "-9223372036854775808", null, "12a", "42"}, out, invalid), is(2));
+        assertThat(out, is(new long[] {1, Long.MIN_VALUE, 0, 0, 42}));
+        assertThat(invalid.toString(), is("{2, 3}"));
+
+        int[] ints = new int[2];
+        assertThat(ToNumber.parseAllInts(new CharSequence[] {"2147483648", new StringBuilder("7")}, ints, null), is(1));
+        assertThat(ints, is(new int[] {0, 7}));
+
+        double[] doubles = new double[2];
+        assertThat(ToNumber.parseAllDoubles(new String[] {"1.5", ""}, doubles, invalid), is(1));
+        assertThat(doubles[0], is(1.5d));
+        assertThat(invalid.toString(), is("{1, 2, 3}"));
+    }
+
+    @Test
+    public void byteInput() throws Exception {
+        byte[] bytes = "[42|-7.25|4294967295|x]".getBytes(StandardCharsets.US_ASCII);
+        assertThat(ToNumber.intFromBytes(bytes, 1, 2, -1), is(42));
+        assertThat(ToNumber.intFromBytes(bytes, 0, 3, -1), is(-1));
+        assertThat(ToNumber.intFromBytes((byte[]) null, 0, 0, -1), is(-1));
+        assertThat(ToNumber.doubleFromBytes(bytes, 4, 5, 0d), is(-7.25d));
+        assertThat(asInteger(bytes, 1, 2), is(42));
+        assertThat(asInteger(bytes, 10, 10), is(nullValue()));
+        assertThat(asLong(bytes, 10, 10), is(4294967295L));
+        assertThat(asBigInteger(bytes, 10, 10), is(BigInteger.valueOf(4294967295L)));
+        assertThat(asBigDecimal(bytes, 4, 5), is(new BigDecimal("-7.25")));
+        assertThat(asDouble(bytes, 21, 1), is(nullValue()));
+
+        ByteBuffer buf = ByteBuffer.wrap(bytes, 10, 10);
+        assertThat(asLong(buf), is(4294967295L));
+        assertThat(ToNumber.longFromBytes(buf, -1L), is(4294967295L));
+        assertThat(buf.position(), is(10));
+        assertThat(asInteger(buf), is(nullValue()));
+        assertThat(asInteger((ByteBuffer) null), is(nullValue()));
+    }
 }
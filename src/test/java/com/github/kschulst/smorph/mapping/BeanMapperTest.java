@@ -0,0 +1,126 @@
+package com.github.kschulst.smorph.mapping;
+
+import com.github.kschulst.smorph.converters.nullsafe.ToDateTime;
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+import org.junit.Test;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.namespace.QName;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static com.github.kschulst.smorph.base.TemporalFormat.DD_MM_YYYY;
+import static com.github.kschulst.smorph.base.TemporalFormat.YYYYMMDD;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class BeanMapperTest {
+
+    private static final BeanMapper MAPPER = BeanMapper.create().withDefaultFormat(DD_MM_YYYY);
+
+    static class Source {
+        String name = "Ola";
+        String birthDate = "23.02.2007";
+        @MappingFormat(YYYYMMDD)
+        String startDate = "20070224";
+        XMLGregorianCalendar updated;
+        Integer amount = 42;
+        int count = 7;
+        Long missing = null;
+        JAXBElement<String> nickname = new JAXBElement<String>(new QName("nickname"), String.class, "Nordmann");
+        LocalDate endDate = new LocalDate(2007, 3, 1);
+        String onlyInSource = "ignored";
+    }
+
+    static class Target {
+        String name;
+        LocalDate birthDate;
+        LocalDate startDate;
+        DateTime updated;
+        BigDecimal amount;
+        long count;
+        long missing = -1;
+        String nickname;
+        String endDate;
+        String onlyInTarget = "kept";
+        static String shared = "static";
+    }
+
+    @Test
+    public void map_convertsFieldsByName() throws Exception {
+        Source source = new Source();
+        source.updated = DatatypeFactory.newInstance().newXMLGregorianCalendar("2007-02-23T13:37:42.019+01:00");
+
+        Target target = MAPPER.map(source, Target.class);
+        assertThat(target.name, is("Ola"));
+        assertThat(target.birthDate, is(new LocalDate(2007, 2, 23)));
+        assertThat(target.startDate, is(new LocalDate(2007, 2, 24)));
+        assertThat(target.updated.getMillis(), is(ToDateTime.from(source.updated).getMillis()));
+        assertThat(target.amount, is(new BigDecimal("42.0")));
+        assertThat(target.count, is(7L));
+        assertThat(target.missing, is(-1L));
+        assertThat(target.nickname, is("Nordmann"));
+        assertThat(target.endDate, is("01.03.2007"));
+        assertThat(target.onlyInTarget, is("kept"));
+        assertThat(Target.shared, is("static"));
+    }
+
+    @Test
+    public void map_invalidAndNullValuesAsNull() throws Exception {
+        Source source = new Source();
+        source.birthDate = "bogus";
+        source.amount = null;
+        source.nickname = null;
+
+        Target target = new Target();
+        target.amount = BigDecimal.ONE;
+        MAPPER.map(source, target);
+        assertThat(target.birthDate, is(nullValue()));
+        assertThat(target.amount, is(nullValue()));
+        assertThat(target.nickname, is(nullValue()));
+        assertThat(MAPPER.map(null, Target.class), is(nullValue()));
+    }
+
+    @Test
+    public void plan_isCached() throws Exception {
+        MappingPlan<Source, Target> plan = MAPPER.plan(Source.class, Target.class);
+        assertThat(MAPPER.plan(Source.class, Target.class), is(sameInstance(plan)));
+        // Fields come in no particular order
+        assertThat(new HashSet<String>(plan.getFieldNames()), is(new HashSet<String>(Arrays.asList("name", "birthDate", "startDate",
+                "updated", "amount", "count", "missing", "nickname", "endDate"))));
+    }
+
+    static class Unformatted {
+        String birthDate = "23.02.2007";
+    }
+
+    static class Unconvertible {
+        Boolean birthDate;
+    }
+
+    @Test
+    public void plan_rejectsFieldsThatCannotBeConverted() throws Exception {
+        try {
+            BeanMapper.create().plan(Unformatted.class, Target.class);
+            fail("Expected IllegalArgumentException");
+        }
+        catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("Cannot map field 'birthDate' of " + Unformatted.class.getName() + " to "
+                    + Target.class.getName() + ": Mapping String to LocalDate requires a @MappingFormat or a default format"));
+        }
+        try {
+            MAPPER.plan(Unformatted.class, Unconvertible.class);
+            fail("Expected IllegalArgumentException");
+        }
+        catch (IllegalArgumentException e) {
+            assertThat(e.getMessage().endsWith("no conversion from java.lang.String to java.lang.Boolean"), is(true));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.kschulst.smorph.mapping;
+
+import com.github.kschulst.smorph.converters.Conversion;
+import com.github.kschulst.smorph.converters.ConverterSpec;
+import com.google.common.base.Function;
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.GregorianCalendar;
+
+import static com.github.kschulst.smorph.base.TemporalFormat.DD_MM_YYYY;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ConverterRegistryTest {
+
+    private static final ConverterRegistry REGISTRY = ConverterRegistry.create().withDefaultFormat(DD_MM_YYYY);
+
+    private static final Function<Conversion<CharSequence, Integer>, Integer> LENGTH = new Function<Conversion<CharSequence, Integer>, Integer>() {
+        public Integer apply(Conversion<CharSequence, Integer> conversion) {
+            return conversion.fromValue().length();
+        }
+    };
+
+    @Test
+    public void convert_byRuntimeClass() {
+        Object calendar = new GregorianCalendar(2007, 1, 23);
+        assertThat(REGISTRY.convert(calendar, Date.class), is(new LocalDate(2007, 2, 23).toDate()));
+        assertThat(REGISTRY.convert(calendar, LocalDate.class), is(new LocalDate(2007, 2, 23)));
+        assertThat(REGISTRY.convert("23.02.2007", DateTime.class), is(new DateTime(2007, 2, 23, 0, 0)));
+        assertThat(REGISTRY.convert(new LocalDate(2007, 2, 23), String.class), is("23.02.2007"));
+        assertThat(REGISTRY.convert(42, BigDecimal.class).intValue(), is(42));
+        assertThat(REGISTRY.convert("42", long.class), is(42L));
+        assertThat(REGISTRY.convert(null, Date.class), is(nullValue()));
+    }
+
+    @Test
+    public void convert_instancesOfTargetAsTheyAre() {
+        Object date = new Date();
+        assertThat(REGISTRY.convert(date, Date.class), is(sameInstance(date)));
+        assertThat(REGISTRY.convert(date, Object.class), is(sameInstance(date)));
+    }
+
+    @Test
+    public void convert_failsWithoutConversion() {
+        try {
+            REGISTRY.convert(new Object(), Date.class);
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("No conversion from java.lang.Object to java.util.Date"));
+        }
+        assertThat("Needs a default format", ConverterRegistry.create().canConvert(String.class, LocalDate.class), is(false));
+        assertThat(REGISTRY.canConvert(String.class, LocalDate.class), is(true));
+    }
+
+    @Test
+    public void register_takesPrecedence() {
+        ConverterRegistry registry = REGISTRY.register(CharSequence.class, Integer.class, LENGTH);
+        assertThat(registry.convert("42", Integer.class), is(2));
+        assertThat(registry.convert(new StringBuilder("abc"), int.class), is(3));
+        assertThat("The original registry is left untouched", REGISTRY.convert("42", Integer.class), is(42));
+
+        ConverterSpec<CharSequence, Integer> minusOne = ConverterSpec.of(LENGTH).withDefaultValue(-1);
+        registry = registry.register(String.class, Integer.class, minusOne);
+        assertThat("The most recently registered converter is used", registry.find(String.class, Integer.class) == (Object) minusOne, is(true));
+        assertThat(registry.convert("", Integer.class), is(-1));
+    }
+}
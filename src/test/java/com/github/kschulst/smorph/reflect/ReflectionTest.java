@@ -0,0 +1,155 @@
+package com.github.kschulst.smorph.reflect;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ReflectionTest {
+
+    @SuppressWarnings("unused")
+    private static class Base {
+        private String name = "base";
+        private int count = 1;
+        private long id = 7;
+    }
+
+    @SuppressWarnings("unused")
+    private static class Derived extends Base {
+        private long name = 42;
+        private int size = 2;
+    }
+
+    @Test
+    public void findField_searchesSubclassFirst() throws Exception {
+        assertThat(Reflection.findField(Derived.class, "name").getDeclaringClass(), is((Object) Derived.class));
+        assertThat(Reflection.findField(Derived.class, "count").getDeclaringClass(), is((Object) Base.class));
+        assertThat(Reflection.findField(Derived.class, "bogus"), is(nullValue()));
+        assertThat(Reflection.findField(Derived.class, "hashCode"), is(nullValue()));
+    }
+
+    @Test
+    public void findField_byNameAndType() throws Exception {
+        assertThat(Reflection.findField(Derived.class, "name", String.class).getDeclaringClass(), is((Object) Base.class));
+        assertThat(Reflection.findField(Derived.class, "name", long.class).getDeclaringClass(), is((Object) Derived.class));
+        assertThat(Reflection.findField(Derived.class, "name", Integer.class), is(nullValue()));
+        assertThat(Reflection.findField(Derived.class, null, long.class).getName(), is("name"));
+        assertThat(Reflection.findField(Derived.class, null, int.class).getName(), is("size"));
+        assertThat(Reflection.findField(Base.class, null, long.class).getName(), is("id"));
+    }
+
+    @Test
+    public void findField_returnsSharedAccessibleFields() throws Exception {
+        Field field = Reflection.findField(Derived.class, "size");
+        assertThat(Reflection.findField(Derived.class, "size"), is(sameInstance(field)));
+        Derived derived = new Derived();
+        field.set(derived, 3);
+        assertThat(field.get(derived), is((Object) 3));
+    }
+
+    @Test
+    public void getField() throws Exception {
+        Derived derived = new Derived();
+        assertThat(Reflection.getField(Reflection.findField(Derived.class, "count"), derived), is((Object) 1));
+        assertThat(Reflection.getField(derived, "name"), is((Object) 42L));
+        try {
+            Reflection.getField(Base.class.getDeclaredField("count"), derived);
+            fail("Expected IllegalStateException");
+        }
+        catch (IllegalStateException e) {
+            // The field has not been made accessible
+        }
+        assertThat(Reflection.getField(derived, "count"), is((Object) 1));
+        try {
+            Reflection.getField(derived, "bogus");
+            fail("Expected IllegalArgumentException");
+        }
+        catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("No field 'bogus' in " + Derived.class.getName()));
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class Primitives {
+        private static int counter = 3;
+        private final String constant = "constant";
+        private byte small = 5;
+        private int number = 17;
+        private long big = 1L << 40;
+        private float ratio = 0.5f;
+        private char letter = 'x';
+        private boolean flag = true;
+    }
+
+    @Test
+    public void fieldAccessor_primitives() throws Exception {
+        Primitives target = new Primitives();
+        FieldAccessor number = FieldAccessor.of(Primitives.class, "number");
+        assertThat(number.getInt(target), is(17));
+        assertThat(number.getLong(target), is(17L));
+        assertThat(number.getDouble(target), is(17d));
+        assertThat(number.get(target), is((Object) 17));
+        number.setInt(target, 4);
+        assertThat(target.number, is(4));
+        number.set(target, 5);
+        assertThat(target.number, is(5));
+
+        assertThat(FieldAccessor.of(Primitives.class, "small").getInt(target), is(5));
+        assertThat(FieldAccessor.of(Primitives.class, "big").getLong(target), is(1L << 40));
+        assertThat(FieldAccessor.of(Primitives.class, "ratio").getDouble(target), is(0.5d));
+        assertThat(FieldAccessor.of(Primitives.class, "ratio").getFloat(target), is(0.5f));
+        assertThat(FieldAccessor.of(Primitives.class, "small").getByte(target), is((byte) 5));
+        assertThat(FieldAccessor.of(Primitives.class, "small").getShort(target), is((short) 5));
+        assertThat(FieldAccessor.of(Primitives.class, "big").getFloat(target), is((float) (1L << 40)));
+        assertThat(FieldAccessor.of(Primitives.class, "letter").getChar(target), is('x'));
+        FieldAccessor big = FieldAccessor.of(Primitives.class, "big");
+        big.setInt(target, 9);
+        assertThat(target.big, is(9L));
+
+        FieldAccessor flag = FieldAccessor.of(Primitives.class, "flag");
+        flag.setBoolean(target, false);
+        assertThat(flag.getBoolean(target), is(false));
+        assertThat(FieldAccessor.of(Primitives.class, "number"), is(sameInstance(number)));
+    }
+
+    @Test
+    public void fieldAccessor_staticAndFinalFields() throws Exception {
+        FieldAccessor counter = FieldAccessor.of(Primitives.class, "counter");
+        counter.setInt(null, counter.getInt(null) + 1);
+        assertThat(Primitives.counter, is(4));
+
+        FieldAccessor constant = FieldAccessor.of(Primitives.class, "constant");
+        assertThat(constant.get(new Primitives()), is((Object) "constant"));
+        try {
+            constant.set(new Primitives(), "changed");
+            fail("Expected IllegalArgumentException");
+        }
+        catch (IllegalArgumentException e) {
+            assertThat(e.getMessage().endsWith(" is final"), is(true));
+        }
+    }
+
+    @Test
+    public void fieldAccessor_rejectsWrongTypes() throws Exception {
+        FieldAccessor big = FieldAccessor.of(Primitives.class, "big");
+        try {
+            big.getInt(new Primitives());
+            fail("Expected IllegalArgumentException");
+        }
+        catch (IllegalArgumentException e) {
+            assertThat(e.getMessage().endsWith(" cannot be read as int"), is(true));
+        }
+        try {
+            big.get(new Derived());
+            fail("Expected IllegalArgumentException");
+        }
+        catch (IllegalArgumentException e) {
+            assertThat(e.getCause() instanceof ClassCastException, is(true));
+        }
+    }
+}